@@ -0,0 +1,69 @@
+package drone.delivery.bench;
+
+import drone.delivery.bench.EmbeddedDeliveryApp.Fixture;
+import drone.delivery.domain.CartItem;
+import drone.delivery.dto.AddToCartRequestDTO;
+import drone.delivery.dto.ProductOptionsDTO;
+import drone.delivery.service.CartFactoryService;
+import drone.delivery.service.ProductOptionQueryService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 상품 상세/장바구니 담기 경로 (실제 빈, H2 인메모리)
+ * - productOptions: ProductOptionQueryService.getProductWithOptions 의 DTO 조립
+ * - buildCartItem: CartFactoryService.buildCartItem (옵션 검증 + 단가 계산 + 스냅샷 생성)
+ * - 옵션 트리 캐시는 setUp 에서 채워 두므로 캐시 적중 경로를 잰다. (미스 비용은 쿼리 비용이라 여기서 다루지 않음)
+ * - groups: 상품당 옵션 그룹 수 (그룹마다 아이템 10개, 그룹마다 1개 선택)
+ * - 실행: gradle jmh -Pjmh.include=CartPathBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class CartPathBenchmark {
+
+    @Param({"1", "4"})
+    int groups;
+
+    ConfigurableApplicationContext ctx;
+    CartFactoryService cartFactoryService;
+    ProductOptionQueryService productOptionQueryService;
+    Long productId;
+    AddToCartRequestDTO request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ctx = EmbeddedDeliveryApp.start("cartbench");
+        Fixture fixture = EmbeddedDeliveryApp.seed(ctx, 1, groups, 10);
+        cartFactoryService = ctx.getBean(CartFactoryService.class);
+        productOptionQueryService = ctx.getBean(ProductOptionQueryService.class);
+
+        productId = fixture.productIds().get(0);
+        request = new AddToCartRequestDTO();
+        request.setProductId(productId);
+        request.setQuantity(2);
+        request.setOptions(fixture.selection());
+
+        cartFactoryService.buildCartItem(request); // 캐시 적재
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ctx.close();
+    }
+
+    @Benchmark
+    public ProductOptionsDTO productOptions() {
+        return productOptionQueryService.getProductWithOptions(productId);
+    }
+
+    @Benchmark
+    public CartItem buildCartItem() {
+        return cartFactoryService.buildCartItem(request);
+    }
+}
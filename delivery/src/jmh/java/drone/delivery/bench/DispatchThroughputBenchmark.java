@@ -0,0 +1,102 @@
+package drone.delivery.bench;
+
+import drone.delivery.async.OrderSendQueue;
+import drone.delivery.domain.DispatchOutbox;
+import drone.delivery.domain.OutboxStatus;
+import drone.delivery.loadtest.StubDroneServer;
+import drone.delivery.repository.DispatchOutboxRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 배차 릴레이 처리량 벤치마크 (H2 인메모리 + 같은 JVM 안의 드론 서버 대역, 실제 HTTP)
+ * - 호출마다 아웃박스에 ORDERS건을 쌓아 두고, 릴레이를 한 번 깨운 뒤 전부 전송될 때까지 기다린다.
+ *   점수(ops/s)가 곧 초당 배차 처리 건수 → 목표는 1000 ops/s 이상 (주문 1k/s 를 밀리지 않고 따라감)
+ * - concurrency: 드레이너 하나가 동시에 보내는 요청 수 (8 = 이전 기본값, 64 = 현재 기본값), 배치는 100건
+ *   대역 지연이 latencyMs 이므로 이론 상한은 대략 concurrency x httpBatchSize / latency (배치 끝의 꼬리 대기만큼 덜 나옴)
+ * - httpBatchSize: HTTP 호출 한 번에 싣는 건수 (1 = 건별 create, 20 = create_batch 기본값)
+ * - 드레이너는 하나로 고정: H2 는 SKIP LOCKED 없이 행 락을 기다려서 드레이너를 늘려도 직렬화된다.
+ *   (relay-workers 효과는 MySQL 에서만 의미가 있음)
+ * - 전송 누락/중복이 있으면 실패시킨다 (대역 접수 수 = 쌓은 건수)
+ * - 실행: gradle jmh -Pjmh.include=DispatchThroughputBenchmark
+ *   대역/클라이언트/DB 가 한 JVM 에서 CPU 를 나눠 쓰므로 코어가 적은 머신에서는 HTTP 처리 자체가 상한이 된다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class DispatchThroughputBenchmark {
+
+    private static final int ORDERS = 1000;
+
+    /** 대역 응답 지연 (ms) */
+    @Param({"20"})
+    long latencyMs;
+
+    @Param({"8", "64"})
+    int concurrency;
+
+    @Param({"1", "20"})
+    int httpBatchSize;
+
+    private StubDroneServer stub;
+    private ConfigurableApplicationContext ctx;
+    private OrderSendQueue queue;
+    private DispatchOutboxRepository outboxRepository;
+    private long nextOrderId = 1;
+    private long expectedCreated;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        stub = new StubDroneServer(new StubDroneServer.Settings(0, latencyMs, latencyMs / 4, 0.0, 60_000, 64, true));
+        stub.start();
+        ctx = EmbeddedDeliveryApp.start("dispatchbench",
+                "--app.drone.base-url=http://localhost:" + stub.port(),
+                "--app.drone.timeout-seconds=10",
+                "--app.dispatch.batch-size=100",
+                "--app.dispatch.concurrency=" + concurrency,
+                "--app.dispatch.http-batch-size=" + httpBatchSize,
+                "--app.dispatch.relay-workers=1");
+        queue = ctx.getBean(OrderSendQueue.class);
+        outboxRepository = ctx.getBean(DispatchOutboxRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ctx.close();
+        stub.stop();
+    }
+
+    /** 지난 호출에서 보낸 행은 지우고 ORDERS건을 새로 쌓는다 (측정 밖) */
+    @Setup(Level.Invocation)
+    public void fillOutbox() {
+        outboxRepository.deleteAllInBatch();
+        List<DispatchOutbox> rows = new ArrayList<>(ORDERS);
+        for (int i = 0; i < ORDERS; i++) {
+            long orderId = nextOrderId++;
+            rows.add(DispatchOutbox.create(orderId, "{\"orderId\":" + orderId + "}"));
+        }
+        outboxRepository.saveAll(rows);
+        expectedCreated += ORDERS;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS)
+    public void dispatch() throws InterruptedException {
+        queue.relay();
+        while (queue.getActiveDrainers() > 0) {
+            Thread.sleep(1);
+        }
+        long pending = outboxRepository.countByStatus(OutboxStatus.PENDING);
+        if (pending > 0 || stub.createdCount() != expectedCreated) {
+            throw new IllegalStateException("전송 누락/중복: 남은 대기 " + pending
+                    + ", 대역 접수 " + stub.createdCount() + " / 기대 " + expectedCreated);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package drone.delivery.bench;
+
+import drone.delivery.DeliveryApplication;
+import drone.delivery.domain.*;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.*;
+
+/**
+ * 벤치마크용 애플리케이션 컨텍스트 (H2 인메모리, 웹 서버 없음)
+ * - application.properties 위에 명령행 인자로 덮어써서 MySQL/외부 서버 없이 뜨게 한다.
+ * - 측정 중 끼어들지 않도록 배차 릴레이/실시간 스트림/스냅샷 같은 주기 작업은 사실상 멈춘다.
+ *   (재고 원장 flush 는 주문 경로 비용의 일부라 그대로 둔다)
+ * - 데모 데이터(DataInitializer)와 주문 그룹 커밋 파이프라인은 끈다 (데이터는 seed, 주문은 OrderService 직접 호출)
+ */
+final class EmbeddedDeliveryApp {
+
+    private static final long NEVER_MS = 3_600_000L;
+
+    private EmbeddedDeliveryApp() {}
+
+    static ConfigurableApplicationContext start(String dbName, String... extraArgs) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.main.web-application-type=none",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--spring.datasource.url=jdbc:h2:mem:" + dbName + ";DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.format_sql=false",
+                "--app.data-init.enabled=false",
+                "--app.order.ingest.enabled=false",
+                "--app.dispatch.poll-interval-ms=" + NEVER_MS,
+                "--app.drone.telemetry.stream-interval-ms=" + NEVER_MS,
+                "--app.wallet.snapshot-interval-ms=" + NEVER_MS,
+                "--app.cart.purge-interval-ms=" + NEVER_MS,
+                "--app.sse.heartbeat-ms=" + NEVER_MS,
+                "--app.order.contention.decay-interval-ms=" + NEVER_MS
+        ));
+        args.addAll(List.of(extraArgs));
+        return SpringApplication.run(DeliveryApplication.class, args.toArray(String[]::new));
+    }
+
+    /**
+     * 가게 1곳, 회원 1명, 상품 products개를 넣는다.
+     * - 상품마다 같은 옵션 그룹 groups개를 연결 (첫 그룹 필수 SINGLE, 나머지 MULTI 0~3), 그룹마다 아이템 itemsPerGroup개
+     * - 회원 잔액/상품 재고는 측정 중 바닥나지 않을 만큼 크게
+     */
+    static Fixture seed(ConfigurableApplicationContext ctx, int products, int groups, int itemsPerGroup) {
+        EntityManager em = ctx.getBean(EntityManagerFactory.class).createEntityManager();
+        try {
+            em.getTransaction().begin();
+
+            Member member = new Member();
+            member.setName("bench");
+            member.setPassword("pw");
+            member.setEmail("bench@test.com");
+            member.setMemberType(MemberType.USER);
+            member.setMoney(Integer.MAX_VALUE);
+            member.setLatitude(37.5665);
+            member.setLongitude(126.9780);
+            em.persist(member);
+
+            Store store = new Store();
+            store.setName("벤치가게");
+            store.setCategory("치킨");
+            store.setMinOrderPrice(0);
+            store.setLatitude(37.5700);
+            store.setLongitude(126.9820);
+            em.persist(store);
+
+            List<OptionGroup> optionGroups = new ArrayList<>();
+            List<Long> selection = new ArrayList<>();
+            for (int g = 0; g < groups; g++) {
+                boolean first = g == 0;
+                OptionGroup group = new OptionGroup();
+                group.setName("그룹" + g);
+                group.setSelectType(first ? SelectType.SINGLE : SelectType.MULTI);
+                group.setRequired(first);
+                group.setMinSelect(0);
+                group.setMaxSelect(first ? 1 : 3);
+                group.setDisplayOrder(g);
+                for (int i = 0; i < itemsPerGroup; i++) {
+                    OptionItem item = new OptionItem();
+                    item.setGroup(group);
+                    item.setName("옵션" + g + "-" + i);
+                    item.setPriceDelta(10 * i);
+                    item.setDisplayOrder(i);
+                    group.getItems().add(item);
+                }
+                em.persist(group);
+                optionGroups.add(group);
+                selection.add(new ArrayList<>(group.getItems()).get(itemsPerGroup / 2).getId());
+            }
+
+            List<Long> productIds = new ArrayList<>();
+            for (int p = 0; p < products; p++) {
+                Product product = Product.createProduct("메뉴" + p, 100, 1_000_000_000);
+                product.setStore(store);
+                em.persist(product);
+                for (int g = 0; g < optionGroups.size(); g++) {
+                    ProductOptionGroupLink link = new ProductOptionGroupLink();
+                    link.setProduct(product);
+                    link.setOptionGroup(optionGroups.get(g));
+                    link.setDisplayOrder(g);
+                    product.getOptionGroupLinks().add(link);
+                    em.persist(link);
+                }
+                productIds.add(product.getId());
+            }
+
+            em.getTransaction().commit();
+            return new Fixture(member.getId(), store.getId(), List.copyOf(productIds), List.copyOf(selection));
+        } finally {
+            em.close();
+        }
+    }
+
+    /** 넣은 데이터의 id들 (selection: 그룹마다 가운데 아이템 하나, 모든 상품에 유효) */
+    record Fixture(Long memberId, Long storeId, List<Long> productIds, List<Long> selection) {}
+}
@@ -0,0 +1,97 @@
+package drone.delivery.bench;
+
+import drone.delivery.domain.SelectType;
+import drone.delivery.service.option.CompiledOptionRules;
+import drone.delivery.service.option.ProductOptionTreeCache.Group;
+import drone.delivery.service.option.ProductOptionTreeCache.Item;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 장바구니 담기 옵션 검증: 요청마다 HashMap을 새로 만드는 기존 방식 vs 컴파일된 규칙
+ * - 기존 방식은 바꾸기 전 CartFactoryService.validateOptionsAgainstProduct 와 같은 일을 한다 (검증만, 스냅샷 생성 제외)
+ * - 상품 하나에 그룹 groups개, 그룹마다 아이템 itemsPerGroup개 (첫 그룹 필수 SINGLE, 나머지 MULTI 0~3)
+ * - 선택: 그룹마다 1개
+ * - 실행: gradle jmh -Pjmh.include=OptionValidationBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OptionValidationBenchmark {
+
+    @Param({"3", "8"})
+    int groups;
+
+    @Param({"5", "20"})
+    int itemsPerGroup;
+
+    List<Group> tree;
+    Map<Long, Item> itemsById;   // 옵션 트리 스냅샷에 이미 들어 있는 맵 (요청마다 만들지 않음)
+    CompiledOptionRules rules;
+    List<Long> selected;
+
+    @Setup
+    public void setUp() {
+        List<Group> list = new ArrayList<>();
+        long nextId = 1000;
+        for (int g = 0; g < groups; g++) {
+            List<Item> items = new ArrayList<>();
+            for (int i = 0; i < itemsPerGroup; i++) {
+                items.add(new Item(nextId++, (long) g, "옵션" + g + "-" + i, 500 * i, null));
+            }
+            boolean first = g == 0;
+            list.add(new Group((long) g, "그룹" + g, first ? SelectType.SINGLE : SelectType.MULTI,
+                    first, 0, first ? 1 : 3, items));
+        }
+        tree = list;
+        itemsById = new HashMap<>();
+        for (Group g : tree) for (Item it : g.items()) itemsById.put(it.id(), it);
+        rules = CompiledOptionRules.compile(tree);
+
+        selected = new ArrayList<>();
+        for (Group g : tree) selected.add(g.items().get(g.items().size() / 2).id());
+    }
+
+    @Benchmark
+    public int compiled() {
+        return rules.validateAndSum(selected);
+    }
+
+    @Benchmark
+    public int legacyHashMaps() {
+        // 기존 CartFactoryService 검증 흐름 그대로: 스냅샷 itemsById 조회로 선택 맵 → 그룹별 분류 → 그룹 규칙 → 스트림 합산
+        Map<Long, Item> itemMap = new HashMap<>();
+        for (Long id : selected) {
+            Item it = itemsById.get(id);
+            if (it == null) throw new IllegalArgumentException("상품에 없는 옵션이 포함되어 있습니다.");
+            if (itemMap.put(id, it) != null) throw new IllegalArgumentException("같은 옵션이 중복 선택되었습니다: " + it.name());
+        }
+
+        Map<Long, List<Item>> chosenByGroup = new HashMap<>();
+        for (Long id : selected) {
+            Item item = itemMap.get(id);
+            if (item.soldOut()) throw new IllegalStateException("옵션 품절: " + item.name());
+            chosenByGroup.computeIfAbsent(item.groupId(), k -> new ArrayList<>()).add(item);
+        }
+        for (Group g : tree) {
+            int count = chosenByGroup.getOrDefault(g.id(), List.of()).size();
+            if (g.required() && count == 0) throw new IllegalArgumentException("필수 옵션을 선택하세요: " + g.name());
+            switch (g.selectType()) {
+                case SINGLE -> {
+                    if (count > 1) throw new IllegalArgumentException("단일 선택 그룹입니다: " + g.name());
+                }
+                case MULTI -> {
+                    if (g.minSelect() != null && count < g.minSelect()) throw new IllegalArgumentException(g.name());
+                    if (g.maxSelect() != null && count > g.maxSelect()) throw new IllegalArgumentException(g.name());
+                }
+            }
+        }
+
+        return selected.stream().map(itemMap::get).filter(Objects::nonNull).mapToInt(Item::priceDelta).sum();
+    }
+}
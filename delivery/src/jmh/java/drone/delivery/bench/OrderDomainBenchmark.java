@@ -0,0 +1,67 @@
+package drone.delivery.bench;
+
+import drone.delivery.domain.*;
+import drone.delivery.dto.SendInfoDTO;
+import drone.delivery.mapper.OrderToSendInfoMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주문 도메인 조립 비용 (DB/스프링 없음)
+ * - createOrder: Order.createOrder 의 양방향 연결 + 총액/요약(summary) 문자열 생성
+ * - mapToSendInfo: 배차 요청 DTO 변환 (OrderToSendInfoMapper.map, 좌표는 프로필에서 받은 값)
+ * - lines: 주문 아이템 줄 수
+ * - 실행: gradle jmh -Pjmh.include=OrderDomainBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderDomainBenchmark {
+
+    @Param({"1", "5", "20"})
+    int lines;
+
+    Member member;
+    List<OrderItem> items;
+    Order order;
+    OrderToSendInfoMapper mapper;
+
+    @Setup
+    public void setUp() {
+        member = new Member();
+        member.setId(1L);
+
+        Store store = new Store();
+        store.setId(1L);
+        store.setLatitude(37.57);
+        store.setLongitude(126.98);
+
+        items = new ArrayList<>();
+        for (int i = 0; i < lines; i++) {
+            Product p = Product.createProduct("메뉴" + i, 12_000 + 500 * i, 100);
+            p.setId((long) i + 1);
+            p.setStore(store);
+            items.add(OrderItem.createOrderItem(p, 1 + i % 3, p.getFoodPrice()));
+        }
+        order = Order.createOrder(member, items);
+        order.setId(1L);
+        mapper = new OrderToSendInfoMapper();
+    }
+
+    @Benchmark
+    public Order createOrder() {
+        // 아이템의 order 참조만 새 주문으로 바뀌므로 같은 아이템 목록을 재사용해도 누적되지 않는다
+        return Order.createOrder(member, items);
+    }
+
+    @Benchmark
+    public SendInfoDTO mapToSendInfo() {
+        return mapper.map(order, 37.5665, 126.9780);
+    }
+}
@@ -0,0 +1,67 @@
+package drone.delivery.bench;
+
+import drone.delivery.bench.EmbeddedDeliveryApp.Fixture;
+import drone.delivery.domain.CartItem;
+import drone.delivery.service.OrderService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주문 한 건의 트랜잭션 비용 (OrderService.order → tryOrder, 실제 빈 + H2 인메모리)
+ * - 회원 프로필 캐시 확인, 상품 로딩, 잔액 조건부 차감, 재고 확보, 주문/아이템 insert, 지갑 원장, 배차 아웃박스까지 전부 포함
+ * - 그룹 커밋 파이프라인은 끈 상태 (건별 트랜잭션 비용)
+ * - cartLines: 장바구니 줄 수 (서로 다른 상품), strategy: app.order.stock.strategy
+ * - 단일 스레드라 경합은 없다. 경합 비교는 StockContentionBenchmark
+ * - 실행: gradle jmh -Pjmh.include=OrderServiceBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class OrderServiceBenchmark {
+
+    @Param({"1", "5"})
+    int cartLines;
+
+    @Param({"ledger", "conditional"})
+    String strategy;
+
+    ConfigurableApplicationContext ctx;
+    OrderService orderService;
+    Long memberId;
+    List<CartItem> cart;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ctx = EmbeddedDeliveryApp.start("orderbench", "--app.order.stock.strategy=" + strategy);
+        Fixture fixture = EmbeddedDeliveryApp.seed(ctx, cartLines, 1, 3);
+        orderService = ctx.getBean(OrderService.class);
+        memberId = fixture.memberId();
+
+        cart = new ArrayList<>();
+        for (Long productId : fixture.productIds()) {
+            CartItem ci = new CartItem();
+            ci.setProductId(productId);
+            ci.setProductName("메뉴");
+            ci.setPrice(100);
+            ci.setQuantity(1);
+            cart.add(ci);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ctx.close();
+    }
+
+    @Benchmark
+    public Long order() {
+        return orderService.order(memberId, cart);
+    }
+}
@@ -0,0 +1,168 @@
+package drone.delivery.bench;
+
+import drone.delivery.service.stock.StockReservationLedger;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.*;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 재고 차감 전략별 경합 벤치마크 (H2 인메모리, 주문 한 건 = 트랜잭션 하나)
+ * - 트랜잭션마다 주문 행 하나 insert + 상품 하나 재고 1개 차감
+ * - hotProducts: 스레드들이 나눠 쓰는 상품 수 (1 = 모든 주문이 같은 상품, 클수록 경합이 적음)
+ * - optimistic 은 버전 충돌 시 최대 3회 재시도, retries/failures 보조 카운터로 충돌량을 함께 보여 준다.
+ * - 실행: gradle jmh -Pjmh.include=StockContentionBenchmark
+ *   (실제 MySQL 의 락/커밋 비용과는 절대값이 다르므로 전략 간 상대 비교용)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@Threads(8)
+public class StockContentionBenchmark {
+
+    private static final String URL = "jdbc:h2:mem:stockbench;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000";
+    private static final int MAX_ATTEMPTS = 3;
+
+    @State(Scope.Benchmark)
+    public static class Db {
+        @Param({"1", "8", "64"})
+        int hotProducts;
+
+        StockReservationLedger ledger;
+        final AtomicInteger orderSeq = new AtomicInteger();
+
+        @Setup(Level.Trial)
+        public void setUp() throws SQLException {
+            try (Connection c = DriverManager.getConnection(URL); Statement s = c.createStatement()) {
+                s.execute("drop table if exists product");
+                s.execute("drop table if exists orders");
+                s.execute("create table product (id bigint primary key, quantity int not null, version bigint not null)");
+                s.execute("create table orders (id bigint primary key, product_id bigint not null)");
+                for (int i = 1; i <= hotProducts; i++) {
+                    s.execute("insert into product values (" + i + ", 1000000000, 0)");
+                }
+            }
+            // 트랜잭션 동기화 밖에서 쓰면 예약 즉시 확정 (DB 반영은 write-behind 라 측정 대상 아님)
+            ledger = new StockReservationLedger(null, null);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Conn {
+        Connection connection;
+
+        @Setup(Level.Trial)
+        public void open() throws SQLException {
+            connection = DriverManager.getConnection(URL);
+            connection.setAutoCommit(false);
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws SQLException {
+            connection.close();
+        }
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Conflicts {
+        public long retries;
+        public long failures;
+    }
+
+    private static long pick(Db db) {
+        return 1 + ThreadLocalRandom.current().nextInt(db.hotProducts);
+    }
+
+    private static void insertOrder(Connection c, Db db, long productId) throws SQLException {
+        try (PreparedStatement ps = c.prepareStatement("insert into orders values (?, ?)")) {
+            ps.setLong(1, db.orderSeq.incrementAndGet());
+            ps.setLong(2, productId);
+            ps.executeUpdate();
+        }
+    }
+
+    @Benchmark
+    public void ledger(Db db, Conn conn) throws SQLException {
+        Connection c = conn.connection;
+        long id = pick(db);
+        db.ledger.reserveForCurrentTransaction(Map.of(id, 1), k -> 1_000_000_000);
+        insertOrder(c, db, id);
+        c.commit();
+    }
+
+    @Benchmark
+    public void pessimistic(Db db, Conn conn) throws SQLException {
+        Connection c = conn.connection;
+        long id = pick(db);
+        try (PreparedStatement sel = c.prepareStatement("select quantity from product where id = ? for update");
+             PreparedStatement upd = c.prepareStatement("update product set quantity = ?, version = version + 1 where id = ?")) {
+            sel.setLong(1, id);
+            int qty;
+            try (ResultSet rs = sel.executeQuery()) {
+                rs.next();
+                qty = rs.getInt(1);
+            }
+            upd.setInt(1, qty - 1);
+            upd.setLong(2, id);
+            upd.executeUpdate();
+        }
+        insertOrder(c, db, id);
+        c.commit();
+    }
+
+    @Benchmark
+    public void optimistic(Db db, Conn conn, Conflicts conflicts) throws SQLException {
+        Connection c = conn.connection;
+        long id = pick(db);
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            try (PreparedStatement sel = c.prepareStatement("select quantity, version from product where id = ?");
+                 PreparedStatement upd = c.prepareStatement(
+                         "update product set quantity = ?, version = version + 1 where id = ? and version = ?")) {
+                sel.setLong(1, id);
+                int qty;
+                long version;
+                try (ResultSet rs = sel.executeQuery()) {
+                    rs.next();
+                    qty = rs.getInt(1);
+                    version = rs.getLong(2);
+                }
+                insertOrder(c, db, id);
+                upd.setInt(1, qty - 1);
+                upd.setLong(2, id);
+                upd.setLong(3, version);
+                if (upd.executeUpdate() == 1) {
+                    c.commit();
+                    return;
+                }
+                c.rollback();
+                conflicts.retries++;
+            }
+        }
+        conflicts.failures++;
+    }
+
+    @Benchmark
+    public void conditional(Db db, Conn conn, Conflicts conflicts) throws SQLException {
+        Connection c = conn.connection;
+        long id = pick(db);
+        try (PreparedStatement upd = c.prepareStatement(
+                "update product set quantity = quantity - ?, version = version + 1 where id = ? and quantity >= ?")) {
+            upd.setInt(1, 1);
+            upd.setLong(2, id);
+            upd.setInt(3, 1);
+            if (upd.executeUpdate() == 0) {
+                c.rollback();
+                conflicts.failures++;
+                return;
+            }
+        }
+        insertOrder(c, db, id);
+        c.commit();
+    }
+}
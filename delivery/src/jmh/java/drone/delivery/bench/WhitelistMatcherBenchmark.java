@@ -0,0 +1,85 @@
+package drone.delivery.bench;
+
+import drone.delivery.WebConfig;
+import drone.delivery.controller.WhitelistMatcher;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 로그인 인터셉터 화이트리스트 판정: 패턴마다 AntPathMatcher.match 를 돌리는 기존 방식 vs 컴파일된 트라이 (+ 판정 캐시)
+ * - 입력: 우리 라우트 표에서 뽑은 URI (실시간 화면 폴링 경로 포함), 호출마다 다음 URI로 순환
+ * - 캐시는 라우트(매핑 패턴)별이라 cached 쪽은 URI 와 함께 매핑 패턴을 넘긴다.
+ * - 실행: gradle jmh -Pjmh.include=WhitelistMatcherBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class WhitelistMatcherBenchmark {
+
+    private static final String[] ROUTES = {
+            "/delivery", "/delivery/12", "/delivery/12/menu/345", "/delivery/stores", "/delivery/nearby",
+            "/cart/add", "/cart/checkout", "/orders", "/orders/981", "/orders/981/dispatch",
+            "/realtime", "/realtime/orders/981/status", "/realtime/orders/981/stream", "/sse/stream",
+            "/reviews", "/reviews/55", "/account", "/recharge", "/owner", "/owner/stores/3/products/8/options",
+            "/login", "/logout", "/register", "/drone/orders/981"
+    };
+
+    // ROUTES 각 URI를 처리하는 컨트롤러 매핑 패턴 (판정 캐시 키)
+    private static final String[] ROUTE_PATTERNS = {
+            "/delivery", "/delivery/{storeId}", "/delivery/{storeId}/menu/{productId}", "/delivery/stores", "/delivery/nearby",
+            "/cart/add", "/cart/checkout", "/orders", "/orders/{orderId}", "/orders/{orderId}/dispatch",
+            "/realtime", "/realtime/orders/{orderId}/status", "/realtime/orders/{orderId}/stream", "/sse/stream",
+            "/reviews", "/reviews/{reviewId}", "/account", "/recharge", "/owner", "/owner/stores/{storeId}/products/{productId}/options",
+            "/login", "/logout", "/register", "/drone/orders/{orderId}"
+    };
+
+    List<String> patterns;
+    AntPathMatcher antPathMatcher;
+    WhitelistMatcher compiled;
+    int next;
+
+    @Setup
+    public void setUp() {
+        patterns = WebConfig.LOGIN_WHITELIST;
+        antPathMatcher = new AntPathMatcher();
+        compiled = new WhitelistMatcher(patterns, 4096);
+    }
+
+    private String nextUri() {
+        String uri = ROUTES[next];
+        next = (next + 1) % ROUTES.length;
+        return uri;
+    }
+
+    private int nextIndex() {
+        int i = next;
+        next = (next + 1) % ROUTES.length;
+        return i;
+    }
+
+    @Benchmark
+    public boolean antPathMatcherLoop() {
+        String uri = nextUri();
+        for (String p : patterns) {
+            if (antPathMatcher.match(p, uri)) return true;
+        }
+        return false;
+    }
+
+    @Benchmark
+    public boolean compiledTrie() {
+        return compiled.matchesUncached(nextUri());
+    }
+
+    @Benchmark
+    public boolean compiledTrieCached() {
+        int i = nextIndex();
+        return compiled.matches(ROUTES[i], ROUTE_PATTERNS[i]);
+    }
+}
@@ -0,0 +1,44 @@
+package drone.delivery.loadtest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * --key=value 형식 명령행 인자 (부하 테스트 도구 공용)
+ */
+final class Args {
+
+    private final Map<String, String> values = new HashMap<>();
+
+    Args(String[] args) {
+        for (String a : args) {
+            if (!a.startsWith("--")) throw new IllegalArgumentException("--key=value 형식이어야 합니다: " + a);
+            int eq = a.indexOf('=');
+            if (eq < 0) values.put(a.substring(2), "true");
+            else values.put(a.substring(2, eq), a.substring(eq + 1));
+        }
+    }
+
+    String string(String key, String def) {
+        return values.getOrDefault(key, def);
+    }
+
+    int integer(String key, int def) {
+        String v = values.get(key);
+        return v == null ? def : Integer.parseInt(v.trim());
+    }
+
+    long longValue(String key, long def) {
+        String v = values.get(key);
+        return v == null ? def : Long.parseLong(v.trim());
+    }
+
+    double decimal(String key, double def) {
+        String v = values.get(key);
+        return v == null ? def : Double.parseDouble(v.trim());
+    }
+
+    boolean has(String key) {
+        return values.containsKey(key);
+    }
+}
@@ -0,0 +1,75 @@
+package drone.delivery.loadtest;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 락 없는 지연 시간 히스토그램 (마이크로초 단위, 상대 오차 약 1.6%)
+ * - 2의 거듭제곱 구간마다 64칸으로 나눈 로그-선형 버킷 (HdrHistogram 과 같은 방식, 유효 숫자 2자리 정도)
+ * - 백분위는 해당 버킷의 상한으로 보고한다.
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BITS = 6;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int MAGNITUDES = 40;      // 2^40 µs ≈ 12일, 넘으면 마지막 칸
+
+    private final AtomicLongArray counts = new AtomicLongArray((MAGNITUDES + 1) * SUB_COUNT);
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong sumMicros = new AtomicLong();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    void record(long micros) {
+        long v = Math.max(0, micros);
+        counts.incrementAndGet(index(v));
+        total.incrementAndGet();
+        sumMicros.addAndGet(v);
+        maxMicros.accumulateAndGet(v, Math::max);
+    }
+
+    long count() { return total.get(); }
+
+    long maxMicros() { return maxMicros.get(); }
+
+    double meanMicros() {
+        long n = total.get();
+        return n == 0 ? 0 : (double) sumMicros.get() / n;
+    }
+
+    /** p: 0~100 */
+    long percentileMicros(double p) {
+        long n = total.get();
+        if (n == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(p / 100.0 * n));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= rank) return Math.min(upperBound(i), maxMicros.get());
+        }
+        return maxMicros.get();
+    }
+
+    /** 상한(µs) 이하인 기록 수 (누적) */
+    long countAtOrBelow(long micros) {
+        long seen = 0;
+        int last = index(micros);
+        for (int i = 0; i <= last; i++) seen += counts.get(i);
+        return seen;
+    }
+
+    // 0~63 은 그대로, 그 위로는 (최상위 비트 위치, 그 아래 6비트) 로 칸을 정한다
+    private static int index(long v) {
+        if (v < SUB_COUNT) return (int) v;
+        int magnitude = 63 - Long.numberOfLeadingZeros(v) - SUB_BITS + 1;
+        if (magnitude > MAGNITUDES) return (MAGNITUDES + 1) * SUB_COUNT - 1;
+        int sub = (int) (v >>> (magnitude - 1)) & (SUB_COUNT - 1);
+        return magnitude * SUB_COUNT + sub;
+    }
+
+    private static long upperBound(int index) {
+        int magnitude = index / SUB_COUNT;
+        int sub = index % SUB_COUNT;
+        if (magnitude == 0) return sub;
+        return ((long) (SUB_COUNT + sub + 1) << (magnitude - 1)) - 1;
+    }
+}
@@ -0,0 +1,404 @@
+package drone.delivery.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * 주문 흐름 부하 테스트 (가입 → 로그인 → 충전 → 가게 목록/메뉴 → 장바구니 → 체크아웃 → 실시간 조회 폴링 → 배달 완료 웹훅)
+ * - 열린 모델(open model): 목표 RPS 간격으로 새 시나리오(가상 사용자 한 명)를 시작한다.
+ *   응답이 느려져도 도착률은 그대로이며, 동시 진행 수가 max-in-flight 를 넘으면 시작하지 않고 dropped 로 센다.
+ * - 단계별 지연 시간 히스토그램(p50/p90/p99/max, 구간별 분포)과 실패 수를 마지막에 출력한다.
+ * - 세션 쿠키는 가상 사용자별로 직접 들고 다닌다 (HttpClient 하나를 모두가 공유)
+ * - 대상 가게/상품/옵션은 인자(--store, --product, --options=1,2)로 주거나, 없으면 시작 시 화면을 읽어 첫 가게·첫 메뉴·필수 그룹 첫 옵션을 고른다.
+ *
+ * 실행: gradle loadTest -Ploadtest.args='--base-url=http://localhost:8080 --rps=20 --duration-s=60 --with-stubs'
+ *  --with-stubs: 드론 서버/지오코더 대역을 같은 프로세스에서 함께 띄움 (앱은 대역 주소로 실행해 둘 것, StubServers 참고)
+ */
+public final class ScenarioRunner {
+
+    static final List<String> STEPS = List.of(
+            "register", "login", "recharge", "browse", "store", "menu", "add-to-cart", "checkout",
+            "realtime", "dispatch-poll", "status-poll", "image-poll", "delivered");
+
+    private static final Pattern SESSION_COOKIE = Pattern.compile("JSESSIONID=([^;]+)");
+    private static final Pattern ORDER_REDIRECT = Pattern.compile("/realtime\\?orderId=(\\d+)");
+
+    private final String baseUrl;
+    private final double rps;
+    private final Duration duration;
+    private final int maxInFlight;
+    private final int polls;
+    private final long pollIntervalMs;
+    private final int quantity;
+    private final int rechargeAmount;
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+
+    private final HttpClient http;
+    private final ExecutorService workers = Executors.newCachedThreadPool(daemon("scenario"));
+
+    private final Map<String, LatencyHistogram> histograms = new LinkedHashMap<>();
+    private final Map<String, LongAdder> failures = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> failureReasons = new ConcurrentHashMap<>();
+    private final AtomicLong userSeq = new AtomicLong();
+    private final AtomicLong inFlight = new AtomicLong();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    private Target target;
+
+    ScenarioRunner(Args args) {
+        this.baseUrl = args.string("base-url", "http://localhost:8080").replaceAll("/+$", "");
+        this.rps = args.decimal("rps", 5);
+        this.duration = Duration.ofSeconds(args.longValue("duration-s", 60));
+        this.maxInFlight = args.integer("max-in-flight", 500);
+        this.polls = args.integer("polls", 5);
+        this.pollIntervalMs = args.longValue("poll-interval-ms", 1000);
+        this.quantity = args.integer("quantity", 1);
+        this.rechargeAmount = args.integer("recharge", 1_000_000);
+        this.http = HttpClient.newBuilder()
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors()), daemon("http")))
+                .build();
+        resetStats();
+        if (args.has("store") && args.has("product")) {
+            List<Long> options = args.has("options")
+                    ? Arrays.stream(args.string("options", "").split(",")).filter(s -> !s.isBlank()).map(Long::valueOf).toList()
+                    : List.of();
+            this.target = new Target(args.longValue("store", 0), args.longValue("product", 0), options);
+        }
+    }
+
+    public static void main(String[] argv) throws Exception {
+        Args args = new Args(argv);
+        StubDroneServer drone = null;
+        StubGeocoder geocoder = null;
+        if (args.has("with-stubs")) {
+            drone = new StubDroneServer(StubDroneServer.Settings.from(args));
+            geocoder = new StubGeocoder(args.integer("geo-port", 8001));
+            drone.start();
+            geocoder.start();
+        }
+        try {
+            ScenarioRunner runner = new ScenarioRunner(args);
+            runner.run();
+            System.out.println(runner.report());
+        } finally {
+            if (drone != null) {
+                drone.stop();
+                System.out.println(drone.summary());
+            }
+            if (geocoder != null) {
+                geocoder.stop();
+                System.out.println(geocoder.summary());
+            }
+        }
+    }
+
+    /* ---------- 실행 ---------- */
+
+    void run() throws InterruptedException {
+        if (target == null) {
+            target = discoverTarget();
+            resetStats(); // 탐색 요청은 통계에서 뺀다
+        }
+        System.out.printf("대상: store=%d, product=%d, options=%s / 목표 %.1f 시나리오/초, %d초%n",
+                target.storeId(), target.productId(), target.options(), rps, duration.toSeconds());
+
+        ScheduledExecutorService arrivals = Executors.newSingleThreadScheduledExecutor(daemon("arrivals"));
+        long periodNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rps);
+        long startedAt = System.nanoTime();
+        arrivals.scheduleAtFixedRate(this::arrive, 0, Math.max(1, periodNanos), TimeUnit.NANOSECONDS);
+
+        Thread.sleep(duration.toMillis());
+        arrivals.shutdownNow();
+        long elapsed = System.nanoTime() - startedAt;
+
+        // 진행 중인 시나리오는 폴링까지 끝나도록 잠시 기다린다
+        long drainUntil = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(polls * pollIntervalMs + 30_000);
+        while (inFlight.get() > 0 && System.nanoTime() < drainUntil) Thread.sleep(100);
+        workers.shutdownNow();
+        System.out.printf("도착 구간 %.1f초 동안 시작 %d (%.1f/초)%n",
+                elapsed / 1e9, started.sum(), started.sum() / (elapsed / 1e9));
+    }
+
+    private void arrive() {
+        if (inFlight.get() >= maxInFlight) {
+            dropped.increment();
+            return;
+        }
+        inFlight.incrementAndGet();
+        started.increment();
+        workers.execute(() -> {
+            try {
+                scenario(userSeq.incrementAndGet());
+                completed.increment();
+            } catch (StepFailure e) {
+                failed.increment();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                failed.increment();
+                failureReasons.computeIfAbsent("unexpected: " + e.getClass().getSimpleName(), k -> new LongAdder()).increment();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        });
+    }
+
+    private void resetStats() {
+        STEPS.forEach(s -> {
+            histograms.put(s, new LatencyHistogram());
+            failures.put(s, new LongAdder());
+        });
+        failureReasons.clear();
+    }
+
+    private static ThreadFactory daemon(String name) {
+        AtomicLong seq = new AtomicLong();
+        return r -> {
+            Thread t = new Thread(r, name + "-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    /* ---------- 시나리오 ---------- */
+
+    private void scenario(long seq) throws InterruptedException {
+        Session s = new Session();
+        String email = "lt-" + runId + "-" + seq + "@load.test";
+
+        step(s, "register", post("/register", Map.of(
+                "name", "부하" + seq, "email", email, "password", "pw1234", "confirmPassword", "pw1234",
+                "street", "서울특별시 중구 세종대로 " + (seq % 200 + 1), "city", "서울특별시",
+                "zipcode", "04524", "detailAddress", "부하테스트 " + seq, "memberType", "USER")),
+                r -> isRedirectTo(r, "/login"));
+        login(s, email, "pw1234");
+        step(s, "recharge", post("/recharge", Map.of("money", Integer.toString(rechargeAmount))), ScenarioRunner::isRedirect);
+
+        step(s, "browse", get("/delivery"), ScenarioRunner::isOk);
+        step(s, "store", get("/delivery/" + target.storeId()), ScenarioRunner::isOk);
+        step(s, "menu", get("/delivery/" + target.storeId() + "/menu/" + target.productId()), ScenarioRunner::isOk);
+
+        List<Map.Entry<String, String>> cartForm = new ArrayList<>(List.of(
+                Map.entry("productId", Long.toString(target.productId())),
+                Map.entry("storeId", Long.toString(target.storeId())),
+                Map.entry("quantity", Integer.toString(quantity))));
+        target.options().forEach(o -> cartForm.add(Map.entry("options", Long.toString(o))));
+        step(s, "add-to-cart", postForm("/cart/add", cartForm),
+                r -> isRedirectTo(r, "/delivery/" + target.storeId()));
+
+        HttpResponse<byte[]> checkout = step(s, "checkout",
+                post("/cart/checkout", Map.of("storeId", Long.toString(target.storeId()))),
+                r -> ORDER_REDIRECT.matcher(location(r)).find());
+        Matcher m = ORDER_REDIRECT.matcher(location(checkout));
+        m.find();
+        long orderId = Long.parseLong(m.group(1));
+
+        step(s, "realtime", get("/realtime?orderId=" + orderId), ScenarioRunner::isOk);
+        for (int i = 0; i < polls; i++) {
+            step(s, "dispatch-poll", get("/orders/" + orderId + "/dispatch"), ScenarioRunner::isOk);
+            step(s, "status-poll", get("/realtime/orders/" + orderId + "/status"), ScenarioRunner::isOk);
+            step(s, "image-poll", get("/realtime/orders/" + orderId + "/image.png"), ScenarioRunner::isOk);
+            if (i < polls - 1) Thread.sleep(pollIntervalMs);
+        }
+
+        // 드론 서버가 보내는 완료 통지 (세션 없음)
+        step(null, "delivered", HttpRequest.newBuilder(uri("/drone/orders/" + orderId + "/delivered"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"orderId\":" + orderId + "}")),
+                ScenarioRunner::isOk);
+    }
+
+    private void login(Session s, String email, String password) throws InterruptedException {
+        HttpResponse<byte[]> r = step(s, "login", post("/login", Map.of("email", email, "password", password)),
+                res -> isRedirectTo(res, "/delivery"));
+        r.headers().allValues("Set-Cookie").stream()
+                .map(SESSION_COOKIE::matcher).filter(Matcher::find).findFirst()
+                .ifPresent(c -> s.cookie = c.group(1));
+    }
+
+    /* ---------- 대상 탐색 ---------- */
+
+    private Target discoverTarget() throws InterruptedException {
+        Session s = new Session();
+        String email = "lt-" + runId + "-probe@load.test";
+        step(s, "register", post("/register", Map.of(
+                "name", "부하탐색", "email", email, "password", "pw1234", "confirmPassword", "pw1234",
+                "street", "서울특별시 중구 세종대로 110", "city", "서울특별시",
+                "zipcode", "04524", "detailAddress", "탐색", "memberType", "USER")), r -> isRedirectTo(r, "/login"));
+        login(s, email, "pw1234");
+
+        String list = body(step(s, "browse", get("/delivery"), ScenarioRunner::isOk));
+        long storeId = firstLong(Pattern.compile("href=\"/delivery/(\\d+)\""), list, "가게 링크");
+        String menu = body(step(s, "store", get("/delivery/" + storeId), ScenarioRunner::isOk));
+        long productId = firstLong(Pattern.compile("/delivery/" + storeId + "/menu/(\\d+)"), menu, "메뉴 링크");
+        String detail = body(step(s, "menu", get("/delivery/" + storeId + "/menu/" + productId), ScenarioRunner::isOk));
+
+        // 필수 그룹마다 첫 (품절 아닌) 옵션 하나
+        List<Long> options = new ArrayList<>();
+        Matcher g = Pattern.compile("data-group-id=\"(\\d+)\"[^>]*data-required=\"true\"").matcher(detail);
+        while (g.find()) {
+            Matcher item = Pattern.compile("<input[^>]*data-item-id=\"(\\d+)\"[^>]*data-group-id=\"" + g.group(1) + "\"(?![^>]*disabled)")
+                    .matcher(detail);
+            if (item.find()) options.add(Long.parseLong(item.group(1)));
+        }
+        return new Target(storeId, productId, options);
+    }
+
+    private static long firstLong(Pattern p, String html, String what) {
+        Matcher m = p.matcher(html);
+        if (!m.find()) throw new IllegalStateException(what + "을(를) 찾지 못했습니다. --store/--product 로 지정하세요.");
+        return Long.parseLong(m.group(1));
+    }
+
+    /* ---------- HTTP ---------- */
+
+    private HttpResponse<byte[]> step(Session s, String name, HttpRequest.Builder req,
+                                      java.util.function.Predicate<HttpResponse<byte[]>> ok) throws InterruptedException {
+        if (s != null && s.cookie != null) req.header("Cookie", "JSESSIONID=" + s.cookie);
+        req.timeout(Duration.ofSeconds(30));
+        long t0 = System.nanoTime();
+        HttpResponse<byte[]> r;
+        try {
+            r = http.send(req.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            fail(name, e.getClass().getSimpleName());
+            throw new StepFailure();
+        } finally {
+            histograms.get(name).record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - t0));
+        }
+        if (!ok.test(r)) {
+            fail(name, "HTTP " + r.statusCode() + (isRedirect(r) ? " → " + location(r) : ""));
+            throw new StepFailure();
+        }
+        return r;
+    }
+
+    private void fail(String step, String reason) {
+        failures.get(step).increment();
+        failureReasons.computeIfAbsent(step + ": " + reason, k -> new LongAdder()).increment();
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(uri(path)).GET();
+    }
+
+    private HttpRequest.Builder post(String path, Map<String, String> form) {
+        return postForm(path, new ArrayList<>(form.entrySet()));
+    }
+
+    private HttpRequest.Builder postForm(String path, List<Map.Entry<String, String>> form) {
+        String body = form.stream()
+                .map(e -> URLEncoder.encode(e.getKey(), StandardCharsets.UTF_8) + "="
+                        + URLEncoder.encode(e.getValue(), StandardCharsets.UTF_8))
+                .collect(Collectors.joining("&"));
+        return HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    private static boolean isOk(HttpResponse<?> r) {
+        return r.statusCode() / 100 == 2;
+    }
+
+    private static boolean isRedirect(HttpResponse<?> r) {
+        return r.statusCode() / 100 == 3;
+    }
+
+    // 로그인 실패/검증 오류는 200(폼 다시 보여줌) 또는 다른 곳으로의 리다이렉트라서 목적지까지 확인한다
+    private static boolean isRedirectTo(HttpResponse<?> r, String pathPrefix) {
+        if (!isRedirect(r)) return false;
+        String loc = location(r);
+        int scheme = loc.indexOf("://");
+        String path = scheme < 0 ? loc : loc.substring(loc.indexOf('/', scheme + 3));
+        return path.startsWith(pathPrefix);
+    }
+
+    private static String location(HttpResponse<?> r) {
+        return r.headers().firstValue("Location").orElse("");
+    }
+
+    private static String body(HttpResponse<byte[]> r) {
+        return new String(r.body(), StandardCharsets.UTF_8);
+    }
+
+    /* ---------- 보고서 ---------- */
+
+    private static final long[] BUCKETS_MS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000};
+
+    String report() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%n시나리오: 시작 %d, 완료 %d, 실패 %d, 시작 못 함(dropped) %d%n%n",
+                started.sum(), completed.sum(), failed.sum(), dropped.sum()));
+        sb.append(String.format("%-14s %8s %7s %9s %9s %9s %9s %9s%n",
+                "step", "count", "fail", "mean(ms)", "p50", "p90", "p99", "max"));
+        for (String step : STEPS) {
+            LatencyHistogram h = histograms.get(step);
+            if (h.count() == 0) continue;
+            sb.append(String.format("%-14s %8d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    step, h.count(), failures.get(step).sum(), h.meanMicros() / 1000.0,
+                    h.percentileMicros(50) / 1000.0, h.percentileMicros(90) / 1000.0,
+                    h.percentileMicros(99) / 1000.0, h.maxMicros() / 1000.0));
+        }
+
+        sb.append(String.format("%n구간별 분포 (ms 이하, %%)%n%-14s", "step"));
+        for (long b : BUCKETS_MS) sb.append(String.format("%7s", "≤" + b));
+        sb.append(String.format("%7s%n", ">" + BUCKETS_MS[BUCKETS_MS.length - 1]));
+        for (String step : STEPS) {
+            LatencyHistogram h = histograms.get(step);
+            if (h.count() == 0) continue;
+            sb.append(String.format("%-14s", step));
+            long prev = 0;
+            for (long b : BUCKETS_MS) {
+                long upTo = h.countAtOrBelow(b * 1000);
+                sb.append(String.format("%7.1f", 100.0 * (upTo - prev) / h.count()));
+                prev = upTo;
+            }
+            sb.append(String.format("%7.1f%n", 100.0 * (h.count() - prev) / h.count()));
+        }
+
+        if (!failureReasons.isEmpty()) {
+            sb.append(String.format("%n실패 사유%n"));
+            failureReasons.entrySet().stream()
+                    .sorted(Map.Entry.<String, LongAdder>comparingByValue(Comparator.comparingLong(LongAdder::sum)).reversed())
+                    .limit(20)
+                    .forEach(e -> sb.append(String.format("  %6d  %s%n", e.getValue().sum(), e.getKey())));
+        }
+        return sb.toString();
+    }
+
+    /* ---------- 타입 ---------- */
+
+    private record Target(long storeId, long productId, List<Long> options) {}
+
+    // 가상 사용자 한 명의 세션 쿠키
+    private static final class Session {
+        volatile String cookie;
+    }
+
+    // 단계 실패: 이미 집계했으므로 시나리오만 중단
+    private static final class StepFailure extends RuntimeException {
+        StepFailure() { super(null, null, false, false); }
+    }
+}
@@ -0,0 +1,316 @@
+package drone.delivery.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 파이썬 드론 서버 대역 (로컬 부하 테스트용, app.drone.base-url 을 여기로)
+ * - POST /api/v_a0_0_1/orders/create : 배차 접수. 본문의 orderId 를 기억해 비행 진행도를 계산한다.
+ * - POST /api/v_a0_0_1/orders/create_batch : 배차 여러 건 (SendInfoDTO 배열), 건별 결과
+ *     {"results":[{"orderId":1,"ok":true},{"orderId":2,"ok":false,"error":"..."}]}
+ *     지연은 호출당 한 번, 오류는 건별로 errorRate 확률. batchEnabled=false 면 404 (배치 미지원 서버 흉내)
+ *     rejectOrder/omitOrder 로 지정한 주문은 항상 거절(ok=false)/결과 누락 (테스트용)
+ * - GET  /api/v_a0_0_1/orders/get_drone_data_by_order/{orderId}
+ *     Accept 에 application/json 이 있으면 상태 JSON(phase/state/eta/좌표), 아니면 위치 PNG를 그때그때 그려서 준다.
+ * - 모든 응답에 지연(latencyMs ± jitterMs)을 넣고, errorRate 확률로 503을 돌려준다.
+ * - 비행 시간(flightMs)의 앞 20%는 COOKING, 이후 IN_FLIGHT, 끝나면 DELIVERED
+ */
+@Slf4j
+public final class StubDroneServer {
+
+    static final String CREATE_PATH = "/api/v_a0_0_1/orders/create";
+    static final String CREATE_BATCH_PATH = "/api/v_a0_0_1/orders/create_batch";
+    static final String DATA_PATH = "/api/v_a0_0_1/orders/get_drone_data_by_order/";
+
+    private static final Pattern ORDER_ID = Pattern.compile("\"orderId\"\\s*:\\s*(\\d+)");
+
+    public record Settings(int port, long latencyMs, long jitterMs, double errorRate, long flightMs, int imageSize,
+                           boolean batchEnabled) {
+        static Settings from(Args args) {
+            return new Settings(
+                    args.integer("drone-port", 8000),
+                    args.longValue("drone-latency-ms", 20),
+                    args.longValue("drone-jitter-ms", 10),
+                    args.decimal("drone-error-rate", 0.0),
+                    args.longValue("flight-ms", 60_000),
+                    args.integer("image-size", 320),
+                    !args.has("drone-no-batch"));
+        }
+    }
+
+    private final Settings settings;
+    private final HttpServer server;
+
+    // 주문 id → 배차 접수 시각(ms)
+    private final Map<Long, Long> dispatchedAt = new ConcurrentHashMap<>();
+
+    // 배치 응답에서 항상 거절/누락할 주문 id
+    private final Set<Long> rejectedOrders = ConcurrentHashMap.newKeySet();
+    private final Set<Long> omittedOrders = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong batchCalls = new AtomicLong();
+    private final AtomicLong statusCalls = new AtomicLong();
+    private final AtomicLong imageCalls = new AtomicLong();
+    private final AtomicLong injectedErrors = new AtomicLong();
+
+    public StubDroneServer(Settings settings) throws IOException {
+        this.settings = settings;
+        this.server = createServer(settings.port(), 256);
+        this.server.setExecutor(Executors.newCachedThreadPool());
+        // 경로 접두사 매칭이라 create 보다 긴 create_batch 가 먼저 잡힌다
+        this.server.createContext(CREATE_PATH, this::create);
+        this.server.createContext(CREATE_BATCH_PATH, this::createBatch);
+        this.server.createContext(DATA_PATH, this::droneData);
+    }
+
+    /**
+     * JDK HttpServer 생성. 기본값은 TCP_NODELAY 꺼짐이라 응답 헤더/본문이 따로 나가면서
+     * 지연 ACK(약 40ms)에 걸려, 지연 0 으로 설정해도 요청마다 수십 ms 씩 늘어난다.
+     * (설정은 HttpServer 를 처음 만들기 전에 읽히므로 여기서 켠다)
+     */
+    static HttpServer createServer(int port, int backlog) throws IOException {
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        return HttpServer.create(new InetSocketAddress(port), backlog);
+    }
+
+    public void start() {
+        server.start();
+        log.info("드론 서버 대역 시작: port={}, 지연={}±{}ms, 오류율={}, 배치={}", port(),
+                settings.latencyMs(), settings.jitterMs(), settings.errorRate(), settings.batchEnabled());
+    }
+
+    public void stop() {
+        server.stop(0);
+    }
+
+    /** 실제로 열린 포트 (Settings.port 가 0이면 임의 포트) */
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    /** 지금까지 접수한 배차 수 */
+    public long createdCount() {
+        return created.get();
+    }
+
+    /** 지금까지 받은 배치 호출 수 (404 로 거절한 호출 제외) */
+    public long batchCallCount() {
+        return batchCalls.get();
+    }
+
+    /** 이 주문은 배치 응답에서 ok=false 로 돌려준다 */
+    public void rejectOrder(long orderId) {
+        rejectedOrders.add(orderId);
+    }
+
+    /** 이 주문은 배치 응답에서 결과를 빼먹는다 */
+    public void omitOrder(long orderId) {
+        omittedOrders.add(orderId);
+    }
+
+    public String summary() {
+        return String.format("드론 서버 대역: 배차 접수 %d (배치 호출 %d), 상태 조회 %d, 이미지 %d, 주입 오류 %d",
+                created.get(), batchCalls.get(), statusCalls.get(), imageCalls.get(), injectedErrors.get());
+    }
+
+    /* ---------- 핸들러 ---------- */
+
+    private void create(HttpExchange ex) throws IOException {
+        try (ex) {
+            if (!"POST".equals(ex.getRequestMethod())) {
+                send(ex, 405, "text/plain", new byte[0]);
+                return;
+            }
+            String body = readBody(ex.getRequestBody());
+            if (delayOrFail(ex)) return;
+
+            Matcher m = ORDER_ID.matcher(body);
+            if (!m.find()) {
+                send(ex, 400, "application/json", json("{\"error\":\"orderId 없음\"}"));
+                return;
+            }
+            dispatchedAt.putIfAbsent(Long.parseLong(m.group(1)), System.currentTimeMillis());
+            created.incrementAndGet();
+            send(ex, 200, "application/json", json("{\"ok\":true}"));
+        }
+    }
+
+    private void createBatch(HttpExchange ex) throws IOException {
+        try (ex) {
+            // 본문을 다 읽어야 연결이 keep-alive 로 재사용된다 (404 로 거절할 때도)
+            String body = readBody(ex.getRequestBody());
+            if (!settings.batchEnabled()) {
+                send(ex, 404, "text/plain", new byte[0]);
+                return;
+            }
+            if (!"POST".equals(ex.getRequestMethod())) {
+                send(ex, 405, "text/plain", new byte[0]);
+                return;
+            }
+            delay();
+            batchCalls.incrementAndGet();
+
+            // 배열의 각 원소는 SendInfoDTO 하나 → 원소마다 orderId 가 한 번씩 나온다
+            StringBuilder results = new StringBuilder("{\"results\":[");
+            Matcher m = ORDER_ID.matcher(body);
+            boolean first = true;
+            long now = System.currentTimeMillis();
+            while (m.find()) {
+                long orderId = Long.parseLong(m.group(1));
+                if (omittedOrders.contains(orderId)) continue;
+                if (!first) results.append(',');
+                first = false;
+                if (rejectedOrders.contains(orderId)) {
+                    results.append("{\"orderId\":").append(orderId).append(",\"ok\":false,\"error\":\"rejected\"}");
+                    continue;
+                }
+                if (injectError()) {
+                    results.append("{\"orderId\":").append(orderId).append(",\"ok\":false,\"error\":\"injected\"}");
+                    continue;
+                }
+                dispatchedAt.putIfAbsent(orderId, now);
+                created.incrementAndGet();
+                results.append("{\"orderId\":").append(orderId).append(",\"ok\":true}");
+            }
+            send(ex, 200, "application/json", json(results.append("]}").toString()));
+        }
+    }
+
+    private void droneData(HttpExchange ex) throws IOException {
+        try (ex) {
+            long orderId;
+            try {
+                orderId = Long.parseLong(ex.getRequestURI().getPath().substring(DATA_PATH.length()));
+            } catch (NumberFormatException e) {
+                send(ex, 404, "text/plain", new byte[0]);
+                return;
+            }
+            if (delayOrFail(ex)) return;
+
+            String accept = ex.getRequestHeaders().getFirst("Accept");
+            double progress = progress(orderId);
+            if (accept != null && accept.contains("application/json")) {
+                statusCalls.incrementAndGet();
+                send(ex, 200, "application/json", json(statusJson(orderId, progress)));
+            } else {
+                imageCalls.incrementAndGet();
+                send(ex, 200, "image/png", renderPng(progress));
+            }
+        }
+    }
+
+    /* ---------- 응답 만들기 ---------- */
+
+    // 접수 전이면 0, 비행 시간이 지나면 1
+    private double progress(long orderId) {
+        Long start = dispatchedAt.get(orderId);
+        if (start == null) return 0;
+        return Math.min(1.0, (System.currentTimeMillis() - start) / (double) Math.max(1, settings.flightMs()));
+    }
+
+    private String statusJson(long orderId, double progress) {
+        String phase = progress >= 1.0 ? "DELIVERED" : progress < 0.2 ? "COOKING" : "IN_FLIGHT";
+        String state = progress >= 1.0 ? "배달완료" : progress < 0.2 ? "조리중" : "배달중";
+        Long start = dispatchedAt.get(orderId);
+        Instant eta = Instant.ofEpochMilli((start == null ? System.currentTimeMillis() : start) + settings.flightMs());
+        double flight = Math.max(0, (progress - 0.2) / 0.8);
+        double lat = 37.5700 + (37.5665 - 37.5700) * flight;
+        double lng = 126.9820 + (126.9780 - 126.9820) * flight;
+        return String.format(
+                "{\"orderId\":%d,\"phase\":\"%s\",\"state\":\"%s\",\"eta\":\"%s\",\"progress\":%.3f,\"latitude\":%.6f,\"longitude\":%.6f}",
+                orderId, phase, state, eta, progress, lat, lng);
+    }
+
+    // 출발지 → 목적지 경로와 현재 위치 점 (요청마다 새로 그려서 실제 서버의 이미지 생성 비용을 흉내)
+    private byte[] renderPng(double progress) throws IOException {
+        int size = settings.imageSize();
+        BufferedImage img = new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = img.createGraphics();
+        try {
+            g.setColor(new Color(0xF4F6F8));
+            g.fillRect(0, 0, size, size);
+            int margin = size / 8;
+            int x0 = margin, y0 = size - margin, x1 = size - margin, y1 = margin;
+            g.setColor(new Color(0x9AA5B1));
+            g.setStroke(new BasicStroke(Math.max(1, size / 80f)));
+            g.drawLine(x0, y0, x1, y1);
+            int r = Math.max(4, size / 24);
+            int cx = (int) (x0 + (x1 - x0) * progress);
+            int cy = (int) (y0 + (y1 - y0) * progress);
+            g.setColor(new Color(0x2563EB));
+            g.fillOval(cx - r, cy - r, 2 * r, 2 * r);
+        } finally {
+            g.dispose();
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(8 * 1024);
+        ImageIO.write(img, "png", out);
+        return out.toByteArray();
+    }
+
+    /* ---------- 공통 ---------- */
+
+    // 지연을 넣고, 오류를 주입했으면 true (응답까지 보냄)
+    private boolean delayOrFail(HttpExchange ex) throws IOException {
+        delay();
+        if (injectError()) {
+            send(ex, 503, "application/json", json("{\"error\":\"injected\"}"));
+            return true;
+        }
+        return false;
+    }
+
+    private void delay() {
+        long jitter = settings.jitterMs() > 0
+                ? ThreadLocalRandom.current().nextLong(-settings.jitterMs(), settings.jitterMs() + 1) : 0;
+        long delay = Math.max(0, settings.latencyMs() + jitter);
+        if (delay > 0) {
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private boolean injectError() {
+        if (settings.errorRate() > 0 && ThreadLocalRandom.current().nextDouble() < settings.errorRate()) {
+            injectedErrors.incrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    static String readBody(InputStream in) throws IOException {
+        return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    static byte[] json(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    static void send(HttpExchange ex, int status, String contentType, byte[] body) throws IOException {
+        ex.getResponseHeaders().set("Content-Type", contentType);
+        ex.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        if (body.length > 0) ex.getResponseBody().write(body);
+    }
+}
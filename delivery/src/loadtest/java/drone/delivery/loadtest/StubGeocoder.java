@@ -0,0 +1,85 @@
+package drone.delivery.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static drone.delivery.loadtest.StubDroneServer.json;
+import static drone.delivery.loadtest.StubDroneServer.send;
+
+/**
+ * 카카오 주소 검색 대역 (app.geo.kakao.base-url 을 여기로)
+ * - GET /v2/local/search/address.json?query=... 에 카카오와 같은 모양(documents[].road_address.x/y)으로 응답
+ * - 좌표는 주소 문자열 해시로 서울 시청 주변 ±0.05도 안에서 정해진다. (같은 주소 → 같은 좌표)
+ * - road_address.address_name 을 질의 그대로 돌려줘서 GeoService 의 유사도 선택이 항상 이 문서를 고른다.
+ */
+@Slf4j
+public final class StubGeocoder {
+
+    static final String SEARCH_PATH = "/v2/local/search/address.json";
+
+    private static final double BASE_LAT = 37.5665;
+    private static final double BASE_LNG = 126.9780;
+
+    private final int port;
+    private final HttpServer server;
+    private final AtomicLong lookups = new AtomicLong();
+
+    public StubGeocoder(int port) throws IOException {
+        this.port = port;
+        this.server = StubDroneServer.createServer(port, 128);
+        this.server.setExecutor(Executors.newFixedThreadPool(4));
+        this.server.createContext(SEARCH_PATH, this::search);
+    }
+
+    public void start() {
+        server.start();
+        log.info("지오코더 대역 시작: port={}", port);
+    }
+
+    public void stop() {
+        server.stop(0);
+    }
+
+    public String summary() {
+        return "지오코더 대역: 주소 검색 " + lookups.get();
+    }
+
+    private void search(HttpExchange ex) throws IOException {
+        try (ex) {
+            String query = queryParam(ex.getRequestURI().getRawQuery(), "query");
+            lookups.incrementAndGet();
+            if (query == null || query.isBlank()) {
+                send(ex, 200, "application/json", json("{\"documents\":[],\"meta\":{\"total_count\":0}}"));
+                return;
+            }
+            int h = query.hashCode();
+            double lat = BASE_LAT + ((h & 0xFFFF) / 65535.0 - 0.5) * 0.1;
+            double lng = BASE_LNG + (((h >>> 16) & 0xFFFF) / 65535.0 - 0.5) * 0.1;
+            String name = query.replace("\\", "\\\\").replace("\"", "\\\"");
+            String body = String.format(
+                    "{\"documents\":[{\"address_name\":\"%1$s\",\"road_address\":{\"address_name\":\"%1$s\",\"x\":\"%3$.7f\",\"y\":\"%2$.7f\"},"
+                            + "\"address\":{\"address_name\":\"%1$s\",\"x\":\"%3$.7f\",\"y\":\"%2$.7f\"},\"x\":\"%3$.7f\",\"y\":\"%2$.7f\"}],"
+                            + "\"meta\":{\"total_count\":1}}",
+                    name, lat, lng);
+            send(ex, 200, "application/json;charset=UTF-8", json(body));
+        }
+    }
+
+    private static String queryParam(String rawQuery, String name) {
+        if (rawQuery == null) return null;
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0 && pair.substring(0, eq).equals(name)) {
+                return URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,31 @@
+package drone.delivery.loadtest;
+
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * 드론 서버 + 지오코더 대역만 띄운다. (앱은 따로 실행, 종료는 Ctrl+C)
+ * - gradle loadtestStubs -Ploadtest.args='--drone-latency-ms=50 --drone-error-rate=0.01'
+ * - 앱: gradle bootRun --args='--app.drone.base-url=http://localhost:8000 --app.geo.kakao.base-url=http://localhost:8001'
+ */
+public final class StubServers {
+
+    private StubServers() {}
+
+    public static void main(String[] argv) throws Exception {
+        Args args = new Args(argv);
+        StubDroneServer drone = new StubDroneServer(StubDroneServer.Settings.from(args));
+        StubGeocoder geocoder = new StubGeocoder(args.integer("geo-port", 8001));
+        drone.start();
+        geocoder.start();
+
+        CountDownLatch stopped = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            drone.stop();
+            geocoder.stop();
+            System.out.println(drone.summary());
+            System.out.println(geocoder.summary());
+            stopped.countDown();
+        }));
+        stopped.await();
+    }
+}
@@ -2,11 +2,15 @@ package drone.delivery;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import drone.delivery.domain.Address;
-import drone.delivery.domain.Member;
-import drone.delivery.domain.Store;
+import drone.delivery.domain.GeocodeCacheEntry;
+import drone.delivery.repository.GeocodeCacheRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.*;
 import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.stereotype.Service;
@@ -14,159 +18,198 @@ import org.springframework.web.client.DefaultResponseErrorHandler;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.Collections;
-
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 주소 → 좌표 변환 (카카오 로컬 API)
+ * - 조회 순서: 인메모리 LRU → geocode_cache 테이블 → 카카오 API (결과는 두 캐시에 저장)
+ * - 캐시 키는 정규화한 주소(앞뒤 공백 제거, 연속 공백 하나로)
+ * - 카카오 호출은 초당 app.geo.rate-per-second 건으로 제한 (대량 재변환 시 쿼터 보호)
+ * - HTTP 클라이언트는 한 번만 만들어 재사용
+ * - 지표: geo.lookups(source=memory|db|kakao|none), geo.kakao.requests(카카오 호출 시간, outcome=found|empty|error),
+ *        geo.kakao.throttle(속도 제한으로 기다린 시간)
+ * 회원가입/정보수정/가게등록에서는 직접 부르지 않고 GeocodeQueue 를 통해 커밋 후 비동기로 호출된다.
+ */
 @Service
 public class GeoService {
 
     private static final Logger logger = LoggerFactory.getLogger(GeoService.class);
 
-    @Value("${kakao.api.key}")
-    private String kakaoApiKey;
-
-    public void updateMemberCoordinates(Member member) {
-        if (member == null || member.getAddress() == null) {
-            logger.warn("❗ member 또는 address가 null입니다.");
-            return;
-        }
+    private static final String SEARCH_PATH = "/v2/local/search/address.json?query={query}";
+
+    private final RestTemplate restTemplate;
+    private final GeocodeCacheRepository cacheRepository;
+    private final String searchUrl;
+    private final HttpEntity<Void> requestEntity;
+
+    // 정규화 주소 → 좌표 (access-order LRU)
+    private final Map<String, Coordinates> lru;
+
+    // 요청 간격 제한: 다음 호출이 허용되는 시각(nanoTime)
+    private final AtomicLong nextPermitAt = new AtomicLong(System.nanoTime());
+    private final long permitIntervalNanos;
+
+    private final Counter memoryHits;
+    private final Counter dbHits;
+    private final Counter kakaoLookups;
+    private final Counter unresolved;
+    private final MeterRegistry meterRegistry;
+    private final Timer throttleTimer;
+
+    public GeoService(GeocodeCacheRepository cacheRepository,
+                      MeterRegistry meterRegistry,
+                      @Value("${kakao.api.key}") String kakaoApiKey,
+                      @Value("${app.geo.kakao.base-url:https://dapi.kakao.com}") String baseUrl,
+                      @Value("${app.geo.cache-size:10000}") int cacheSize,
+                      @Value("${app.geo.rate-per-second:10}") int ratePerSecond) {
+        this.cacheRepository = cacheRepository;
+        this.searchUrl = baseUrl + SEARCH_PATH;
+        this.permitIntervalNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(1, ratePerSecond);
+
+        this.meterRegistry = meterRegistry;
+        this.memoryHits = lookupCounter("memory");
+        this.dbHits = lookupCounter("db");
+        this.kakaoLookups = lookupCounter("kakao");
+        this.unresolved = lookupCounter("none");
+        this.throttleTimer = Timer.builder("geo.kakao.throttle")
+                .description("카카오 호출 속도 제한으로 대기한 시간").register(meterRegistry);
+
+        this.restTemplate = new RestTemplate();
+        this.restTemplate.setErrorHandler(new DefaultResponseErrorHandler() {
+            @Override
+            public boolean hasError(ClientHttpResponse response) {
+                return false;
+            }
+        });
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Authorization", "KakaoAK " + kakaoApiKey.trim());
+        headers.set("User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64)");
+        headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
+        this.requestEntity = new HttpEntity<>(headers);
+
+        this.lru = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Coordinates> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
 
-        String rawQuery = buildStreetOnlyQuery(member.getAddress());
-        logger.warn("📍 rawQuery: '{}'", rawQuery);
+    /** 위도/경도 */
+    public record Coordinates(double latitude, double longitude) {}
 
-        if (rawQuery.isBlank()) {
+    /**
+     * 주소를 좌표로 변환 (캐시 우선). 변환할 수 없으면 empty
+     */
+    public Optional<Coordinates> geocode(Address address) {
+        if (address == null) return Optional.empty();
+        String query = buildStreetOnlyQuery(address);
+        if (query.isBlank()) {
             logger.warn("❗ rawQuery가 비어 있습니다.");
-            return;
+            return Optional.empty();
         }
 
-        try {
-            String url = "https://dapi.kakao.com/v2/local/search/address.json?query=" + rawQuery;
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.set("Authorization", "KakaoAK " + kakaoApiKey.trim());
-            headers.set("User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64)");
-            headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
-
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-            RestTemplate restTemplate = new RestTemplate();
-            restTemplate.setErrorHandler(new DefaultResponseErrorHandler() {
-                @Override
-                public boolean hasError(ClientHttpResponse response) {
-                    return false;
-                }
-            });
-
-            ResponseEntity<JsonNode> response = restTemplate.exchange(
-                    url,
-                    HttpMethod.GET,
-                    entity,
-                    JsonNode.class
-            );
-
-            logger.info("✅ 응답 상태코드: {}", response.getStatusCode());
-
-            JsonNode documents = response.getBody().get("documents");
-            logger.warn("📦 documents: {}", documents);
-
-            if (documents == null || !documents.isArray() || documents.size() == 0) {
-                logger.warn("❌ documents 비어 있음. 주소: {}", rawQuery);
-                return;
-            }
-
-            // 🔻 변경: 가장 유사한 한 건만 선택
-            JsonNode selectedDoc = pickBestFromDocuments(rawQuery, documents);
-            if (selectedDoc == null) {
-                logger.warn("❌ '{}' 과 충분히 매칭되는 문서를 찾지 못함", rawQuery);
-                return;
-            }
-
-            JsonNode coordNode = selectedDoc.path("road_address").isMissingNode()
-                    ? selectedDoc.path("address")
-                    : selectedDoc.path("road_address");
-
-            double lng = coordNode.path("x").asDouble();
-            double lat = coordNode.path("y").asDouble();
+        Coordinates cached = lru.get(query);
+        if (cached != null) {
+            memoryHits.increment();
+            return Optional.of(cached);
+        }
 
-            member.setLongitude(lng);
-            member.setLatitude(lat);
+        Optional<Coordinates> stored = cacheRepository.findByNormalizedQuery(query)
+                .map(e -> new Coordinates(e.getLatitude(), e.getLongitude()));
+        if (stored.isPresent()) {
+            dbHits.increment();
+            lru.put(query, stored.get());
+            return stored;
+        }
 
-            logger.info("🎯 좌표 변환 성공: 위도 {}, 경도 {}", lat, lng);
+        Optional<Coordinates> fetched = fetchFromKakao(query);
+        (fetched.isPresent() ? kakaoLookups : unresolved).increment();
+        fetched.ifPresent(c -> {
+            lru.put(query, c);
+            try {
+                cacheRepository.save(GeocodeCacheEntry.of(query, c.latitude(), c.longitude()));
+            } catch (DataIntegrityViolationException dup) {
+                // 다른 스레드가 같은 주소를 먼저 저장함
+            }
+        });
+        return fetched;
+    }
 
+    private Optional<Coordinates> fetchFromKakao(String rawQuery) {
+        try {
+            acquirePermit();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            Optional<Coordinates> result = requestKakao(rawQuery);
+            outcome = result.isPresent() ? "found" : "empty";
+            return result;
         } catch (Exception e) {
             logger.error("💥 주소 좌표 변환 중 오류 발생", e);
+            return Optional.empty();
+        } finally {
+            sample.stop(Timer.builder("geo.kakao.requests").tag("outcome", outcome)
+                    .description("카카오 주소 검색 호출 시간").register(meterRegistry));
         }
     }
 
-    private String buildStreetOnlyQuery(Address address) {
-        String street = address.getStreet();
-        logger.warn("📍 Address.street: '{}'", street);
-        return (street != null) ? street.trim().replaceAll("\\s+", " ") : "";
-    }
-
-    // 기존 GeoService 안에 아래 메서드만 추가하세요.
-    public void updateStoreCoordinates(Store store) {
-        if (store == null || store.getAddress() == null) {
-            logger.warn("❗ store 또는 address가 null입니다.");
-            return;
+    private Optional<Coordinates> requestKakao(String rawQuery) {
+        ResponseEntity<JsonNode> response = restTemplate.exchange(
+                searchUrl, HttpMethod.GET, requestEntity, JsonNode.class, rawQuery
+        );
+        logger.info("✅ 응답 상태코드: {}", response.getStatusCode());
+
+        JsonNode body = response.getBody();
+        JsonNode documents = (body == null) ? null : body.get("documents");
+        if (documents == null || !documents.isArray() || documents.size() == 0) {
+            logger.warn("❌ documents 비어 있음. 주소: {}", rawQuery);
+            return Optional.empty();
         }
-        try {
-            // Member용과 동일한 방식: street 기반 질의
-            String rawQuery = buildStreetOnlyQuery(store.getAddress());
-            logger.warn("📍 rawQuery(store): '{}'", rawQuery);
-
-            if (rawQuery.isBlank()) {
-                logger.warn("❗ rawQuery가 비어 있습니다. (store)");
-                return;
-            }
-
-            String url = "https://dapi.kakao.com/v2/local/search/address.json?query=" + rawQuery;
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.set("Authorization", "KakaoAK " + kakaoApiKey.trim());
-            headers.set("User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64)");
-            headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
-
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-            RestTemplate restTemplate = new RestTemplate();
-            restTemplate.setErrorHandler(new DefaultResponseErrorHandler() {
-                @Override
-                public boolean hasError(ClientHttpResponse response) { return false; }
-            });
-
-            ResponseEntity<JsonNode> response = restTemplate.exchange(
-                    url, HttpMethod.GET, entity, JsonNode.class
-            );
-
-            logger.info("✅ (store) 응답 상태코드: {}", response.getStatusCode());
-
-            JsonNode documents = response.getBody().get("documents");
-            logger.warn("📦 (store) documents: {}", documents);
-
-            if (documents == null || !documents.isArray() || documents.size() == 0) {
-                logger.warn("❌ (store) documents 비어 있음. 주소: {}", rawQuery);
-                return;
-            }
 
-            // 🔻 변경: 가장 유사한 한 건만 선택
-            JsonNode selectedDoc = pickBestFromDocuments(rawQuery, documents);
-            if (selectedDoc == null) {
-                logger.warn("❌ (store) '{}' 과 충분히 매칭되는 문서를 찾지 못함", rawQuery);
-                return;
-            }
+        // 가장 유사한 한 건만 선택
+        JsonNode selectedDoc = pickBestFromDocuments(rawQuery, documents);
+        if (selectedDoc == null) {
+            logger.warn("❌ '{}' 과 충분히 매칭되는 문서를 찾지 못함", rawQuery);
+            return Optional.empty();
+        }
 
-            JsonNode coordNode = selectedDoc.path("road_address").isMissingNode()
-                    ? selectedDoc.path("address")
-                    : selectedDoc.path("road_address");
+        JsonNode coordNode = selectedDoc.path("road_address").isMissingNode()
+                ? selectedDoc.path("address")
+                : selectedDoc.path("road_address");
 
-            double lng = coordNode.path("x").asDouble();
-            double lat = coordNode.path("y").asDouble();
+        double lng = coordNode.path("x").asDouble();
+        double lat = coordNode.path("y").asDouble();
+        logger.info("🎯 좌표 변환 성공: 위도 {}, 경도 {}", lat, lng);
+        return Optional.of(new Coordinates(lat, lng));
+    }
 
-            store.setLongitude(lng);
-            store.setLatitude(lat);
+    // 호출 슬롯을 하나 예약하고, 그 시각까지 대기
+    private void acquirePermit() throws InterruptedException {
+        long now = System.nanoTime();
+        long slot = nextPermitAt.getAndUpdate(prev -> Math.max(prev, now) + permitIntervalNanos);
+        long wait = Math.max(slot, now) - now;
+        throttleTimer.record(wait, TimeUnit.NANOSECONDS);
+        if (wait > 0) TimeUnit.NANOSECONDS.sleep(wait);
+    }
 
-            logger.info("🎯 (store) 좌표 변환 성공: 위도 {}, 경도 {}", lat, lng);
+    private Counter lookupCounter(String source) {
+        return Counter.builder("geo.lookups").tag("source", source)
+                .description("주소 좌표 조회 (어디서 찾았는지)").register(meterRegistry);
+    }
 
-        } catch (Exception e) {
-            logger.error("💥 (store) 주소 좌표 변환 중 오류 발생", e);
-        }
+    private String buildStreetOnlyQuery(Address address) {
+        String street = address.getStreet();
+        return (street != null) ? street.trim().replaceAll("\\s+", " ") : "";
     }
 
     /* =========================
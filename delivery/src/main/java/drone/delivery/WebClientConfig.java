@@ -1,45 +1,88 @@
 package drone.delivery;
 
 import io.netty.channel.ChannelOption;
-import io.netty.handler.timeout.ReadTimeoutHandler;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
 import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 import java.time.Duration;
+import java.util.Locale;
+
 /**
  * 파이썬 서버로 쏴주는 경로
+ * - 스프링 부트가 만들어 주는 WebClient.Builder 를 써서 호출마다 http.client.requests 지표
+ *   (uri 템플릿/status/outcome 태그, 퍼센타일 히스토그램)가 기록되게 한다.
+ * - 드론 서버 전용 커넥션 풀("drone"): 공용 풀과 섞이지 않게 크기/유휴 시간을 따로 잡고,
+ *   풀이 꽉 차면 pending-acquire-max 까지만 대기열에 두고 그 이상은 즉시 실패시킨다 (배압).
+ *   풀 지표는 reactor.netty.connection.provider.* 로 나간다.
+ * - 프로토콜: http1(keep-alive 재사용) | h2c(평문 HTTP/2, 드론 서버가 지원할 때만)
  */
+@Slf4j
 @Configuration
 public class WebClientConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider droneConnectionProvider(
+            @Value("${app.drone.pool.max-connections:200}") int maxConnections,
+            @Value("${app.drone.pool.pending-acquire-max:1000}") int pendingAcquireMax,
+            @Value("${app.drone.pool.pending-acquire-timeout-ms:2000}") long pendingAcquireTimeoutMs,
+            @Value("${app.drone.pool.max-idle-ms:30000}") long maxIdleMs,
+            @Value("${app.drone.pool.max-life-ms:300000}") long maxLifeMs
+    ) {
+        return ConnectionProvider.builder("drone")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMax)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMs))
+                .maxIdleTime(Duration.ofMillis(maxIdleMs))
+                .maxLifeTime(Duration.ofMillis(maxLifeMs))
+                .evictInBackground(Duration.ofMillis(Math.max(1000, maxIdleMs / 2)))
+                .metrics(true)
+                .build();
+    }
+
     @Bean
     public WebClient droneWebClient(
+            WebClient.Builder builder,
+            ConnectionProvider droneConnectionProvider,
             @Value("${app.drone.base-url}") String baseUrl,
-            @Value("${app.drone.timeout-seconds:3}") int timeoutSec
+            @Value("${app.drone.timeout-seconds:3}") int timeoutSec,
+            @Value("${app.drone.http-version:http1}") String httpVersion
     ) {
-        HttpClient httpClient = HttpClient.create()
+        // 응답 대기 제한은 responseTimeout 으로 요청마다 건다. (ReadTimeoutHandler 는 유휴 keep-alive 연결까지 끊어 버림)
+        // responseTimeout 은 헤더 도착까지만 보므로, 본문까지의 전체 제한은 호출하는 쪽에서 .timeout() 으로 건다.
+        HttpClient httpClient = HttpClient.create(droneConnectionProvider)
+                .protocol(protocol(httpVersion))
+                .keepAlive(true)
                 .responseTimeout(Duration.ofSeconds(timeoutSec))
-                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, timeoutSec * 1000)
-                .doOnConnected(conn -> conn.addHandlerLast(new ReadTimeoutHandler(timeoutSec)));
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, timeoutSec * 1000);
 
         ExchangeStrategies strategies = ExchangeStrategies.builder()
                 .codecs(c -> c.defaultCodecs().maxInMemorySize(10 * 1024 * 1024)) // PNG 대비 버퍼 상향
                 .build();
 
-        return WebClient.builder()
+        return builder
                 .baseUrl(baseUrl)
                 .clientConnector(new ReactorClientHttpConnector(httpClient))
                 .filter((request, next) -> {
-                    System.out.println("[DroneWebClient] " + request.method() + " " + request.url());
+                    log.debug("[DroneWebClient] {} {}", request.method(), request.url());
                     return next.exchange(request);
                 })
                 .exchangeStrategies(strategies)
                 .build();
     }
 
-
+    private static HttpProtocol protocol(String httpVersion) {
+        return switch (httpVersion.toLowerCase(Locale.ROOT)) {
+            case "http1", "http11" -> HttpProtocol.HTTP11;
+            case "h2c" -> HttpProtocol.H2C;
+            default -> throw new IllegalArgumentException("지원하지 않는 app.drone.http-version: " + httpVersion);
+        };
+    }
 }
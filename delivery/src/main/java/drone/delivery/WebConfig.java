@@ -2,6 +2,7 @@ package drone.delivery;
 
 
 import drone.delivery.controller.LoginCheckInterceptor;
+import drone.delivery.controller.WhitelistMatcher;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.CacheControl;
@@ -16,33 +17,39 @@ import java.util.List;
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    // 인터셉터를 아예 거치지 않는 경로 (정적 리소스, 에러 페이지)
+    public static final List<String> INTERCEPTOR_EXCLUDES = List.of(
+            "/css/**", "/js/**", "/images/**", "/uploads/**",
+            "/favicon.ico",
+            "/error", "/error/**"
+    );
+
+    // 로그인 검사 제외 경로(화이트리스트), 필요에 따라 추가/수정하세요.
+    public static final List<String> LOGIN_WHITELIST = List.of(
+            "/", "/index",
+            "/login", "/logout", "/join","/register",
+            "/oauth2/**",
+            "/drone/**",
+            "/realtime/**"
+    );
+
     @Value("${app.upload.base-dir:uploads/reviews}")
     private String reviewUploadBaseDir;
 
+    // 화이트리스트 판정 캐시 최대 라우트 수
+    @Value("${app.auth.whitelist-cache-size:4096}")
+    private int whitelistCacheSize;
+
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        // 로그인 검사 제외 경로(화이트리스트)
-        // 필요에 따라 추가/수정하세요.
-        List<String> whitelist = List.of(
-                "/", "/index",
-                "/login", "/logout", "/join","/register",
-                "/oauth2/**",
-                "/css/**", "/js/**", "/images/**", "/uploads/**",
-                "/favicon.ico",
-                "/error", "/error/**",
-                "/drone/**",
-                "/realtime/**"
-        );
+        // 화이트리스트는 시작 시 한 번 컴파일 (요청마다 패턴 전체를 순회하지 않음)
+        WhitelistMatcher whitelist = new WhitelistMatcher(LOGIN_WHITELIST, whitelistCacheSize);
 
         registry.addInterceptor(new LoginCheckInterceptor(whitelist))
                 .order(1)
                 .addPathPatterns("/**")                    // 기본적으로 전부
-                .excludePathPatterns(
-                        "/css/**", "/js/**", "/images/**", "/uploads/**",
-                        "/favicon.ico",
-                        "/error", "/error/**"              // 에러 페이지는 항상 제외
-                );
+                .excludePathPatterns(INTERCEPTOR_EXCLUDES); // 정적 리소스/에러 페이지는 항상 제외
     }
 
 
@@ -0,0 +1,46 @@
+package drone.delivery.async;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 드론 서버 응답을 기다리는 블로킹 쪽 작업(배차 릴레이 등)용 실행기
+ * - 고정 크기 데몬 스레드 풀 (스케줄러 스레드를 드론 서버 응답 대기에 묶지 않기 위함)
+ * - Executor 를 구현하지 않는다. (Executor 빈이 생기면 스프링 부트 기본 applicationTaskExecutor 가 꺼짐)
+ */
+@Slf4j
+@Component
+public class DroneCallExecutor {
+
+    private final ExecutorService executor;
+
+    public DroneCallExecutor(@Value("${app.drone.blocking.threads:16}") int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("app.drone.blocking.threads 는 1 이상이어야 합니다: " + threads);
+        }
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "drone-call-" + seq.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        });
+        log.info("드론 호출 실행기: 스레드 {}개", threads);
+    }
+
+    /** 작업 실행. 종료 중이면 RejectedExecutionException */
+    public void execute(Runnable task) throws RejectedExecutionException {
+        executor.execute(task);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
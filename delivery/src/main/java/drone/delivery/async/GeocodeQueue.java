@@ -0,0 +1,223 @@
+package drone.delivery.async;
+
+import drone.delivery.GeoService;
+import drone.delivery.GeoService.Coordinates;
+import drone.delivery.domain.Address;
+import drone.delivery.domain.Member;
+import drone.delivery.domain.Store;
+import drone.delivery.repository.MemberRepository;
+import drone.delivery.repository.StoreRepository;
+import drone.delivery.service.AfterCommit;
+import drone.delivery.service.MemberProfileService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * 비동기 지오코딩 큐
+ * - 회원가입/정보수정/가게등록 트랜잭션이 커밋된 뒤에 좌표 변환을 예약한다.
+ *   → 요청 처리 시간과 DB 커넥션 점유 시간에 카카오 API 왕복이 포함되지 않음
+ * - 작업: (짧은 읽기) 주소 조회 → (트랜잭션 밖) GeoService.geocode → (짧은 쓰기) 좌표만 update
+ * - 대량 재변환(startReGeocodeAll)은 별도 스레드에서 id 순으로 페이지 단위 예약한다.
+ *   큐가 rate limit 속도로 빠지므로, 큐의 절반까지만 채우고 비워지기를 기다렸다가 다음 페이지를 넣는다.
+ *   (나머지 절반은 가입/수정 같은 실시간 작업 몫 → 대량 재변환 때문에 버려지는 작업이 없음)
+ */
+@Slf4j
+@Component
+public class GeocodeQueue {
+
+    private static final int BULK_PAGE_SIZE = 500;
+    private static final long BULK_WAIT_MS = 1000;
+
+    private final GeoService geoService;
+    private final MemberRepository memberRepository;
+    private final StoreRepository storeRepository;
+    private final MemberProfileService memberProfileService;
+    private final TransactionTemplate txTemplate;
+    private final ThreadPoolExecutor executor;
+    private final int bulkLimit;
+    private final int bulkPageSize;
+
+    // 대량 재변환 진행 상황 (한 번에 하나만)
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final AtomicInteger rebuildMembers = new AtomicInteger();
+    private final AtomicInteger rebuildStores = new AtomicInteger();
+    private volatile Thread rebuildThread;
+
+    // 가게 좌표가 바뀌었을 때 알림 받을 리스너 (공간 인덱스 등)
+    private final List<StoreLocationListener> storeListeners = new CopyOnWriteArrayList<>();
+
+    public GeocodeQueue(GeoService geoService,
+                        MemberRepository memberRepository,
+                        StoreRepository storeRepository,
+                        MemberProfileService memberProfileService,
+                        PlatformTransactionManager txManager,
+                        MeterRegistry meterRegistry,
+                        @Value("${app.geo.workers:1}") int workers,
+                        @Value("${app.geo.queue-capacity:10000}") int queueCapacity) {
+        this.geoService = geoService;
+        this.memberRepository = memberRepository;
+        this.storeRepository = storeRepository;
+        this.memberProfileService = memberProfileService;
+        this.txTemplate = new TransactionTemplate(txManager);
+        this.bulkLimit = Math.max(1, queueCapacity / 2);
+        this.bulkPageSize = Math.min(BULK_PAGE_SIZE, bulkLimit);
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueCapacity), r -> {
+            Thread t = new Thread(r, "geocode-" + seq.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        });
+        Gauge.builder("geo.queue.depth", executor, e -> e.getQueue().size())
+                .description("좌표 변환을 기다리는 작업 수").register(meterRegistry);
+    }
+
+    /** 가게 좌표 변경 리스너 */
+    public interface StoreLocationListener {
+        void onStoreLocated(Long storeId, double latitude, double longitude);
+    }
+
+    public void addStoreListener(StoreLocationListener listener) {
+        storeListeners.add(listener);
+    }
+
+    /** 현재 트랜잭션 커밋 후 회원 좌표 변환 예약 */
+    public void memberAfterCommit(Long memberId) {
+        AfterCommit.run(() -> submit(() -> geocodeMember(memberId)));
+    }
+
+    /** 현재 트랜잭션 커밋 후 가게 좌표 변환 예약 */
+    public void storeAfterCommit(Long storeId) {
+        AfterCommit.run(() -> submit(() -> geocodeStore(storeId)));
+    }
+
+    /**
+     * 기존 회원/가게 전체 재변환을 백그라운드에서 시작한다.
+     * @return 시작했으면 true, 이미 진행 중이면 false
+     */
+    public boolean startReGeocodeAll() {
+        if (!rebuilding.compareAndSet(false, true)) return false;
+        rebuildMembers.set(0);
+        rebuildStores.set(0);
+        Thread t = new Thread(this::reGeocodeAll, "geocode-rebuild");
+        t.setDaemon(true);
+        rebuildThread = t;
+        t.start();
+        return true;
+    }
+
+    /** 대량 재변환 진행 상황: 진행 중 여부, 지금까지 예약한 회원/가게 수, 큐 대기 수 */
+    public Map<String, Object> rebuildStatus() {
+        return Map.of("running", rebuilding.get(),
+                "members", rebuildMembers.get(),
+                "stores", rebuildStores.get(),
+                "queued", executor.getQueue().size());
+    }
+
+    public int getQueueSize() { return executor.getQueue().size(); }
+
+    @PreDestroy
+    public void stop() {
+        Thread t = rebuildThread;
+        if (t != null) t.interrupt();
+        executor.shutdownNow();
+    }
+
+    /* ---------- 작업 ---------- */
+
+    private void reGeocodeAll() {
+        try {
+            forEachIdPage(memberRepository::findIdsAfter, id -> geocodeMember(id), rebuildMembers);
+            forEachIdPage(storeRepository::findIdsAfter, id -> geocodeStore(id), rebuildStores);
+            log.info("지오코딩 대량 재변환 예약 완료: 회원 {}명, 가게 {}곳", rebuildMembers.get(), rebuildStores.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.info("지오코딩 대량 재변환 중단: 회원 {}명, 가게 {}곳까지 예약", rebuildMembers.get(), rebuildStores.get());
+        } catch (Exception e) {
+            log.warn("지오코딩 대량 재변환 실패: {}", e.getMessage(), e);
+        } finally {
+            rebuilding.set(false);
+            rebuildThread = null;
+        }
+    }
+
+    private void geocodeMember(Long memberId) {
+        Optional<Address> address = txTemplate.execute(s ->
+                memberRepository.findById(memberId).map(Member::getAddress));
+        if (address == null || address.isEmpty()) return;
+
+        geoService.geocode(address.get()).ifPresent(c -> {
+            txTemplate.executeWithoutResult(s ->
+                    memberRepository.updateCoordinates(memberId, c.latitude(), c.longitude()));
+            memberProfileService.evict(memberId);
+        });
+    }
+
+    private void geocodeStore(Long storeId) {
+        Optional<Address> address = txTemplate.execute(s ->
+                storeRepository.findById(storeId).map(Store::getAddress));
+        if (address == null || address.isEmpty()) return;
+
+        Optional<Coordinates> coords = geoService.geocode(address.get());
+        coords.ifPresent(c -> {
+            Integer updated = txTemplate.execute(s ->
+                    storeRepository.updateCoordinates(storeId, c.latitude(), c.longitude()));
+            if (updated != null && updated > 0) {
+                storeListeners.forEach(l -> l.onStoreLocated(storeId, c.latitude(), c.longitude()));
+            }
+        });
+    }
+
+    /* ---------- 내부 유틸 ---------- */
+
+    private void submit(Runnable task) {
+        try {
+            executor.execute(() -> {
+                try {
+                    task.run();
+                } catch (Exception e) {
+                    log.warn("지오코딩 작업 실패: {}", e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("지오코딩 큐가 가득 차 작업을 버림 (대기 {}건)", executor.getQueue().size());
+        }
+    }
+
+    // id 순으로 한 페이지씩: 큐에 페이지가 들어갈 자리(대량 몫 안에서)가 생길 때까지 기다렸다가 예약
+    private void forEachIdPage(IdPageLoader loader, Consumer<Long> task, AtomicInteger progress)
+            throws InterruptedException {
+        Long after = 0L;
+        while (true) {
+            Long cursor = after;
+            List<Long> ids = txTemplate.execute(s -> loader.load(cursor, PageRequest.of(0, bulkPageSize)));
+            if (ids == null || ids.isEmpty()) return;
+            while (executor.getQueue().size() + ids.size() > bulkLimit) {
+                Thread.sleep(BULK_WAIT_MS);
+            }
+            for (Long id : ids) submit(() -> task.accept(id));
+            progress.addAndGet(ids.size());
+            after = ids.get(ids.size() - 1);
+        }
+    }
+
+    @FunctionalInterface
+    private interface IdPageLoader {
+        List<Long> load(Long afterId, PageRequest page);
+    }
+}
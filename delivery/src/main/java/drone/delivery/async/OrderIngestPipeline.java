@@ -0,0 +1,235 @@
+package drone.delivery.async;
+
+import drone.delivery.domain.CartItem;
+import drone.delivery.service.CheckoutMetrics;
+import drone.delivery.service.CheckoutMetrics.Outcome;
+import drone.delivery.service.OrderService;
+import drone.delivery.service.OrderService.BatchResult;
+import drone.delivery.service.OrderService.OrderRequest;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * 주문 접수 단계 (그룹 커밋)
+ * - 몇 ms 안에 들어온 체크아웃들을 모아 하나의 트랜잭션(OrderService.orderBatch)으로 커밋한다.
+ * - 각 호출자는 자신의 주문 결과(주문 id) 또는 실패 예외를 그대로 돌려받는다.
+ * - 기다리다 시간이 다 되면 아직 큐에 있는 주문은 빼고 실패시킨다. 워커가 이미 가져간 주문은 곧 커밋될 수 있으므로
+ *   실패로 알리지 않고 OrderPendingException 으로 "처리 중"임을 알린다. (호출 측이 장바구니를 되돌리면 재시도 때 두 번 주문됨)
+ * - 묶음 커밋이 DB 오류로 실패하면 건별 트랜잭션(OrderService.order)으로 재처리해서
+ *   한 건의 문제가 같은 묶음의 다른 주문까지 실패시키지 않도록 한다.
+ * - 지표: order.checkout(체크아웃 전체, CheckoutMetrics), order.ingest.queue(접수 대기 건수), order.ingest.batch.size(묶음 크기)
+ */
+@Slf4j
+@Component
+public class OrderIngestPipeline {
+
+    private final OrderService orderService;
+    private final CheckoutMetrics checkoutMetrics;
+    private final DistributionSummary batchSize;
+
+    private final boolean enabled;
+    private final long lingerNanos;
+    private final int maxBatch;
+    private final int workerCount;
+    private final long waitTimeoutMs;
+
+    private final BlockingQueue<PendingOrder> queue;
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running = true;
+
+    public OrderIngestPipeline(OrderService orderService,
+                               CheckoutMetrics checkoutMetrics,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.order.ingest.enabled:true}") boolean enabled,
+                               @Value("${app.order.ingest.linger-ms:5}") long lingerMs,
+                               @Value("${app.order.ingest.max-batch:32}") int maxBatch,
+                               @Value("${app.order.ingest.workers:2}") int workerCount,
+                               @Value("${app.order.ingest.queue-capacity:2000}") int queueCapacity,
+                               @Value("${app.order.ingest.wait-timeout-ms:10000}") long waitTimeoutMs) {
+        this.orderService = orderService;
+        this.enabled = enabled;
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMs);
+        this.maxBatch = maxBatch;
+        this.workerCount = workerCount;
+        this.waitTimeoutMs = waitTimeoutMs;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.checkoutMetrics = checkoutMetrics;
+
+        Gauge.builder("order.ingest.queue", queue, BlockingQueue::size)
+                .description("그룹 커밋을 기다리는 주문 수").register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("order.ingest.batch.size")
+                .description("한 트랜잭션으로 묶인 주문 수").register(meterRegistry);
+    }
+
+    /**
+     * 주문을 접수하고 커밋될 때까지 기다린다. (OrderService.order 와 같은 예외를 던짐)
+     */
+    public Long order(Long memberId, List<CartItem> cart) {
+        long startedAt = System.nanoTime();
+        Outcome outcome = Outcome.ERROR;
+        try {
+            Long orderId = awaitOrder(memberId, cart);
+            outcome = Outcome.SUCCESS;
+            return orderId;
+        } catch (OrderPendingException e) {
+            throw e;   // 결과 미정 (시간 초과) → ERROR
+        } catch (IllegalArgumentException | IllegalStateException | EntityNotFoundException e) {
+            outcome = Outcome.REJECTED;
+            throw e;
+        } finally {
+            checkoutMetrics.completed(outcome, startedAt);
+        }
+    }
+
+    private Long awaitOrder(Long memberId, List<CartItem> cart) {
+        if (!enabled) {
+            return orderService.order(memberId, cart);
+        }
+        PendingOrder pending = enqueue(memberId, cart);
+        try {
+            return pending.result().get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException("주문 처리 중 오류가 발생했습니다.", e.getCause());
+        } catch (TimeoutException e) {
+            throw abandon(pending, "주문 처리가 지연되어 접수를 취소했습니다. 다시 시도해 주세요.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw abandon(pending, "주문 처리 중 중단되었습니다.");
+        }
+    }
+
+    // 더 기다리지 않는 주문: 큐에 남아 있으면 빼서 확실히 실패, 워커가 가져갔으면 아직 처리 중
+    private RuntimeException abandon(PendingOrder pending, String message) {
+        if (queue.remove(pending)) {
+            IllegalStateException e = new IllegalStateException(message);
+            pending.result().completeExceptionally(e);
+            return e;
+        }
+        return new OrderPendingException(pending.result());
+    }
+
+    /**
+     * 비동기 접수. 큐가 가득 차면 즉시 실패 (서버 과부하 보호)
+     */
+    public CompletableFuture<Long> submit(Long memberId, List<CartItem> cart) {
+        return enqueue(memberId, cart).result();
+    }
+
+    private PendingOrder enqueue(Long memberId, List<CartItem> cart) {
+        PendingOrder pending = new PendingOrder(new OrderRequest(memberId, List.copyOf(cart)), new CompletableFuture<>(), System.nanoTime());
+        if (!running || !queue.offer(pending)) {
+            pending.result().completeExceptionally(
+                    new IllegalStateException("주문이 몰리고 있습니다. 잠시 후 다시 시도해 주세요."));
+        }
+        return pending;
+    }
+
+    public int getQueueSize() { return queue.size(); }
+
+    @PostConstruct
+    public void startWorkers() {
+        if (!enabled) return;
+        for (int i = 0; i < workerCount; i++) {
+            Thread t = new Thread(this::runLoop, "order-ingest-" + i);
+            t.setDaemon(true);
+            t.start();
+            workers.add(t);
+        }
+        log.info("OrderIngestPipeline 워커 {}개 시작 (linger={}ms, maxBatch={})",
+                workerCount, TimeUnit.NANOSECONDS.toMillis(lingerNanos), maxBatch);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        workers.forEach(Thread::interrupt);
+        PendingOrder p;
+        while ((p = queue.poll()) != null) {
+            p.result().completeExceptionally(new IllegalStateException("서버가 종료 중입니다. 잠시 후 다시 시도해 주세요."));
+        }
+    }
+
+    private void runLoop() {
+        while (running) {
+            try {
+                List<PendingOrder> batch = nextBatch();
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("주문 접수 워커 오류", e);
+            }
+        }
+    }
+
+    // 첫 주문이 들어오면 linger 시간 동안(또는 maxBatch까지) 뒤따르는 주문을 모은다
+    private List<PendingOrder> nextBatch() throws InterruptedException {
+        List<PendingOrder> batch = new ArrayList<>(maxBatch);
+        batch.add(queue.take());
+        long deadline = System.nanoTime() + lingerNanos;
+        while (batch.size() < maxBatch) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) break;
+            PendingOrder next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) break;
+            batch.add(next);
+        }
+        return batch;
+    }
+
+    private void commit(List<PendingOrder> batch) {
+        batchSize.record(batch.size());
+        batch.forEach(p -> checkoutMetrics.lap(CheckoutMetrics.Phase.QUEUE, p.enqueuedAt()));
+        List<OrderRequest> requests = batch.stream().map(PendingOrder::request).toList();
+        try {
+            List<BatchResult> results = orderService.orderBatch(requests);
+            for (int i = 0; i < batch.size(); i++) {
+                complete(batch.get(i).result(), results.get(i));
+            }
+        } catch (RuntimeException groupFailure) {
+            log.warn("그룹 커밋 실패({}건), 건별로 재처리: {}", batch.size(), groupFailure.getMessage());
+            for (PendingOrder p : batch) {
+                try {
+                    p.result().complete(orderService.order(p.request().memberId(), p.request().cart()));
+                } catch (RuntimeException e) {
+                    p.result().completeExceptionally(e);
+                }
+            }
+        }
+    }
+
+    private void complete(CompletableFuture<Long> future, BatchResult r) {
+        if (r.error() != null) future.completeExceptionally(r.error());
+        else future.complete(r.orderId());
+    }
+
+    private record PendingOrder(OrderRequest request, CompletableFuture<Long> result, long enqueuedAt) {}
+
+    /**
+     * 기다리는 시간은 지났지만 주문이 이미 커밋 중이라 성공할 수도, 실패할 수도 있는 상태
+     * - result: 최종 결과 (주문 id 또는 실패 예외). 실패로 끝났을 때만 장바구니를 되돌려야 한다.
+     */
+    public static class OrderPendingException extends IllegalStateException {
+        private final CompletableFuture<Long> result;
+
+        public OrderPendingException(CompletableFuture<Long> result) {
+            super("주문이 아직 처리 중입니다. 잠시 후 주문내역을 확인해 주세요.");
+            this.result = result;
+        }
+
+        public CompletableFuture<Long> result() { return result; }
+    }
+}
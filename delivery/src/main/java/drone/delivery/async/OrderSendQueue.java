@@ -1,36 +1,166 @@
 package drone.delivery.async;
 
-import drone.delivery.dto.SendInfoDTO;
-import jakarta.annotation.PostConstruct;
-import lombok.Getter;
+import drone.delivery.domain.DispatchOutbox;
+import drone.delivery.domain.DispatchStatus;
+import drone.delivery.domain.OutboxStatus;
+import drone.delivery.repository.DispatchOutboxRepository;
+import drone.delivery.repository.OrderRepository;
+import drone.delivery.service.drone.DroneServerGuard;
+import drone.delivery.service.drone.DroneServerGuard.DroneUnavailableException;
+import drone.delivery.service.drone.DroneServerGuard.Lane;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.time.Duration;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * 드론 배차 아웃박스 릴레이
+ * - dispatch_outbox 테이블에서 전송 시각이 된 건을 배치로 꺼내(SKIP LOCKED) 드론 서버로 전송한다.
+ * - 동시 전송 수는 concurrency로 제한, 실패 시 지수 백오프로 재시도, 최대 횟수 초과 시 DEAD
+ * - 점유/전송/기록을 나눠서 전송하는 동안에는 트랜잭션을 열어 두지 않는다. (relayBatch 참고)
+ * - 배치 처리(드레이너)는 DroneCallExecutor 에서 돈다. 스케줄러 틱은 드레이너 하나를 띄우기만 하고,
+ *   드레이너가 꽉 찬 배치를 만나면(밀려 있음) relay-workers 까지 드레이너를 더 띄운다.
+ *   SKIP LOCKED + 임대라 드레이너끼리 같은 행을 잡지 않는다. DB 커넥션은 점유/기록할 때만 잠깐 쓴다.
+ * - 전송은 DroneServerGuard(서킷 브레이커 + dispatch 벌크헤드)를 거친다. 서킷이 열려 있으면 드레이너를 띄우지 않고,
+ *   보호막에 막힌 건은 시도 횟수를 쓰지 않고 그대로 대기 상태로 둔다 (서킷이 닫히면 다음 틱에 재개)
+ * - 배치 전송: 꺼낸 배치를 http-batch-size 건씩 묶어 create_batch 로 한 번에 보낸다 (본문은 SendInfoDTO 배열).
+ *   응답의 건별 결과(orderId, ok, error)로 행마다 성공/실패를 기록하고, 결과가 빠진 건은 실패로 본다.
+ *   서버가 배치를 모르면(404/405/415/501) batch-reprobe-ms 동안 건별 전송(create)으로 되돌아간다.
+ *   묶음은 폴링 간격 동안 쌓인 건이 그대로 모이므로 따로 기다리지 않는다.
+ * - 각 요청에 Idempotency-Key 헤더(배치는 배열 순서대로 쉼표로 이은 Idempotency-Keys)를 붙여
+ *   재전송되어도 드론 서버가 중복 배차하지 않게 한다.
+ * - 지표: dispatch.outbox.depth(대기 건수), dispatch.outbox.lag(가장 오래된 대기 건의 대기 시간, 초),
+ *        dispatch.send(드론 서버 호출 한 번의 시간, outcome=success|failure, mode=single|batch),
+ *        dispatch.batch.size(배치 호출 한 번에 실은 건수),
+ *        dispatch.outbox.delay(주문 커밋부터 드론 서버 접수까지, 재시도 포함)
+ *        dispatch.outbox.deferred(보호막에 막혀 보류한 건수)
+ */
 @Slf4j
 @Component
-@RequiredArgsConstructor
-@Getter
 public class OrderSendQueue {
 
+    static final String CREATE_ORDER_URI = "/api/v_a0_0_1/orders/create";
+    static final String CREATE_BATCH_URI = "/api/v_a0_0_1/orders/create_batch";
+
+    // 배치 엔드포인트가 없는 서버의 응답
+    private static final Set<Integer> BATCH_UNSUPPORTED = Set.of(404, 405, 415, 501);
+
     private final WebClient pythonClient;
+    private final DispatchOutboxRepository outboxRepository;
+    private final OrderRepository orderRepository;
+    private final TransactionTemplate txTemplate;
+    private final DroneCallExecutor droneCallExecutor;
+    private final DroneServerGuard guard;
+
+    private final int batchSize;
+    private final int concurrency;
+    private final int relayWorkers;
+    private final int maxAttempts;
+    private final Duration baseBackoff;
+    private final Duration maxBackoff;
+    private final Duration sendTimeout;
+    private final int httpBatchSize;
+    private final long batchReprobeMs;
 
-    // 주문 정보를 임시로 저장할 큐 (thread-safe)
-    private final BlockingQueue<SendInfoDTO> queue = new LinkedBlockingQueue<>();
+    // 배치 미지원 응답을 받으면 이 시각(ms)까지 건별 전송
+    private final AtomicLong batchDisabledUntil = new AtomicLong();
 
-    public int getQueueSize() { return queue.size(); }
+    private final AtomicInteger activeDrainers = new AtomicInteger();
+    private final AtomicLong depth = new AtomicLong();
+    private final AtomicLong lagSeconds = new AtomicLong();
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+    private final Counter deadCounter;
+    private final Counter deferredCounter;
+    private final Timer singleSuccessTimer;
+    private final Timer singleFailureTimer;
+    private final Timer batchSuccessTimer;
+    private final Timer batchFailureTimer;
+    private final DistributionSummary batchSizeSummary;
+    private final Timer dispatchDelayTimer;
+
+    public OrderSendQueue(WebClient pythonClient,
+                          DispatchOutboxRepository outboxRepository,
+                          OrderRepository orderRepository,
+                          PlatformTransactionManager txManager,
+                          DroneCallExecutor droneCallExecutor,
+                          DroneServerGuard guard,
+                          MeterRegistry meterRegistry,
+                          @Value("${app.dispatch.batch-size:50}") int batchSize,
+                          @Value("${app.dispatch.concurrency:64}") int concurrency,
+                          @Value("${app.dispatch.relay-workers:2}") int relayWorkers,
+                          @Value("${app.dispatch.max-attempts:10}") int maxAttempts,
+                          @Value("${app.dispatch.base-backoff-ms:1000}") long baseBackoffMs,
+                          @Value("${app.dispatch.max-backoff-ms:300000}") long maxBackoffMs,
+                          @Value("${app.dispatch.http-batch-size:20}") int httpBatchSize,
+                          @Value("${app.dispatch.batch-reprobe-ms:600000}") long batchReprobeMs,
+                          @Value("${app.drone.timeout-seconds:3}") int timeoutSec) {
+        this.pythonClient = pythonClient;
+        this.outboxRepository = outboxRepository;
+        this.orderRepository = orderRepository;
+        this.txTemplate = new TransactionTemplate(txManager);
+        this.droneCallExecutor = droneCallExecutor;
+        this.guard = guard;
+        this.batchSize = batchSize;
+        this.concurrency = concurrency;
+        this.relayWorkers = Math.max(1, relayWorkers);
+        this.maxAttempts = maxAttempts;
+        this.baseBackoff = Duration.ofMillis(baseBackoffMs);
+        this.maxBackoff = Duration.ofMillis(maxBackoffMs);
+        this.sendTimeout = Duration.ofSeconds(timeoutSec);
+        this.httpBatchSize = Math.max(1, httpBatchSize);
+        this.batchReprobeMs = batchReprobeMs;
+
+        Gauge.builder("dispatch.relay.active", activeDrainers, AtomicInteger::get)
+                .description("실행 중인 배차 릴레이 드레이너 수").register(meterRegistry);
+        Gauge.builder("dispatch.outbox.depth", depth, AtomicLong::get)
+                .description("전송 대기 중인 배차 요청 수").register(meterRegistry);
+        Gauge.builder("dispatch.outbox.lag", lagSeconds, AtomicLong::get)
+                .baseUnit("seconds").description("가장 오래 대기 중인 배차 요청의 대기 시간").register(meterRegistry);
+        this.sentCounter = meterRegistry.counter("dispatch.outbox.sent");
+        this.failedCounter = meterRegistry.counter("dispatch.outbox.failed");
+        this.deadCounter = meterRegistry.counter("dispatch.outbox.dead");
+        this.deferredCounter = meterRegistry.counter("dispatch.outbox.deferred");
+        this.singleSuccessTimer = sendTimer(meterRegistry, "single", "success");
+        this.singleFailureTimer = sendTimer(meterRegistry, "single", "failure");
+        this.batchSuccessTimer = sendTimer(meterRegistry, "batch", "success");
+        this.batchFailureTimer = sendTimer(meterRegistry, "batch", "failure");
+        this.batchSizeSummary = DistributionSummary.builder("dispatch.batch.size")
+                .description("배치 전송 한 번에 실은 배차 요청 수").register(meterRegistry);
+        this.dispatchDelayTimer = Timer.builder("dispatch.outbox.delay")
+                .description("아웃박스 기록부터 드론 서버 접수까지 걸린 시간").register(meterRegistry);
+    }
+
+    public int getQueueSize() { return (int) depth.get(); }
+
+    public int getActiveDrainers() { return activeDrainers.get(); }
 
     // 상태 조회용 컨트롤러
     @Profile({"local","test"})
@@ -43,42 +173,319 @@ public class OrderSendQueue {
         public int size() { return orderSendQueue.getQueueSize(); }
     }
 
-    // 외부에서 주문 DTO를 큐에 넣는 메서드
-    public void enqueue(SendInfoDTO dto) {
-        queue.offer(dto);
+    /**
+     * 주기적으로 아웃박스를 비운다. 드레이너가 하나도 없을 때만 새로 띄움 (이미 돌고 있으면 그쪽이 이어서 처리)
+     * - 서킷이 열려 있으면 건너뜀 (반열림이 되면 다시 시도)
+     */
+    @Scheduled(fixedDelayString = "${app.dispatch.poll-interval-ms:500}")
+    public void relay() {
+        if (activeDrainers.get() == 0 && guard.allowsCalls()) startDrainer();
+        refreshMetrics();
     }
 
-    // 앱 시작 시 워커 스레드 여러 개 실행
-    @PostConstruct
-    public void startWorkers() {
-        int workerCount = 10; // 동시에 Python 서버로 보낼 스레드 수
-        ExecutorService executor = Executors.newFixedThreadPool(workerCount);
+    // relay-workers 미만일 때만 드레이너 하나 추가
+    private void startDrainer() {
+        int active;
+        do {
+            active = activeDrainers.get();
+            if (active >= relayWorkers) return;
+        } while (!activeDrainers.compareAndSet(active, active + 1));
+        try {
+            droneCallExecutor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            activeDrainers.decrementAndGet(); // 종료 중
+        }
+    }
 
-        for (int i = 0; i < workerCount; i++) {
-            executor.submit(() -> {
-                while (true) {
-                    try {
-                        // 큐에서 하나 꺼내기 (없으면 대기)
-                        SendInfoDTO dto = queue.take();
+    /**
+     * 드레이너: 한 배치가 꽉 차 있으면 (밀려 있으면) 드레이너를 하나 더 띄우고 다음 배치를 이어서 처리
+     */
+    private void drain() {
+        try {
+            int drained;
+            do {
+                drained = relayBatch();
+                if (drained == batchSize) startDrainer();
+            } while (drained == batchSize);
+        } catch (Exception e) {
+            log.error("❌ 배차 릴레이 오류: {}", e.getMessage(), e);
+        } finally {
+            activeDrainers.decrementAndGet();
+        }
+    }
 
-                        pythonClient.post()
-                                .uri("/api/v_a0_0_1/orders/create")
-                                .contentType(MediaType.APPLICATION_JSON)
-                                .bodyValue(dto)
-                                .retrieve()
-                                .toBodilessEntity()
-                                .block(Duration.ofSeconds(3));
+    /**
+     * 배치 하나 처리: 짧은 트랜잭션 두 개 사이에서 전송한다. (전송하는 동안 DB 커넥션/행 락을 잡지 않음)
+     * 1) 점유: 전송 시각이 된 건을 SKIP LOCKED 로 잡아 nextAttemptAt 을 임대 만료 시각으로 미루고 바로 커밋
+     *    → 다른 드레이너/인스턴스는 임대가 끝날 때까지 같은 행을 꺼내지 않는다.
+     * 2) 전송: 트랜잭션 없이 논블로킹(flatMap)으로 concurrency 만큼 동시에, 드레이너 스레드는 전체 완료만 기다림
+     * 3) 기록: 다시 짧은 트랜잭션에서 결과 반영. 그 사이 임대가 끝나 다른 쪽이 다시 잡은 행은 건드리지 않는다.
+     * - 보호막에 막힌 건은 임대를 풀어 바로 다시 대기시킨다. 기다리다 시간이 다 된 건은 결과를 모르므로
+     *   임대가 끝난 뒤 다시 보낸다. (Idempotency-Key 로 드론 서버 중복 배차는 없음)
+     * - 반환값은 결과를 기록한 건수라 막히거나 결과를 모르는 건이 있으면 드레인이 멈춘다.
+     */
+    private int relayBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        Duration sendWindow = sendTimeout.multipliedBy(3 + batchSize / Math.max(1, concurrency));
+        // DB 정밀도(마이크로초)와 상관없이 같은 값으로 비교되도록 밀리초 단위
+        LocalDateTime leaseUntil = now.plus(sendWindow.multipliedBy(2)).truncatedTo(ChronoUnit.MILLIS);
 
-                        log.info("✅ Python 서버로 주문 전송 성공: {}", dto);
+        List<DispatchOutbox> batch = txTemplate.execute(status -> {
+            List<DispatchOutbox> due = outboxRepository.findDueForUpdate(
+                    OutboxStatus.PENDING, now, PageRequest.of(0, batchSize));
+            due.forEach(row -> row.lease(leaseUntil));
+            return due;
+        });
+        if (batch == null || batch.isEmpty()) return 0;
 
-                    } catch (Exception e) {
-                        log.error("❌ Python 서버 전송 실패, 재시도 예정: {}", e.getMessage());
-                        try { Thread.sleep(2000); } catch (InterruptedException ignored) {}
-                    }
+        SendOutcomes outcomes = new SendOutcomes();
+        try {
+            send(batch, outcomes).block(sendWindow);
+        } catch (IllegalStateException e) {
+            log.warn("⚠️ 배차 전송 대기 시간 초과: {}건 중 {}건만 결과 확인, 나머지는 {}에 다시 전송",
+                    batch.size(), outcomes.size(), leaseUntil);
+        }
+
+        Integer recorded = txTemplate.execute(status -> record(batch, outcomes, leaseUntil));
+        return recorded == null ? 0 : recorded;
+    }
+
+    /** 배치를 http-batch-size 건씩 묶어 보내고 건별 결과를 outcomes 에 모은다 (에러 없이 끝남) */
+    Mono<Void> send(List<DispatchOutbox> batch, SendOutcomes outcomes) {
+        int chunkSize = batchingEnabled() ? httpBatchSize : 1;
+        return Flux.fromIterable(partition(batch, chunkSize))
+                .flatMap(chunk -> chunk.size() == 1
+                        ? sendSingle(chunk.get(0), outcomes)
+                        : sendBatch(chunk, outcomes), concurrency)
+                .then();
+    }
+
+    // 결과 기록 (트랜잭션 안): 우리 임대가 그대로인 행만 반영
+    private int record(List<DispatchOutbox> batch, SendOutcomes outcomes, LocalDateTime leaseUntil) {
+        Map<Long, DispatchOutbox> current = new HashMap<>();
+        for (DispatchOutbox row : outboxRepository.findAllByIdForUpdate(batch.stream().map(DispatchOutbox::getId).toList())) {
+            current.put(row.getId(), row);
+        }
+        LocalDateTime done = LocalDateTime.now();
+        Map<DispatchStatus, List<Long>> orderStates = new EnumMap<>(DispatchStatus.class);
+        int deferred = 0;
+        int recorded = 0;
+        for (DispatchOutbox leased : batch) {
+            DispatchOutbox row = current.get(leased.getId());
+            if (row == null || row.getStatus() != OutboxStatus.PENDING || !leaseUntil.equals(row.getNextAttemptAt())) {
+                continue; // 임대가 끝나 다른 쪽이 가져감
+            }
+            if (!outcomes.isSettled(row.getId())) continue; // 결과 모름 → 임대 만료 후 재전송
+            Throwable error = outcomes.failure(row.getId());
+            if (error instanceof DroneUnavailableException) {
+                row.lease(done);
+                deferred++;
+                continue;
+            }
+            recorded++;
+            if (error == null) {
+                row.markSent(done);
+                sentCounter.increment();
+                if (row.getCreatedDate() != null) {
+                    dispatchDelayTimer.record(Duration.between(row.getCreatedDate(), done));
                 }
-            });
+                orderStates.computeIfAbsent(DispatchStatus.SENT, k -> new ArrayList<>()).add(row.getOrderId());
+                continue;
+            }
+            row.markFailed(error.getMessage(), done.plus(backoff(row.getAttempts() + 1)), maxAttempts);
+            failedCounter.increment();
+            DispatchStatus orderState = row.getStatus() == OutboxStatus.DEAD
+                    ? DispatchStatus.FAILED : DispatchStatus.RETRYING;
+            orderStates.computeIfAbsent(orderState, k -> new ArrayList<>()).add(row.getOrderId());
+            if (row.getStatus() == OutboxStatus.DEAD) {
+                deadCounter.increment();
+                log.error("❌ 배차 요청 최대 재시도 초과(DEAD): orderId={}, error={}", row.getOrderId(), row.getLastError());
+            } else {
+                log.warn("⚠️ 배차 전송 실패 (orderId={}, {}회차), {}에 재시도: {}",
+                        row.getOrderId(), row.getAttempts(), row.getNextAttemptAt(), row.getLastError());
+            }
+        }
+        // 주문 화면이 따라갈 수 있도록 주문의 배차 상태도 같은 트랜잭션에서 갱신
+        orderStates.forEach((state, orderIds) -> orderRepository.updateDispatchStatus(orderIds, state));
+        if (deferred > 0) {
+            deferredCounter.increment(deferred);
+            log.debug("드론 서버 보호막에 막혀 {}건 보류 (서킷 {})", deferred, guard.state());
+        }
+        return recorded;
+    }
+
+    // 건별 전송: 결과는 outcomes 에 기록하고 에러 없이 끝난다
+    private Mono<Void> sendSingle(DispatchOutbox row, SendOutcomes outcomes) {
+        return guard.call(Lane.DISPATCH, Mono.defer(() -> {
+                    Timer.Sample sample = Timer.start();
+                    return post(row)
+                            .doOnSuccess(v -> sample.stop(singleSuccessTimer))
+                            .doOnError(e -> sample.stop(singleFailureTimer));
+                }))
+                .doOnSuccess(v -> outcomes.succeeded(row))
+                .onErrorResume(e -> {
+                    outcomes.failed(row, e);
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * 배치 전송: 호출 한 번 (보호막도 한 번 거침)
+     * - 호출 자체가 실패하면 묶음 전체가 같은 오류로 실패 (보호막 거절이면 전체 보류)
+     * - 배치 미지원 응답이면 batch-reprobe-ms 동안 배치를 끄고 이 묶음은 건별로 다시 보낸다.
+     */
+    private Mono<Void> sendBatch(List<DispatchOutbox> rows, SendOutcomes outcomes) {
+        return guard.call(Lane.DISPATCH, Mono.defer(() -> {
+                    Timer.Sample sample = Timer.start();
+                    batchSizeSummary.record(rows.size());
+                    return postBatch(rows)
+                            .doOnSuccess(v -> sample.stop(batchSuccessTimer))
+                            .doOnError(e -> sample.stop(batchFailureTimer));
+                }))
+                .doOnNext(response -> applyResults(rows, response, outcomes))
+                .then()
+                .onErrorResume(e -> {
+                    if (isBatchUnsupported(e)) {
+                        disableBatching(e);
+                        return Flux.fromIterable(rows).flatMap(row -> sendSingle(row, outcomes), concurrency).then();
+                    }
+                    rows.forEach(row -> outcomes.failed(row, e));
+                    return Mono.empty();
+                });
+    }
+
+    // 건별 결과 반영: 응답에 없는 주문도 실패 (다음 재시도에서 Idempotency-Key 로 중복 없이 다시 보냄)
+    static void applyResults(List<DispatchOutbox> rows, BatchResponse response, SendOutcomes outcomes) {
+        Map<Long, BatchResult> byOrderId = new HashMap<>();
+        if (response.results() != null) {
+            for (BatchResult r : response.results()) {
+                if (r.orderId() != null) byOrderId.put(r.orderId(), r);
+            }
+        }
+        for (DispatchOutbox row : rows) {
+            BatchResult r = byOrderId.get(row.getOrderId());
+            if (r == null) {
+                outcomes.failed(row, new IllegalStateException("배치 응답에 결과 없음"));
+            } else if (!r.ok()) {
+                outcomes.failed(row, new IllegalStateException("드론 서버 거절: " + r.error()));
+            } else {
+                outcomes.succeeded(row);
+            }
+        }
+    }
+
+
+    private Mono<Void> post(DispatchOutbox row) {
+        return pythonClient.post()
+                .uri(CREATE_ORDER_URI)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("Idempotency-Key", row.getIdempotencyKey())
+                .bodyValue(row.getPayload())
+                .retrieve()
+                .toBodilessEntity()
+                .timeout(sendTimeout)
+                .doOnSuccess(r -> log.debug("✅ Python 서버로 주문 전송 성공: orderId={}", row.getOrderId()))
+                .then();
+    }
+
+    private Mono<BatchResponse> postBatch(List<DispatchOutbox> rows) {
+        StringJoiner body = new StringJoiner(",", "[", "]");
+        StringJoiner keys = new StringJoiner(",");
+        for (DispatchOutbox row : rows) {
+            body.add(row.getPayload());
+            keys.add(row.getIdempotencyKey());
         }
+        return pythonClient.post()
+                .uri(CREATE_BATCH_URI)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("Idempotency-Keys", keys.toString())
+                .bodyValue(body.toString())
+                .retrieve()
+                .bodyToMono(BatchResponse.class)
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("배치 응답 본문 없음")))
+                .timeout(sendTimeout)
+                .doOnSuccess(r -> log.debug("✅ Python 서버로 주문 {}건 배치 전송", rows.size()));
+    }
+
+    private boolean batchingEnabled() {
+        return httpBatchSize > 1 && System.currentTimeMillis() >= batchDisabledUntil.get();
+    }
+
+    private void disableBatching(Throwable e) {
+        long now = System.currentTimeMillis();
+        // 동시에 돌던 묶음들이 한꺼번에 404 를 받아도 경고는 한 번만
+        if (batchDisabledUntil.getAndSet(now + batchReprobeMs) <= now) {
+            log.warn("⚠️ 드론 서버가 배치 전송을 지원하지 않음 ({}), {}ms 동안 건별 전송", e.getMessage(), batchReprobeMs);
+        }
+    }
 
-        log.info("OrderSendQueue 워커 스레드 {}개 시작 완료", workerCount);
+    static boolean isBatchUnsupported(Throwable e) {
+        return e instanceof WebClientResponseException r && BATCH_UNSUPPORTED.contains(r.getStatusCode().value());
     }
-}
\ No newline at end of file
+
+    static <T> List<List<T>> partition(List<T> list, int size) {
+        List<List<T>> chunks = new ArrayList<>((list.size() + size - 1) / size);
+        for (int i = 0; i < list.size(); i += size) {
+            chunks.add(list.subList(i, Math.min(list.size(), i + size)));
+        }
+        return chunks;
+    }
+
+    private static Timer sendTimer(MeterRegistry meterRegistry, String mode, String outcome) {
+        return Timer.builder("dispatch.send").tag("mode", mode).tag("outcome", outcome)
+                .description("드론 서버 배차 요청 전송 시간").register(meterRegistry);
+    }
+
+    // 지수 백오프: base * 2^(attempt-1), 최대 maxBackoff
+    private Duration backoff(int attempt) {
+        long factor = 1L << Math.min(attempt - 1, 20);
+        Duration d = baseBackoff.multipliedBy(factor);
+        return d.compareTo(maxBackoff) > 0 ? maxBackoff : d;
+    }
+
+    private void refreshMetrics() {
+        try {
+            depth.set(outboxRepository.countByStatus(OutboxStatus.PENDING));
+            lagSeconds.set(outboxRepository.findOldestCreatedDate(OutboxStatus.PENDING)
+                    .map(t -> Math.max(0, Duration.between(t, LocalDateTime.now()).getSeconds()))
+                    .orElse(0L));
+        } catch (Exception e) {
+            log.debug("아웃박스 지표 갱신 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 전송 결과 모음 (아웃박스 행 id 기준, 여러 스레드에서 기록)
+     * - 성공/실패 어느 쪽으로도 기록되지 않은 행은 결과를 모르는 것 (대기 시간 초과 등)
+     */
+    static class SendOutcomes {
+        private final Set<Long> sent = ConcurrentHashMap.newKeySet();
+        private final Map<Long, Throwable> failed = new ConcurrentHashMap<>();
+
+        void succeeded(DispatchOutbox row) {
+            sent.add(row.getId());
+        }
+
+        void failed(DispatchOutbox row, Throwable e) {
+            failed.put(row.getId(), e);
+        }
+
+        boolean isSettled(Long rowId) {
+            return sent.contains(rowId) || failed.containsKey(rowId);
+        }
+
+        /** 실패 원인 (성공이거나 결과를 모르면 null) */
+        Throwable failure(Long rowId) {
+            return failed.get(rowId);
+        }
+
+        int size() {
+            return sent.size() + failed.size();
+        }
+    }
+
+    /** create_batch 응답: 요청한 주문마다 결과 하나 */
+    record BatchResponse(List<BatchResult> results) {}
+
+    record BatchResult(Long orderId, boolean ok, String error) {}
+}
@@ -1,33 +1,24 @@
 package drone.delivery.controller;
 
-import drone.delivery.async.OrderSendQueue;
+import drone.delivery.async.OrderIngestPipeline;
+import drone.delivery.async.OrderIngestPipeline.OrderPendingException;
 import drone.delivery.domain.CartItem;
-import drone.delivery.domain.Member;
-import drone.delivery.domain.Order;
 import drone.delivery.domain.Product;
 import drone.delivery.dto.AddToCartRequestDTO;
 import drone.delivery.dto.ProductOptionsDTO;
-import drone.delivery.dto.SendInfoDTO;
-import drone.delivery.mapper.OrderToSendInfoMapper;
-import drone.delivery.repository.OrderRepository;
 import drone.delivery.service.*;
+import drone.delivery.service.cart.CartService;
+import drone.delivery.service.cart.CartService.Cart;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.OptimisticLockingFailureException;
-import org.springframework.http.MediaType;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
-import java.time.Duration;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
-
 @Controller
 @RequiredArgsConstructor
 @Slf4j
@@ -35,38 +26,12 @@ public class CartController {
 
     private final ProductService productService;
     private final OrderService orderService;
-    private final MemberService memberService;
-
-
-    private final OrderRepository orderRepository;
-    private final WebClient pythonClient;
-    private final OrderToSendInfoMapper mapper;
 
     private final ProductOptionQueryService productOptionQueryService;
     private final CartFactoryService cartFactoryService;
 
-    private final OrderSendQueue orderSendQueue;
-
-    /** 가게별 장바구니 키 생성 */
-    private String cartKey(Long storeId) { return "cart_" + storeId; }
-
-    /** 합계 계산 헬퍼 - 항상 (단가 × 수량)로 계산 */
-    private int calcTotal(List<CartItem> cart) {
-        if (cart == null || cart.isEmpty()) return 0;
-        return cart.stream()
-                .mapToInt(ci -> Math.max(0, ci.getPrice()) * Math.max(1, ci.getQuantity()))
-                .sum();
-    }
-
-    /** (레거시) 공통 cart에서 가게ID 추론 */
-    private Long inferStoreIdFromCart(List<CartItem> cart) {
-        if (cart == null || cart.isEmpty()) return null;
-        try {
-            Product first = productService.findById(cart.get(0).getProductId());
-            if (first != null && first.getStore() != null) return first.getStore().getId();
-        } catch (Exception ignore) {}
-        return null;
-    }
+    private final OrderIngestPipeline orderIngestPipeline;
+    private final CartService cartService;
 
     // =========================================
     // 1) 메뉴 상세 보기 (옵션 트리 포함)
@@ -88,14 +53,14 @@ public class CartController {
             return "redirect:/delivery/" + storeId;
         }
 
-        // 화면에 필요한 값 세팅 (사이드바용 세션 장바구니 꺼내기)
-        @SuppressWarnings("unchecked")
-        List<CartItem> cart = (List<CartItem>) session.getAttribute(cartKey(storeId));
+        // 화면에 필요한 값 세팅 (사이드바용 장바구니)
+        LoginMember loginMember = (LoginMember) session.getAttribute(SessionConst.LOGIN_MEMBER);
+        Cart cart = loginMember == null ? Cart.empty() : cartService.get(loginMember.getId(), storeId);
 
         model.addAttribute("storeId", storeId);
         model.addAttribute("product", dto);      // 상세 화면용 DTO
-        model.addAttribute("cart", cart);        // 우측 장바구니
-        model.addAttribute("totalPrice", calcTotal(cart));
+        model.addAttribute("cart", cart.items());        // 우측 장바구니
+        model.addAttribute("totalPrice", cart.totalPrice());
 
         // 로그인/잔액/최소주문금액 등은 기존처럼 필요시 추가
         return "product-detail"; // ← Thymeleaf 템플릿명 (resources/templates/product-detail.html)
@@ -123,16 +88,9 @@ public class CartController {
             // 옵션 검증 + 스냅샷 (여기서 필수 미선택 시 예외 발생)
             CartItem cartItem = cartFactoryService.buildCartItem(req);
 
-            // === 기존 장바구니 추가 로직 그대로 ===
-            String key = "cart_" + storeId;
-            @SuppressWarnings("unchecked")
-            List<CartItem> cart = (List<CartItem>) session.getAttribute(key);
-            if (cart == null) cart = new ArrayList<>();
-            cart.add(cartItem);
-            session.setAttribute(key, cart);
-            session.setAttribute("totalPrice", cart.stream().mapToInt(ci -> ci.getPrice() * ci.getQuantity()).sum());
-            session.setAttribute("lastStoreId", storeId);
-            session.removeAttribute("cart");
+            // 회원 × 가게 장바구니에 원자적으로 추가
+            LoginMember loginMember = (LoginMember) session.getAttribute(SessionConst.LOGIN_MEMBER);
+            cartService.add(loginMember == null ? null : loginMember.getId(), storeId, cartItem);
 
             String msg = cartItem.getProductName() + "이(가) 장바구니에 담겼습니다.";
             ra.addFlashAttribute("success", msg);
@@ -158,39 +116,26 @@ public class CartController {
                            HttpSession session,
                            RedirectAttributes redirectAttributes) {
 
-        Member sessionMember = (Member) session.getAttribute("loginMember");
-
-        // 가게 정보 확인
-        if (storeId == null) {
-            Long last = (Long) session.getAttribute("lastStoreId");
-            if (last != null) storeId = last;
-            if (storeId == null) {
-                @SuppressWarnings("unchecked")
-                List<CartItem> legacy = (List<CartItem>) session.getAttribute("cart");
-                storeId = inferStoreIdFromCart(legacy);
-            }
-        }
+        LoginMember sessionMember = (LoginMember) session.getAttribute(SessionConst.LOGIN_MEMBER);
 
+        // 가게 정보 확인 (장바구니는 가게별)
         if (storeId == null) {
             redirectAttributes.addFlashAttribute("errorMessage", "가게 정보를 찾을 수 없습니다.");
             return "redirect:/delivery";
         }
 
-        String key = cartKey(storeId);
-        @SuppressWarnings("unchecked")
-        List<CartItem> cart = (List<CartItem>) session.getAttribute(key);
-
         if (sessionMember == null) {
             redirectAttributes.addFlashAttribute("errorMessage", "로그인이 필요합니다.");
             return "redirect:/delivery/" + storeId;
         }
-        if (cart == null || cart.isEmpty()) {
+
+        Cart cart = cartService.get(sessionMember.getId(), storeId);
+        if (cart.isEmpty()) {
             redirectAttributes.addFlashAttribute("errorMessage", "🛒 장바구니가 비어 있어 주문할 수 없습니다.");
             return "redirect:/delivery/" + storeId;
         }
 
-        int totalAmount = calcTotal(cart);
-        session.setAttribute("totalPrice", totalAmount);
+        int totalAmount = cart.totalPrice();
 
         if (totalAmount <= 0) {
             redirectAttributes.addFlashAttribute("errorMessage", "❌ 결제 금액이 0원입니다. 주문할 수 없습니다.");
@@ -198,47 +143,33 @@ public class CartController {
         }
 
         try {
-            // 주문 처리
-            Long orderId = orderService.order(sessionMember, cart);
-            session.removeAttribute(key);
-            session.setAttribute("totalPrice", 0);
-
-            // 로그인된 사용자 정보 갱신
-            Member refreshed = memberService.findById(sessionMember.getId());
-            session.setAttribute("loginMember", refreshed);
+            // 주문할 줄을 먼저 장바구니에서 원자적으로 가져간다 (다른 탭에서 담은 건 남고, 같은 장바구니로 두 번 주문 불가)
+            cartService.claim(sessionMember.getId(), storeId, cart.items());
+            Long orderId;
+            try {
+                // 주문 처리 (몇 ms 단위로 모아서 그룹 커밋)
+                orderId = orderIngestPipeline.order(sessionMember.getId(), cart.items());
+            } catch (OrderPendingException e) {
+                // 아직 커밋 중인 주문: 지금 장바구니를 되돌리면 재시도 때 두 번 주문된다
+                // 실패로 끝날 때만 되돌리고, 사용자는 주문내역에서 결과를 확인
+                e.result().whenComplete((id, failure) -> {
+                    if (failure != null) cartService.restore(sessionMember.getId(), storeId, cart.items());
+                });
+                redirectAttributes.addFlashAttribute("warnMessage", e.getMessage());
+                return "redirect:/orders";
+            } catch (Exception e) {
+                cartService.restore(sessionMember.getId(), storeId, cart.items());
+                throw e;
+            }
 
             // 주문 성공 메시지
             redirectAttributes.addFlashAttribute("successMessage", "주문이 성공적으로 완료되었습니다! (주문번호 #" + orderId + ")");
 
             /**
-             * 주문 후 파이썬 측 서버에 필요한 정보 dto로 변환해서 쏴주기
+             * 드론 서버 배차 요청은 주문 트랜잭션에서 아웃박스에 기록되고
+             * OrderSendQueue 릴레이가 백그라운드로 전송한다. (체크아웃은 드론 서버 응답을 기다리지 않음)
+             * 전송 진행 상황은 주문의 dispatchStatus 로 실시간 화면에서 확인
              */
-            Order order = orderRepository.findGraphById(orderId)
-                    .orElseThrow(() -> new IllegalStateException("주문을 찾을 수 없습니다."));
-
-            SendInfoDTO payload = mapper.map(order);
-            payload.setOrderId(orderId);
-
-            // Python으로 전송 (동기 보장 필요시 block, 2~3초 타임아웃 권장)
-            /*pythonClient.post()
-                    .uri("/orders/webhook")   // 최종: http://localhost:8000/orders/webhook
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .bodyValue(payload)
-                    .retrieve()
-                    .toBodilessEntity()
-                    .block(Duration.ofSeconds(3));*/
-
-            pythonClient.post()
-                    .uri("/api/v_a0_0_1/orders/create")
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .bodyValue(payload) // { ..., "orderId": 1 }
-                    .retrieve()
-                    .toBodilessEntity()
-                    .block(Duration.ofSeconds(3));
-
-            log.info("드론 서버 연결 성공");
-
-            log.info("드론 서버와 통신 시작");
             // checkout 성공 직후
             session.setAttribute("currentOrderId", orderId);
             return "redirect:/realtime?orderId=" + orderId;
@@ -267,18 +198,12 @@ public class CartController {
                                  HttpSession session,
                                  RedirectAttributes redirectAttributes) {
 
-        String key = cartKey(storeId);
-
-        @SuppressWarnings("unchecked")
-        List<CartItem> cart = (List<CartItem>) session.getAttribute(key);
-
-        if (cart != null) {
-            cart.removeIf(item -> item.getProductId().equals(productId));
-            session.setAttribute(key, cart);
-            session.setAttribute("totalPrice", calcTotal(cart));
-            redirectAttributes.addFlashAttribute("successMessage", "상품을 장바구니에서 삭제했습니다.");
-        } else {
+        LoginMember loginMember = (LoginMember) session.getAttribute(SessionConst.LOGIN_MEMBER);
+        if (loginMember == null || cartService.get(loginMember.getId(), storeId).isEmpty()) {
             redirectAttributes.addFlashAttribute("warnMessage", "장바구니가 비어 있습니다.");
+        } else {
+            cartService.remove(loginMember.getId(), storeId, productId);
+            redirectAttributes.addFlashAttribute("successMessage", "상품을 장바구니에서 삭제했습니다.");
         }
 
         return "redirect:/delivery/" + storeId;
@@ -1,6 +1,5 @@
 package drone.delivery.controller;
 
-import drone.delivery.domain.Member;
 import drone.delivery.service.FavoriteService;
 import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
@@ -25,7 +24,7 @@ public class FavoriteController {
     public String createFavorite(@RequestParam("storeId") Long storeId,
                                  @RequestParam(value = "category", required = false) String category,
                                  HttpSession session) {
-        Member loginMember = (Member) session.getAttribute(SessionConst.LOGIN_MEMBER);
+        LoginMember loginMember = (LoginMember) session.getAttribute(SessionConst.LOGIN_MEMBER);
         if (loginMember == null) return "redirect:/login";
         favoriteService.createFavoriteStore(loginMember.getId(), storeId);
         return redirectBackToCategory(category);
@@ -39,7 +38,7 @@ public class FavoriteController {
                                  @RequestParam(required = false, defaultValue = "0") int page,
                                  @RequestParam(required = false, defaultValue = "6") int size,
                                  HttpSession session) {
-        Member m = (Member) session.getAttribute(SessionConst.LOGIN_MEMBER);
+        LoginMember m = (LoginMember) session.getAttribute(SessionConst.LOGIN_MEMBER);
         if (m == null) return "redirect:/login";
         favoriteService.toggleFavoriteAndReturn(m.getId(), storeId); // 내부에서 토글
 
@@ -55,7 +54,7 @@ public class FavoriteController {
     @ResponseBody
     public ResponseEntity<Map<String, Object>> toggleFavoriteAjax(@RequestParam Long storeId,
                                                                   HttpSession session) {
-        Member m = (Member) session.getAttribute(SessionConst.LOGIN_MEMBER);
+        LoginMember m = (LoginMember) session.getAttribute(SessionConst.LOGIN_MEMBER);
         if (m == null) {
             return ResponseEntity.status(401).body(Map.of("error", "UNAUTHORIZED"));
         }
@@ -68,7 +67,7 @@ public class FavoriteController {
     public String deleteFavorite(@RequestParam("storeId") Long storeId,
                                  @RequestParam(value = "category", required = false) String category,
                                  HttpSession session) {
-        Member loginMember = (Member) session.getAttribute(SessionConst.LOGIN_MEMBER);
+        LoginMember loginMember = (LoginMember) session.getAttribute(SessionConst.LOGIN_MEMBER);
         if (loginMember == null) return "redirect:/login";
         favoriteService.deleteFavoriteStore(loginMember.getId(), storeId);
         return redirectBackToCategory(category);
@@ -80,7 +79,7 @@ public class FavoriteController {
                               @RequestParam(defaultValue = "0") int page,
                               @RequestParam(defaultValue = "6") int size,
                               HttpSession session) {
-        Member loginMember = (Member) session.getAttribute(SessionConst.LOGIN_MEMBER);
+        LoginMember loginMember = (LoginMember) session.getAttribute(SessionConst.LOGIN_MEMBER);
         if (loginMember == null) return "redirect:/login";
         favoriteService.deleteFavoriteStore(loginMember.getId(), storeId);
         return "redirect:/delivery?tab=favorites&page=" + page + "&size=" + size;
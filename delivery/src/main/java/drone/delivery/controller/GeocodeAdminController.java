@@ -0,0 +1,39 @@
+package drone.delivery.controller;
+
+import drone.delivery.async.GeocodeQueue;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 지오코딩 관리용 (local/test 프로필에서만)
+ * - POST /test/geocode/rebuild : 회원/가게 전체 재변환 시작 (백그라운드, 이미 진행 중이면 started=false)
+ * - GET  /test/geocode/rebuild : 진행 상황
+ */
+@Profile({"local","test"})
+@RestController
+@RequestMapping("/test/geocode")
+@RequiredArgsConstructor
+public class GeocodeAdminController {
+
+    private final GeocodeQueue geocodeQueue;
+
+    @PostMapping("/rebuild")
+    public Map<String, Object> rebuild() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("started", geocodeQueue.startReGeocodeAll());
+        body.putAll(geocodeQueue.rebuildStatus());
+        return body;
+    }
+
+    @GetMapping("/rebuild")
+    public Map<String, Object> status() {
+        return geocodeQueue.rebuildStatus();
+    }
+}
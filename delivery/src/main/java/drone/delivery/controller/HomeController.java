@@ -1,6 +1,5 @@
 package drone.delivery.controller;
 
-import drone.delivery.domain.Member;
 import drone.delivery.domain.MemberType;
 import jakarta.servlet.http.HttpSession;
 import org.springframework.stereotype.Controller;
@@ -14,7 +13,7 @@ public class HomeController {
 
     @GetMapping("/home")
     public String home(HttpSession session) {
-        Member loginMember = (Member) session.getAttribute(SessionConst.LOGIN_MEMBER);
+        LoginMember loginMember = (LoginMember) session.getAttribute(SessionConst.LOGIN_MEMBER);
         if (loginMember == null) {
             // 비회원 또는 세션 없는 경우 → 일반 홈(배달 목록)
             return "redirect:/delivery";
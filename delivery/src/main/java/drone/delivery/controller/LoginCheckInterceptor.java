@@ -3,42 +3,33 @@ package drone.delivery.controller;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
-import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StringUtils;
 import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.UrlPathHelper;
 
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
-import java.util.List;
 
 public class LoginCheckInterceptor implements HandlerInterceptor {
 
-    private final List<String> whitelist;
-    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final WhitelistMatcher whitelist;
 
-    public LoginCheckInterceptor(List<String> whitelist) {
+    public LoginCheckInterceptor(WhitelistMatcher whitelist) {
         this.whitelist = whitelist;
     }
 
-    private boolean isWhitelisted(String uri) {
-        for (String p : whitelist) {
-            if (pathMatcher.match(p, uri)) return true;
-        }
-        return false;
-    }
-
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
         String uri = request.getRequestURI();
 
-        // 0) 에러 처리 경로는 무조건 패스
-        if (uri.equals("/error") || uri.startsWith("/error/")) {
-            return true;
-        }
-
-        // 1) 화이트리스트는 무조건 패스
-        if (isWhitelisted(uri)) {
+        // 1) 화이트리스트는 무조건 패스 (정적 리소스/에러 경로는 WebConfig 에서 인터셉터 자체를 제외)
+        //    getRequestURI() 는 정규화 전 값이라('/realtime/..;/orders/5/dispatch') 판정에 쓰지 않는다.
+        //    라우트가 있으면 라우트 패턴으로, 없으면 ';' 제거 + 디코딩 + '..' 해석한 경로로 판정
+        Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String lookupPath = StringUtils.cleanPath(UrlPathHelper.defaultInstance.getPathWithinApplication(request));
+        if (whitelist.matches(lookupPath, route == null ? null : route.toString())) {
             return true;
         }
 
@@ -0,0 +1,33 @@
+package drone.delivery.controller;
+
+import drone.delivery.domain.Member;
+import drone.delivery.domain.MemberType;
+import lombok.Getter;
+
+import java.io.Serializable;
+
+/**
+ * 세션에 저장하는 로그인 정보 (id, 회원 타입, 이름만)
+ * - Member 엔티티(지연 로딩 컬렉션 포함)를 세션에 넣지 않는다. 세션 크기/직렬화 비용을 줄이고
+ *   분리된(detached) 엔티티를 다시 쓰는 문제를 없앤다.
+ * - 잔액/주소 등 바뀌는 값은 MemberProfileService 에서 조회한다.
+ */
+@Getter
+public final class LoginMember implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+    private final MemberType memberType;
+    private final String name;
+
+    public LoginMember(Long id, MemberType memberType, String name) {
+        this.id = id;
+        this.memberType = memberType;
+        this.name = name;
+    }
+
+    public static LoginMember of(Member member) {
+        return new LoginMember(member.getId(), member.getMemberType(), member.getName());
+    }
+}
@@ -2,10 +2,11 @@ package drone.delivery.controller;
 
 import drone.delivery.domain.Member;
 import drone.delivery.dto.MemberDTO;
+import drone.delivery.dto.MemberProfile;
 import drone.delivery.dto.RegisterRequestDTO;
 import drone.delivery.dto.UpdateMemberDTO;
 import drone.delivery.exception.DuplicateEmailException;
-import drone.delivery.repository.MemberRepository;
+import drone.delivery.service.MemberProfileService;
 import drone.delivery.service.MemberService;
 import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
@@ -22,13 +23,13 @@ public class MemberController {
     @Autowired
     private MemberService memberService;
     @Autowired
-    private MemberRepository memberRepository;
+    private MemberProfileService memberProfileService;
 
     // 로그인 화면
     @GetMapping("/")
     public String showLoginPage(HttpSession session)
     {
-        Member loginMember = (Member) session.getAttribute(SessionConst.LOGIN_MEMBER);
+        LoginMember loginMember = (LoginMember) session.getAttribute(SessionConst.LOGIN_MEMBER);
         if(loginMember != null) return "redirect:/delivery";
         return "login"; // login.html을 렌더링
     }
@@ -44,7 +45,8 @@ public class MemberController {
         Member loggedInMember = memberService.validateLogin(email, password);
 
         if (loggedInMember != null) {
-            session.setAttribute("loginMember", loggedInMember);
+            // 세션에는 id/타입/이름만 (잔액·주소는 MemberProfileService 에서 조회)
+            session.setAttribute(SessionConst.LOGIN_MEMBER, LoginMember.of(loggedInMember));
 
             switch (loggedInMember.getMemberType()) {
                 case USER:
@@ -138,15 +140,15 @@ public class MemberController {
     @GetMapping("/account")
     public String accountInfo(Model model, HttpSession session) {
         // 세션에서 로그인한 사용자 정보를 가져옵니다.
-        Member member = (Member) session.getAttribute("loginMember");
+        LoginMember loginMember = (LoginMember) session.getAttribute(SessionConst.LOGIN_MEMBER);
 
-        if (member == null) {
+        if (loginMember == null) {
             model.addAttribute("error", "사용자 정보를 찾을 수 없습니다.");
             return "error";  // 에러 페이지로 리디렉션 또는 메시지 처리
         }
 
         // 모델에 사용자 정보를 추가하여 HTML로 전달
-        MemberDTO memberDTO= new MemberDTO(member);
+        MemberDTO memberDTO= new MemberDTO(memberProfileService.get(loginMember.getId()));
         model.addAttribute("member", memberDTO);
         return "account";  // account.html 페이지로 이동
     }
@@ -155,11 +157,12 @@ public class MemberController {
     //정보 수정 페이지
     @GetMapping("/account/edit")
     public String editAccountInfo(Model model, HttpSession session) {
-        Member member = (Member) session.getAttribute("loginMember");
-        if (member == null) {
+        LoginMember loginMember = (LoginMember) session.getAttribute(SessionConst.LOGIN_MEMBER);
+        if (loginMember == null) {
             model.addAttribute("error", "사용자 정보를 찾을 수 없습니다.");
             return "error";
         }
+        MemberProfile member = memberProfileService.get(loginMember.getId());
 
         // 프로필 카드용
         model.addAttribute("member", new MemberDTO(member));
@@ -191,7 +194,7 @@ public class MemberController {
             HttpSession session,
             Model model) {
 
-        Member sessionMember = (Member) session.getAttribute("loginMember");
+        LoginMember sessionMember = (LoginMember) session.getAttribute(SessionConst.LOGIN_MEMBER);
         if (sessionMember == null) {
             model.addAttribute("error", "사용자 정보를 찾을 수 없습니다.");
             return "error";
@@ -199,7 +202,7 @@ public class MemberController {
 
         // 1) Bean Validation 에러면 폼으로 되돌아가기
         if (bindingResult.hasErrors()) {
-            model.addAttribute("member", new MemberDTO(sessionMember)); // 왼쪽 카드 데이터
+            model.addAttribute("member", new MemberDTO(memberProfileService.get(sessionMember.getId()))); // 왼쪽 카드 데이터
             model.addAttribute("page", "account-edit");
             return "editAccount";
         }
@@ -210,15 +213,15 @@ public class MemberController {
         } catch (DuplicateEmailException | IllegalStateException e ) {
             // 서비스에서 중복 이메일 예외 던지면 필드 에러로 매핑
             bindingResult.rejectValue("email", "duplicate", e.getMessage());
-            model.addAttribute("member", new MemberDTO(sessionMember));
+            model.addAttribute("member", new MemberDTO(memberProfileService.get(sessionMember.getId())));
             model.addAttribute("page", "account-edit");
             return "editAccount";
         }
 
-        // 3) 최신 회원 재조회 후 세션/모델 반영
-        Member updated = memberRepository.findById(sessionMember.getId())
-                .orElseThrow(() -> new IllegalStateException("회원이 존재하지 않습니다."));
-        session.setAttribute("loginMember", updated);
+        // 3) 세션 로그인 정보(이름) 갱신, 프로필은 커밋 시 캐시가 무효화되어 최신 값으로 다시 읽힌다
+        MemberProfile updated = memberProfileService.get(sessionMember.getId());
+        session.setAttribute(SessionConst.LOGIN_MEMBER,
+                new LoginMember(updated.getId(), updated.getMemberType(), updated.getName()));
 
         model.addAttribute("member", new MemberDTO(updated)); // 왼쪽 카드 갱신
         model.addAttribute("updateMemberDTO", dto);           // 사용자가 입력한 값 유지
@@ -234,8 +237,8 @@ public class MemberController {
 
     @GetMapping("/recharge")
     public String showRechargeForm(HttpSession session, Model model) {
-        Member member = (Member) session.getAttribute("loginMember");
-        MemberDTO memberDTO= new MemberDTO(member);
+        LoginMember loginMember = (LoginMember) session.getAttribute(SessionConst.LOGIN_MEMBER);
+        MemberDTO memberDTO= new MemberDTO(memberProfileService.get(loginMember.getId()));
         model.addAttribute("member", memberDTO);
         return "recharge"; // templates/recharge.html
     }
@@ -250,15 +253,11 @@ public class MemberController {
         }
 
         // 세션에서 로그인한 회원 정보 가져오기
-        Member sessionMember = (Member) session.getAttribute("loginMember");
+        LoginMember sessionMember = (LoginMember) session.getAttribute(SessionConst.LOGIN_MEMBER);
 
-        // 충전 로직 위임 (DB 반영)
+        // 충전 로직 위임 (DB 반영, 커밋 후 프로필 캐시 무효화 → 세션 갱신 불필요)
         memberService.chargeMoney(sessionMember.getId(), money);
 
-        // 최신 정보로 세션 갱신
-        Member updated = memberService.findById(sessionMember.getId());
-        session.setAttribute("loginMember", updated);
-
         redirectAttributes.addFlashAttribute("successMessage", "충전이 완료되었습니다!");
         return "redirect:/recharge";
     }
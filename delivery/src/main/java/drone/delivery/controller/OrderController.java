@@ -16,7 +16,9 @@ import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Controller
 @RequiredArgsConstructor
@@ -41,7 +43,7 @@ public class OrderController {
         }
         if (orderId == null) {
             // 3) 회원의 최근 주문으로 복원 (없으면 안내)
-            Member login = (Member) session.getAttribute("loginMember");
+            LoginMember login = (LoginMember) session.getAttribute(SessionConst.LOGIN_MEMBER);
             if (login != null) {
                 orderId = orderService.findLatestOrderIdByMember(login.getId()).orElse(null);
             }
@@ -70,16 +72,9 @@ public class OrderController {
     @ResponseBody
     public String cancelOrderAjax(@PathVariable Long id, HttpSession session) {
 
-        // 실제 주문 취소
+        // 실제 주문 취소 (환불 잔액은 커밋 후 프로필 캐시 무효화로 반영)
         orderService.cancelOrder(id);
 
-        // 세션 회원 정보 최신화
-        Member sessionMember = (Member) session.getAttribute("loginMember");
-        if (sessionMember != null) {
-            Member updatedMember = memberService.findById(sessionMember.getId());
-            session.setAttribute("loginMember", updatedMember);
-        }
-
         // JSON 형태로 메시지 반환
         return "{\"message\": \"주문이 취소되었습니다.\", \"redirect\": \"/delivery\"}";
     }
@@ -97,7 +92,7 @@ public class OrderController {
                             @RequestParam(name = "status", defaultValue = "ALL") String status) {
 
 
-        Member sessionMember = (Member) session.getAttribute("loginMember");
+        LoginMember sessionMember = (LoginMember) session.getAttribute(SessionConst.LOGIN_MEMBER);
         if (sessionMember == null) {
             return "redirect:/";
         }
@@ -113,8 +108,8 @@ public class OrderController {
         }
 
         List<Order> orders = (filter == null)
-                ? orderService.findByMember(sessionMember)                 // 전체
-                : orderService.findByMemberAndOrderStatus(sessionMember, filter); // 상태 필터
+                ? orderService.findByMember(sessionMember.getId())                 // 전체
+                : orderService.findByMemberAndOrderStatus(sessionMember.getId(), filter); // 상태 필터
 
         model.addAttribute("orders", orders);
         model.addAttribute("status", status.toUpperCase()); // 탭 활성화용
@@ -126,7 +121,7 @@ public class OrderController {
     public String orderDetail(HttpSession session,
                               @PathVariable Long id,
                               Model model) {
-        Member member = (Member) session.getAttribute("loginMember");
+        LoginMember member = (LoginMember) session.getAttribute(SessionConst.LOGIN_MEMBER);
         Long memberId = member.getId();
 
         Order order = orderService.getDetail(memberId, id); // fetch join으로 아이템/상품/가게까지 로드
@@ -135,13 +130,33 @@ public class OrderController {
     }
 
 
+    // 배차 전송 상태 조회 (실시간 화면 폴링용)
+    @GetMapping("/orders/{id}/dispatch")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> dispatchStatus(@PathVariable Long id, HttpSession session) {
+        LoginMember member = (LoginMember) session.getAttribute(SessionConst.LOGIN_MEMBER);
+        if (member == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        try {
+            Order order = orderService.findOwnedOrder(member.getId(), id);
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("orderId", order.getId());
+            body.put("orderStatus", order.getOrderStatus());
+            body.put("dispatchStatus", order.getDispatchStatus());
+            return ResponseEntity.ok(body);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     // ttest
     @PostMapping("/orders/deliver/{id}")
     @ResponseBody
     public String markDelivered(@PathVariable Long id,
                                 HttpSession session) {
         // 1) 권한/소유자 검증, 상태 전이 허용(PENDING/SHIPPED -> DELIVERED) 체크
-        Member member = (Member) session.getAttribute("loginMember");
+        LoginMember member = (LoginMember) session.getAttribute(SessionConst.LOGIN_MEMBER);
 
         orderService.markDelivered(member.getId(), id);
 
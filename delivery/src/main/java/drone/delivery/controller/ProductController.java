@@ -1,6 +1,5 @@
 package drone.delivery.controller;
 
-import drone.delivery.domain.Member;
 import drone.delivery.domain.MemberType;
 import drone.delivery.domain.Product;
 import drone.delivery.dto.FoodDTO;
@@ -9,6 +8,8 @@ import drone.delivery.repository.ProductRepository;
 import drone.delivery.service.ProductOptionQueryService;
 import drone.delivery.service.ProductService;
 import drone.delivery.service.StoreService;
+import drone.delivery.service.option.ProductOptionTreeCache;
+import drone.delivery.service.stock.StockReservationLedger;
 import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -27,6 +28,8 @@ public class ProductController {
     private final ProductOptionQueryService productOptionQueryService;;
     private final ProductRepository productRepository;
     private final StoreService storeService;
+    private final StockReservationLedger stockLedger;
+    private final ProductOptionTreeCache optionTreeCache;
 
     //상품 추가
 
@@ -38,7 +41,7 @@ public class ProductController {
                       HttpSession session,
                       RedirectAttributes ra) {
 
-        Member owner = (Member) session.getAttribute("loginMember");
+        LoginMember owner = (LoginMember) session.getAttribute(SessionConst.LOGIN_MEMBER);
         if (owner == null || owner.getMemberType() != MemberType.OWNER) {
             ra.addFlashAttribute("pageError", "로그인이 필요합니다.");
             return "redirect:/login";
@@ -116,6 +119,8 @@ public class ProductController {
         product.setQuantity(dto.getQuantity());
         product.setProductImageUrl(dto.getProductImageUrl());
         product.setProductDescription(dto.getProductDescription());
+        stockLedger.evictAfterCommit(productId); // 점주가 입력한 재고가 최종값
+        optionTreeCache.invalidateProductAfterCommit(productId);
 
         // 4) 같은 화면에서 성공 메시지 보여주거나, PRG로 상세로 이동
         ra.addFlashAttribute("pageMessage", "상품 수정이 완료되었습니다.");
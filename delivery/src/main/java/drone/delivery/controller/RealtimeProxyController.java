@@ -1,100 +1,117 @@
 package drone.delivery.controller;
 
+import drone.delivery.service.drone.DroneServerGuard.DroneUnavailableException;
+import drone.delivery.service.telemetry.DroneTelemetryCache;
+import drone.delivery.service.telemetry.DroneTelemetryStream;
+import jakarta.servlet.http.HttpSession;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.publisher.Mono;
 
 import java.util.Map;
 
+/**
+ * 실시간 화면용 드론 서버 프록시
+ * - 드론 서버 호출은 DroneTelemetryCache(WebClient 기반, 동시 요청 합치기 + 짧은 TTL)를 거친다.
+ * - Mono를 그대로 반환해서 업스트림 응답을 기다리는 동안 서블릿 스레드를 붙잡지 않는다.
+ * - 실시간 화면은 /stream (SSE) 하나로 상태/이미지를 받고, status·image.png 는 폴링 폴백용
+ * - 드론 서버 조회가 실패하거나 서킷이 열려 있으면 마지막으로 받은 값을 X-Drone-Stale: true 와 함께 준다.
+ *   마지막 값도 없으면 서킷 열림/혼잡은 503(Retry-After), 그 밖의 실패는 502
+ */
 @Slf4j
 @RestController
+@RequiredArgsConstructor
 @RequestMapping("/realtime")
 public class RealtimeProxyController {
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    static final String STALE_HEADER = "X-Drone-Stale";
 
-    private static final String DRONE_BASE = "http://localhost:8000/api/v_a0_0_1";
+    private final DroneTelemetryCache telemetryCache;
+    private final DroneTelemetryStream telemetryStream;
 
     // ------------------------------------------------------
-    // ① 주문 생성: 스프링 → 드론 서버 POST 프록시
+    // ⓪ 실시간 스트림(SSE): 주문별 poller 하나가 구독자 전체에 푸시
     // ------------------------------------------------------
-    /*@PostMapping("/orders/create")
-    public ResponseEntity<?> createOrder(@RequestBody Map<String, Object> orderData) {
-        try {
-            String url = DRONE_BASE + "/orders/create";
-            log.info("📦 [CREATE ORDER] Forwarding to drone server: {}", url);
-
-            ResponseEntity<Map> response = restTemplate.postForEntity(url, orderData, Map.class);
-            log.info("✅ [CREATE ORDER] Response from drone server: {}", response.getStatusCode());
-
-            return ResponseEntity.status(response.getStatusCode()).body(response.getBody());
-        } catch (Exception e) {
-            log.error("❌ [CREATE ORDER] Error while creating order", e);
-            return ResponseEntity.status(HttpStatus.BAD_GATEWAY)
-                    .body(Map.of("error", "Failed to create order on drone server"));
+    @GetMapping(value = "/orders/{orderId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@PathVariable Long orderId, HttpSession session) {
+        LoginMember login = (LoginMember) session.getAttribute(SessionConst.LOGIN_MEMBER);
+        if (login == null) {
+            // 비로그인면 연결 안 열어줌
+            return new SseEmitter(0L);
         }
-    }*/
+        return telemetryStream.subscribe(orderId);
+    }
 
     // ------------------------------------------------------
-    // ② 상태 데이터 프록시: 프론트 → 스프링 → 드론 서버 GET
+    // ① 상태 데이터 프록시: 프론트 → 스프링 → 드론 서버 GET
     // ------------------------------------------------------
     @GetMapping("/orders/{orderId}/status")
-    public ResponseEntity<?> getDroneStatus(@PathVariable Long orderId) {
-        try {
-            String url = DRONE_BASE + "/orders/get_drone_data_by_order/" + orderId;
-            log.info("📡 [STATUS PROXY] Requesting: {}", url);
-
-            ResponseEntity<Map> response = restTemplate.getForEntity(url, Map.class);
-
-            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                log.info("✅ [STATUS PROXY] Success {}", response.getStatusCode());
-                return ResponseEntity.ok(response.getBody());
-            }
-
-            log.warn("⚠️ [STATUS PROXY] Non-OK response: {}", response.getStatusCode());
-            return ResponseEntity.status(HttpStatus.BAD_GATEWAY)
-                    .body(Map.of("error", "Drone status fetch failed"));
-
-        } catch (Exception e) {
-            log.error("❌ [STATUS PROXY] Error fetching drone status", e);
-            return ResponseEntity.status(HttpStatus.BAD_GATEWAY)
-                    .body(Map.of("error", e.getMessage()));
-        }
+    public Mono<ResponseEntity<Object>> getDroneStatus(@PathVariable Long orderId) {
+        return telemetryCache.status(orderId)
+                .map(body -> statusResponse(body, false))
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    log.warn("⚠️ [STATUS PROXY] Empty response orderId={}", orderId);
+                    return badGateway("Drone status fetch failed");
+                }))
+                .onErrorResume(e -> {
+                    Map<String, Object> last = telemetryCache.lastKnownStatus(orderId);
+                    if (last != null) return Mono.just(statusResponse(last, true));
+                    return Mono.just(failure("STATUS", orderId, e));
+                });
     }
 
     // ------------------------------------------------------
-    // ③ 이미지 프록시: 프론트 → 스프링 → 드론 서버 GET (PNG)
+    // ② 이미지 프록시: 프론트 → 스프링 → 드론 서버 GET (PNG)
     // ------------------------------------------------------
     @GetMapping("/orders/{orderId}/image.png")
-    public ResponseEntity<?> getDroneImage(@PathVariable Long orderId) {
-        try {
-            String url = DRONE_BASE + "/orders/get_drone_data_by_order/" + orderId;
-            log.info("🖼 [IMAGE PROXY] Requesting: {}", url);
-
-            ResponseEntity<byte[]> response = restTemplate.getForEntity(url, byte[].class);
-
-            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                ByteArrayResource resource = new ByteArrayResource(response.getBody());
-
-                HttpHeaders headers = new HttpHeaders();
-                headers.setContentType(MediaType.IMAGE_PNG);
-                headers.setCacheControl(CacheControl.noStore());
-                headers.setPragma("no-cache");
+    public Mono<ResponseEntity<Object>> getDroneImage(@PathVariable Long orderId) {
+        return telemetryCache.image(orderId)
+                .map(bytes -> imageResponse(bytes, false))
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    log.warn("⚠️ [IMAGE PROXY] Empty response orderId={}", orderId);
+                    return badGateway("Drone image fetch failed");
+                }))
+                .onErrorResume(e -> {
+                    byte[] last = telemetryCache.lastKnownImage(orderId);
+                    if (last != null) return Mono.just(imageResponse(last, true));
+                    return Mono.just(failure("IMAGE", orderId, e));
+                });
+    }
 
-                log.info("✅ [IMAGE PROXY] Success {}", response.getStatusCode());
-                return new ResponseEntity<>(resource, headers, HttpStatus.OK);
-            }
+    private ResponseEntity<Object> statusResponse(Map<String, Object> body, boolean stale) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().cacheControl(CacheControl.noStore());
+        if (stale) builder.header(STALE_HEADER, "true");
+        return builder.body(body);
+    }
 
-            log.warn("⚠️ [IMAGE PROXY] Non-OK response: {}", response.getStatusCode());
-            return ResponseEntity.status(HttpStatus.BAD_GATEWAY)
-                    .body(Map.of("error", "Drone image fetch failed"));
+    private ResponseEntity<Object> imageResponse(byte[] bytes, boolean stale) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.IMAGE_PNG);
+        headers.setCacheControl(CacheControl.noStore());
+        headers.setPragma("no-cache");
+        if (stale) headers.set(STALE_HEADER, "true");
+        return new ResponseEntity<>(new ByteArrayResource(bytes), headers, HttpStatus.OK);
+    }
 
-        } catch (Exception e) {
-            log.error("❌ [IMAGE PROXY] Error fetching drone image", e);
-            return ResponseEntity.status(HttpStatus.BAD_GATEWAY)
-                    .body(Map.of("error", e.getMessage()));
+    // 보호막 거절(서킷 열림/혼잡)은 요청마다 생기므로 debug, 실제 업스트림 실패만 error
+    private ResponseEntity<Object> failure(String kind, Long orderId, Throwable e) {
+        if (e instanceof DroneUnavailableException u) {
+            log.debug("[{} PROXY] 드론 서버 호출 차단 orderId={}: {}", kind, orderId, u.getMessage());
+            long retryAfterSec = Math.max(1, (u.getRetryAfterMillis() + 999) / 1000);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSec))
+                    .body(Map.of("error", u.getMessage()));
         }
+        log.error("❌ [{} PROXY] Error fetching drone data orderId={}: {}", kind, orderId, e.getMessage());
+        return badGateway(e.getMessage());
+    }
+
+    private ResponseEntity<Object> badGateway(String message) {
+        return ResponseEntity.status(HttpStatus.BAD_GATEWAY)
+                .body(Map.of("error", message == null ? "Drone server error" : message));
     }
 }
@@ -43,7 +43,7 @@ public class ReviewController {
     public String newReview(HttpSession session,
                             @RequestParam Long orderId,
                             Model model) {
-        Member member = (Member) session.getAttribute("loginMember");
+        LoginMember member = (LoginMember) session.getAttribute(SessionConst.LOGIN_MEMBER);
         if (member == null) { // ★ 방어코드
             return "redirect:/login?redirect=/reviews/new?orderId=" + orderId;
         }
@@ -80,7 +80,7 @@ public class ReviewController {
                          @RequestParam(value = "files", required = false) List<MultipartFile> files, // ★ 파일 함께 받기
                          RedirectAttributes ra,
                          Model model) {
-        Member member = (Member) session.getAttribute("loginMember");
+        LoginMember member = (LoginMember) session.getAttribute(SessionConst.LOGIN_MEMBER);
         if (member == null) { // ★ 방어코드
             return "redirect:/login?redirect=/reviews/new?orderId=" + form.getOrderId();
         }
@@ -90,6 +90,11 @@ public class ReviewController {
         Order order = orderService.findById(form.getOrderId());
         Store store = storeService.findById(form.getStoreId());
 
+        // 본인 주문만 리뷰 가능 (리뷰 작성자는 세션 정보가 아니라 주문의 회원 엔티티로 연결)
+        if (order.getMember() == null || !memberId.equals(order.getMember().getId())) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "본인 주문에만 리뷰를 작성할 수 있습니다.");
+        }
+
         // 서버측에서도 한 번 더 상태 방어 (신뢰 경계)
         String stName = order.getOrderStatus() != null ? order.getOrderStatus().name() : "";
         if (!"DELIVERED".equals(stName)) {
@@ -106,7 +111,7 @@ public class ReviewController {
 
         // 1) 리뷰 생성 -> 생성된 reviewId 반환 (★ ReviewService 메서드가 id 반환하도록 권장)
         Long reviewId = reviewService.createReview(
-                toDto(store, member, form.getContent(), form.getRating(), order)
+                toDto(store, order.getMember(), form.getContent(), form.getRating(), order)
         );
 
         // 2) 이미지 저장 (파일이 있으면)
@@ -130,11 +135,11 @@ public class ReviewController {
 
     @GetMapping
     public String reviewList(HttpSession session, Model model) {
-        Member member = (Member) session.getAttribute("loginMember");
+        LoginMember member = (LoginMember) session.getAttribute(SessionConst.LOGIN_MEMBER);
         if (member == null) {
             return "redirect:/login?redirect=/reviews";
         }
-        model.addAttribute("reviews", reviewService.findAllByMember(member));
+        model.addAttribute("reviews", reviewService.findAllByMember(member.getId()));
         return "review-list";
     }
 
@@ -142,7 +147,7 @@ public class ReviewController {
     public String detail(@PathVariable("id") Long reviewId,
                          HttpSession session,
                          Model model) {
-        Member login = (Member) session.getAttribute("loginMember");
+        LoginMember login = (LoginMember) session.getAttribute(SessionConst.LOGIN_MEMBER);
         Long loginId = (login != null) ? login.getId() : null;
 
         Review review = reviewQueryService.getDetail(reviewId);
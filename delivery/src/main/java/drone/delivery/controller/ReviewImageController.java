@@ -1,6 +1,5 @@
 package drone.delivery.controller;
 
-import drone.delivery.domain.Member;
 import drone.delivery.service.reviewImage.ReviewImageService;
 import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
@@ -26,7 +25,7 @@ public class ReviewImageController {
             @RequestParam("files") List<MultipartFile> files,
             HttpSession session
     ) throws IOException {
-        Member loginMember = (Member) session.getAttribute("loginMember");
+        LoginMember loginMember = (LoginMember) session.getAttribute(SessionConst.LOGIN_MEMBER);
         if (loginMember == null) {
             return ResponseEntity.status(401).body("로그인이 필요합니다.");
         }
@@ -1,18 +1,23 @@
 package drone.delivery.controller;
 
-import drone.delivery.domain.CartItem;
-import drone.delivery.domain.Member;
-import drone.delivery.domain.Review;
 import drone.delivery.domain.Store;
+import drone.delivery.dto.MemberProfile;
+import drone.delivery.dto.StoreCardDto;
 import drone.delivery.dto.StoreFavoriteDto;
 import drone.delivery.dto.StoreUpdateDTO;
 import drone.delivery.service.FavoriteService;
-import drone.delivery.service.OrderService;
+import drone.delivery.service.MemberProfileService;
 import drone.delivery.service.ReviewQueryService;
+import drone.delivery.service.StoreMenuQueryService;
 import drone.delivery.service.StoreService;
+import drone.delivery.service.StoreService.NearbyStores;
+import drone.delivery.service.StoreService.StoreCardPage;
+import drone.delivery.service.cart.CartService;
+import drone.delivery.service.cart.CartService.Cart;
 import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -28,9 +33,30 @@ import java.util.*;
 public class StoreController {
 
     private final StoreService storeService;
-    private final OrderService orderService;
+    private final StoreMenuQueryService storeMenuQueryService;
+    private final CartService cartService;
     private final ReviewQueryService reviewQueryService;
     private final FavoriteService favoriteService;
+    private final MemberProfileService memberProfileService;
+
+    // 가까운 순 정렬 시 최대 노출 개수
+    @Value("${app.store.nearby.limit:50}")
+    private int nearbyLimit;
+
+    // 반경 검색 상한 (드론 배달 가능 거리 이상은 의미가 없고, 반경이 클수록 훑는 칸 수가 늘어남)
+    @Value("${app.store.nearby.max-radius-km:20}")
+    private double maxRadiusKm;
+
+    // 가게 목록 한 페이지 크기 (이후는 무한 스크롤로 /delivery/stores 호출)
+    @Value("${app.store.page-size:24}")
+    private int storePageSize;
+
+    // 메뉴 화면: 리뷰 한 페이지 크기, 사이드에 보여줄 내 최근 주문 수
+    @Value("${app.store.menu.review-page-size:10}")
+    private int reviewPageSize;
+
+    @Value("${app.store.menu.my-order-limit:5}")
+    private int myOrderLimit;
 
     // 카테고리별 가게 조회
     @GetMapping("/delivery")
@@ -38,19 +64,34 @@ public class StoreController {
                              @RequestParam(defaultValue="stores") String tab,
                              @RequestParam(defaultValue="0") int page,
                              @RequestParam(defaultValue="6") int size,
+                             @RequestParam(defaultValue="default") String sort,
                              Model model, HttpSession session) {
 
-        // 항상 가게 리스트는 준비(카테고리 탭용)
-        List<Store> stores = (category == null || category.equals("전체"))
-                ? storeService.findAll() : storeService.findByCategory(category);
+        LoginMember loginMember = (LoginMember) session.getAttribute(SessionConst.LOGIN_MEMBER);
+
+        // 가까운 순: 회원 좌표가 있으면 공간 인덱스로 주변 가게만 조회
+        double[] coords = ("distance".equals(sort)) ? memberCoordinates(loginMember) : null;
+        List<StoreCardDto> stores;
+        if (coords != null) {
+            NearbyStores nearby = storeService.findNearby(coords[0], coords[1], category, null, nearbyLimit);
+            stores = nearby.stores();
+            model.addAttribute("distances", nearby.distanceKm());
+            sort = "distance";
+        } else {
+            // 카드 컬럼만 첫 페이지 조회 (다음 페이지는 nextCursor 로 이어서)
+            sort = StoreService.normalizeSort(sort);
+            StoreCardPage cards = storeService.findCards(category, sort, null, storePageSize);
+            stores = cards.items();
+            model.addAttribute("nextCursor", cards.nextCursor());
+        }
         model.addAttribute("stores", stores);
+        model.addAttribute("sort", sort);
         model.addAttribute("selectedCategory", category == null ? "전체" : category);
         model.addAttribute("tab", tab);
         model.addAttribute("page", page);
         model.addAttribute("size", size);
 
         // 하트표시용 Set
-        Member loginMember = (Member) session.getAttribute(SessionConst.LOGIN_MEMBER);
         Set<Long> favoriteStoreIds = Set.of();
         if (loginMember != null) {
             favoriteStoreIds = favoriteService.getFavoriteStoreIdSetManaged(loginMember.getId());
@@ -68,34 +109,79 @@ public class StoreController {
     }
 
 
+    // 가게 목록 다음 페이지 JSON (무한 스크롤), 카드마다 찜 여부(favorite) 포함
+    @GetMapping("/delivery/stores")
+    @ResponseBody
+    public StoreCardPage storeCards(@RequestParam(required = false) String category,
+                                    @RequestParam(defaultValue = "id") String sort,
+                                    @RequestParam(required = false) String cursor,
+                                    @RequestParam(required = false) Integer size,
+                                    HttpSession session) {
+        int pageSize = (size == null) ? storePageSize : Math.max(1, Math.min(size, 100));
+        StoreCardPage cards = storeService.findCards(category, sort, cursor, pageSize);
+        LoginMember loginMember = (LoginMember) session.getAttribute(SessionConst.LOGIN_MEMBER);
+        if (loginMember != null && !cards.items().isEmpty()) {
+            Set<Long> favoriteStoreIds = favoriteService.getFavoriteStoreIdSetManaged(loginMember.getId());
+            cards.items().forEach(c -> c.setFavorite(favoriteStoreIds.contains(c.getId())));
+        }
+        return cards;
+    }
+
+    // 주변 가게 JSON: 반경(radiusKm) 지정 시 반경 내, 아니면 가까운 순 k개
+    @GetMapping("/delivery/nearby")
+    @ResponseBody
+    public List<Map<String, Object>> nearbyStores(@RequestParam(required = false) String category,
+                                                  @RequestParam(required = false) Double radiusKm,
+                                                  @RequestParam(defaultValue = "20") int k,
+                                                  HttpSession session) {
+        double[] coords = memberCoordinates((LoginMember) session.getAttribute(SessionConst.LOGIN_MEMBER));
+        if (coords == null) return List.of();
+
+        Double radius = (radiusKm == null || !(radiusKm > 0)) ? null : Math.min(radiusKm, maxRadiusKm);
+        NearbyStores nearby = storeService.findNearby(coords[0], coords[1], category, radius,
+                Math.max(1, Math.min(k, nearbyLimit)));
+        List<Map<String, Object>> body = new ArrayList<>();
+        for (StoreCardDto s : nearby.stores()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("id", s.getId());
+            row.put("name", s.getName());
+            row.put("category", s.getCategory());
+            row.put("imageUrl", s.getImageUrl());
+            row.put("minOrderPrice", s.getMinOrderPrice());
+            row.put("distanceKm", nearby.distanceKm().get(s.getId()));
+            body.add(row);
+        }
+        return body;
+    }
+
+    // 회원 좌표 (프로필 읽기 모델, 지오코딩 완료 시 캐시가 무효화되어 다음 조회에 반영)
+    private double[] memberCoordinates(LoginMember loginMember) {
+        if (loginMember == null) return null;
+        MemberProfile p = memberProfileService.get(loginMember.getId());
+        if (p.getLatitude() == null || p.getLongitude() == null) return null;
+        return new double[]{p.getLatitude(), p.getLongitude()};
+    }
+
     @GetMapping("/delivery/{storeId}")
     public String showStoreMenu(@PathVariable Long storeId,
                                 @RequestParam(value = "tab", required = false) String tab,
+                                @RequestParam(value = "reviewPage", defaultValue = "0") int reviewPage,
                                 Model model, HttpSession session) {
-        Store store = storeService.findById(storeId);
-        List<Review> reviews = reviewQueryService.getStoreReviews(storeId);
+        LoginMember loginMember = (LoginMember) session.getAttribute(SessionConst.LOGIN_MEMBER);
 
-        log.info("store {} reviews loaded = {}", storeId, reviews.size());
-
-
-        model.addAttribute("store", store);
-        model.addAttribute("products", store.getProducts());
-        model.addAttribute("orders", orderService.findAll());
-
-        model.addAttribute("reviews", reviews);
+        model.addAttribute("store", storeMenuQueryService.getHeader(storeId));
+        model.addAttribute("products", storeMenuQueryService.getProducts(storeId));
+        model.addAttribute("myOrders", storeMenuQueryService.getMemberOrders(
+                loginMember == null ? null : loginMember.getId(), storeId, myOrderLimit));
+        model.addAttribute("reviewPage", reviewQueryService.getStoreReviewPage(storeId, reviewPage, reviewPageSize));
         model.addAttribute("activeTab", "review".equalsIgnoreCase(tab) ? "review" : "menu");
 
-        // per-store 세션 키 사용
-        @SuppressWarnings("unchecked")
-        List<CartItem> cart = (List<CartItem>) session.getAttribute("cart_" + storeId);
-        if (cart == null) cart = new ArrayList<>();
-        model.addAttribute("cart", cart);
-
-        //  합계: item.price(옵션 포함 단가) * item.quantity
-        int totalPrice = cart.stream().mapToInt(ci -> ci.getPrice() * ci.getQuantity()).sum();
-        model.addAttribute("totalPrice", totalPrice);
+        // 회원 × 가게 장바구니 (합계 = 단가 × 수량)
+        Cart cart = loginMember == null ? Cart.empty() : cartService.get(loginMember.getId(), storeId);
+        model.addAttribute("cart", cart.items());
+        model.addAttribute("totalPrice", cart.totalPrice());
+        model.addAttribute("memberMoney", loginMember == null ? 0 : memberProfileService.get(loginMember.getId()).getMoney());
 
-        session.setAttribute("lastStoreId", storeId);
         return "product-list";
     }
 
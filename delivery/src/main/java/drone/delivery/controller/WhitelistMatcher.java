@@ -0,0 +1,134 @@
+package drone.delivery.controller;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 로그인 검사 화이트리스트 매처 (시작 시 한 번 컴파일)
+ * - 패턴을 경로 세그먼트 트라이로 만들어 URI 길이에 비례하는 한 번의 탐색으로 판정한다.
+ *   (요청마다 AntPathMatcher.match 를 패턴 수만큼 돌리던 방식 대체)
+ * - 트라이가 다루는 패턴: 고정 세그먼트, 세그먼트 전체 '*', 마지막 '**'
+ *   그 밖의 패턴('*.ico', '{id}', 중간 '**' 등)은 PathPattern 으로 따로 검사한다.
+ * - 라우트(컨트롤러 매핑 패턴, 예: /realtime/orders/{orderId}/status)를 알면 판정은 라우트 패턴 자체로 내리고 라우트별로 캐시한다.
+ *   요청 URI 로 판정하면 정규화 전 URI('/realtime/..;/orders/5/dispatch' 는 /orders/{orderId}/dispatch 로 디스패치됨)가
+ *   화이트리스트에 걸린 결과가 그 라우트의 캐시로 굳어 버린다. 라우트 패턴은 실제로 요청을 처리할 핸들러라서 URI 표기와 무관하다.
+ *   id 가 들어간 URI 도 라우트 하나로 모이므로 캐시 크기는 라우트 수에 비례한다.
+ *   화이트리스트 패턴이 경로 변수 값(특정 id)을 구분하지 않는다는 전제 (LOGIN_WHITELIST 는 모두 접두사/고정 경로)
+ * - 라우트를 모르거나 '*' 가 든 패턴(정적 리소스 /** 등)은 URI 마다 판정이 달라질 수 있어 캐시하지 않고
+ *   호출자가 넘긴 정규화된 경로(lookupPath)로 판정한다. (트라이 탐색만)
+ * - 의미는 AntPathMatcher 와 같게 맞춤: '/a/**' 는 '/a' 도 포함, 끝 슬래시('/a/')는 '**' 로만 일치
+ */
+public final class WhitelistMatcher {
+
+    private final Node root = new Node();
+    private final List<PathPattern> fallback = new ArrayList<>();
+    private final Map<String, Boolean> decisions = new ConcurrentHashMap<>();
+    private final int cacheSize;
+
+    public WhitelistMatcher(List<String> patterns, int cacheSize) {
+        this.cacheSize = cacheSize;
+        for (String p : patterns) {
+            if (!addToTrie(p)) fallback.add(PathPatternParser.defaultInstance.parse(p));
+        }
+    }
+
+    /**
+     * 화이트리스트 여부
+     * @param lookupPath 정규화된 요청 경로 (';' 파라미터 제거, '..' 해석) — 라우트로 판정할 수 없을 때만 쓴다
+     * @param routePattern 요청을 처리할 핸들러의 매핑 패턴 (HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE), 모르면 null
+     */
+    public boolean matches(String lookupPath, String routePattern) {
+        if (routePattern == null || routePattern.indexOf('*') >= 0) return matchesUncached(lookupPath);
+
+        Boolean cached = decisions.get(routePattern);
+        if (cached != null) return cached;
+
+        // 첫 요청의 URI 가 아니라 라우트 패턴으로 판정 ('{orderId}' 는 그 세그먼트 그대로 트라이를 탐색)
+        boolean result = matchesUncached(routePattern);
+        // 라우트 수는 유한하지만, 혹시 모를 무한 증가에 대비한 상한
+        if (decisions.size() < cacheSize) decisions.put(routePattern, result);
+        return result;
+    }
+
+    /** 화이트리스트 여부 (캐시 없이 트라이 + 나머지 패턴 검사) */
+    public boolean matchesUncached(String uri) {
+        if (uri == null || uri.isEmpty() || uri.charAt(0) != '/') return false;
+        boolean hit = "/".equals(uri)
+                ? root.matchesRest || root.terminal
+                : walk(root, uri, 0);
+        if (hit || fallback.isEmpty()) return hit;
+
+        PathContainer path = PathContainer.parsePath(uri);
+        for (PathPattern p : fallback) {
+            if (p.matches(path)) return true;
+        }
+        return false;
+    }
+
+    public int cachedDecisions() { return decisions.size(); }
+
+    /* ---------- 트라이 ---------- */
+
+    private static final class Node {
+        final Map<String, Node> children = new HashMap<>();
+        Node star;              // '*' 세그먼트
+        boolean terminal;       // 여기서 끝나는 패턴 있음
+        boolean matchesRest;    // 여기서 '**' 로 끝나는 패턴 있음 (자기 자신 포함 하위 전부)
+    }
+
+    // 트라이로 표현할 수 없는 패턴이면 false
+    private boolean addToTrie(String pattern) {
+        if (pattern == null || !pattern.startsWith("/")) return false;
+        String[] segments = pattern.substring(1).split("/", -1);
+        if (pattern.length() > 1 && pattern.endsWith("/")) return false;
+
+        Node node = root;
+        for (int i = 0; i < segments.length; i++) {
+            String seg = segments[i];
+            if (seg.isEmpty()) {
+                if (pattern.equals("/")) break;
+                return false;
+            }
+            if (seg.equals("**")) {
+                if (i != segments.length - 1) return false;
+                node.matchesRest = true;
+                return true;
+            }
+            if (seg.equals("*")) {
+                if (node.star == null) node.star = new Node();
+                node = node.star;
+                continue;
+            }
+            if (seg.indexOf('*') >= 0 || seg.indexOf('?') >= 0 || seg.indexOf('{') >= 0) return false;
+            node = node.children.computeIfAbsent(seg, k -> new Node());
+        }
+        node.terminal = true;
+        return true;
+    }
+
+    // pos: 아직 소비하지 않은 부분의 시작 ('/' 위치 또는 끝)
+    private static boolean walk(Node node, String uri, int pos) {
+        if (node.matchesRest) return true;
+        int len = uri.length();
+        if (pos == len) return node.terminal;
+
+        int start = pos + 1;
+        int end = uri.indexOf('/', start);
+        if (end < 0) end = len;
+        if (start == end) {
+            // 끝 슬래시는 '**' 로만 일치, 중간의 빈 세그먼트('//')는 건너뜀
+            return end != len && walk(node, uri, end);
+        }
+
+        Node child = node.children.get(uri.substring(start, end));
+        if (child != null && walk(child, uri, end)) return true;
+        return node.star != null && walk(node.star, uri, end);
+    }
+}
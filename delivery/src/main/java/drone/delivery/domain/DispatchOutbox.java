@@ -0,0 +1,85 @@
+package drone.delivery.domain;
+
+import drone.delivery.BaseEntity;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 드론 배차 아웃박스
+ * - 주문과 같은 트랜잭션에서 기록되므로 주문이 커밋되면 배차 요청도 반드시 남는다. (재시작해도 유실 X)
+ * - OrderSendQueue(릴레이)가 배치로 꺼내 드론 서버에 전송하고 결과를 기록한다.
+ *   꺼낼 때 nextAttemptAt 을 임대 만료 시각으로 미뤄 두므로, 릴레이가 죽어도 임대가 끝나면 다시 전송된다.
+ */
+@Entity
+@Getter @Setter
+@Table(
+        name = "dispatch_outbox",
+        uniqueConstraints = @UniqueConstraint(name = "uk_outbox_idempotency", columnNames = "idempotency_key"),
+        indexes = @Index(name = "idx_outbox_status_next", columnList = "status, next_attempt_at")
+)
+public class DispatchOutbox extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "dispatch_outbox_seq")
+    @SequenceGenerator(name = "dispatch_outbox_seq", sequenceName = "dispatch_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    /** 드론 서버 측 중복 제거용 키 (Idempotency-Key 헤더로 전송) */
+    @Column(name = "idempotency_key", nullable = false, length = 64)
+    private String idempotencyKey;
+
+    /** 전송할 SendInfoDTO JSON 스냅샷 */
+    @Lob
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private OutboxStatus status;
+
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    private LocalDateTime sentAt;
+
+    @Column(length = 500)
+    private String lastError;
+
+    public static DispatchOutbox create(Long orderId, String payload) {
+        DispatchOutbox o = new DispatchOutbox();
+        o.orderId = orderId;
+        o.idempotencyKey = "order-" + orderId;
+        o.payload = payload;
+        o.status = OutboxStatus.PENDING;
+        o.nextAttemptAt = LocalDateTime.now();
+        return o;
+    }
+
+    /** 릴레이가 전송하려고 점유: until 까지 다시 꺼내지 않는다 (임대가 끝나면 다시 대기 건) */
+    public void lease(LocalDateTime until) {
+        this.nextAttemptAt = until;
+    }
+
+    /** 전송 성공 */
+    public void markSent(LocalDateTime now) {
+        this.status = OutboxStatus.SENT;
+        this.sentAt = now;
+        this.lastError = null;
+    }
+
+    /** 전송 실패 → 다음 시도 예약 또는 DEAD */
+    public void markFailed(String error, LocalDateTime nextAttemptAt, int maxAttempts) {
+        this.attempts++;
+        this.lastError = (error != null && error.length() > 500) ? error.substring(0, 500) : error;
+        this.nextAttemptAt = nextAttemptAt;
+        if (this.attempts >= maxAttempts) this.status = OutboxStatus.DEAD;
+    }
+}
@@ -0,0 +1,11 @@
+package drone.delivery.domain;
+
+/**
+ * 드론 서버 배차 요청 전송 상태 (주문 상태와 별개로 관리)
+ */
+public enum DispatchStatus {
+    QUEUED,    // 아웃박스에 기록됨, 전송 대기
+    RETRYING,  // 전송 실패, 재시도 예정
+    SENT,      // 드론 서버 전송 완료
+    FAILED     // 최대 재시도 초과
+}
@@ -0,0 +1,37 @@
+package drone.delivery.domain;
+
+import drone.delivery.BaseEntity;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 주소 → 좌표 변환 결과 캐시 (정규화된 주소 문자열 기준)
+ * - 같은 주소로 가입/수정/가게 등록이 반복돼도 카카오 API는 한 번만 호출
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "geocode_cache",
+        uniqueConstraints = @UniqueConstraint(name = "uk_geocode_cache_query", columnNames = "normalized_query"))
+public class GeocodeCacheEntry extends BaseEntity {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "geocode_cache_id")
+    private Long id;
+
+    @Column(name = "normalized_query", nullable = false, length = 300)
+    private String normalizedQuery;
+
+    private double latitude;
+    private double longitude;
+
+    public static GeocodeCacheEntry of(String normalizedQuery, double latitude, double longitude) {
+        GeocodeCacheEntry e = new GeocodeCacheEntry();
+        e.normalizedQuery = normalizedQuery;
+        e.latitude = latitude;
+        e.longitude = longitude;
+        return e;
+    }
+}
@@ -27,6 +27,8 @@ public class Member extends BaseEntity {
 
     @Embedded
     private Address address;
+    // 잔액은 엔티티 변경 감지로 쓰지 않는다 (WalletService → MemberRepository.debit/credit 원자적 update 전용)
+    @Column(updatable = false)
     private int money;
 
     @OneToMany(mappedBy = "member", cascade = CascadeType.ALL)
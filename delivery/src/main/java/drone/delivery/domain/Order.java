@@ -13,7 +13,13 @@ import java.util.List;
 @Getter @Setter
 @Table(name = "orders")
 public class Order extends BaseEntity {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    /**
+     * IDENTITY는 insert마다 키를 받아와야 해서 JDBC 배치가 불가능 → 풀링 시퀀스 사용
+     * (allocationSize 만큼 id를 미리 할당받아 메모리에서 나눠 씀)
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -23,6 +29,10 @@ public class Order extends BaseEntity {
     @Enumerated(EnumType.STRING)
     private OrderStatus orderStatus;
 
+    // 드론 서버 배차 전송 상태 (체크아웃은 기다리지 않고, 릴레이가 갱신)
+    @Enumerated(EnumType.STRING)
+    private DispatchStatus dispatchStatus;
+
     @OneToOne
     @JoinColumn(name = "drone_id")
     private Drone drone;
@@ -42,6 +52,7 @@ public class Order extends BaseEntity {
         Order order = new Order();
         order.setMember(member);
         order.setOrderStatus(OrderStatus.PENDING);
+        order.setDispatchStatus(DispatchStatus.QUEUED);
 
         int total = 0;
         StringBuilder summary = new StringBuilder();
@@ -10,7 +10,10 @@ import lombok.Setter;
 @Getter @Setter
 public class OrderItem extends BaseEntity {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // 배치 insert를 위해 풀링 시퀀스 사용 (Order와 동일)
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_item_seq")
+    @SequenceGenerator(name = "order_item_seq", sequenceName = "order_item_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
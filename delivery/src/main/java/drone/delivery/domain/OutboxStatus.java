@@ -0,0 +1,7 @@
+package drone.delivery.domain;
+
+public enum OutboxStatus {
+    PENDING,  // 전송 대기 (재시도 포함)
+    SENT,     // 드론 서버 전송 완료
+    DEAD      // 최대 재시도 초과 (수동 확인 필요)
+}
@@ -26,8 +26,9 @@ public class Product extends BaseEntity {
 
     private String productDescription;
 
-//    @Version
-//    private Long version; // 낙관적 락 버전 관리용
+    // 낙관적 락 버전 (재고를 바꾸는 벌크 update 도 함께 올린다)
+    @Version
+    private Long version;
 
     /**
      * Product 1: N ProductOptionGroupLink N: 1 OptionGroup 1: N OptionItems
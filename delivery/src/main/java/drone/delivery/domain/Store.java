@@ -3,12 +3,21 @@ package drone.delivery.domain;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
 @Getter @Setter
+@Table(
+        name = "store",
+        // 가게 목록 키셋 페이지네이션 (카테고리 필터 + 정렬키 + id)
+        indexes = {
+                @Index(name = "idx_store_category_min_order", columnList = "category, min_order_price, id"),
+                @Index(name = "idx_store_category_name", columnList = "category, name, id")
+        }
+)
 public class Store {
 
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -18,7 +27,9 @@ public class Store {
     private String description;   // 소개
     private String category;      // 한식/중식/치킨 등
     private String imageUrl;      // 대표 이미지
-    private Integer minOrderPrice;    //최소 주문 금액
+    @ColumnDefault("0")
+    @Column(name = "min_order_price", nullable = false)
+    private Integer minOrderPrice = 0;    //최소 주문 금액 (없으면 0, 키셋 정렬키라 null 불가)
 
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -46,10 +57,14 @@ public class Store {
         this.description = description;
         this.category = category;
         this.imageUrl = imageUrl;
-        this.minOrderPrice = minOrderPrice;
+        setMinOrderPrice(minOrderPrice);
         this.member = member;
     }
 
+    public void setMinOrderPrice(Integer minOrderPrice) {
+        this.minOrderPrice = (minOrderPrice == null) ? 0 : minOrderPrice;
+    }
+
     // 연관 관계 메서드
     public void addProduct(Product product) {
         products.add(product);
@@ -0,0 +1,49 @@
+package drone.delivery.domain;
+
+import drone.delivery.BaseEntity;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 지갑 원장 (append-only)
+ * - 잔액 변경(충전/결제/환불) 한 건마다 한 행. 수정/삭제하지 않는다.
+ * - amount: 부호 있는 변동액 (충전·환불 +, 결제 -)
+ * - 잔액 자체는 Member.money 에 원자적 update 로 반영되고, 이 원장은 이력과 스냅샷 대사용
+ * - id는 IDENTITY(삽입 순서) → 스냅샷이 "어느 행까지 반영했는지"를 id로 기록한다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(
+        name = "wallet_entry",
+        indexes = @Index(name = "idx_wallet_entry_member", columnList = "member_id, id")
+)
+public class WalletEntry extends BaseEntity {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "member_id", nullable = false)
+    private Long memberId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private WalletEntryType type;
+
+    @Column(nullable = false)
+    private int amount;
+
+    @Column(name = "order_id")
+    private Long orderId;
+
+    public static WalletEntry of(Long memberId, WalletEntryType type, int amount, Long orderId) {
+        WalletEntry e = new WalletEntry();
+        e.memberId = memberId;
+        e.type = type;
+        e.amount = amount;
+        e.orderId = orderId;
+        return e;
+    }
+}
@@ -0,0 +1,5 @@
+package drone.delivery.domain;
+
+public enum WalletEntryType {
+    CHARGE, PAYMENT, REFUND
+}
@@ -0,0 +1,42 @@
+package drone.delivery.domain;
+
+import drone.delivery.BaseEntity;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 지갑 잔액 스냅샷
+ * - lastEntryId 까지의 원장을 반영한 시점의 잔액
+ * - 이 시점 이후 잔액 = balance + (id > lastEntryId 인 원장 합계)
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(
+        name = "wallet_snapshot",
+        indexes = @Index(name = "idx_wallet_snapshot_member", columnList = "member_id, last_entry_id")
+)
+public class WalletSnapshot extends BaseEntity {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "member_id", nullable = false)
+    private Long memberId;
+
+    @Column(nullable = false)
+    private int balance;
+
+    @Column(name = "last_entry_id", nullable = false)
+    private Long lastEntryId;
+
+    public static WalletSnapshot of(Long memberId, int balance, Long lastEntryId) {
+        WalletSnapshot s = new WalletSnapshot();
+        s.memberId = memberId;
+        s.balance = balance;
+        s.lastEntryId = lastEntryId;
+        return s;
+    }
+}
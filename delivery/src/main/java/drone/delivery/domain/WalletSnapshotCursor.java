@@ -0,0 +1,37 @@
+package drone.delivery.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 지갑 스냅샷 진행 위치 (행 하나)
+ * - completedEntryId: 이 원장 id 까지는 모든 회원의 스냅샷 배치가 커밋됨
+ * - 한 번의 실행이 모든 배치를 마쳐야만 앞으로 간다. 중간에 실패하면 다음 실행이 같은 구간부터 다시 훑는다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "wallet_snapshot_cursor")
+public class WalletSnapshotCursor {
+
+    public static final Long SINGLETON_ID = 1L;
+
+    @Id
+    private Long id;
+
+    @Column(name = "completed_entry_id", nullable = false)
+    private Long completedEntryId;
+
+    public static WalletSnapshotCursor initial() {
+        WalletSnapshotCursor c = new WalletSnapshotCursor();
+        c.id = SINGLETON_ID;
+        c.completedEntryId = 0L;
+        return c;
+    }
+
+    public void advance(Long upTo) {
+        if (upTo > completedEntryId) completedEntryId = upTo;
+    }
+}
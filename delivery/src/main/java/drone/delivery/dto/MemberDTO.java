@@ -20,6 +20,13 @@ public class MemberDTO {
         this.money = member.getMoney();
     }
 
+    public MemberDTO(MemberProfile profile) {
+        this.name = profile.getName();
+        this.email = profile.getEmail();
+        this.address = profile.getAddress();
+        this.money = profile.getMoney();
+    }
+
 
 }
 
@@ -0,0 +1,34 @@
+package drone.delivery.dto;
+
+import drone.delivery.domain.Address;
+import drone.delivery.domain.MemberType;
+import lombok.Getter;
+
+/**
+ * 회원 프로필 읽기 모델 (잔액/주소/좌표, 연관관계 로딩 없음)
+ * - MemberRepository.findProfileById 프로젝션, MemberProfileService 가 캐시한다.
+ */
+@Getter
+public class MemberProfile {
+    private final Long id;
+    private final String name;
+    private final String email;
+    private final MemberType memberType;
+    private final int money;
+    private final Address address;
+    private final Double latitude;
+    private final Double longitude;
+
+    public MemberProfile(Long id, String name, String email, MemberType memberType, int money,
+                         String street, String city, String zipcode, String detailAddress,
+                         Double latitude, Double longitude) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.memberType = memberType;
+        this.money = money;
+        this.address = new Address(street, city, zipcode, detailAddress);
+        this.latitude = latitude;
+        this.longitude = longitude;
+    }
+}
@@ -0,0 +1,30 @@
+package drone.delivery.dto;
+
+import drone.delivery.domain.DispatchStatus;
+import drone.delivery.domain.OrderStatus;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 메뉴 화면 사이드의 "이 가게 최근 주문" 한 줄 (로그인 회원 본인 주문만)
+ */
+@Getter
+public class MemberStoreOrderDto {
+    private final Long id;
+    private final LocalDateTime createdDate;
+    private final OrderStatus orderStatus;
+    private final DispatchStatus dispatchStatus;
+    private final int totalPrice;
+    private final String summary;
+
+    public MemberStoreOrderDto(Long id, LocalDateTime createdDate, OrderStatus orderStatus,
+                               DispatchStatus dispatchStatus, int totalPrice, String summary) {
+        this.id = id;
+        this.createdDate = createdDate;
+        this.orderStatus = orderStatus;
+        this.dispatchStatus = dispatchStatus;
+        this.totalPrice = totalPrice;
+        this.summary = summary;
+    }
+}
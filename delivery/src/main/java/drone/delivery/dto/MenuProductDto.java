@@ -0,0 +1,28 @@
+package drone.delivery.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 메뉴 화면의 상품 한 줄에 필요한 컬럼만 담은 프로젝션 (옵션/가게 연관관계 로딩 없음)
+ * - quantity는 조회 후 재고 원장의 가용 재고로 덮어쓴다.
+ */
+@Getter @Setter
+public class MenuProductDto {
+    private Long id;
+    private String foodName;
+    private int foodPrice;
+    private int quantity;
+    private String productImageUrl;
+    private String productDescription;
+
+    public MenuProductDto(Long id, String foodName, int foodPrice, int quantity,
+                          String productImageUrl, String productDescription) {
+        this.id = id;
+        this.foodName = foodName;
+        this.foodPrice = foodPrice;
+        this.quantity = quantity;
+        this.productImageUrl = productImageUrl;
+        this.productDescription = productDescription;
+    }
+}
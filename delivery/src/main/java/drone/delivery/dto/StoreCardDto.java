@@ -0,0 +1,28 @@
+package drone.delivery.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 가게 목록 카드에 필요한 컬럼만 담은 프로젝션 (연관관계 로딩 없음)
+ */
+@Getter @Setter
+public class StoreCardDto {
+    private Long id;
+    private String name;
+    private String description;
+    private String category;
+    private String imageUrl;
+    private Integer minOrderPrice;
+    private boolean favorite;   // 로그인 회원의 찜 여부 (조회 후 채움)
+
+    public StoreCardDto(Long id, String name, String description, String category,
+                        String imageUrl, Integer minOrderPrice) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.category = category;
+        this.imageUrl = imageUrl;
+        this.minOrderPrice = minOrderPrice;
+    }
+}
@@ -0,0 +1,6 @@
+package drone.delivery.dto;
+
+/**
+ * 가게 좌표 + 카테고리 (공간 인덱스 적재용 프로젝션)
+ */
+public record StoreLocation(Long id, Double latitude, Double longitude, String category) {}
@@ -12,12 +12,17 @@ import java.util.List;
 @Component
 public class OrderToSendInfoMapper {
     public SendInfoDTO map(Order order) {
+        Member m = order.getMember();
+        return map(order, m.getLatitude(), m.getLongitude());
+    }
+
+    public SendInfoDTO map(Order order, Double userLatitude, Double userLongitude) {
         SendInfoDTO dto = new SendInfoDTO();
+        dto.setOrderId(order.getId());
 
         // 멤버 위치
-        Member m = order.getMember();
-        dto.setUserLatitude(m.getLatitude());
-        dto.setUserLongitude(m.getLongitude());
+        dto.setUserLatitude(userLatitude);
+        dto.setUserLongitude(userLongitude);
 
         // 스토어 위치 (Product -> Store 경유 또는 Order.store가 있다면 그걸 사용)
         Store store = order.getOrderItems().isEmpty()
@@ -0,0 +1,29 @@
+package drone.delivery.notification;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+
+/**
+ * 기본 브로커: 같은 JVM 안의 리스너에게 바로 전달 (단일 노드)
+ * - 리스너는 SSE 큐에 넣기만 하므로 발행 스레드를 오래 붙잡지 않는다.
+ */
+@Component
+@ConditionalOnProperty(name = "app.notify.broker", havingValue = "in-process", matchIfMissing = true)
+public class InProcessNotifyBroker implements NotifyBroker {
+
+    private final List<BiConsumer<Long, NotifyEvent>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(Long memberId, NotifyEvent event) {
+        listeners.forEach(l -> l.accept(memberId, event));
+    }
+
+    @Override
+    public void subscribe(BiConsumer<Long, NotifyEvent> listener) {
+        listeners.add(listener);
+    }
+}
@@ -0,0 +1,67 @@
+package drone.delivery.notification;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.BiConsumer;
+
+/**
+ * 외부 메시지 브로커(Redis pub/sub 등) 대용
+ * - JVM 전체가 공유하는 토픽 하나에 발행하고, 인스턴스(=노드)마다 별도 스레드에서 비동기로 받는다.
+ * - 같은 JVM 안에 인스턴스를 여러 개 만들면 여러 노드에 붙은 구독자 상황을 흉내낼 수 있다. (테스트용)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.notify.broker", havingValue = "local-queue")
+public class LocalQueueNotifyBroker implements NotifyBroker {
+
+    // 모든 노드가 구독하는 공유 토픽
+    private static final List<LocalQueueNotifyBroker> TOPIC = new CopyOnWriteArrayList<>();
+
+    private final List<BiConsumer<Long, NotifyEvent>> listeners = new CopyOnWriteArrayList<>();
+    private final ExecutorService consumer = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "notify-broker");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public LocalQueueNotifyBroker() {
+        TOPIC.add(this);
+    }
+
+    @Override
+    public void publish(Long memberId, NotifyEvent event) {
+        for (LocalQueueNotifyBroker node : TOPIC) {
+            node.deliver(memberId, event);
+        }
+    }
+
+    @Override
+    public void subscribe(BiConsumer<Long, NotifyEvent> listener) {
+        listeners.add(listener);
+    }
+
+    @PreDestroy
+    public void close() {
+        TOPIC.remove(this);
+        consumer.shutdownNow();
+    }
+
+    private void deliver(Long memberId, NotifyEvent event) {
+        try {
+            consumer.execute(() -> listeners.forEach(l -> {
+                try {
+                    l.accept(memberId, event);
+                } catch (Exception e) {
+                    log.warn("알림 리스너 오류: {}", e.getMessage());
+                }
+            }));
+        } catch (RejectedExecutionException ignored) {
+            // 종료 중인 노드
+        }
+    }
+}
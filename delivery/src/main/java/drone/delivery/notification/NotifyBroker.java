@@ -0,0 +1,16 @@
+package drone.delivery.notification;
+
+import java.util.function.BiConsumer;
+
+/**
+ * 알림 fan-out 계층
+ * - publish 된 알림은 모든 노드의 리스너(NotifyService)에게 전달되고,
+ *   각 노드는 자기에게 붙어 있는 SSE 연결에만 보낸다.
+ * - 구현 선택: app.notify.broker = in-process(기본, 단일 노드) | local-queue(브로커 대용, 테스트용)
+ */
+public interface NotifyBroker {
+
+    void publish(Long memberId, NotifyEvent event);
+
+    void subscribe(BiConsumer<Long, NotifyEvent> listener);
+}
@@ -1,7 +1,8 @@
 package drone.delivery.notification;
 
 
-import drone.delivery.domain.Member;
+import drone.delivery.controller.LoginMember;
+import drone.delivery.controller.SessionConst;
 import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.MediaType;
@@ -17,7 +18,7 @@ public class NotifyController {
 
     @GetMapping(value = "/sse/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
     public SseEmitter stream(HttpSession session) {
-        Member login = (Member) session.getAttribute("loginMember");
+        LoginMember login = (LoginMember) session.getAttribute(SessionConst.LOGIN_MEMBER);
         if (login == null) {
             // 비로그인면 연결 안 열어줌
             return new SseEmitter(0L);
@@ -1,57 +1,41 @@
 package drone.delivery.notification;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.io.IOException;
 import java.time.Duration;
-import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * 회원 알림 SSE
+ * - send 는 브로커로 발행만 하고, 각 노드는 브로커에서 받은 알림을 자기 노드의 연결에 보낸다.
+ */
 @Service
 public class NotifyService {
 
-    // 회원별 연결들
-    private final Map<Long, Set<SseEmitter>> emitters = new ConcurrentHashMap<>();
-
     // 30분 타임아웃 (원하는 값으로)
     private static final long TIMEOUT_MS = Duration.ofMinutes(30).toMillis();
 
-    public SseEmitter subscribe(Long memberId) {
-        SseEmitter emitter = new SseEmitter(TIMEOUT_MS);
-        emitters.computeIfAbsent(memberId, k -> ConcurrentHashMap.newKeySet()).add(emitter);
-
-        emitter.onCompletion(() -> remove(memberId, emitter));
-        emitter.onTimeout(() -> remove(memberId, emitter));
-        emitter.onError(e -> remove(memberId, emitter));
+    private final NotifyBroker broker;
 
-        // 더미/하트비트 전송 (연결 확인)
-        try {
-            emitter.send(SseEmitter.event().name("ping").data("ok"));
-        } catch (IOException ignored) { }
+    // 회원별 연결들 (이 노드에 붙은 것만)
+    private final SseEmitterRegistry<Long> emitters;
 
-        return emitter;
+    public NotifyService(NotifyBroker broker, SseSendDispatcher dispatcher, MeterRegistry meterRegistry) {
+        this.broker = broker;
+        this.emitters = new SseEmitterRegistry<Long>(dispatcher, TIMEOUT_MS).bindMetrics(meterRegistry, "notify");
+        broker.subscribe(this::deliverLocal);
     }
 
-    private void remove(Long memberId, SseEmitter emitter) {
-        Optional.ofNullable(emitters.get(memberId)).ifPresent(set -> {
-            set.remove(emitter);
-            if (set.isEmpty()) emitters.remove(memberId);
-        });
+    public SseEmitter subscribe(Long memberId) {
+        return emitters.subscribe(memberId);
     }
 
     public void send(Long memberId, NotifyEvent event) {
-        Set<SseEmitter> set = emitters.get(memberId);
-        if (set == null || set.isEmpty()) return;
-
-        List<SseEmitter> dead = new ArrayList<>();
-        set.forEach(em -> {
-            try {
-                em.send(SseEmitter.event().name("notify").data(event));
-            } catch (Exception e) {
-                dead.add(em);
-            }
-        });
-        dead.forEach(em -> remove(memberId, em));
+        broker.publish(memberId, event);
+    }
+
+    private void deliverLocal(Long memberId, NotifyEvent event) {
+        emitters.send(memberId, "notify", event);
     }
 }
@@ -0,0 +1,109 @@
+package drone.delivery.notification;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * 키(회원 id, 주문 id 등)별 SSE 연결 모음
+ * - 실제 전송은 SseSendDispatcher 가 연결별 큐 + 전용 스레드로 처리 (send 는 큐에 넣고 바로 반환)
+ * - 연결 종료/타임아웃/에러 시 자동 제거
+ * - 마지막 연결이 빠지면 onEmpty 콜백으로 알려준다 (키별 자원 정리용)
+ * - bindMetrics 로 스트림별 지표(sse.stream.subscribers: 연결 수, sse.stream.keys: 구독 중인 키 수)를 등록할 수 있다.
+ */
+public class SseEmitterRegistry<K> {
+
+    private final Map<K, Set<SseSendDispatcher.Channel>> channels = new ConcurrentHashMap<>();
+    private final SseSendDispatcher dispatcher;
+    private final long timeoutMs;
+    private final Consumer<K> onEmpty;
+
+    public SseEmitterRegistry(SseSendDispatcher dispatcher, long timeoutMs) {
+        this(dispatcher, timeoutMs, k -> { });
+    }
+
+    public SseEmitterRegistry(SseSendDispatcher dispatcher, long timeoutMs, Consumer<K> onEmpty) {
+        this.dispatcher = dispatcher;
+        this.timeoutMs = timeoutMs;
+        this.onEmpty = onEmpty;
+    }
+
+    /** 스트림 이름(stream 태그)으로 연결 수/키 수 게이지 등록 */
+    public SseEmitterRegistry<K> bindMetrics(MeterRegistry meterRegistry, String stream) {
+        Gauge.builder("sse.stream.subscribers", this, SseEmitterRegistry::subscriberCount)
+                .tag("stream", stream).description("스트림별 열린 SSE 연결 수").register(meterRegistry);
+        Gauge.builder("sse.stream.keys", channels, Map::size)
+                .tag("stream", stream).description("연결이 하나 이상 있는 키(회원/주문) 수").register(meterRegistry);
+        return this;
+    }
+
+    public SseEmitter subscribe(K key) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        SseSendDispatcher.Channel channel = dispatcher.open(emitter);
+        channels.compute(key, (k, set) -> {
+            Set<SseSendDispatcher.Channel> s = (set == null) ? ConcurrentHashMap.newKeySet() : set;
+            s.add(channel);
+            return s;
+        });
+
+        emitter.onCompletion(() -> remove(key, channel));
+        emitter.onTimeout(() -> remove(key, channel));
+        emitter.onError(e -> remove(key, channel));
+
+        // 더미/하트비트 전송 (연결 확인)
+        dispatcher.offer(channel, SseEmitter.event().name("ping").data("ok"));
+
+        return emitter;
+    }
+
+    /** 특정 연결 하나에만 전송 (구독 직후 현재 스냅샷 등) */
+    public void sendTo(K key, SseEmitter emitter, String name, Object data) {
+        Set<SseSendDispatcher.Channel> set = channels.get(key);
+        if (set == null) return;
+        for (SseSendDispatcher.Channel ch : set) {
+            if (ch.emitter == emitter) {
+                dispatcher.offer(ch, SseEmitter.event().name(name).data(data));
+                return;
+            }
+        }
+    }
+
+    public void send(K key, String name, Object data) {
+        Set<SseSendDispatcher.Channel> set = channels.get(key);
+        if (set == null || set.isEmpty()) return;
+        set.forEach(ch -> dispatcher.offer(ch, SseEmitter.event().name(name).data(data)));
+    }
+
+    public boolean hasSubscribers(K key) {
+        Set<SseSendDispatcher.Channel> set = channels.get(key);
+        return set != null && !set.isEmpty();
+    }
+
+    /** 열린 연결 수 (키 전체 합) */
+    public int subscriberCount() {
+        int n = 0;
+        for (Set<SseSendDispatcher.Channel> set : channels.values()) n += set.size();
+        return n;
+    }
+
+    /** 연결이 하나라도 있는 키 목록 (스냅샷) */
+    public Set<K> activeKeys() {
+        return Set.copyOf(channels.keySet());
+    }
+
+    // compute 안에서 제거해야 동시에 들어온 subscribe 와 엇갈려 연결이 유실되지 않는다
+    private void remove(K key, SseSendDispatcher.Channel channel) {
+        dispatcher.close(channel);
+        boolean[] emptied = {false};
+        channels.computeIfPresent(key, (k, set) -> {
+            set.remove(channel);
+            emptied[0] = set.isEmpty();
+            return emptied[0] ? null : set;
+        });
+        if (emptied[0]) onEmpty.accept(key);
+    }
+}
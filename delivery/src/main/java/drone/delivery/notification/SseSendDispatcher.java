@@ -0,0 +1,152 @@
+package drone.delivery.notification;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SSE 전송 전담 실행기
+ * - 연결(SseEmitter)마다 크기가 제한된 전송 큐를 두고, 전용 스레드 풀에서 비운다.
+ *   → 이벤트를 발행하는 쪽(웹훅 스레드, 폴러)은 큐에 넣기만 하고 바로 돌아간다.
+ * - 큐가 가득 찬 연결(느린 구독자)은 이벤트를 버리고 연결을 끊는다. (브라우저 EventSource가 재연결)
+ * - 주기적으로 하트비트(comment)를 보내 끊어진 연결을 정리하고 프록시 idle timeout 을 막는다.
+ * - 지표: sse.subscribers, sse.dropped(버린 이벤트), sse.slow(전송이 느렸던 횟수), sse.evicted(강제 종료된 연결)
+ */
+@Slf4j
+@Component
+public class SseSendDispatcher {
+
+    private final ExecutorService executor;
+    private final int queueCapacity;
+    private final long slowThresholdNanos;
+
+    private final Set<Channel> channels = ConcurrentHashMap.newKeySet();
+
+    private final Counter droppedCounter;
+    private final Counter slowCounter;
+    private final Counter evictedCounter;
+
+    public SseSendDispatcher(MeterRegistry meterRegistry,
+                             @Value("${app.sse.send-threads:4}") int sendThreads,
+                             @Value("${app.sse.queue-capacity:64}") int queueCapacity,
+                             @Value("${app.sse.slow-threshold-ms:200}") long slowThresholdMs) {
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(sendThreads, r -> {
+            Thread t = new Thread(r, "sse-send-" + seq.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        });
+        this.queueCapacity = queueCapacity;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+
+        Gauge.builder("sse.subscribers", channels, Set::size)
+                .description("열려 있는 SSE 연결 수").register(meterRegistry);
+        this.droppedCounter = meterRegistry.counter("sse.dropped");
+        this.slowCounter = meterRegistry.counter("sse.slow");
+        this.evictedCounter = meterRegistry.counter("sse.evicted");
+    }
+
+    /** 연결 등록. 반환된 채널로 이벤트를 넣는다. */
+    public Channel open(SseEmitter emitter) {
+        Channel channel = new Channel(emitter, new ArrayBlockingQueue<>(queueCapacity));
+        channels.add(channel);
+        return channel;
+    }
+
+    /** 연결 종료(완료/타임아웃/에러) 시 정리 */
+    public void close(Channel channel) {
+        channel.closed = true;
+        channels.remove(channel);
+        channel.queue.clear();
+    }
+
+    /**
+     * 이벤트를 연결의 전송 큐에 넣는다. 큐가 가득 차면 버리고 연결을 끊는다.
+     */
+    public void offer(Channel channel, SseEmitter.SseEventBuilder event) {
+        if (channel.closed) return;
+        if (!channel.queue.offer(event)) {
+            droppedCounter.increment();
+            evict(channel, "전송 큐 가득 참");
+            return;
+        }
+        scheduleDrain(channel);
+    }
+
+    @Scheduled(fixedDelayString = "${app.sse.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (Channel channel : channels) {
+            offer(channel, SseEmitter.event().comment("hb"));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void scheduleDrain(Channel channel) {
+        if (channel.draining.compareAndSet(false, true)) {
+            executor.execute(() -> drain(channel));
+        }
+    }
+
+    // 한 연결은 항상 한 스레드만 비운다 (SseEmitter.send 는 동시 호출에 안전하지 않음)
+    private void drain(Channel channel) {
+        try {
+            SseEmitter.SseEventBuilder event;
+            while (!channel.closed && (event = channel.queue.poll()) != null) {
+                long start = System.nanoTime();
+                try {
+                    channel.emitter.send(event);
+                } catch (Exception e) {
+                    close(channel);
+                    channel.emitter.completeWithError(e);
+                    return;
+                }
+                if (System.nanoTime() - start > slowThresholdNanos) {
+                    slowCounter.increment();
+                }
+            }
+        } finally {
+            channel.draining.set(false);
+        }
+        // 비우는 사이에 들어온 이벤트가 있으면 다시 예약
+        if (!channel.closed && !channel.queue.isEmpty()) {
+            scheduleDrain(channel);
+        }
+    }
+
+    private void evict(Channel channel, String reason) {
+        if (channel.closed) return;
+        close(channel);
+        evictedCounter.increment();
+        log.warn("느린 SSE 구독자 연결 종료: {}", reason);
+        try {
+            channel.emitter.complete();
+        } catch (Exception ignored) { }
+    }
+
+    public static final class Channel {
+        final SseEmitter emitter;
+        final BlockingQueue<SseEmitter.SseEventBuilder> queue;
+        final AtomicBoolean draining = new AtomicBoolean();
+        volatile boolean closed;
+
+        Channel(SseEmitter emitter, BlockingQueue<SseEmitter.SseEventBuilder> queue) {
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+    }
+}
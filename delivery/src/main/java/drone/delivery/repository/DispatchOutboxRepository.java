@@ -0,0 +1,48 @@
+package drone.delivery.repository;
+
+import drone.delivery.domain.DispatchOutbox;
+import drone.delivery.domain.OutboxStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface DispatchOutboxRepository extends JpaRepository<DispatchOutbox, Long> {
+
+    /**
+     * 전송 시각이 된 대기 건을 id 순으로 가져오면서 행 락을 건다.
+     * - lock.timeout = -2 → SKIP LOCKED: 다른 릴레이가 잡고 있는 행은 건너뜀 (여러 인스턴스 안전)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("""
+        select o
+        from DispatchOutbox o
+        where o.status = :status and o.nextAttemptAt <= :now
+        order by o.id asc
+    """)
+    List<DispatchOutbox> findDueForUpdate(@Param("status") OutboxStatus status,
+                                          @Param("now") LocalDateTime now,
+                                          Pageable pageable);
+
+    /** 전송 결과 기록용: 점유했던 행을 다시 잠그고 읽는다 (기다리는 락, 짧은 트랜잭션 안에서만) */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select o from DispatchOutbox o where o.id in :ids")
+    List<DispatchOutbox> findAllByIdForUpdate(@Param("ids") List<Long> ids);
+
+    long countByStatus(OutboxStatus status);
+
+    // 가장 오래 기다린 대기 건의 생성 시각 (lag 계산용)
+    @Query("select min(o.createdDate) from DispatchOutbox o where o.status = :status")
+    Optional<LocalDateTime> findOldestCreatedDate(@Param("status") OutboxStatus status);
+}
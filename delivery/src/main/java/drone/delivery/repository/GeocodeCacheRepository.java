@@ -0,0 +1,11 @@
+package drone.delivery.repository;
+
+import drone.delivery.domain.GeocodeCacheEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface GeocodeCacheRepository extends JpaRepository<GeocodeCacheEntry, Long> {
+
+    Optional<GeocodeCacheEntry> findByNormalizedQuery(String normalizedQuery);
+}
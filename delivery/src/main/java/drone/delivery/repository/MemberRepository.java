@@ -1,11 +1,15 @@
 package drone.delivery.repository;
 
 import drone.delivery.domain.Member;
+import drone.delivery.dto.MemberProfile;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -32,5 +36,38 @@ public interface MemberRepository extends JpaRepository<Member, Long> {
     """)
     Optional<Member> findByIdWithFavoritesAndStore(@Param("memberId") Long memberId);
 
+    // 회원 프로필 읽기 모델 (잔액/주소/좌표만, 연관관계 로딩 없음)
+    @Query("""
+        select new drone.delivery.dto.MemberProfile(
+            m.id, m.name, m.email, m.memberType, m.money,
+            m.address.street, m.address.city, m.address.zipcode, m.address.detailAddress,
+            m.latitude, m.longitude)
+        from Member m
+        where m.id = :id
+    """)
+    Optional<MemberProfile> findProfileById(@Param("id") Long id);
+
+    // 잔액 차감: 잔액 확인과 차감을 한 문장으로 (부족하면 0건)
+    @Modifying
+    @Query("update Member m set m.money = m.money - :amount where m.id = :id and m.money >= :amount")
+    int debit(@Param("id") Long id, @Param("amount") int amount);
+
+    // 잔액 증가 (충전/환불), 회원이 없으면 0건
+    @Modifying
+    @Query("update Member m set m.money = m.money + :amount where m.id = :id")
+    int credit(@Param("id") Long id, @Param("amount") int amount);
+
+    // 스냅샷용 현재 잔액, 결과: [memberId, money]
+    @Query("select m.id, m.money from Member m where m.id in :ids")
+    List<Object[]> findMoneyByIdIn(@Param("ids") Collection<Long> ids);
+
+    // 비동기 지오코딩 결과 반영 (엔티티 로딩 없이 좌표만)
+    @Modifying
+    @Query("update Member m set m.latitude = :lat, m.longitude = :lng where m.id = :id")
+    int updateCoordinates(@Param("id") Long id, @Param("lat") double lat, @Param("lng") double lng);
+
+    @Query("select m.id from Member m where m.id > :afterId order by m.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
 }
 
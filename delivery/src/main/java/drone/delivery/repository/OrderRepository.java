@@ -1,13 +1,17 @@
 package drone.delivery.repository;
 
-import drone.delivery.domain.Member;
+import drone.delivery.domain.DispatchStatus;
 import drone.delivery.domain.Order;
 import drone.delivery.domain.OrderStatus;
+import drone.delivery.dto.MemberStoreOrderDto;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,16 +20,16 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
 
     @Query("select o " +
             "from Order o " +
-            "where o.member = :member " +
+            "where o.member.id = :memberId " +
             "order by o.createdDate desc")
-    List<Order> findByMember(@Param("member") Member member);
+    List<Order> findByMember(@Param("memberId") Long memberId);
 
     @Query("select o " +
             "from Order o " +
-            "where o.member = :member and " +
+            "where o.member.id = :memberId and " +
             "o.orderStatus = :status " +
             "order by o.createdDate desc")
-    List<Order> findByMemberAndOrder(@Param("member") Member member, @Param("status") OrderStatus status);
+    List<Order> findByMemberAndOrder(@Param("memberId") Long memberId, @Param("status") OrderStatus status);
 
     @Query("""
         select distinct o
@@ -53,5 +57,23 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
         """)
     Optional<Order> findGraphById(@Param("orderId") Long orderId);
 
+    // 회원이 특정 가게에서 한 최근 주문 (메뉴 화면용, 최신순 Pageable 크기만큼)
+    @Query("""
+        select new drone.delivery.dto.MemberStoreOrderDto(
+            o.id, o.createdDate, o.orderStatus, o.dispatchStatus, o.totalPrice, o.summary)
+        from Order o
+        where o.member.id = :memberId
+          and exists (select 1 from OrderItem oi where oi.order = o and oi.product.store.id = :storeId)
+        order by o.id desc
+        """)
+    List<MemberStoreOrderDto> findRecentByMemberAndStore(@Param("memberId") Long memberId,
+                                                         @Param("storeId") Long storeId,
+                                                         Pageable pageable);
+
     Optional<Long> findLatestOrderIdByMemberId(Long memberId);
+
+    // 배차 릴레이가 전송 결과를 주문에 반영
+    @Modifying
+    @Query("update Order o set o.dispatchStatus = :status where o.id in :ids")
+    int updateDispatchStatus(@Param("ids") Collection<Long> ids, @Param("status") DispatchStatus status);
 }
@@ -1,10 +1,12 @@
 package drone.delivery.repository;
 
 import drone.delivery.domain.Product;
+import drone.delivery.dto.MenuProductDto;
 import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -23,13 +25,48 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
      * - DB 수준에서 SELECT ... FOR UPDATE 실행
      */
     @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @Query("select p from Product p where p.id in :ids order by p.id asc")
-    List<Product> findAllByIdInForUpdate(@Param("ids") Collection<Long> ids);
+    @Query("select p from Product p join fetch p.store where p.id in :ids order by p.id asc")
+    List<Product> findAllWithStoreByIdInForUpdate(@Param("ids") Collection<Long> ids);
 
 
-//    //낙관적 락 사용
-//    @Query("select p from Product p where p.id in :ids order by p.id asc")
-//    List<Product> findAllByIdIn(@Param("ids") Collection<Long> ids);
+    /**
+     * 락 없이 상품 + 가게를 한 번에 조회한다.
+     * - 재고 차감은 StockReservationLedger(인메모리 원장)가 담당하므로 행 락이 필요 없음
+     */
+    @Query("select p from Product p join fetch p.store where p.id in :ids order by p.id asc")
+    List<Product> findAllWithStoreByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 메뉴 화면용 상품 목록 (필요한 컬럼만, 옵션/가게 로딩 없음)
+     */
+    @Query("""
+            select new drone.delivery.dto.MenuProductDto(
+                p.id, p.foodName, p.foodPrice, p.quantity, p.productImageUrl, p.productDescription)
+            from Product p
+            where p.store.id = :storeId
+            order by p.id
+            """)
+    List<MenuProductDto> findMenuByStoreId(@Param("storeId") Long storeId);
+
+    /**
+     * 재고 복구(주문 취소 등) - 읽고 쓰지 않고 한 문장으로 증가시킨다.
+     * - version 도 올려서 낙관적 락 전략의 동시 차감이 이 변경을 덮어쓰지 못하게 한다.
+     */
+    @Modifying
+    @Query("update Product p set p.quantity = p.quantity + :qty, p.version = p.version + 1 where p.id = :id")
+    int increaseQuantity(@Param("id") Long id, @Param("qty") int qty);
+
+    /** 현재 재고만 조회 (장바구니 품절 확인) */
+    @Query("select p.quantity from Product p where p.id = :id")
+    Optional<Integer> findQuantityById(@Param("id") Long id);
+
+    /**
+     * 조건부 재고 차감 (CONDITIONAL 전략) - 재고 확인과 차감을 한 문장으로, 부족하면 0건
+     */
+    @Modifying
+    @Query("update Product p set p.quantity = p.quantity - :qty, p.version = p.version + 1 " +
+            "where p.id = :id and p.quantity >= :qty")
+    int decreaseQuantityIfAvailable(@Param("id") Long id, @Param("qty") int qty);
 
     /**
      * 특정 가게(storeId) 안에서 메뉴명이 중복되는지 여부를 검사한다.
@@ -66,7 +103,4 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
 
     // 같은 가게 내, 동일 이름(대소문자 무시) 상품이 존재하는지 (현재 상품 제외)
     boolean existsByStore_IdAndFoodNameIgnoreCaseAndIdNot(Long storeId, String foodName, Long excludeProductId);
-
-    //성능 테스트용
-    Optional<Product> findTopByStoreIdOrderByIdAsc(Long storeId);
 }
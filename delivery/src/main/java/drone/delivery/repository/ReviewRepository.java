@@ -1,13 +1,15 @@
 package drone.delivery.repository;
 
-import drone.delivery.domain.Member;
 import drone.delivery.domain.Product;
 import drone.delivery.domain.Review;
 import drone.delivery.domain.Store;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,7 +19,7 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     List<Review> findByStore(Store store);
 
 
-    List<Review> findAllByMember(Member member);
+    List<Review> findAllByMemberId(Long memberId);
 
     @Query("""
     select distinct r
@@ -32,14 +34,21 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     @Query("select r.member.id from Review r where r.id = :reviewId")
     Optional<Long> findAuthorIdById(Long reviewId);
 
+    // 리뷰 페이지: id만 먼저 페이징 (컬렉션 fetch join과 limit을 같이 쓰면 메모리 페이징이 되므로)
+    @Query("select r.id from Review r where r.store.id = :storeId order by r.createdDate desc, r.id desc")
+    List<Long> findIdsByStoreId(@Param("storeId") Long storeId, Pageable pageable);
+
+    // 페이지에 해당하는 리뷰만 작성자/이미지와 함께
     @Query("""
         select distinct r
         from Review r
-        join r.store s
         left join fetch r.member m
         left join fetch r.reviewImages ri
-        where s.id = :storeId
-        order by r.createdDate desc
+        where r.id in :ids
         """)
-    List<Review> findAllByStoreIdWithMemberAndImages(Long storeId);
+    List<Review> findAllWithMemberAndImagesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // 리뷰 요약: 건수 + 평균 별점 (한 번에 집계)
+    @Query("select count(r), coalesce(avg(r.rating), 0) from Review r where r.store.id = :storeId")
+    List<Object[]> summarizeByStoreId(@Param("storeId") Long storeId);
 }
@@ -1,9 +1,16 @@
 package drone.delivery.repository;
 
 import drone.delivery.domain.Store;
+import drone.delivery.dto.StoreCardDto;
+import drone.delivery.dto.StoreLocation;
 import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,4 +27,62 @@ public interface StoreRepository extends JpaRepository<Store, Long> {
     @EntityGraph(attributePaths = "products")
     Optional<Store> findWithProductsByIdAndMember_Id(Long storeId, Long ownerId);
 
+    // 비동기 지오코딩 결과 반영 (엔티티 로딩 없이 좌표만)
+    @Modifying
+    @Query("update Store s set s.latitude = :lat, s.longitude = :lng where s.id = :id")
+    int updateCoordinates(@Param("id") Long id, @Param("lat") double lat, @Param("lng") double lng);
+
+    /* ---------- 가게 목록 카드 (키셋 페이지네이션) ----------
+     * 카드 컬럼만 select, 마지막으로 본 (정렬키, id) 다음부터 size 만큼
+     * category 가 null 이면 전체
+     */
+    String CARD_SELECT = "select new drone.delivery.dto.StoreCardDto(s.id, s.name, s.description, s.category, s.imageUrl, s.minOrderPrice) from Store s ";
+
+    // 메뉴 화면 헤더 (카드와 같은 컬럼)
+    @Query(CARD_SELECT + "where s.id = :id")
+    Optional<StoreCardDto> findCardById(@Param("id") Long id);
+
+    @Query(CARD_SELECT + """
+            where (:category is null or s.category = :category)
+              and s.id > :afterId
+            order by s.id
+            """)
+    List<StoreCardDto> findCardsOrderById(@Param("category") String category,
+                                         @Param("afterId") Long afterId,
+                                         Pageable pageable);
+
+    @Query(CARD_SELECT + """
+            where (:category is null or s.category = :category)
+              and (s.name > :afterName or (s.name = :afterName and s.id > :afterId))
+            order by s.name, s.id
+            """)
+    List<StoreCardDto> findCardsOrderByName(@Param("category") String category,
+                                           @Param("afterName") String afterName,
+                                           @Param("afterId") Long afterId,
+                                           Pageable pageable);
+
+    @Query(CARD_SELECT + """
+            where (:category is null or s.category = :category)
+              and (s.minOrderPrice > :afterPrice
+                   or (s.minOrderPrice = :afterPrice and s.id > :afterId))
+            order by s.minOrderPrice, s.id
+            """)
+    List<StoreCardDto> findCardsOrderByMinOrderPrice(@Param("category") String category,
+                                                    @Param("afterPrice") int afterPrice,
+                                                    @Param("afterId") Long afterId,
+                                                    Pageable pageable);
+
+    @Query(CARD_SELECT + "where s.id in :ids")
+    List<StoreCardDto> findCardsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // 공간 인덱스 적재용 (좌표 + 카테고리만)
+    @Query("select new drone.delivery.dto.StoreLocation(s.id, s.latitude, s.longitude, s.category) from Store s")
+    List<StoreLocation> findAllLocations();
+
+    @Query("select s.category from Store s where s.id = :id")
+    Optional<String> findCategoryById(@Param("id") Long id);
+
+    @Query("select s.id from Store s where s.id > :afterId order by s.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
 }
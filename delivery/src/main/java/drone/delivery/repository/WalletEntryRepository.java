@@ -0,0 +1,41 @@
+package drone.delivery.repository;
+
+import drone.delivery.domain.WalletEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface WalletEntryRepository extends JpaRepository<WalletEntry, Long> {
+
+    // 스냅샷 상한: 충분히 오래된(커밋이 끝났을) 원장 중 가장 큰 id
+    @Query("select max(e.id) from WalletEntry e where e.createdDate < :before")
+    Long findMaxIdCreatedBefore(@Param("before") LocalDateTime before);
+
+    // (after, upTo] 구간에 원장이 있는 회원 id (회원 id 키셋 페이지)
+    @Query("""
+        select distinct e.memberId
+        from WalletEntry e
+        where e.id > :after and e.id <= :upTo and e.memberId > :afterMemberId
+        order by e.memberId
+    """)
+    List<Long> findMemberIdsWithEntries(@Param("after") Long after,
+                                        @Param("upTo") Long upTo,
+                                        @Param("afterMemberId") Long afterMemberId,
+                                        Pageable pageable);
+
+    // 회원별 원장 합계 (id 구간), 결과: [memberId, sum]
+    @Query("""
+        select e.memberId, sum(e.amount)
+        from WalletEntry e
+        where e.memberId in :memberIds and e.id > :after and e.id <= :upTo
+        group by e.memberId
+    """)
+    List<Object[]> sumByMember(@Param("memberIds") Collection<Long> memberIds,
+                               @Param("after") Long after,
+                               @Param("upTo") Long upTo);
+}
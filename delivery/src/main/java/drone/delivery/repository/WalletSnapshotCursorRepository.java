@@ -0,0 +1,7 @@
+package drone.delivery.repository;
+
+import drone.delivery.domain.WalletSnapshotCursor;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface WalletSnapshotCursorRepository extends JpaRepository<WalletSnapshotCursor, Long> {
+}
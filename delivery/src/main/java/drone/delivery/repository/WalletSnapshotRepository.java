@@ -0,0 +1,20 @@
+package drone.delivery.repository;
+
+import drone.delivery.domain.WalletSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface WalletSnapshotRepository extends JpaRepository<WalletSnapshot, Long> {
+
+    // 회원별 최신 스냅샷
+    @Query("""
+        select s from WalletSnapshot s
+        where s.memberId in :memberIds
+          and s.lastEntryId = (select max(s2.lastEntryId) from WalletSnapshot s2 where s2.memberId = s.memberId)
+    """)
+    List<WalletSnapshot> findLatestByMemberIdIn(@Param("memberIds") Collection<Long> memberIds);
+}
@@ -0,0 +1,27 @@
+package drone.delivery.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 현재 트랜잭션이 커밋된 뒤에 실행 (인메모리 캐시/인덱스/큐 갱신용)
+ * - 롤백되면 실행하지 않는다.
+ * - 트랜잭션 밖(동기화 없음)에서 부르면 바로 실행한다.
+ */
+public final class AfterCommit {
+
+    private AfterCommit() {}
+
+    public static void run(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,102 @@
+package drone.delivery.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 체크아웃(주문) 지표
+ * - order.checkout: 체크아웃 한 건의 전체 시간 (접수 대기 + 트랜잭션 + 재시도), outcome 태그
+ *     success | rejected(잔액/재고/최소금액 등 검증 실패, 혼잡으로 거절) | error
+ * - order.checkout.phase: 단계별 시간, phase 태그
+ *     queue(그룹 커밋 대기) → profile(회원 프로필) → lock(상품 조회, 비관적 전략이면 행 락 획득 포함)
+ *     → wallet(잔액 차감) → stock(재고 확보) → persist(주문/결제 원장/아웃박스 영속화)
+ *     → commit(flush 되는 insert/update + 커밋, 그룹 커밋이면 묶음당 한 번)
+ * - order.checkout.retries: 동시성 충돌로 트랜잭션을 다시 시도한 횟수 (cause: 예외 클래스)
+ * - order.checkout.conflicts: 재시도를 다 쓰고 포기한 주문 수
+ * 퍼센타일/히스토그램은 application.properties 의 management.metrics.distribution.* 에서 켠다.
+ */
+@Component
+public class CheckoutMetrics {
+
+    public enum Phase { QUEUE, PROFILE, LOCK, WALLET, STOCK, PERSIST, COMMIT }
+
+    public enum Outcome { SUCCESS, REJECTED, ERROR }
+
+    private final MeterRegistry registry;
+    private final Map<Phase, Timer> phases = new EnumMap<>(Phase.class);
+    private final Map<Outcome, Timer> outcomes = new EnumMap<>(Outcome.class);
+    private final Counter conflicts;
+
+    public CheckoutMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        for (Phase p : Phase.values()) {
+            phases.put(p, Timer.builder("order.checkout.phase")
+                    .tag("phase", tagValue(p))
+                    .description("체크아웃 단계별 소요 시간")
+                    .register(registry));
+        }
+        for (Outcome o : Outcome.values()) {
+            outcomes.put(o, Timer.builder("order.checkout")
+                    .tag("outcome", tagValue(o))
+                    .description("체크아웃 전체 소요 시간")
+                    .register(registry));
+        }
+        this.conflicts = Counter.builder("order.checkout.conflicts")
+                .description("동시성 충돌 재시도를 모두 실패한 주문 수")
+                .register(registry);
+    }
+
+    /** since(nanoTime)부터 지금까지를 phase 로 기록하고, 지금 시각을 돌려준다 (다음 단계의 시작) */
+    public long lap(Phase phase, long since) {
+        long now = System.nanoTime();
+        phases.get(phase).record(now - since, TimeUnit.NANOSECONDS);
+        return now;
+    }
+
+    /** 체크아웃 한 건 종료 */
+    public void completed(Outcome outcome, long startedAt) {
+        outcomes.get(outcome).record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+    }
+
+    public void retried(Throwable cause) {
+        registry.counter("order.checkout.retries", "cause", cause.getClass().getSimpleName()).increment();
+    }
+
+    public void gaveUp() {
+        conflicts.increment();
+    }
+
+    /**
+     * 현재 트랜잭션의 flush + 커밋 시간을 commit 단계로 기록한다. (트랜잭션 동기화가 없으면 무시)
+     * - beforeCommit 이후에 JPA flush(지연된 insert/update)와 DB 커밋이 일어난다.
+     */
+    public void timeCommitOfCurrentTransaction() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private long commitStartedAt;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                commitStartedAt = System.nanoTime();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED && commitStartedAt != 0) lap(Phase.COMMIT, commitStartedAt);
+            }
+        });
+    }
+
+    private static String tagValue(Enum<?> e) {
+        return e.name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,45 @@
+package drone.delivery.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import drone.delivery.domain.DispatchOutbox;
+import drone.delivery.domain.Order;
+import drone.delivery.dto.SendInfoDTO;
+import drone.delivery.mapper.OrderToSendInfoMapper;
+import drone.delivery.repository.DispatchOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class DispatchOutboxService {
+
+    private final DispatchOutboxRepository outboxRepository;
+    private final OrderToSendInfoMapper mapper;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 주문 트랜잭션 안에서 배차 요청을 아웃박스에 기록한다.
+     * - 반드시 주문 저장(id 할당) 이후에 호출
+     * - 주문이 롤백되면 아웃박스 행도 같이 롤백된다.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(Order order) {
+        enqueue(order, order.getMember().getLatitude(), order.getMember().getLongitude());
+    }
+
+    /**
+     * 회원 좌표를 이미 알고 있을 때 (주문 생성 시 회원 엔티티를 로딩하지 않기 위해)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(Order order, Double userLatitude, Double userLongitude) {
+        SendInfoDTO payload = mapper.map(order, userLatitude, userLongitude);
+        try {
+            outboxRepository.save(DispatchOutbox.create(order.getId(), objectMapper.writeValueAsString(payload)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("배차 요청 직렬화 실패: orderId=" + order.getId(), e);
+        }
+    }
+}
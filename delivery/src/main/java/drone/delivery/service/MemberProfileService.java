@@ -0,0 +1,76 @@
+package drone.delivery.service;
+
+import drone.delivery.dto.MemberProfile;
+import drone.delivery.repository.MemberRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 회원 프로필 읽기 모델 캐시 (read-through, 크기 제한 LRU + TTL)
+ * - 세션에는 LoginMember(id/타입/이름)만 두고, 잔액·주소·좌표는 여기서 읽는다.
+ * - 잔액/정보를 바꾸는 쓰기 경로(주문·취소·충전·정보 수정·탈퇴·지오코딩)가 커밋 후 무효화한다.
+ * - TTL은 무효화를 놓친 경우(다른 노드의 쓰기 등)의 상한
+ * - 버전: 무효화가 일어나면 그 전에 시작한 로딩 결과는 캐시에 넣지 않는다. (ProductOptionTreeCache 와 같은 방식)
+ */
+@Service
+public class MemberProfileService {
+
+    private final MemberRepository memberRepository;
+    private final long ttlNanos;
+    private final Map<Long, Entry> cache;
+    private final AtomicLong version = new AtomicLong();
+
+    public MemberProfileService(MemberRepository memberRepository,
+                                @Value("${app.member.profile-cache.size:10000}") int cacheSize,
+                                @Value("${app.member.profile-cache.ttl-ms:30000}") long ttlMs) {
+        this.memberRepository = memberRepository;
+        this.ttlNanos = Duration.ofMillis(ttlMs).toNanos();
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    /**
+     * 회원 프로필 조회 (캐시 적중 시 쿼리 없음)
+     * @throws EntityNotFoundException 회원이 없을 때
+     */
+    public MemberProfile get(Long memberId) {
+        long now = System.nanoTime();
+        Entry cached = cache.get(memberId);
+        if (cached != null && now - cached.loadedAt() < ttlNanos) return cached.profile();
+
+        long seen = version.get();
+        MemberProfile profile = memberRepository.findProfileById(memberId)
+                .orElseThrow(() -> new EntityNotFoundException("회원이 존재하지 않습니다. id=" + memberId));
+        synchronized (cache) {
+            if (version.get() == seen) cache.put(memberId, new Entry(profile, now));
+        }
+        return profile;
+    }
+
+    /** 잔액/정보 변경: 커밋 후 무효화 (트랜잭션 밖이면 즉시) */
+    public void evictAfterCommit(Long memberId) {
+        AfterCommit.run(() -> evict(memberId));
+    }
+
+    public void evict(Long memberId) {
+        synchronized (cache) {
+            version.incrementAndGet();
+            cache.remove(memberId);
+        }
+    }
+
+    public int size() { return cache.size(); }
+
+    private record Entry(MemberProfile profile, long loadedAt) {}
+}
@@ -1,12 +1,14 @@
 package drone.delivery.service;
 
-import drone.delivery.GeoService;
+import drone.delivery.async.GeocodeQueue;
 import drone.delivery.domain.Address;
 import drone.delivery.domain.Member;
 import drone.delivery.domain.MemberType;
+import drone.delivery.domain.WalletEntryType;
 import drone.delivery.dto.RegisterRequestDTO;
 import drone.delivery.dto.UpdateMemberDTO;
 import drone.delivery.repository.MemberRepository;
+import drone.delivery.service.wallet.WalletService;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -14,6 +16,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
@@ -23,7 +26,11 @@ public class MemberService {
 
     private final MemberRepository memberRepository;
 
-    private final GeoService geoService;
+    private final GeocodeQueue geocodeQueue;
+
+    private final MemberProfileService memberProfileService;
+
+    private final WalletService walletService;
 
     public void save(Member member){
         memberRepository.save(member);
@@ -64,13 +71,8 @@ public class MemberService {
         validateDuplicateEmail(member);
         memberRepository.save(member);
 
-        // 회원가입 시 주소에 따른 위도, 경도 업데이트
-        try {
-            geoService.updateMemberCoordinates(member);  // 주소를 기반으로 위도, 경도 업데이트
-        } catch (Exception e) {
-            // 위도, 경도 업데이트 실패 시 예외 처리 로직 (선택 사항)
-            e.printStackTrace();
-        }
+        // 회원가입 시 주소에 따른 위도, 경도 업데이트 (커밋 후 비동기, 가입 응답은 기다리지 않음)
+        geocodeQueue.memberAfterCommit(member.getId());
 
     }
 
@@ -161,15 +163,14 @@ public class MemberService {
         if (StringUtils.hasText(dto.getPassword())) {
             member.setPassword(dto.getPassword());
         }
+        String oldStreet = member.getAddress() != null ? member.getAddress().getStreet() : null;
         member.setAddress(new Address(dto.getStreet(), dto.getCity(), dto.getZipcode(), dto.getDetailAddress()));
+        memberProfileService.evictAfterCommit(memberId);
 
 
-        // 정보 수정시 주소에 따른 위도, 경도 업데이트
-        try {
-            geoService.updateMemberCoordinates(member);  // 주소를 기반으로 위도, 경도 업데이트
-        } catch (Exception e) {
-            // 위도, 경도 업데이트 실패 시 예외 처리 로직 (선택 사항)
-            e.printStackTrace();
+        // 정보 수정시 도로명 주소가 바뀐 경우에만 위도, 경도 업데이트 (커밋 후 비동기)
+        if (!Objects.equals(oldStreet, dto.getStreet())) {
+            geocodeQueue.memberAfterCommit(member.getId());
         }
 
     }
@@ -182,6 +183,7 @@ public class MemberService {
     public void deleteMember(Long memberId) {
         Member member = memberRepository.findById(memberId).orElseThrow(() -> new IllegalStateException("존재하지 않는 회원입니다."));
         memberRepository.delete(member);
+        memberProfileService.evictAfterCommit(memberId);
     }
 
 
@@ -198,9 +200,7 @@ public class MemberService {
      */
     @Transactional
     public void chargeMoney(Long memberId, int amount) {
-        Member member = memberRepository.findById(memberId)
-                .orElseThrow(() -> new EntityNotFoundException("회원 없음"));
-        member.setMoney(member.getMoney() + amount);
+        walletService.credit(memberId, amount, WalletEntryType.CHARGE, null);
     }
 
 
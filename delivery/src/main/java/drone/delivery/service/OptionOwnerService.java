@@ -6,6 +6,7 @@ import drone.delivery.dto.OptionItemForm;
 import drone.delivery.repository.OptionGroupRepository;
 import drone.delivery.repository.OptionItemRepository;
 import drone.delivery.repository.ProductOptionGroupLinkRepository;
+import drone.delivery.service.option.ProductOptionTreeCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -22,6 +23,7 @@ public class OptionOwnerService {
     private final OptionItemRepository optionItemRepo;
     private final ProductOptionGroupLinkRepository linkRepo;
     private final StoreService storeService;
+    private final ProductOptionTreeCache optionTreeCache;
 
 
     /**
@@ -86,6 +88,7 @@ public class OptionOwnerService {
                     link.setEnabled(true);
                     linkRepo.save(link);
                 });
+        optionTreeCache.invalidateProductAfterCommit(product.getId());
 
         return g.getId();
     }
@@ -115,6 +118,7 @@ public class OptionOwnerService {
                     link.setEnabled(true);
                     linkRepo.save(link);
                 });
+        optionTreeCache.invalidateProductAfterCommit(productId);
     }
 
 
@@ -138,6 +142,7 @@ public class OptionOwnerService {
         i.setStock(form.getStock());
         if (form.getSortOrder() != null) i.setSortOrder(form.getSortOrder());
         optionItemRepo.save(i);
+        optionTreeCache.invalidateGroupAfterCommit(groupId);
         return i.getId();
     }
 
@@ -152,6 +157,8 @@ public class OptionOwnerService {
         getOwnerStoreOrThrow(storeId, ownerId);
         linkRepo.findByProductIdAndOptionGroupId(productId, groupId).ifPresent(linkRepo::delete);
         optionGroupRepo.deleteById(groupId);
+        optionTreeCache.invalidateProductAfterCommit(productId);
+        optionTreeCache.invalidateGroupAfterCommit(groupId);
     }
 
 
@@ -163,6 +170,7 @@ public class OptionOwnerService {
     public void deleteItem(Long storeId, Long productId, Long itemId, Long ownerId) {
         getOwnerStoreOrThrow(storeId, ownerId);
         optionItemRepo.deleteById(itemId);
+        optionTreeCache.invalidateItemAfterCommit(itemId);
     }
 
 
@@ -176,6 +184,7 @@ public class OptionOwnerService {
         ProductOptionGroupLink link = linkRepo.findById(linkId)
                 .orElseThrow(() -> new IllegalArgumentException("링크를 찾을 수 없습니다."));
         link.setSortOrder(sortOrder);
+        optionTreeCache.invalidateProductAfterCommit(link.getProduct().getId());
     }
 
 
@@ -203,5 +212,6 @@ public class OptionOwnerService {
 
         // 4) 재고 개념 제거: stock=0 → 품절, stock=null → 판매중
         item.setStock(soldOut ? 0 : null);
+        optionTreeCache.invalidateItemAfterCommit(itemId);
     }
 }
@@ -2,21 +2,33 @@ package drone.delivery.service;
 
 import drone.delivery.domain.CartItem;
 import drone.delivery.domain.*;
+import drone.delivery.dto.MemberProfile;
 import drone.delivery.repository.MemberRepository;
 import drone.delivery.repository.OrderRepository;
-import drone.delivery.repository.ProductRepository;
+import drone.delivery.service.stock.ContentionTracker;
+import drone.delivery.service.stock.StockAllocator;
+import drone.delivery.service.stock.StockReservationLedger;
+import drone.delivery.service.wallet.WalletService;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.dao.DeadlockLoserDataAccessException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,8 +37,24 @@ import java.util.stream.Collectors;
 @Slf4j
 public class OrderService {
     private final OrderRepository orderRepository;
-    private final ProductRepository productRepository;
     private final MemberRepository memberRepository;
+    private final StockAllocator stockAllocator;
+    private final TransactionTemplate txTemplate;
+    private final DispatchOutboxService dispatchOutboxService;
+    private final MemberProfileService memberProfileService;
+    private final WalletService walletService;
+    private final CheckoutMetrics checkoutMetrics;
+    private final ContentionTracker contentionTracker;
+
+    // 동시성 충돌(데드락/락 대기 초과/낙관적 락 실패) 시 트랜잭션 재시도 횟수
+    @Value("${app.order.max-attempts:3}")
+    private int maxAttempts;
+
+    // 재시도 간격: 지터를 섞은 지수 백오프 (같이 충돌한 주문들이 같은 시각에 다시 부딪히지 않도록)
+    @Value("${app.order.retry.base-backoff-ms:20}")
+    private long retryBaseBackoffMs;
+    @Value("${app.order.retry.max-backoff-ms:400}")
+    private long retryMaxBackoffMs;
 
 
     /**
@@ -34,41 +62,110 @@ public class OrderService {
      */
     // OrderService
     /**
-     * 주문 처리 (데드락 방지 + 재시도 로직 포함)
+     * 주문 처리 (동시성 충돌 시 재시도 포함)
+     * - 재시도는 트랜잭션 바깥에서 돈다: 충돌한 트랜잭션은 롤백 전용이 되고, 낙관적 락 충돌은 커밋 시점에야 드러나므로
+     *   시도마다 새 트랜잭션(txTemplate)을 연다.
+     * - 충돌/재시도/최종 결과는 주문에 든 상품별로 ContentionTracker 에 남긴다.
      */
-    @Transactional
-    public Long order(Member sessionMember, List<CartItem> cart) {
-        final int MAX_RETRY = 3;
-
-        for (int attempt = 1; attempt <= MAX_RETRY; attempt++) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Long order(Long memberId, List<CartItem> cart) {
+        Set<Long> productIds = productIds(cart);
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
             try {
-                return tryOrder(sessionMember, cart);
-            } catch (DeadlockLoserDataAccessException e) {
-                log.warn("⚠️ 데드락 발생 (재시도 {}/{})", attempt, MAX_RETRY);
-                if (attempt == MAX_RETRY) {
-                    throw new IllegalStateException("주문 처리 중 데드락이 반복 발생했습니다. 잠시 후 다시 시도해주세요.", e);
+                Long orderId = txTemplate.execute(status -> {
+                    checkoutMetrics.timeCommitOfCurrentTransaction();
+                    return tryOrder(memberId, cart);
+                });
+                contentionTracker.recordOutcome(productIds, attempt, true);
+                return orderId;
+            } catch (ConcurrencyFailureException e) {
+                ContentionTracker.Conflict conflict = contentionTracker.recordConflict(productIds, e);
+                log.warn("⚠️ 주문 동시성 충돌 ({}, {}, 재시도 {}/{})",
+                        conflict, e.getClass().getSimpleName(), attempt, maxAttempts);
+                checkoutMetrics.retried(e);
+                if (attempt == maxAttempts) {
+                    checkoutMetrics.gaveUp();
+                    contentionTracker.recordOutcome(productIds, attempt, false);
+                    throw new IllegalStateException("주문이 몰려 처리하지 못했습니다. 잠시 후 다시 시도해주세요.", e);
                 }
-                try {
-                    Thread.sleep(50); // 짧은 딜레이 후 재시도
-                } catch (InterruptedException ignored) {}
+                backoff(attempt);
             }
         }
 
         throw new IllegalStateException("예상치 못한 주문 오류");
     }
 
+    /**
+     * 그룹 커밋: 여러 주문을 하나의 트랜잭션으로 처리한다. (OrderIngestPipeline 전용)
+     * - 주문별 검증 실패는 해당 주문만 실패로 기록하고 나머지는 계속 진행
+     *   (tryOrder는 모든 검증을 끝낸 뒤에만 상태를 바꾸므로 실패한 주문이 남기는 변경은 없다)
+     * - 검증 실패 예외는 tryOrder 안에서만 던진다. 다른 트랜잭션 빈(@Transactional 프록시)을 지나 던져진 예외는
+     *   트랜잭션을 롤백 전용으로 만들어 묶음 전체가 UnexpectedRollbackException 으로 실패한다.
+     * - DB 오류로 커밋 자체가 실패하면 예외가 그대로 전파되고, 호출 측이 건별로 재처리한다.
+     */
+    @Transactional
+    public List<BatchResult> orderBatch(List<OrderRequest> requests) {
+        checkoutMetrics.timeCommitOfCurrentTransaction();
+        List<BatchResult> results = new ArrayList<>(requests.size());
+        List<Set<Long>> committed = new ArrayList<>();
+        for (OrderRequest req : requests) {
+            try {
+                results.add(BatchResult.success(tryOrder(req.memberId(), req.cart())));
+                committed.add(productIds(req.cart()));
+            } catch (IllegalArgumentException | IllegalStateException | EntityNotFoundException e) {
+                results.add(BatchResult.failure(e));
+            }
+        }
+        // 묶음 커밋이 실패하면 건별 재처리(order)에서 다시 기록되므로 커밋된 경우에만 남긴다
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                committed.forEach(ids -> contentionTracker.recordOutcome(ids, 1, true));
+            }
+        });
+        return results;
+    }
+
+    // 지수 백오프(base * 2^(attempt-1), 최대 max)의 절반 + 나머지 절반 안에서 무작위 (equal jitter)
+    private void backoff(int attempt) {
+        long cap = Math.min(retryMaxBackoffMs, retryBaseBackoffMs << Math.min(attempt - 1, 20));
+        long sleepMs = cap / 2 + ThreadLocalRandom.current().nextLong(cap / 2 + 1);
+        try {
+            Thread.sleep(sleepMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("주문 처리 중 중단되었습니다.", e);
+        }
+    }
+
+    private static Set<Long> productIds(List<CartItem> cart) {
+        return cart == null ? Set.of() : cart.stream().map(CartItem::getProductId).collect(Collectors.toSet());
+    }
+
+    /** 그룹 커밋 요청 한 건 */
+    public record OrderRequest(Long memberId, List<CartItem> cart) {}
+
+    /** 그룹 커밋 결과 한 건 (orderId 또는 error 중 하나) */
+    public record BatchResult(Long orderId, RuntimeException error) {
+        public static BatchResult success(Long orderId) { return new BatchResult(orderId, null); }
+        public static BatchResult failure(RuntimeException error) { return new BatchResult(null, error); }
+    }
+
     /**
      * 실제 주문 트랜잭션 로직
      */
-    private Long tryOrder(Member sessionMember, List<CartItem> cart) {
+    private Long tryOrder(Long memberId, List<CartItem> cart) {
 
         if (cart == null || cart.isEmpty()) {
             throw new IllegalArgumentException("장바구니가 비어 있습니다.");
         }
 
-        // 1️⃣ 회원 조회
-        Member member = memberRepository.findById(sessionMember.getId())
-                .orElseThrow(() -> new EntityNotFoundException("회원 없음"));
+        // 단계별 소요 시간 (CheckoutMetrics: profile → lock → wallet → stock → persist)
+        long lap = System.nanoTime();
+
+        // 1️⃣ 회원 확인 + 배차용 좌표 (프로필 읽기 모델, 캐시 적중 시 쿼리 없음)
+        MemberProfile profile = memberProfileService.get(memberId);
+        lap = checkoutMetrics.lap(CheckoutMetrics.Phase.PROFILE, lap);
 
         // 2️⃣ 상품별 요청 수량 집계
         Map<Long, Integer> qtyMap = cart.stream().collect(Collectors.toMap(
@@ -77,11 +174,14 @@ public class OrderService {
                 Integer::sum
         ));
 
-        // 3️⃣ 상품 목록 (비관적 락 + 순서 고정)
-        List<Product> products = productRepository.findAllByIdInForUpdate(qtyMap.keySet());
+        // 3️⃣ 상품 목록 (재고 전략에 따라 락 없이 또는 행 락과 함께 조회)
+        List<Product> products = stockAllocator.loadProducts(qtyMap.keySet());
         if (products.size() != qtyMap.size()) {
             throw new EntityNotFoundException("일부 상품을 찾을 수 없습니다.");
         }
+        long lockStartedAt = lap;
+        lap = checkoutMetrics.lap(CheckoutMetrics.Phase.LOCK, lap);
+        long stockPathNanos = lap - lockStartedAt;
 
         // 4️⃣ 서로 다른 가게 상품 방지
         Store store = null;
@@ -92,15 +192,10 @@ public class OrderService {
             }
         }
 
-        // 5️⃣ 재고 검증
+        // 5️⃣ 수량 검증
         for (Product p : products) {
             int requested = qtyMap.getOrDefault(p.getId(), 0);
             if (requested <= 0) throw new IllegalArgumentException("수량은 1개 이상이어야 합니다.");
-            if (p.getQuantity() < requested) {
-                throw new IllegalStateException(
-                        "재고 부족: " + p.getFoodName() + " (남은 " + p.getQuantity() + "개, 요청 " + requested + "개)"
-                );
-            }
         }
 
         // 6️⃣ 주문아이템 생성 및 총액 계산
@@ -131,25 +226,40 @@ public class OrderService {
             throw new IllegalStateException("최소 주문 금액은 " + store.getMinOrderPrice() + "원 입니다.");
         }
 
-        // 8️⃣ 잔액 검증
-        if (member.getMoney() < totalPrice) {
+        // 8️⃣ 잔액 확인 + 차감 (조건부 update 한 문장, 회원 엔티티 로딩 없음)
+        //    부족하면 여기서 던진다: WalletService 프록시를 지나 던지면 그룹 커밋 트랜잭션이 롤백 전용이 된다.
+        if (!walletService.tryDebit(memberId, totalPrice)) {
             throw new IllegalStateException("잔액 부족 (" + totalPrice + "원 필요)");
         }
-
-        // 9️⃣ 차감 처리
-        for (Product p : products) {
-            int requested = qtyMap.getOrDefault(p.getId(), 0);
-            p.setQuantity(p.getQuantity() - requested);
+        lap = checkoutMetrics.lap(CheckoutMetrics.Phase.WALLET, lap);
+
+        // 9️⃣ 재고 확보 (전략: app.order.stock.strategy)
+        //    그룹 커밋은 실패한 주문만 빼고 커밋하므로 재고 부족 시 잔액 차감을 직접 되돌린다.
+        try {
+            stockAllocator.reserve(qtyMap, productById);
+        } catch (StockReservationLedger.StockShortageException e) {
+            walletService.undoDebit(memberId, totalPrice);
+            Product p = productById.get(e.getProductId());
+            throw new IllegalStateException(
+                    "재고 부족: " + p.getFoodName() + " (" + e.describe() + ")"
+            );
         }
-        member.setMoney(member.getMoney() - totalPrice);
+        long stockStartedAt = lap;
+        lap = checkoutMetrics.lap(CheckoutMetrics.Phase.STOCK, lap);
+        contentionTracker.recordWait(products, stockPathNanos + (lap - stockStartedAt));
 
-        // 🔟 주문 엔티티 생성
-        Order order = Order.createOrder(member, orderItems);
+        // 🔟 주문 엔티티 생성 (회원은 프록시 참조만)
+        Order order = Order.createOrder(memberRepository.getReferenceById(memberId), orderItems);
         order.setSummary(summary.toString());
         order.setTotalPrice(totalPrice);
         order.setOrderStatus(OrderStatus.PENDING);
 
         orderRepository.save(order);
+        walletService.recordPayment(memberId, order.getId(), totalPrice);
+
+        // 1️⃣1️⃣ 드론 배차 요청을 같은 트랜잭션에서 아웃박스에 기록 (전송은 OrderSendQueue 릴레이가 담당)
+        dispatchOutboxService.enqueue(order, profile.getLatitude(), profile.getLongitude());
+        checkoutMetrics.lap(CheckoutMetrics.Phase.PERSIST, lap);
 
 //        log.info("✅ 주문 완료 member={}, store={}, totalPrice={}", member.getId(), store.getId(), totalPrice);
 
@@ -172,15 +282,15 @@ public class OrderService {
         // 3. 주문 상태 변경
         order.setOrderStatus(OrderStatus.CANCELED);
 
-        // 4. 회원 환불 처리
-        Member member = order.getMember();
-        member.setMoney(member.getMoney() + order.getTotalPrice()); // 변경 감지로 자동 업데이트
+        // 4. 회원 환불 처리 (원자적 증가 + 원장 기록, 회원 엔티티 로딩 없음)
+        walletService.credit(order.getMember().getId(), order.getTotalPrice(), WalletEntryType.REFUND, order.getId());
 
-        // 5. 재고 복구 (옵션)
+        // 5. 재고 복구 (재고 전략별, DB는 한 문장으로 증가)
+        Map<Long, Integer> restored = new HashMap<>();
         for (OrderItem item : order.getOrderItems()) {
-            Product product = item.getProduct();
-            product.setQuantity(product.getQuantity() + item.getQuantity()); // 재고 원복
+            restored.merge(item.getProduct().getId(), item.getQuantity(), Integer::sum);
         }
+        stockAllocator.restock(restored);
 
         // 트랜잭션 종료 시점에 DB 반영
     }
@@ -205,23 +315,15 @@ public class OrderService {
     }
 
 
-    public List<Order> findByMember(Member member) {
-        return orderRepository.findByMember(member);
+    public List<Order> findByMember(Long memberId) {
+        return orderRepository.findByMember(memberId);
     }
 
-    public List<Order> findByMemberAndOrderStatus(Member member, OrderStatus status) {
-        return orderRepository.findByMemberAndOrder(member, status);
+    public List<Order> findByMemberAndOrderStatus(Long memberId, OrderStatus status) {
+        return orderRepository.findByMemberAndOrder(memberId, status);
     }
 
 
-    /// //////////////////
-    @Transactional
-    public Order placeOrder(Member sessionMember, List<CartItem> cart) {
-        Long id = order(sessionMember, cart);     // 기존 로직 그대로 사용
-        return orderRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("주문이 없습니다. id=" + id));
-    }
-
     // 상세: N+1 방지용 fetch join
     public Order getDetail(Long userId, Long orderId) {
         return orderRepository.findByIdWithItemsAndProductAndStore(userId, orderId)
@@ -242,6 +344,13 @@ public class OrderService {
         return orderRepository.findGraphById(orderId);
     }
 
+    // 본인 주문 단건 조회 (배차 상태 조회 등)
+    @Transactional(readOnly = true)
+    public Order findOwnedOrder(Long memberId, Long orderId) {
+        return orderRepository.findByIdAndMemberId(orderId, memberId)
+                .orElseThrow(() -> new IllegalArgumentException("주문을 찾을 수 없습니다."));
+    }
+
     public Optional<Long> findLatestOrderIdByMember(Long memberId) {
         return orderRepository.findLatestOrderIdByMemberId(memberId);
     }
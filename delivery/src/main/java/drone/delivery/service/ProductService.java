@@ -2,6 +2,8 @@ package drone.delivery.service;
 
 import drone.delivery.domain.Product;
 import drone.delivery.repository.ProductRepository;
+import drone.delivery.service.option.ProductOptionTreeCache;
+import drone.delivery.service.stock.StockReservationLedger;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -14,6 +16,8 @@ import java.util.List;
 @Transactional
 public class ProductService {
     private final ProductRepository productRepository;
+    private final StockReservationLedger stockLedger;
+    private final ProductOptionTreeCache optionTreeCache;
 
     //상품 생성 메서드
     public Long createProduct(String name, int price, int quantity) {
@@ -47,6 +51,8 @@ public class ProductService {
                 .orElseThrow(() -> new EntityNotFoundException("상품이 존재하지 않습니다. id=" + id));
 
         productRepository.delete(product);
+        stockLedger.evictAfterCommit(id);
+        optionTreeCache.invalidateProductAfterCommit(id);
     }
 
     //상품 한개를 찾는 메서드
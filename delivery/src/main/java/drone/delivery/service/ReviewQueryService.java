@@ -3,10 +3,14 @@ package drone.delivery.service;
 import drone.delivery.domain.Review;
 import drone.delivery.repository.ReviewRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -27,7 +31,38 @@ public class ReviewQueryService {
                 .orElse(false);
     }
 
-    public List<Review> getStoreReviews(Long storeId) {
-        return reviewRepository.findAllByStoreIdWithMemberAndImages(storeId);
+    /**
+     * 가게 리뷰 한 페이지 + 요약(전체 건수, 평균 별점)
+     * - id 페이지 → 해당 id만 작성자/이미지 fetch join → 집계 1회, 총 3쿼리
+     */
+    @Transactional(readOnly = true)
+    public ReviewPage getStoreReviewPage(Long storeId, int page, int size) {
+        Object[] summary = reviewRepository.summarizeByStoreId(storeId).get(0);
+        long total = ((Number) summary[0]).longValue();
+        double avgRating = ((Number) summary[1]).doubleValue();
+        int totalPages = (int) ((total + size - 1) / size);
+        int current = Math.max(0, Math.min(page, Math.max(0, totalPages - 1)));
+        if (total == 0) {
+            return new ReviewPage(List.of(), total, avgRating, current, totalPages);
+        }
+
+        List<Long> ids = reviewRepository.findIdsByStoreId(storeId, PageRequest.of(current, size));
+        if (ids.isEmpty()) {
+            return new ReviewPage(List.of(), total, avgRating, current, totalPages);
+        }
+        Map<Long, Review> byId = new HashMap<>();
+        for (Review r : reviewRepository.findAllWithMemberAndImagesByIdIn(ids)) byId.put(r.getId(), r);
+        List<Review> items = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Review r = byId.get(id);
+            if (r != null) items.add(r);
+        }
+        return new ReviewPage(items, total, avgRating, current, totalPages);
+    }
+
+    /** 리뷰 한 페이지 (page는 0부터) */
+    public record ReviewPage(List<Review> items, long total, double avgRating, int page, int totalPages) {
+        public boolean hasPrevious() { return page > 0; }
+        public boolean hasNext() { return page + 1 < totalPages; }
     }
 }
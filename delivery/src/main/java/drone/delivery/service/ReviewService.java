@@ -48,7 +48,7 @@ public class ReviewService {
     }
 
 
-    public List<Review> findAllByMember(Member member) {
-        return reviewRepository.findAllByMember(member);
+    public List<Review> findAllByMember(Long memberId) {
+        return reviewRepository.findAllByMemberId(memberId);
     }
 }
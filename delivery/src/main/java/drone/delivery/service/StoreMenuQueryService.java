@@ -0,0 +1,52 @@
+package drone.delivery.service;
+
+import drone.delivery.dto.MemberStoreOrderDto;
+import drone.delivery.dto.MenuProductDto;
+import drone.delivery.dto.StoreCardDto;
+import drone.delivery.repository.OrderRepository;
+import drone.delivery.repository.ProductRepository;
+import drone.delivery.repository.StoreRepository;
+import drone.delivery.service.stock.StockReservationLedger;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * 가게 메뉴 화면 전용 조회 모델
+ * - 헤더/상품 목록/내 주문은 필요한 컬럼만 프로젝션으로 읽는다. (엔티티 그래프, 전체 주문 로딩 없음)
+ * - 리뷰는 ReviewQueryService.getStoreReviewPage 로 페이지 단위 조회
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class StoreMenuQueryService {
+
+    private final StoreRepository storeRepository;
+    private final ProductRepository productRepository;
+    private final OrderRepository orderRepository;
+    private final StockReservationLedger stockLedger;
+
+    public StoreCardDto getHeader(Long storeId) {
+        return storeRepository.findCardById(storeId)
+                .orElseThrow(() -> new EntityNotFoundException("가게를 찾을 수 없습니다. id=" + storeId));
+    }
+
+    // 재고는 DB 값 대신 원장의 가용 재고 (아직 반영 안 된 차감분까지 포함)
+    public List<MenuProductDto> getProducts(Long storeId) {
+        List<MenuProductDto> products = productRepository.findMenuByStoreId(storeId);
+        for (MenuProductDto p : products) {
+            p.setQuantity(stockLedger.available(p.getId(), p.getQuantity()));
+        }
+        return products;
+    }
+
+    // 로그인 회원이 이 가게에서 한 최근 주문만
+    public List<MemberStoreOrderDto> getMemberOrders(Long memberId, Long storeId, int limit) {
+        if (memberId == null) return List.of();
+        return orderRepository.findRecentByMemberAndStore(memberId, storeId, PageRequest.of(0, limit));
+    }
+}
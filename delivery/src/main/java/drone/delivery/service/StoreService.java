@@ -1,27 +1,34 @@
 package drone.delivery.service;
 
-import drone.delivery.GeoService;
+import drone.delivery.async.GeocodeQueue;
 import drone.delivery.domain.Address;
 import drone.delivery.domain.Member;
 import drone.delivery.domain.Product;
 import drone.delivery.domain.Store;
 import drone.delivery.dto.FoodDTO;
+import drone.delivery.dto.StoreCardDto;
+import drone.delivery.dto.StoreLocation;
 import drone.delivery.dto.StoreDTO;
 import drone.delivery.dto.StoreUpdateDTO;
+import drone.delivery.exception.BadRequestException;
 import drone.delivery.repository.MemberRepository;
 import drone.delivery.repository.ProductRepository;
 import drone.delivery.repository.StoreRepository;
+import drone.delivery.service.option.ProductOptionTreeCache;
+import drone.delivery.service.spatial.StoreSpatialIndex;
+import drone.delivery.service.spatial.StoreSpatialIndex.NearbyStore;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
-import java.util.List;
-import java.util.Optional;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -31,12 +38,15 @@ public class StoreService {
     private final StoreRepository storeRepository;
     private final MemberRepository memberRepository;
     private final ProductRepository productRepository;
-    private final GeoService geoService;
-    private static final Logger logger = LoggerFactory.getLogger(GeoService.class);
+    private final GeocodeQueue geocodeQueue;
+    private final StoreSpatialIndex spatialIndex;
+    private final ProductOptionTreeCache optionTreeCache;
 
     //가게 등록 함수 (init 데이터 용)
     public Long save(Store store) {
-        return storeRepository.save(store).getId();
+        Long id = storeRepository.save(store).getId();
+        spatialIndex.putAfterCommit(new StoreLocation(id, store.getLatitude(), store.getLongitude(), store.getCategory()));
+        return id;
     }
 
     @Transactional
@@ -64,13 +74,8 @@ public class StoreService {
 
         storeRepository.save(store);
 
-        // ✅ 좌표 업데이트 (GeoService는 수정하지 않고, 방금 추가한 메서드만 호출)
-        try {
-            geoService.updateStoreCoordinates(store);
-        } catch (Exception e) {
-            // 실패해도 가게 생성은 진행되도록 로깅만
-            logger.warn("지오코딩 실패(가게ID={}): {}", store.getId(), e.getMessage());
-        }
+        // ✅ 좌표 업데이트는 커밋 후 비동기로 (실패해도 가게 생성에는 영향 없음)
+        geocodeQueue.storeAfterCommit(store.getId());
 
         return store.getId();
     }
@@ -81,6 +86,69 @@ public class StoreService {
         return storeRepository.findAll();
     }
 
+    /**
+     * 가게 목록 카드 (키셋 페이지네이션)
+     * - 카드 컬럼만 프로젝션으로 조회, offset 없이 "마지막으로 본 항목 다음"부터 size 개
+     * @param sort   id(기본, 등록순) | name(이름순) | minOrder(최소주문금액 낮은순)
+     * @param cursor 이전 페이지의 nextCursor (첫 페이지는 null)
+     * @throws BadRequestException 커서를 해석할 수 없을 때 (정렬과 맞지 않는 커서 포함)
+     */
+    @Transactional(readOnly = true)
+    public StoreCardPage findCards(String category, String sort, String cursor, int size) {
+        String cat = (category == null || category.isBlank() || "전체".equals(category)) ? null : category;
+        String sortKey = normalizeSort(sort);
+        String[] key = decodeCursor(cursor, sortKey);
+        Long afterId = (key == null) ? 0L : Long.valueOf(key[1]);
+        PageRequest limit = PageRequest.of(0, size + 1); // 한 건 더 읽어서 다음 페이지 여부 판단
+
+        List<StoreCardDto> rows;
+        switch (sortKey) {
+            case "name" -> rows = storeRepository.findCardsOrderByName(cat, key == null ? "" : key[0], afterId, limit);
+            case "minOrder" -> rows = storeRepository.findCardsOrderByMinOrderPrice(
+                    cat, key == null ? Integer.MIN_VALUE : Integer.parseInt(key[0]), afterId, limit);
+            default -> rows = storeRepository.findCardsOrderById(cat, afterId, limit);
+        }
+
+        if (rows.size() <= size) return new StoreCardPage(rows, null);
+        List<StoreCardDto> page = rows.subList(0, size);
+        StoreCardDto last = page.get(size - 1);
+        String sortValue = switch (sortKey) {
+            case "name" -> last.getName();
+            case "minOrder" -> String.valueOf(last.getMinOrderPrice());
+            default -> "";
+        };
+        return new StoreCardPage(new ArrayList<>(page), encodeCursor(sortValue, last.getId()));
+    }
+
+    /** 카드 한 페이지 + 다음 페이지 커서 (없으면 null) */
+    public record StoreCardPage(List<StoreCardDto> items, String nextCursor) {}
+
+    public static String normalizeSort(String sort) {
+        return ("name".equals(sort) || "minOrder".equals(sort)) ? sort : "id";
+    }
+
+    // 커서: base64url("정렬키\n마지막id")
+    private static String encodeCursor(String sortValue, Long id) {
+        String raw = sortValue + "\n" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // 해석할 수 없는 커서는 클라이언트 잘못이므로 400 (NumberFormatException 도 IllegalArgumentException)
+    private static String[] decodeCursor(String cursor, String sortKey) {
+        if (cursor == null || cursor.isBlank()) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('\n');
+            if (sep < 0) throw new IllegalArgumentException();
+            String[] key = {raw.substring(0, sep), raw.substring(sep + 1)};
+            Long.parseLong(key[1]);
+            if ("minOrder".equals(sortKey)) Integer.parseInt(key[0]);
+            return key;
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("잘못된 페이지 커서입니다.");
+        }
+    }
+
     //가게 찾는 함수
     public Store findById(Long id) {
         return storeRepository.findById(id)
@@ -149,6 +217,7 @@ public class StoreService {
         store.setCategory(editStore.getCategory());
         store.setImageUrl(editStore.getImageUrl());
         store.setMinOrderPrice(editStore.getMinOrderPrice());
+        spatialIndex.updateCategoryAfterCommit(storeId, editStore.getCategory());
 
 
         return store.getId();
@@ -159,5 +228,34 @@ public class StoreService {
         Store store = storeRepository.findById(storeId)
                 .orElseThrow(() -> new IllegalArgumentException("가게를 찾을 수 없습니다. id=" + storeId));
         storeRepository.delete(store);
+        spatialIndex.removeAfterCommit(storeId);
+        optionTreeCache.invalidateStoreAfterCommit(storeId);
     }
+
+    /**
+     * 내 위치 기준 주변 가게 (공간 인덱스로 id/거리 조회 후 해당 가게만 로딩)
+     * @param radiusKm null 이면 반경 제한 없이 가까운 순 limit 개
+     */
+    @Transactional(readOnly = true)
+    public NearbyStores findNearby(double lat, double lng, String category, Double radiusKm, int limit) {
+        List<NearbyStore> hits = (radiusKm == null)
+                ? spatialIndex.nearest(lat, lng, limit, category)
+                : spatialIndex.within(lat, lng, radiusKm, category);
+        if (hits.size() > limit) hits = hits.subList(0, limit);
+
+        Map<Long, Double> distanceKm = new LinkedHashMap<>();
+        hits.forEach(h -> distanceKm.put(h.storeId(), h.distanceKm()));
+
+        if (distanceKm.isEmpty()) return new NearbyStores(List.of(), distanceKm);
+        Map<Long, StoreCardDto> byId = storeRepository.findCardsByIdIn(distanceKm.keySet()).stream()
+                .collect(Collectors.toMap(StoreCardDto::getId, Function.identity()));
+        List<StoreCardDto> ordered = distanceKm.keySet().stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new NearbyStores(ordered, distanceKm);
+    }
+
+    /** 가까운 순 가게 + 가게별 거리(km) */
+    public record NearbyStores(List<StoreCardDto> stores, Map<Long, Double> distanceKm) {}
 }
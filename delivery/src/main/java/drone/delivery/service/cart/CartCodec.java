@@ -0,0 +1,76 @@
+package drone.delivery.service.cart;
+
+import drone.delivery.domain.CartItem;
+import drone.delivery.domain.CartItemOption;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 장바구니 직렬화 (고정 레이아웃 바이너리, 자바 기본 직렬화 미사용)
+ * - [포맷 버전][줄 수] 이후 줄마다 상품 id/이름/단가/수량, 옵션 수, 옵션마다 id/이름/증감가/수량
+ * - 이름은 담을 당시의 스냅샷이라 상품이 바뀌어도 장바구니 표시는 그대로
+ */
+final class CartCodec {
+
+    private static final byte FORMAT = 1;
+
+    private CartCodec() {}
+
+    static byte[] encode(List<CartItem> items) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + items.size() * 48);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT);
+            out.writeShort(items.size());
+            for (CartItem ci : items) {
+                out.writeLong(ci.getProductId());
+                out.writeUTF(ci.getProductName() == null ? "" : ci.getProductName());
+                out.writeInt(ci.getPrice());
+                out.writeInt(ci.getQuantity());
+                List<CartItemOption> options = ci.getOptions() == null ? List.of() : ci.getOptions();
+                out.writeByte(options.size());
+                for (CartItemOption o : options) {
+                    out.writeLong(o.getOptionItemId() == null ? 0 : o.getOptionItemId());
+                    out.writeUTF(o.getName() == null ? "" : o.getName());
+                    out.writeInt(o.getPriceDelta());
+                    out.writeShort(o.getQuantity() == null ? 1 : o.getQuantity());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static List<CartItem> decode(byte[] data) {
+        if (data == null || data.length == 0) return new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            byte format = in.readByte();
+            if (format != FORMAT) throw new IllegalStateException("알 수 없는 장바구니 포맷: " + format);
+            int lines = in.readUnsignedShort();
+            List<CartItem> items = new ArrayList<>(lines);
+            for (int i = 0; i < lines; i++) {
+                CartItem ci = new CartItem();
+                ci.setProductId(in.readLong());
+                ci.setProductName(in.readUTF());
+                ci.setPrice(in.readInt());
+                ci.setQuantity(in.readInt());
+                int options = in.readUnsignedByte();
+                for (int j = 0; j < options; j++) {
+                    CartItemOption o = new CartItemOption();
+                    long id = in.readLong();
+                    o.setOptionItemId(id == 0 ? null : id);
+                    o.setName(in.readUTF());
+                    o.setPriceDelta(in.readInt());
+                    o.setQuantity((int) in.readShort());
+                    ci.getOptions().add(o);
+                }
+                items.add(ci);
+            }
+            return items;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package drone.delivery.service.cart;
+
+import drone.delivery.domain.CartItem;
+import drone.delivery.domain.CartItemOption;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.function.UnaryOperator;
+
+/**
+ * 회원 × 가게별 장바구니 (HttpSession 대신 CartStore에 직렬화해서 보관)
+ * - 모든 변경은 읽기 → 수정 → 버전 비교 교체를 재시도하는 낙관적 루프라서 여러 탭에서 동시에 담아도 유실되지 않는다.
+ * - 쓸 때마다 TTL을 새로 잡고, 만료된 장바구니는 주기적으로 정리한다.
+ * - 화면에 넘기는 Cart는 매번 새로 디코딩한 사본이라 호출 측이 고쳐도 저장본에 영향이 없다.
+ */
+@Slf4j
+@Service
+public class CartService {
+
+    private static final int MAX_RETRY = 8;
+
+    private final CartStore store;
+    private final Duration ttl;
+    private final int maxLines;
+
+    public CartService(CartStore store,
+                       @Value("${app.cart.ttl-hours:72}") long ttlHours,
+                       @Value("${app.cart.max-lines:50}") int maxLines) {
+        this.store = store;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.maxLines = maxLines;
+    }
+
+    public Cart get(Long memberId, Long storeId) {
+        CartStore.Versioned v = store.get(key(memberId, storeId));
+        if (v == null) return Cart.empty();
+        return Cart.of(CartCodec.decode(v.value()), v.version());
+    }
+
+    /** 담기: 같은 상품·같은 옵션·같은 단가 줄이 있으면 수량만 합친다. */
+    public Cart add(Long memberId, Long storeId, CartItem item) {
+        return merge(memberId, storeId, List.of(item));
+    }
+
+    /** 여러 줄을 한 번에 합친다. (원자적: 전부 반영되거나 전혀 반영되지 않음) */
+    public Cart merge(Long memberId, Long storeId, List<CartItem> incoming) {
+        return update(memberId, storeId, items -> {
+            for (CartItem in : incoming) {
+                CartItem same = items.stream().filter(ci -> sameLine(ci, in)).findFirst().orElse(null);
+                if (same != null) {
+                    same.setQuantity(same.getQuantity() + Math.max(1, in.getQuantity()));
+                } else {
+                    if (items.size() >= maxLines) {
+                        throw new IllegalStateException("장바구니에는 최대 " + maxLines + "개 메뉴까지 담을 수 있습니다.");
+                    }
+                    items.add(in);
+                }
+            }
+            return items;
+        });
+    }
+
+    /** 상품 빼기 (옵션이 다른 줄까지 해당 상품 전부) */
+    public Cart remove(Long memberId, Long storeId, Long productId) {
+        return update(memberId, storeId, items -> {
+            items.removeIf(ci -> ci.getProductId().equals(productId));
+            return items;
+        });
+    }
+
+    /**
+     * 주문할 줄 가져가기: 주문 전에 lines 만큼을 장바구니에서 원자적으로 뺀다. (버전 비교 교체)
+     * - 그 사이 다른 탭에서 담은 메뉴는 남고, 주문한 줄만 빠진다.
+     * - 같은 장바구니로 두 번 주문하면 두 번째는 뺄 줄이 없어서 실패한다.
+     * - 주문이 실패하면 restore 로 되돌린다.
+     * @throws IllegalStateException 주문하려는 줄이 장바구니에 (그 수량만큼) 없을 때
+     */
+    public Cart claim(Long memberId, Long storeId, List<CartItem> lines) {
+        return update(memberId, storeId, items -> {
+            for (CartItem line : lines) {
+                int qty = Math.max(1, line.getQuantity());
+                CartItem same = items.stream().filter(ci -> sameLine(ci, line)).findFirst().orElse(null);
+                if (same == null || same.getQuantity() < qty) {
+                    throw new IllegalStateException("장바구니가 바뀌었거나 이미 주문된 메뉴입니다. 장바구니를 확인해 주세요.");
+                }
+                if (same.getQuantity() == qty) items.remove(same);
+                else same.setQuantity(same.getQuantity() - qty);
+            }
+            return items;
+        });
+    }
+
+    /** claim 으로 가져간 줄 되돌리기 (주문 실패 시). 최대 줄 수 제한은 보지 않는다. */
+    public Cart restore(Long memberId, Long storeId, List<CartItem> lines) {
+        return update(memberId, storeId, items -> {
+            for (CartItem line : lines) {
+                CartItem same = items.stream().filter(ci -> sameLine(ci, line)).findFirst().orElse(null);
+                if (same != null) same.setQuantity(same.getQuantity() + Math.max(1, line.getQuantity()));
+                else items.add(line);
+            }
+            return items;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.cart.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        try {
+            int purged = store.purgeExpired();
+            if (purged > 0) log.debug("만료된 장바구니 {}건 정리", purged);
+        } catch (Exception e) {
+            log.warn("장바구니 만료 정리 실패: {}", e.getMessage());
+        }
+    }
+
+    private Cart update(Long memberId, Long storeId, UnaryOperator<List<CartItem>> change) {
+        String key = key(memberId, storeId);
+        for (int attempt = 0; attempt < MAX_RETRY; attempt++) {
+            CartStore.Versioned cur = store.get(key);
+            long version = cur == null ? 0 : cur.version();
+            List<CartItem> items = change.apply(cur == null ? new ArrayList<>() : CartCodec.decode(cur.value()));
+
+            byte[] value = items.isEmpty() ? null : CartCodec.encode(items);
+            long next = store.compareAndSet(key, version, value, ttl);
+            if (next >= 0) return Cart.of(items, next);
+        }
+        throw new IllegalStateException("장바구니가 동시에 수정되고 있습니다. 잠시 후 다시 시도해 주세요.");
+    }
+
+    private static String key(Long memberId, Long storeId) {
+        if (memberId == null || storeId == null) {
+            throw new IllegalArgumentException("회원/가게 정보가 없어 장바구니를 찾을 수 없습니다.");
+        }
+        return "m" + memberId + ":s" + storeId;
+    }
+
+    private static boolean sameLine(CartItem a, CartItem b) {
+        return a.getProductId().equals(b.getProductId())
+                && a.getPrice() == b.getPrice()
+                && optionIds(a).equals(optionIds(b));
+    }
+
+    private static List<Long> optionIds(CartItem ci) {
+        if (ci.getOptions() == null) return List.of();
+        return ci.getOptions().stream().map(CartItemOption::getOptionItemId).filter(Objects::nonNull).sorted().toList();
+    }
+
+    /**
+     * 화면/주문용 장바구니 사본
+     * @param version 읽은 시점의 저장 버전 (0 = 비어 있음)
+     */
+    public record Cart(List<CartItem> items, int totalPrice, long version) {
+        public static Cart empty() { return new Cart(List.of(), 0, 0); }
+
+        // 합계: 항상 (단가 × 수량)
+        static Cart of(List<CartItem> items, long version) {
+            int total = items.stream()
+                    .mapToInt(ci -> Math.max(0, ci.getPrice()) * Math.max(1, ci.getQuantity()))
+                    .sum();
+            return new Cart(List.copyOf(items), total, version);
+        }
+
+        public boolean isEmpty() { return items.isEmpty(); }
+    }
+}
@@ -0,0 +1,27 @@
+package drone.delivery.service.cart;
+
+import java.time.Duration;
+
+/**
+ * 장바구니 저장소 (직렬화된 바이트 + 버전 + 만료)
+ * - 모든 쓰기는 버전 비교 후 교체(compare-and-set)라서 여러 탭/여러 노드가 동시에 고쳐도 갱신이 유실되지 않는다.
+ * - 구현: 인메모리(app.cart.store=memory, 기본), JDBC(app.cart.store=jdbc, 노드 간 공유)
+ */
+public interface CartStore {
+
+    /** 저장된 장바구니 (없거나 만료됐으면 null) */
+    Versioned get(String key);
+
+    /**
+     * 현재 버전이 expectedVersion 일 때만 value로 교체하고 TTL을 다시 잡는다.
+     * - expectedVersion = 0 : 아직 없는(또는 만료된) 키에만 저장
+     * - value = null : 조건부 삭제
+     * @return 저장된 새 버전 (삭제면 0), 버전이 달라 실패하면 -1
+     */
+    long compareAndSet(String key, long expectedVersion, byte[] value, Duration ttl);
+
+    /** 만료된 항목 정리, 정리한 건수 */
+    int purgeExpired();
+
+    record Versioned(byte[] value, long version) {}
+}
@@ -0,0 +1,112 @@
+package drone.delivery.service.cart;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 기본 장바구니 저장소: 같은 JVM 안의 ConcurrentHashMap (단일 노드)
+ * - 키 단위 원자 교체는 ConcurrentHashMap.compute 로 보장
+ * - 만료 시각 순 색인(expiry)을 같이 들고 있어서 만료 정리/넘침 정리가 앞에서부터 꺼내기만 하면 된다.
+ * - 항목 수가 max-entries 를 넘으면 만료 임박한 것부터 내보낸다.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cart.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryCartStore implements CartStore {
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    // 만료 시각 → 버전 순 (버전은 전역 유일이라 같은 시각이어도 겹치지 않음)
+    private final ConcurrentSkipListSet<Expiry> expiry = new ConcurrentSkipListSet<>(
+            Comparator.comparingLong(Expiry::expiresAt).thenComparingLong(Expiry::version));
+    private final AtomicLong versions = new AtomicLong();
+    private final int maxEntries;
+
+    public InMemoryCartStore(@Value("${app.cart.memory.max-entries:100000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    public Versioned get(String key) {
+        Entry e = entries.get(key);
+        if (e == null || e.expired(System.currentTimeMillis())) return null;
+        return new Versioned(e.value(), e.version());
+    }
+
+    @Override
+    public long compareAndSet(String key, long expectedVersion, byte[] value, Duration ttl) {
+        long now = System.currentTimeMillis();
+        long[] result = {-1};
+        entries.compute(key, (k, cur) -> {
+            Entry live = cur != null && cur.expired(now) ? null : cur;
+            long currentVersion = live == null ? 0 : live.version();
+            if (currentVersion != expectedVersion) return cur;
+            if (cur != null) expiry.remove(cur.expiry(k));
+            if (value == null) {
+                result[0] = 0;
+                return null;
+            }
+            long next = versions.incrementAndGet();
+            result[0] = next;
+            Entry e = new Entry(value, next, now + ttl.toMillis());
+            expiry.add(e.expiry(k));
+            return e;
+        });
+        if (entries.size() > maxEntries) evictOverflow();
+        return result[0];
+    }
+
+    @Override
+    public int purgeExpired() {
+        long now = System.currentTimeMillis();
+        int purged = 0;
+        for (Expiry first = firstOrNull(); first != null && first.expiresAt() < now; first = firstOrNull()) {
+            if (evict(first)) purged++;
+        }
+        return purged;
+    }
+
+    // 만료 정리 후에도 넘치면 만료가 가까운(= 가장 오래 안 건드린) 장바구니부터
+    private void evictOverflow() {
+        purgeExpired();
+        while (entries.size() > maxEntries) {
+            Expiry first = firstOrNull();
+            if (first == null) return;
+            evict(first);
+        }
+    }
+
+    // 색인 항목과 같은 버전일 때만 지운다 (그 사이 다시 쓰였으면 색인만 정리됨)
+    private boolean evict(Expiry target) {
+        boolean[] removed = {false};
+        entries.computeIfPresent(target.key(), (k, cur) -> {
+            if (cur.version() != target.version()) return cur;
+            removed[0] = true;
+            return null;
+        });
+        expiry.remove(target);
+        return removed[0];
+    }
+
+    private Expiry firstOrNull() {
+        try {
+            return expiry.first();
+        } catch (NoSuchElementException e) {
+            return null;
+        }
+    }
+
+    private record Entry(byte[] value, long version, long expiresAt) {
+        boolean expired(long now) { return expiresAt < now; }
+
+        Expiry expiry(String key) { return new Expiry(expiresAt, version, key); }
+    }
+
+    private record Expiry(long expiresAt, long version, String key) {}
+}
@@ -0,0 +1,82 @@
+package drone.delivery.service.cart;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * JDBC 장바구니 저장소: cart_store 테이블 한 행 = 장바구니 하나 (여러 노드가 공유, 스티키 세션 불필요)
+ * - 교체는 "where version = ?" 조건부 update/delete, 새로 만들 때는 PK 충돌로 경쟁을 판정
+ * - 만료 시각은 epoch ms (DB 타임존과 무관)
+ */
+@Component
+@ConditionalOnProperty(name = "app.cart.store", havingValue = "jdbc")
+public class JdbcCartStore implements CartStore {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcCartStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void createTable() {
+        jdbcTemplate.execute("""
+                create table if not exists cart_store (
+                    cart_key varchar(64) not null primary key,
+                    payload blob not null,
+                    version bigint not null,
+                    expires_at bigint not null
+                )
+                """);
+    }
+
+    @Override
+    public Versioned get(String key) {
+        List<Versioned> rows = jdbcTemplate.query(
+                "select payload, version from cart_store where cart_key = ? and expires_at >= ?",
+                (rs, i) -> new Versioned(rs.getBytes(1), rs.getLong(2)),
+                key, System.currentTimeMillis());
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    @Override
+    public long compareAndSet(String key, long expectedVersion, byte[] value, Duration ttl) {
+        long now = System.currentTimeMillis();
+        long expiresAt = now + ttl.toMillis();
+
+        if (expectedVersion == 0) {
+            if (value == null) return 0;
+            // 만료된 행이 남아 있으면 치우고 새로 넣는다. (버전은 이전 수명과 겹치지 않게 시각 기반)
+            jdbcTemplate.update("delete from cart_store where cart_key = ? and expires_at < ?", key, now);
+            try {
+                jdbcTemplate.update("insert into cart_store (cart_key, payload, version, expires_at) values (?, ?, ?, ?)",
+                        key, value, now, expiresAt);
+                return now;
+            } catch (DuplicateKeyException e) {
+                return -1;
+            }
+        }
+
+        if (value == null) {
+            int deleted = jdbcTemplate.update("delete from cart_store where cart_key = ? and version = ?",
+                    key, expectedVersion);
+            return deleted == 1 ? 0 : -1;
+        }
+        int updated = jdbcTemplate.update(
+                "update cart_store set payload = ?, version = version + 1, expires_at = ? " +
+                        "where cart_key = ? and version = ? and expires_at >= ?",
+                value, expiresAt, key, expectedVersion, now);
+        return updated == 1 ? expectedVersion + 1 : -1;
+    }
+
+    @Override
+    public int purgeExpired() {
+        return jdbcTemplate.update("delete from cart_store where expires_at < ?", System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,152 @@
+package drone.delivery.service.drone;
+
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * 횟수 기반 서킷 브레이커 (최근 windowSize 건의 결과로 판단)
+ * - CLOSED: 모두 통과. 최근 결과가 minimumCalls 건 이상이고 실패율이 threshold 이상이면 OPEN
+ * - OPEN: openDuration 동안 즉시 거절 (거절 비용은 volatile 읽기 몇 번)
+ * - HALF_OPEN: openDuration 이 지나면 halfOpenCalls 건만 시험 호출로 통과시킨다.
+ *   전부 성공하면 CLOSED(창 초기화), 하나라도 실패하면 다시 OPEN
+ * - 상태 변경은 this 로 동기화, 열려 있을 때의 거절 경로는 락을 잡지 않는다.
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final LongSupplier nanoClock;
+    private final Consumer<State> onTransition;
+
+    private volatile State state = State.CLOSED;
+    private volatile long openUntil;
+
+    // 최근 결과 링 버퍼 (true = 실패)
+    private final boolean[] window;
+    private int windowPos;
+    private int windowCount;
+    private int windowFailures;
+
+    // 시험 호출: 내보낸 수 / 성공한 수
+    private int halfOpenStarted;
+    private int halfOpenSucceeded;
+
+    /**
+     * @param failureRatePercent 1~100
+     * @param onTransition 상태가 바뀔 때 (바뀐 상태, 동기화 블록 안에서 호출되므로 가볍게)
+     */
+    public CircuitBreaker(int windowSize, int minimumCalls, int failureRatePercent,
+                          long openMillis, int halfOpenCalls, Consumer<State> onTransition) {
+        this(windowSize, minimumCalls, failureRatePercent, openMillis, halfOpenCalls, onTransition, System::nanoTime);
+    }
+
+    CircuitBreaker(int windowSize, int minimumCalls, int failureRatePercent,
+                   long openMillis, int halfOpenCalls, Consumer<State> onTransition, LongSupplier nanoClock) {
+        if (windowSize < 1 || minimumCalls < 1 || halfOpenCalls < 1) {
+            throw new IllegalArgumentException("서킷 브레이커 설정은 1 이상이어야 합니다.");
+        }
+        if (failureRatePercent < 1 || failureRatePercent > 100) {
+            throw new IllegalArgumentException("실패율 기준은 1~100 이어야 합니다: " + failureRatePercent);
+        }
+        this.windowSize = windowSize;
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRatePercent / 100.0;
+        this.openNanos = openMillis * 1_000_000L;
+        this.halfOpenCalls = halfOpenCalls;
+        this.onTransition = onTransition;
+        this.nanoClock = nanoClock;
+        this.window = new boolean[windowSize];
+    }
+
+    /** 호출해도 되는지 (true 면 결과를 onSuccess/onFailure/onIgnored 중 하나로 반드시 알려 줄 것) */
+    public boolean tryAcquire() {
+        State s = state;
+        if (s == State.CLOSED) return true;
+        if (s == State.OPEN && nanoClock.getAsLong() - openUntil < 0) return false;
+        synchronized (this) {
+            if (state == State.OPEN) {
+                if (nanoClock.getAsLong() - openUntil < 0) return false;
+                halfOpenStarted = 0;
+                halfOpenSucceeded = 0;
+                transition(State.HALF_OPEN);
+            }
+            if (state == State.CLOSED) return true;
+            if (halfOpenStarted >= halfOpenCalls) return false;
+            halfOpenStarted++;
+            return true;
+        }
+    }
+
+    /** 지금 호출을 시도할 수 있는 상태인지 (상태는 바꾸지 않음) */
+    public boolean allowsCalls() {
+        State s = state;
+        return s != State.OPEN || nanoClock.getAsLong() - openUntil >= 0;
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.CLOSED) {
+            push(false);
+        } else if (state == State.HALF_OPEN && ++halfOpenSucceeded >= halfOpenCalls) {
+            close();
+        }
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.CLOSED) {
+            push(true);
+            if (windowCount >= minimumCalls && windowFailures >= failureRateThreshold * windowCount) open();
+        } else if (state == State.HALF_OPEN) {
+            open();
+        }
+    }
+
+    /** 결과 없이 끝난 호출 (취소 등): 시험 호출 자리만 돌려준다 */
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN && halfOpenStarted > halfOpenSucceeded) halfOpenStarted--;
+    }
+
+    public State state() {
+        return state;
+    }
+
+    /** OPEN 이면 시험 호출까지 남은 시간(ms), 아니면 0 */
+    public long remainingOpenMillis() {
+        if (state != State.OPEN) return 0;
+        return Math.max(0, (openUntil - nanoClock.getAsLong()) / 1_000_000L);
+    }
+
+    /* ---------- 내부 ---------- */
+
+    private void push(boolean failure) {
+        if (windowCount == windowSize) {
+            if (window[windowPos]) windowFailures--;
+        } else {
+            windowCount++;
+        }
+        window[windowPos] = failure;
+        if (failure) windowFailures++;
+        windowPos = (windowPos + 1) % windowSize;
+    }
+
+    private void open() {
+        openUntil = nanoClock.getAsLong() + openNanos;
+        transition(State.OPEN);
+    }
+
+    private void close() {
+        windowPos = 0;
+        windowCount = 0;
+        windowFailures = 0;
+        transition(State.CLOSED);
+    }
+
+    private void transition(State next) {
+        state = next;
+        if (onTransition != null) onTransition.accept(next);
+    }
+}
@@ -0,0 +1,164 @@
+package drone.delivery.service.drone;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 드론 서버 호출 보호막: 서킷 브레이커 하나 + 용도별 벌크헤드
+ * - 서킷 브레이커: 드론 서버가 죽으면 배차/상태/이미지가 같이 죽으므로 하나를 공유한다.
+ *   실패로 세는 것: 5xx, 연결 실패, 타임아웃, 응답 도중 끊김 (4xx 는 서버가 살아 있다는 뜻이라 성공으로 셈)
+ * - 벌크헤드: 용도(Lane)별 동시 호출 상한. 이미지 폴링이 몰려도 배차 전송 자리를 뺏지 못하게 한다.
+ *   자리가 없으면 기다리지 않고 바로 거절
+ * - 거절은 DroneUnavailableException 으로 즉시 실패 (네트워크/타임아웃 대기 없음)
+ * - 지표: drone.circuit.state (0 closed, 1 half-open, 2 open), drone.circuit.transitions{state},
+ *        drone.guard.rejected{lane, reason=circuit_open|bulkhead_full}, drone.bulkhead.active{lane}
+ */
+@Slf4j
+@Component
+public class DroneServerGuard {
+
+    public enum Lane { DISPATCH, STATUS, IMAGE }
+
+    public enum Reason { CIRCUIT_OPEN, BULKHEAD_FULL }
+
+    private final CircuitBreaker breaker;
+    private final Map<Lane, Semaphore> bulkheads = new EnumMap<>(Lane.class);
+    private final Map<Lane, Map<Reason, Counter>> rejected = new EnumMap<>(Lane.class);
+
+    public DroneServerGuard(MeterRegistry meterRegistry,
+                            @Value("${app.drone.circuit.window-size:20}") int windowSize,
+                            @Value("${app.drone.circuit.minimum-calls:10}") int minimumCalls,
+                            @Value("${app.drone.circuit.failure-rate-threshold:50}") int failureRatePercent,
+                            @Value("${app.drone.circuit.open-ms:10000}") long openMs,
+                            @Value("${app.drone.circuit.half-open-calls:3}") int halfOpenCalls,
+                            @Value("${app.drone.bulkhead.dispatch:128}") int dispatchSlots,
+                            @Value("${app.drone.bulkhead.status:64}") int statusSlots,
+                            @Value("${app.drone.bulkhead.image:32}") int imageSlots) {
+        this.breaker = new CircuitBreaker(windowSize, minimumCalls, failureRatePercent, openMs, halfOpenCalls,
+                state -> {
+                    meterRegistry.counter("drone.circuit.transitions", "state", tagValue(state)).increment();
+                    if (state == CircuitBreaker.State.OPEN) log.warn("🔌 드론 서버 서킷 열림: {}ms 동안 호출 차단", openMs);
+                    else log.info("🔌 드론 서버 서킷 {}", state == CircuitBreaker.State.CLOSED ? "닫힘 (복구)" : "반열림 (시험 호출)");
+                });
+        Gauge.builder("drone.circuit.state", breaker, b -> switch (b.state()) {
+                    case CLOSED -> 0;
+                    case HALF_OPEN -> 1;
+                    case OPEN -> 2;
+                })
+                .description("드론 서버 서킷 상태 (0 closed, 1 half-open, 2 open)").register(meterRegistry);
+
+        Map<Lane, Integer> slots = Map.of(Lane.DISPATCH, dispatchSlots, Lane.STATUS, statusSlots, Lane.IMAGE, imageSlots);
+        for (Lane lane : Lane.values()) {
+            int max = slots.get(lane);
+            Semaphore bulkhead = new Semaphore(max);
+            bulkheads.put(lane, bulkhead);
+            Gauge.builder("drone.bulkhead.active", bulkhead, s -> max - s.availablePermits())
+                    .tag("lane", tagValue(lane))
+                    .description("용도별 진행 중인 드론 서버 호출 수").register(meterRegistry);
+            Map<Reason, Counter> byReason = new EnumMap<>(Reason.class);
+            for (Reason reason : Reason.values()) {
+                byReason.put(reason, Counter.builder("drone.guard.rejected")
+                        .tag("lane", tagValue(lane))
+                        .tag("reason", tagValue(reason))
+                        .description("서킷/벌크헤드에 막혀 바로 거절된 드론 서버 호출 수").register(meterRegistry));
+            }
+            rejected.put(lane, byReason);
+        }
+    }
+
+    /**
+     * call 을 보호막 안에서 실행한다. (구독할 때마다 판단)
+     * - 벌크헤드 자리 → 서킷 허가 순으로 확인, 하나라도 안 되면 바로 DroneUnavailableException
+     */
+    public <T> Mono<T> call(Lane lane, Mono<T> call) {
+        return Mono.defer(() -> {
+            Semaphore bulkhead = bulkheads.get(lane);
+            if (!bulkhead.tryAcquire()) return reject(lane, Reason.BULKHEAD_FULL);
+            if (!breaker.tryAcquire()) {
+                bulkhead.release();
+                return reject(lane, Reason.CIRCUIT_OPEN);
+            }
+            AtomicBoolean settled = new AtomicBoolean();
+            return call
+                    .doOnSuccess(v -> {
+                        settled.set(true);
+                        breaker.onSuccess();
+                    })
+                    .doOnError(e -> {
+                        settled.set(true);
+                        if (isServerFailure(e)) breaker.onFailure();
+                        else breaker.onSuccess();
+                    })
+                    .doFinally(s -> {
+                        bulkhead.release();
+                        if (!settled.get()) breaker.onIgnored();
+                    });
+        });
+    }
+
+    /** 지금 드론 서버 호출을 시도할 수 있는지 (서킷이 열려 있으면 false) */
+    public boolean allowsCalls() {
+        return breaker.allowsCalls();
+    }
+
+    public CircuitBreaker.State state() {
+        return breaker.state();
+    }
+
+    /** 서킷이 열려 있으면 다시 시도해 볼 때까지 남은 시간(ms) */
+    public long retryAfterMillis() {
+        return breaker.remainingOpenMillis();
+    }
+
+    static boolean isServerFailure(Throwable e) {
+        if (e instanceof WebClientResponseException r) return r.getStatusCode().is5xxServerError();
+        return true;
+    }
+
+    private <T> Mono<T> reject(Lane lane, Reason reason) {
+        rejected.get(lane).get(reason).increment();
+        return Mono.error(new DroneUnavailableException(lane, reason, breaker.remainingOpenMillis()));
+    }
+
+    private static String tagValue(Enum<?> e) {
+        return e.name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 보호막에 막혀 호출하지 않음 (드론 서버에는 요청이 나가지 않았다)
+     * - 서킷이 열려 있을 때 요청마다 생기므로 스택 트레이스는 만들지 않는다.
+     */
+    @Getter
+    public static class DroneUnavailableException extends IllegalStateException {
+        private final Lane lane;
+        private final Reason reason;
+        private final long retryAfterMillis;
+
+        public DroneUnavailableException(Lane lane, Reason reason, long retryAfterMillis) {
+            super(reason == Reason.CIRCUIT_OPEN
+                    ? "드론 서버 일시 차단 중 (서킷 열림)"
+                    : "드론 서버 호출 혼잡 (" + tagValue(lane) + " 동시 호출 상한)");
+            this.lane = lane;
+            this.reason = reason;
+            this.retryAfterMillis = retryAfterMillis;
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package drone.delivery.service.option;
+
+import drone.delivery.domain.SelectType;
+import drone.delivery.service.option.ProductOptionTreeCache.Group;
+import drone.delivery.service.option.ProductOptionTreeCache.Item;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * 상품 하나의 옵션 규칙을 배열로 미리 컴파일한 검증기 (불변, 스레드 안전)
+ * - 아이템 id 정렬 배열 + 이진 탐색으로 아이템 → 그룹 인덱스/가격을 찾는다. (HashMap, 박싱 없음)
+ * - 품절 아이템은 BitSet, 그룹별 필수/단일/최소/최대는 int 배열
+ * - 검증 한 번에 할당은 그룹별 선택 수 배열과 중복 체크 배열 두 개뿐
+ * - 옵션 트리 스냅샷(ProductOptionTreeCache.OptionTree)을 만들 때 함께 컴파일된다.
+ */
+public final class CompiledOptionRules {
+
+    private static final int UNBOUNDED = Integer.MAX_VALUE;
+
+    // 아이템 (id 오름차순)
+    private final long[] itemIds;
+    private final int[] itemGroup;
+    private final int[] itemPrice;
+    private final String[] itemNames;
+    private final BitSet soldOut;
+
+    // 그룹 (화면 노출 순서)
+    private final String[] groupNames;
+    private final boolean[] required;
+    private final boolean[] single;
+    private final int[] minSelect;
+    private final int[] maxSelect;
+
+    private CompiledOptionRules(long[] itemIds, int[] itemGroup, int[] itemPrice, String[] itemNames, BitSet soldOut,
+                                String[] groupNames, boolean[] required, boolean[] single,
+                                int[] minSelect, int[] maxSelect) {
+        this.itemIds = itemIds;
+        this.itemGroup = itemGroup;
+        this.itemPrice = itemPrice;
+        this.itemNames = itemNames;
+        this.soldOut = soldOut;
+        this.groupNames = groupNames;
+        this.required = required;
+        this.single = single;
+        this.minSelect = minSelect;
+        this.maxSelect = maxSelect;
+    }
+
+    public static CompiledOptionRules compile(List<Group> groups) {
+        int groupCount = groups.size();
+        String[] groupNames = new String[groupCount];
+        boolean[] required = new boolean[groupCount];
+        boolean[] single = new boolean[groupCount];
+        int[] min = new int[groupCount];
+        int[] max = new int[groupCount];
+
+        int itemCount = 0;
+        for (Group g : groups) itemCount += g.items().size();
+        Item[] items = new Item[itemCount];
+        int[] groupOf = new int[itemCount];
+
+        int n = 0;
+        for (int gi = 0; gi < groupCount; gi++) {
+            Group g = groups.get(gi);
+            groupNames[gi] = g.name();
+            required[gi] = g.required();
+            single[gi] = g.selectType() != SelectType.MULTI;
+            min[gi] = g.minSelect() == null ? 0 : g.minSelect();
+            max[gi] = g.maxSelect() == null ? UNBOUNDED : g.maxSelect();
+            for (Item it : g.items()) {
+                items[n] = it;
+                groupOf[n++] = gi;
+            }
+        }
+
+        // id 오름차순으로 정렬 (이진 탐색용)
+        Integer[] order = new Integer[itemCount];
+        for (int i = 0; i < itemCount; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> Long.compare(items[a].id(), items[b].id()));
+
+        long[] itemIds = new long[itemCount];
+        int[] itemGroup = new int[itemCount];
+        int[] itemPrice = new int[itemCount];
+        String[] itemNames = new String[itemCount];
+        BitSet soldOut = new BitSet(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            Item it = items[order[i]];
+            itemIds[i] = it.id();
+            itemGroup[i] = groupOf[order[i]];
+            itemPrice[i] = it.priceDelta();
+            itemNames[i] = it.name();
+            if (it.soldOut()) soldOut.set(i);
+        }
+        return new CompiledOptionRules(itemIds, itemGroup, itemPrice, itemNames, soldOut,
+                groupNames, required, single, min, max);
+    }
+
+    /**
+     * 선택 옵션을 검증하고 옵션가 합계를 돌려준다.
+     * - 상품에 없는 옵션/중복 선택 → IllegalArgumentException
+     * - 품절 옵션 → IllegalStateException
+     * - 그룹 규칙(필수 / 단일 / 다중 min,max) 위반 → IllegalArgumentException
+     */
+    public int validateAndSum(List<Long> selectedIds) {
+        int[] counts = new int[groupNames.length];
+        boolean[] chosen = itemIds.length == 0 ? null : new boolean[itemIds.length];
+        int sum = 0;
+
+        for (int i = 0, size = selectedIds.size(); i < size; i++) {
+            Long id = selectedIds.get(i);
+            int idx = id == null ? -1 : indexOf(id);
+            if (idx < 0) {
+                throw new IllegalArgumentException("상품에 없는 옵션이 포함되어 있습니다.");
+            }
+            if (chosen[idx]) {
+                throw new IllegalArgumentException("같은 옵션이 중복 선택되었습니다: " + itemNames[idx]);
+            }
+            chosen[idx] = true;
+            if (soldOut.get(idx)) {
+                throw new IllegalStateException("옵션 품절: " + itemNames[idx]);
+            }
+            counts[itemGroup[idx]]++;
+            sum += itemPrice[idx];
+        }
+
+        for (int g = 0; g < counts.length; g++) {
+            int count = counts[g];
+            if (required[g] && count == 0) {
+                throw new IllegalArgumentException("필수 옵션을 선택하세요: " + groupNames[g]);
+            }
+            if (single[g]) {
+                if (count > 1) throw new IllegalArgumentException("단일 선택 그룹입니다: " + groupNames[g]);
+            } else {
+                if (count < minSelect[g]) {
+                    throw new IllegalArgumentException(groupNames[g] + "은(는) 최소 " + minSelect[g] + "개 선택해야 합니다.");
+                }
+                if (count > maxSelect[g]) {
+                    throw new IllegalArgumentException(groupNames[g] + "은(는) 최대 " + maxSelect[g] + "개까지 선택할 수 있습니다.");
+                }
+            }
+        }
+        return sum;
+    }
+
+    /** 아이템 인덱스 (없으면 음수) */
+    public int indexOf(long itemId) {
+        return Arrays.binarySearch(itemIds, itemId);
+    }
+
+    public String itemName(int index) { return itemNames[index]; }
+
+    public int itemPrice(int index) { return itemPrice[index]; }
+
+    public int itemCount() { return itemIds.length; }
+}
@@ -0,0 +1,152 @@
+package drone.delivery.service.option;
+
+import drone.delivery.domain.*;
+import drone.delivery.repository.ProductRepository;
+import drone.delivery.service.AfterCommit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * 상품 옵션 트리 스냅샷 캐시 (read-through, 크기 제한 LRU)
+ * - 상품 상세/장바구니 담기마다 돌던 4중 fetch join(findWithOptionTree) 대신, 한 번 읽은 트리를
+ *   불변 스냅샷(정렬·중복 제거·비활성 링크 제외 완료)으로 만들어 재사용한다.
+ * - 옵션/상품 쓰기 경로(OptionOwnerService, ProductController, ProductService, StoreService)가 커밋 후 무효화한다.
+ * - 버전: 무효화마다 version을 올리고, 로딩 시작 시점의 version과 다르면 읽은 값을 캐시에 넣지 않는다.
+ *   (커밋 직전에 읽은 옛 트리가 무효화 뒤에 들어가 남는 경쟁 방지)
+ * - 단일 인스턴스 기준 (다른 노드의 쓰기는 반영되지 않음)
+ */
+@Slf4j
+@Component
+public class ProductOptionTreeCache {
+
+    private final ProductRepository productRepository;
+    private final Map<Long, OptionTree> cache;
+    private final AtomicLong version = new AtomicLong();
+
+    public ProductOptionTreeCache(ProductRepository productRepository,
+                                  @Value("${app.product.option-cache.size:2000}") int cacheSize) {
+        this.productRepository = productRepository;
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, OptionTree> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    /**
+     * 상품 옵션 트리 조회 (캐시 적중 시 쿼리 없음)
+     * @throws IllegalArgumentException 상품이 없을 때
+     */
+    public OptionTree get(Long productId) {
+        OptionTree cached = cache.get(productId);
+        if (cached != null) return cached;
+
+        long seen = version.get();
+        Product p = productRepository.findWithOptionTree(productId)
+                .orElseThrow(() -> new IllegalArgumentException("상품을 찾을 수 없습니다."));
+        OptionTree tree = OptionTree.of(p);
+        synchronized (cache) {
+            if (version.get() == seen) cache.put(productId, tree);
+        }
+        return tree;
+    }
+
+    /* ---------- 무효화 (모두 커밋 후 반영, 트랜잭션 밖이면 즉시) ---------- */
+
+    /** 상품 자체(이름/가격/이미지/링크 연결·정렬) 변경 */
+    public void invalidateProductAfterCommit(Long productId) {
+        AfterCommit.run(() -> evict(t -> t.productId().equals(productId)));
+    }
+
+    /** 옵션 그룹 변경/삭제: 이 그룹을 쓰는 모든 상품 (그룹은 여러 상품에 재사용될 수 있음) */
+    public void invalidateGroupAfterCommit(Long groupId) {
+        AfterCommit.run(() -> evict(t -> t.groupsById().containsKey(groupId)));
+    }
+
+    /** 옵션 아이템 변경/삭제: 이 아이템이 속한 그룹을 쓰는 모든 상품 */
+    public void invalidateItemAfterCommit(Long itemId) {
+        AfterCommit.run(() -> evict(t -> t.itemsById().containsKey(itemId)));
+    }
+
+    /** 가게 삭제: 가게 상품 전체 (cascade로 함께 삭제됨) */
+    public void invalidateStoreAfterCommit(Long storeId) {
+        AfterCommit.run(() -> evict(t -> storeId.equals(t.storeId())));
+    }
+
+    public int size() { return cache.size(); }
+
+    private void evict(Predicate<OptionTree> affected) {
+        synchronized (cache) {
+            version.incrementAndGet();
+            cache.values().removeIf(affected);
+        }
+    }
+
+    /* ---------- 불변 스냅샷 ---------- */
+
+    /**
+     * 상품 하나의 옵션 트리
+     * - groups: 활성 링크만, 링크 sortOrder → id 순, 같은 그룹 중복 제거
+     * - items: 그룹별 sortOrder → id 순
+     * - quantity: 조회 시점의 DB 재고 (재고 원장 슬롯 초기값 용도, 가용 재고는 원장 기준)
+     * - rules: 장바구니 담기 검증/가격 계산용으로 미리 컴파일한 규칙
+     */
+    public record OptionTree(Long productId, Long storeId, String name, int basePrice, int quantity,
+                             String imageUrl, String description, List<Group> groups,
+                             Map<Long, Group> groupsById, Map<Long, Item> itemsById,
+                             CompiledOptionRules rules) {
+
+        static OptionTree of(Product p) {
+            List<ProductOptionGroupLink> links = p.getOptionGroupLinks().stream()
+                    .filter(ProductOptionGroupLink::isEnabled)
+                    .sorted(Comparator
+                            .comparingInt((ProductOptionGroupLink l) -> l.getSortOrder() == null ? 0 : l.getSortOrder())
+                            .thenComparing(ProductOptionGroupLink::getId))
+                    .toList();
+
+            Map<Long, Group> groupsById = new LinkedHashMap<>();
+            Map<Long, Item> itemsById = new HashMap<>();
+            for (ProductOptionGroupLink l : links) {
+                OptionGroup g = l.getOptionGroup();
+                if (g == null || g.getId() == null || groupsById.containsKey(g.getId())) continue;
+                Group group = Group.of(g);
+                groupsById.put(g.getId(), group);
+                for (Item it : group.items()) itemsById.put(it.id(), it);
+            }
+
+            List<Group> groups = List.copyOf(groupsById.values());
+            return new OptionTree(p.getId(), p.getStore() == null ? null : p.getStore().getId(),
+                    p.getFoodName(), p.getFoodPrice(), p.getQuantity(),
+                    p.getProductImageUrl(), p.getProductDescription(),
+                    groups, Collections.unmodifiableMap(groupsById), Map.copyOf(itemsById),
+                    CompiledOptionRules.compile(groups));
+        }
+    }
+
+    public record Group(Long id, String name, SelectType selectType, boolean required,
+                        Integer minSelect, Integer maxSelect, List<Item> items) {
+
+        static Group of(OptionGroup g) {
+            List<Item> items = g.getItems().stream()
+                    .sorted(Comparator
+                            .comparingInt((OptionItem it) -> it.getSortOrder() == null ? 0 : it.getSortOrder())
+                            .thenComparing(OptionItem::getId))
+                    .map(it -> new Item(it.getId(), g.getId(), it.getName(),
+                            it.getPriceDelta() == null ? 0 : it.getPriceDelta(), it.getStock()))
+                    .toList();
+            SelectType st = g.getSelectType() == null ? SelectType.SINGLE : g.getSelectType();
+            return new Group(g.getId(), g.getName(), st, g.isRequired(), g.getMinSelect(), g.getMaxSelect(), items);
+        }
+    }
+
+    /** stock: null이면 판매중, 0 이하면 품절 */
+    public record Item(Long id, Long groupId, String name, int priceDelta, Integer stock) {
+        public boolean soldOut() { return stock != null && stock <= 0; }
+    }
+}
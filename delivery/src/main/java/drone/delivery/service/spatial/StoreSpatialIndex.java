@@ -0,0 +1,216 @@
+package drone.delivery.service.spatial;
+
+import drone.delivery.async.GeocodeQueue;
+import drone.delivery.dto.StoreLocation;
+import drone.delivery.repository.StoreRepository;
+import drone.delivery.service.AfterCommit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 가게 위치 공간 인덱스 (인메모리 위경도 격자)
+ * - 위도/경도를 cellDeg 크기의 격자로 나누고, 격자 칸 → 가게 id 집합으로 보관한다.
+ * - K개 최근접: 회원 위치의 칸에서 시작해 링 단위로 넓혀가며 후보를 모으고,
+ *   다음 링까지의 최소 거리보다 K번째 후보가 가까우면 멈춘다. (가게 수가 아니라 주변 밀도에 비례)
+ * - 반경 검색: 반경을 덮는 칸 중 가게가 있는 범위(min/max 칸) 안만 훑는다.
+ * - 시작 시 DB에서 한 번 적재, 이후 StoreService 생성/수정/삭제(커밋 후)와 지오코딩 완료 시 갱신
+ */
+@Slf4j
+@Component
+public class StoreSpatialIndex {
+
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    private static final double KM_PER_DEG_LAT = 111.32;
+
+    private final StoreRepository storeRepository;
+    private final double cellDeg;
+    private final int maxRings;
+
+    private final ConcurrentHashMap<Long, Set<Long>> cells = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    // 가게가 있는 칸의 범위 (링 확장 상한)
+    private volatile int minX = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE;
+    private volatile int minY = Integer.MAX_VALUE, maxY = Integer.MIN_VALUE;
+
+    public StoreSpatialIndex(StoreRepository storeRepository,
+                             GeocodeQueue geocodeQueue,
+                             @Value("${app.store.spatial.cell-deg:0.01}") double cellDeg,
+                             @Value("${app.store.spatial.max-rings:200}") int maxRings) {
+        this.storeRepository = storeRepository;
+        this.cellDeg = cellDeg;
+        this.maxRings = maxRings;
+        geocodeQueue.addStoreListener(this::onStoreLocated);
+    }
+
+    /** 검색 결과 한 건 */
+    public record NearbyStore(Long storeId, double distanceKm) {}
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<StoreLocation> all = storeRepository.findAllLocations();
+        all.forEach(this::put);
+        log.info("가게 공간 인덱스 적재: {}곳 (좌표 있는 가게 {}곳)", all.size(), entries.size());
+    }
+
+    /* ---------- 조회 ---------- */
+
+    /**
+     * 가까운 순 K개 (category 가 null/"전체"면 전체)
+     */
+    public List<NearbyStore> nearest(double lat, double lng, int k, String category) {
+        if (k <= 0 || entries.isEmpty()) return List.of();
+        String cat = normalizeCategory(category);
+        int cx = cellX(lng), cy = cellY(lat);
+        double ringKm = minCellKm(lat);
+
+        int lastRing = Math.min(maxRings, Math.max(
+                Math.max(Math.abs(cx - minX), Math.abs(cx - maxX)),
+                Math.max(Math.abs(cy - minY), Math.abs(cy - maxY))));
+
+        List<NearbyStore> found = new ArrayList<>();
+        for (int r = 0; r <= lastRing; r++) {
+            collectRing(cx, cy, r, lat, lng, cat, found);
+            if (found.size() >= k) {
+                found.sort(Comparator.comparingDouble(NearbyStore::distanceKm));
+                // 링 r 바깥의 가게는 최소 r*ringKm 이상 떨어져 있음
+                if (found.get(k - 1).distanceKm() <= r * ringKm) break;
+            }
+        }
+        found.sort(Comparator.comparingDouble(NearbyStore::distanceKm));
+        return found.size() > k ? new ArrayList<>(found.subList(0, k)) : found;
+    }
+
+    /**
+     * 반경 radiusKm 안의 가게 (가까운 순)
+     */
+    public List<NearbyStore> within(double lat, double lng, double radiusKm, String category) {
+        if (!(radiusKm > 0) || entries.isEmpty()) return List.of();
+        String cat = normalizeCategory(category);
+        double dLat = radiusKm / KM_PER_DEG_LAT;
+        double dLng = radiusKm / (KM_PER_DEG_LAT * Math.max(0.01, Math.cos(Math.toRadians(lat))));
+
+        // 반경이 덮는 칸 중 가게가 있는 범위만 (반경이 아무리 커도 훑는 칸 수는 가게 분포 범위로 제한)
+        int fromX = Math.max(cellX(lng - dLng), minX), toX = Math.min(cellX(lng + dLng), maxX);
+        int fromY = Math.max(cellY(lat - dLat), minY), toY = Math.min(cellY(lat + dLat), maxY);
+
+        List<NearbyStore> found = new ArrayList<>();
+        for (int x = fromX; x <= toX; x++) {
+            for (int y = fromY; y <= toY; y++) {
+                collectCell(x, y, lat, lng, cat, found);
+            }
+        }
+        found.removeIf(n -> n.distanceKm() > radiusKm);
+        found.sort(Comparator.comparingDouble(NearbyStore::distanceKm));
+        return found;
+    }
+
+    public int size() { return entries.size(); }
+
+    /* ---------- 갱신 (커밋 후 반영) ---------- */
+
+    public void putAfterCommit(StoreLocation location) {
+        AfterCommit.run(() -> put(location));
+    }
+
+    public void updateCategoryAfterCommit(Long storeId, String category) {
+        AfterCommit.run(() -> entries.computeIfPresent(storeId,
+                (id, e) -> new Entry(e.lat, e.lng, e.cellKey, category)));
+    }
+
+    public void removeAfterCommit(Long storeId) {
+        AfterCommit.run(() -> remove(storeId));
+    }
+
+    // 비동기 지오코딩이 가게 좌표를 채웠을 때
+    private void onStoreLocated(Long storeId, double lat, double lng) {
+        Entry prev = entries.get(storeId);
+        String category = (prev != null) ? prev.category
+                : storeRepository.findCategoryById(storeId).orElse(null);
+        put(new StoreLocation(storeId, lat, lng, category));
+    }
+
+    private synchronized void put(StoreLocation loc) {
+        if (loc.latitude() == null || loc.longitude() == null) return;
+        remove(loc.id());
+        int x = cellX(loc.longitude()), y = cellY(loc.latitude());
+        minX = Math.min(minX, x); maxX = Math.max(maxX, x);
+        minY = Math.min(minY, y); maxY = Math.max(maxY, y);
+        long key = cellKey(x, y);
+        entries.put(loc.id(), new Entry(loc.latitude(), loc.longitude(), key, loc.category()));
+        cells.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(loc.id());
+    }
+
+    private synchronized void remove(Long storeId) {
+        Entry e = entries.remove(storeId);
+        if (e == null) return;
+        cells.computeIfPresent(e.cellKey, (k, set) -> {
+            set.remove(storeId);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    /* ---------- 내부 유틸 ---------- */
+
+    // 링 r: 중심 칸에서 체비셰프 거리가 정확히 r 인 칸들
+    private void collectRing(int cx, int cy, int r, double lat, double lng, String cat, List<NearbyStore> out) {
+        if (r == 0) {
+            collectCell(cx, cy, lat, lng, cat, out);
+            return;
+        }
+        for (int x = cx - r; x <= cx + r; x++) {
+            collectCell(x, cy - r, lat, lng, cat, out);
+            collectCell(x, cy + r, lat, lng, cat, out);
+        }
+        for (int y = cy - r + 1; y <= cy + r - 1; y++) {
+            collectCell(cx - r, y, lat, lng, cat, out);
+            collectCell(cx + r, y, lat, lng, cat, out);
+        }
+    }
+
+    private void collectCell(int x, int y, double lat, double lng, String cat, List<NearbyStore> out) {
+        Set<Long> ids = cells.get(cellKey(x, y));
+        if (ids == null) return;
+        for (Long id : ids) {
+            Entry e = entries.get(id);
+            if (e == null) continue;
+            if (cat != null && !cat.equals(e.category)) continue;
+            out.add(new NearbyStore(id, haversineKm(lat, lng, e.lat, e.lng)));
+        }
+    }
+
+    private int cellX(double lng) { return (int) Math.floor(lng / cellDeg); }
+    private int cellY(double lat) { return (int) Math.floor(lat / cellDeg); }
+
+    private static long cellKey(int x, int y) {
+        return ((long) x << 32) | (y & 0xffffffffL);
+    }
+
+    // 한 칸의 짧은 변 길이(km): 경도 방향은 위도가 높을수록 짧아짐
+    private double minCellKm(double lat) {
+        double kmLat = cellDeg * KM_PER_DEG_LAT;
+        double kmLng = cellDeg * KM_PER_DEG_LAT * Math.cos(Math.toRadians(Math.min(89.0, Math.abs(lat) + cellDeg)));
+        return Math.min(kmLat, kmLng);
+    }
+
+    private static String normalizeCategory(String category) {
+        return (category == null || category.isBlank() || "전체".equals(category)) ? null : category;
+    }
+
+    public static double haversineKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    private record Entry(double lat, double lng, long cellKey, String category) {}
+}
@@ -0,0 +1,60 @@
+package drone.delivery.service.stock;
+
+import drone.delivery.domain.Product;
+import drone.delivery.repository.ProductRepository;
+import drone.delivery.service.stock.StockReservationLedger.StockShortageException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * CONDITIONAL: 상품마다 "quantity = quantity - ? WHERE quantity >= ?" 한 문장, 영향 행이 0이면 부족
+ * - 락은 update 가 잡은 행 락뿐이고 트랜잭션 끝까지 유지된다. (id 오름차순으로 갱신)
+ * - 중간에 부족하면 앞에서 차감한 상품을 같은 트랜잭션에서 되돌린다.
+ * - 부족할 때 남은 수량은 알리지 않는다. (update 는 수량을 돌려주지 않고, 다시 읽어도 트랜잭션 스냅샷 값일 수 있음)
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.order.stock.strategy", havingValue = "conditional")
+public class ConditionalStockAllocator implements StockAllocator {
+
+    private final ProductRepository productRepository;
+
+    @Override
+    public StockStrategy strategy() { return StockStrategy.CONDITIONAL; }
+
+    @Override
+    public List<Product> loadProducts(Collection<Long> productIds) {
+        return productRepository.findAllWithStoreByIdIn(productIds);
+    }
+
+    @Override
+    public void reserve(Map<Long, Integer> requested, Map<Long, Product> products) {
+        Map<Long, Integer> taken = new LinkedHashMap<>();
+        for (Map.Entry<Long, Integer> e : new TreeMap<>(requested).entrySet()) {
+            Long id = e.getKey();
+            int qty = e.getValue();
+            if (productRepository.decreaseQuantityIfAvailable(id, qty) == 0) {
+                taken.forEach(productRepository::increaseQuantity);
+                throw new StockShortageException(id, qty);
+            }
+            taken.put(id, qty);
+        }
+    }
+
+    @Override
+    public int available(Long productId, int snapshotQuantity) {
+        return productRepository.findQuantityById(productId).orElse(0);
+    }
+
+    @Override
+    public void restock(Map<Long, Integer> restored) {
+        restored.forEach(productRepository::increaseQuantity);
+    }
+}
@@ -0,0 +1,80 @@
+package drone.delivery.service.stock;
+
+import drone.delivery.domain.Product;
+import drone.delivery.domain.Store;
+import drone.delivery.repository.ProductRepository;
+import drone.delivery.repository.StoreRepository;
+import drone.delivery.service.stock.ContentionTracker.Snapshot;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * /actuator/contention : 경합 상위 상품/가게 (ContentionTracker 의 최근 값)
+ * - ?limit=N (기본 20, 최대 200)
+ * - 이름은 조회 시점에 상위 항목만 한 번에 읽어 붙인다.
+ */
+@Component
+@Endpoint(id = "contention")
+@RequiredArgsConstructor
+public class ContentionEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+    private static final int MAX_LIMIT = 200;
+
+    private final ContentionTracker tracker;
+    private final ProductRepository productRepository;
+    private final StoreRepository storeRepository;
+
+    @ReadOperation
+    public Map<String, Object> contention(@Nullable Integer limit) {
+        int n = Math.max(1, Math.min(MAX_LIMIT, limit == null ? DEFAULT_LIMIT : limit));
+        List<Snapshot> products = tracker.topProducts(n);
+        List<Snapshot> stores = tracker.topStores(n);
+
+        Map<Long, String> productNames = names(productRepository.findAllById(ids(products)), Product::getId, Product::getFoodName);
+        Map<Long, String> storeNames = names(storeRepository.findAllById(ids(stores)), Store::getId, Store::getName);
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("products", products.stream().map(s -> row(s, productNames.get(s.id()))).toList());
+        body.put("stores", stores.stream().map(s -> row(s, storeNames.get(s.id()))).toList());
+        return body;
+    }
+
+    private static Map<String, Object> row(Snapshot s, String name) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", s.id());
+        row.put("name", name);
+        if (s.storeId() != null) row.put("storeId", s.storeId());
+        row.put("orders", s.orders());
+        row.put("conflicts", s.conflicts());
+        row.put("deadlocks", s.deadlocks());
+        row.put("lockTimeouts", s.lockTimeouts());
+        row.put("optimisticConflicts", s.optimisticConflicts());
+        row.put("retries", s.retries());
+        row.put("succeededAfterRetry", s.succeededAfterRetry());
+        row.put("gaveUp", s.gaveUp());
+        row.put("waitTotalMs", round(s.waitTotalMs()));
+        row.put("waitAvgMs", round(s.waitAvgMs()));
+        row.put("waitMaxMs", round(s.waitMaxMs()));
+        return row;
+    }
+
+    private static List<Long> ids(List<Snapshot> snapshots) {
+        return snapshots.stream().map(Snapshot::id).toList();
+    }
+
+    private static <T> Map<Long, String> names(List<T> entities, Function<T, Long> id, Function<T, String> name) {
+        return entities.stream().collect(Collectors.toMap(id, e -> Objects.toString(name.apply(e), ""), (a, b) -> a));
+    }
+
+    private static double round(double ms) {
+        return Math.round(ms * 100) / 100.0;
+    }
+}
@@ -0,0 +1,213 @@
+package drone.delivery.service.stock;
+
+import drone.delivery.domain.Product;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * 주문 경합 통계 (상품별/가게별)
+ * - 재고 경로 대기 시간(상품 조회 + 재고 확보, 비관적 전략이면 행 락 대기 포함), 충돌 종류별 횟수(데드락/락 대기 초과/낙관적 락),
+ *   재시도 횟수, 최종 결과(성공/재시도 후 성공/포기)를 모은다.
+ * - 충돌은 어느 행에서 났는지 알 수 없으므로 주문에 들어 있던 상품 전부(와 그 가게)에 센다.
+ * - 최근 상황을 보도록 decay-interval 마다 모든 값을 절반으로 줄이고, 0이 된 항목은 지운다.
+ * - 추적 상품/가게 수는 max-tracked 까지 (가득 차면 새 항목은 다음 감쇠로 자리가 날 때까지 건너뜀)
+ * - 조회: /actuator/contention (ContentionEndpoint), 전체 충돌 수는 order.contention.conflicts{type} 지표로도 남긴다.
+ */
+@Component
+public class ContentionTracker {
+
+    /** 충돌 종류 */
+    public enum Conflict { DEADLOCK, LOCK_TIMEOUT, OPTIMISTIC, OTHER }
+
+    // MySQL: 1213 데드락, 1205 락 대기 초과 / SQLState 40001: 직렬화 실패(데드락 희생자) / H2: HYT00 락 대기 초과
+    private static final int MYSQL_DEADLOCK = 1213;
+    private static final int MYSQL_LOCK_WAIT_TIMEOUT = 1205;
+
+    private final int maxTracked;
+    private final ConcurrentHashMap<Long, Stats> products = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Stats> stores = new ConcurrentHashMap<>();
+    private final Map<Conflict, Counter> conflictCounters = new EnumMap<>(Conflict.class);
+
+    public ContentionTracker(MeterRegistry meterRegistry,
+                             @Value("${app.order.contention.max-tracked:5000}") int maxTracked) {
+        this.maxTracked = maxTracked;
+        for (Conflict c : Conflict.values()) {
+            conflictCounters.put(c, Counter.builder("order.contention.conflicts")
+                    .tag("type", c.name().toLowerCase(Locale.ROOT))
+                    .description("주문 트랜잭션 동시성 충돌 수").register(meterRegistry));
+        }
+    }
+
+    /** 주문 한 건이 재고 경로(조회 + 확보)에서 보낸 시간 */
+    public void recordWait(Collection<Product> ordered, long nanos) {
+        Set<Long> storeIds = new HashSet<>();
+        for (Product p : ordered) {
+            Long storeId = p.getStore() == null ? null : p.getStore().getId();
+            Stats s = stats(products, p.getId());
+            if (s != null) {
+                s.storeId = storeId;
+                s.recordWait(nanos);
+            }
+            if (storeId != null) storeIds.add(storeId);
+        }
+        for (Long storeId : storeIds) {
+            Stats s = stats(stores, storeId);
+            if (s != null) s.recordWait(nanos);
+        }
+    }
+
+    /** 동시성 충돌 한 번 (재시도 전) */
+    public Conflict recordConflict(Collection<Long> productIds, RuntimeException e) {
+        Conflict type = classify(e);
+        conflictCounters.get(type).increment();
+        forEach(productIds, s -> s.conflict(type));
+        return type;
+    }
+
+    /** 주문 최종 결과. attempts: 시도 횟수(1이면 재시도 없음) */
+    public void recordOutcome(Collection<Long> productIds, int attempts, boolean succeeded) {
+        forEach(productIds, s -> s.outcome(attempts, succeeded));
+    }
+
+    /** 경합 상위 상품 (충돌 수, 대기 시간 합 순) */
+    public List<Snapshot> topProducts(int limit) {
+        return top(products, limit);
+    }
+
+    /** 경합 상위 가게 */
+    public List<Snapshot> topStores(int limit) {
+        return top(stores, limit);
+    }
+
+    @Scheduled(fixedDelayString = "${app.order.contention.decay-interval-ms:60000}")
+    public void decay() {
+        products.values().removeIf(Stats::halve);
+        stores.values().removeIf(Stats::halve);
+    }
+
+    /** 예외(원인 체인 포함)로 충돌 종류 판정 */
+    public static Conflict classify(Throwable e) {
+        if (e instanceof OptimisticLockingFailureException) return Conflict.OPTIMISTIC;
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof SQLException sql) {
+                if (sql.getErrorCode() == MYSQL_DEADLOCK || "40001".equals(sql.getSQLState())) return Conflict.DEADLOCK;
+                if (sql.getErrorCode() == MYSQL_LOCK_WAIT_TIMEOUT || "HYT00".equals(sql.getSQLState())) return Conflict.LOCK_TIMEOUT;
+            }
+        }
+        String name = e.getClass().getSimpleName();
+        if (name.contains("Deadlock")) return Conflict.DEADLOCK;
+        if (name.contains("Lock")) return Conflict.LOCK_TIMEOUT;
+        return Conflict.OTHER;
+    }
+
+    /* ---------- 내부 ---------- */
+
+    private void forEach(Collection<Long> productIds, Consumer<Stats> action) {
+        Set<Long> storeIds = new HashSet<>();
+        for (Long id : productIds) {
+            Stats s = stats(products, id);
+            if (s == null) continue;
+            action.accept(s);
+            if (s.storeId != null) storeIds.add(s.storeId);
+        }
+        for (Long storeId : storeIds) {
+            Stats s = stats(stores, storeId);
+            if (s != null) action.accept(s);
+        }
+    }
+
+    private Stats stats(ConcurrentHashMap<Long, Stats> map, Long id) {
+        if (id == null) return null;
+        Stats s = map.get(id);
+        if (s != null || map.size() >= maxTracked) return s;
+        return map.computeIfAbsent(id, k -> new Stats());
+    }
+
+    private static List<Snapshot> top(Map<Long, Stats> map, int limit) {
+        return map.entrySet().stream()
+                .map(e -> e.getValue().snapshot(e.getKey()))
+                .sorted(Comparator.comparingLong(Snapshot::conflicts)
+                        .thenComparingDouble(Snapshot::waitTotalMs).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    /** 한 상품/가게의 누적값 (감쇠 중 잠깐 어긋난 값은 허용) */
+    private static final class Stats {
+        volatile Long storeId;
+        final AtomicLong orders = new AtomicLong();
+        final AtomicLong waitNanos = new AtomicLong();
+        final AtomicLong waitMaxNanos = new AtomicLong();
+        final AtomicLong deadlocks = new AtomicLong();
+        final AtomicLong lockTimeouts = new AtomicLong();
+        final AtomicLong optimisticConflicts = new AtomicLong();
+        final AtomicLong otherConflicts = new AtomicLong();
+        final AtomicLong retries = new AtomicLong();
+        final AtomicLong succeededAfterRetry = new AtomicLong();
+        final AtomicLong gaveUp = new AtomicLong();
+
+        void recordWait(long nanos) {
+            orders.incrementAndGet();
+            waitNanos.addAndGet(nanos);
+            waitMaxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        void conflict(Conflict type) {
+            switch (type) {
+                case DEADLOCK -> deadlocks.incrementAndGet();
+                case LOCK_TIMEOUT -> lockTimeouts.incrementAndGet();
+                case OPTIMISTIC -> optimisticConflicts.incrementAndGet();
+                case OTHER -> otherConflicts.incrementAndGet();
+            }
+        }
+
+        void outcome(int attempts, boolean succeeded) {
+            if (attempts > 1) retries.addAndGet(attempts - 1);
+            if (!succeeded) gaveUp.incrementAndGet();
+            else if (attempts > 1) succeededAfterRetry.incrementAndGet();
+        }
+
+        // 절반으로 줄이고, 남은 값이 없으면 true (제거 대상)
+        boolean halve() {
+            long remaining = 0;
+            for (AtomicLong v : List.of(orders, waitNanos, waitMaxNanos, deadlocks, lockTimeouts,
+                    optimisticConflicts, otherConflicts, retries, succeededAfterRetry, gaveUp)) {
+                remaining += v.updateAndGet(x -> x / 2);
+            }
+            return remaining == 0;
+        }
+
+        Snapshot snapshot(Long id) {
+            long n = orders.get();
+            long conflicts = deadlocks.get() + lockTimeouts.get() + optimisticConflicts.get() + otherConflicts.get();
+            return new Snapshot(id, storeId, n, conflicts,
+                    toMs(waitNanos.get()), n == 0 ? 0 : toMs(waitNanos.get() / n), toMs(waitMaxNanos.get()),
+                    deadlocks.get(), lockTimeouts.get(), optimisticConflicts.get(), retries.get(),
+                    succeededAfterRetry.get(), gaveUp.get());
+        }
+
+        private static double toMs(long nanos) {
+            return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        }
+    }
+
+    /**
+     * 조회용 스냅샷 (감쇠가 적용된 최근 값)
+     * @param storeId 상품이면 소속 가게, 가게 항목이면 null
+     */
+    public record Snapshot(Long id, Long storeId, long orders, long conflicts,
+                           double waitTotalMs, double waitAvgMs, double waitMaxMs,
+                           long deadlocks, long lockTimeouts, long optimisticConflicts,
+                           long retries, long succeededAfterRetry, long gaveUp) {}
+}
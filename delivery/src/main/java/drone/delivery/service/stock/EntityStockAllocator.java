@@ -0,0 +1,46 @@
+package drone.delivery.service.stock;
+
+import drone.delivery.domain.Product;
+import drone.delivery.repository.ProductRepository;
+import drone.delivery.service.stock.StockReservationLedger.StockShortageException;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 읽은 상품 엔티티의 재고를 직접 고치는 전략의 공통 부분 (PESSIMISTIC, OPTIMISTIC)
+ * - 전부 확인한 뒤에만 차감하므로 부족할 때 되돌릴 것이 없다.
+ * - 같은 트랜잭션(그룹 커밋)의 여러 주문은 같은 엔티티 인스턴스를 보므로 차감이 누적된다.
+ */
+abstract class EntityStockAllocator implements StockAllocator {
+
+    protected final ProductRepository productRepository;
+
+    protected EntityStockAllocator(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    @Override
+    public void reserve(Map<Long, Integer> requested, Map<Long, Product> products) {
+        Map<Long, Integer> ordered = new TreeMap<>(requested);
+        ordered.forEach((id, qty) -> {
+            Product p = products.get(id);
+            if (p.getQuantity() < qty) throw new StockShortageException(id, p.getQuantity(), qty);
+        });
+        // 변경 감지로 update (version 증가, OPTIMISTIC 은 여기서 충돌 검사)
+        ordered.forEach((id, qty) -> {
+            Product p = products.get(id);
+            p.setQuantity(p.getQuantity() - qty);
+        });
+    }
+
+    @Override
+    public int available(Long productId, int snapshotQuantity) {
+        return productRepository.findQuantityById(productId).orElse(0);
+    }
+
+    @Override
+    public void restock(Map<Long, Integer> restored) {
+        restored.forEach(productRepository::increaseQuantity);
+    }
+}
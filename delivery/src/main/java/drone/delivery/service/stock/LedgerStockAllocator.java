@@ -0,0 +1,48 @@
+package drone.delivery.service.stock;
+
+import drone.delivery.domain.Product;
+import drone.delivery.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * LEDGER: 락 없이 읽고 StockReservationLedger 에서 예약 (커밋 시 확정, 롤백 시 해제)
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.order.stock.strategy", havingValue = "ledger", matchIfMissing = true)
+public class LedgerStockAllocator implements StockAllocator {
+
+    private final ProductRepository productRepository;
+    private final StockReservationLedger stockLedger;
+
+    @Override
+    public StockStrategy strategy() { return StockStrategy.LEDGER; }
+
+    @Override
+    public List<Product> loadProducts(Collection<Long> productIds) {
+        return productRepository.findAllWithStoreByIdIn(productIds);
+    }
+
+    @Override
+    public void reserve(Map<Long, Integer> requested, Map<Long, Product> products) {
+        stockLedger.reserveForCurrentTransaction(requested, id -> products.get(id).getQuantity());
+    }
+
+    @Override
+    public int available(Long productId, int snapshotQuantity) {
+        return stockLedger.available(productId, snapshotQuantity);
+    }
+
+    @Override
+    public void restock(Map<Long, Integer> restored) {
+        // DB는 한 문장으로 증가, 인메모리 원장은 커밋 후 반영
+        restored.forEach(productRepository::increaseQuantity);
+        stockLedger.restockAfterCommit(restored);
+    }
+}
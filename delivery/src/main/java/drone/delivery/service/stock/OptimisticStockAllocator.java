@@ -0,0 +1,30 @@
+package drone.delivery.service.stock;
+
+import drone.delivery.domain.Product;
+import drone.delivery.repository.ProductRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * OPTIMISTIC: 락 없이 읽고 차감, 커밋(flush) 때 @Version 이 바뀌었으면 ObjectOptimisticLockingFailureException
+ * → OrderService.order 가 트랜잭션을 새로 열어 재시도한다.
+ */
+@Component
+@ConditionalOnProperty(name = "app.order.stock.strategy", havingValue = "optimistic")
+public class OptimisticStockAllocator extends EntityStockAllocator {
+
+    public OptimisticStockAllocator(ProductRepository productRepository) {
+        super(productRepository);
+    }
+
+    @Override
+    public StockStrategy strategy() { return StockStrategy.OPTIMISTIC; }
+
+    @Override
+    public List<Product> loadProducts(Collection<Long> productIds) {
+        return productRepository.findAllWithStoreByIdIn(productIds);
+    }
+}
@@ -0,0 +1,29 @@
+package drone.delivery.service.stock;
+
+import drone.delivery.domain.Product;
+import drone.delivery.repository.ProductRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * PESSIMISTIC: SELECT ... FOR UPDATE (id 오름차순으로 잠가 교착 가능성을 줄임) 후 차감
+ */
+@Component
+@ConditionalOnProperty(name = "app.order.stock.strategy", havingValue = "pessimistic")
+public class PessimisticStockAllocator extends EntityStockAllocator {
+
+    public PessimisticStockAllocator(ProductRepository productRepository) {
+        super(productRepository);
+    }
+
+    @Override
+    public StockStrategy strategy() { return StockStrategy.PESSIMISTIC; }
+
+    @Override
+    public List<Product> loadProducts(Collection<Long> productIds) {
+        return productRepository.findAllWithStoreByIdInForUpdate(productIds);
+    }
+}
@@ -0,0 +1,38 @@
+package drone.delivery.service.stock;
+
+import drone.delivery.domain.Product;
+import drone.delivery.service.stock.StockReservationLedger.StockShortageException;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 주문 트랜잭션 안에서 재고를 잡는 방법 (StockStrategy 별 구현, app.order.stock.strategy 로 선택)
+ * - 모든 메서드는 주문 트랜잭션 안에서 호출된다.
+ */
+public interface StockAllocator {
+
+    StockStrategy strategy();
+
+    /** 주문할 상품 + 가게 조회 (전략에 따라 행 락 포함), id 오름차순 */
+    List<Product> loadProducts(Collection<Long> productIds);
+
+    /**
+     * 요청 수량 전체를 잡는다. (all-or-nothing)
+     * - 실패 시 이 호출이 바꾼 것은 모두 되돌리고 예외 (그룹 커밋에서는 트랜잭션이 롤백되지 않으므로)
+     * @param products loadProducts 결과 (id → 상품)
+     * @throws StockShortageException 재고 부족
+     */
+    void reserve(Map<Long, Integer> requested, Map<Long, Product> products);
+
+    /**
+     * 장바구니 담기 전 품절 확인용 현재 재고 (트랜잭션 밖에서도 호출됨)
+     * - LEDGER 는 원장 슬롯 값, 나머지는 차감이 DB 에 바로 반영되므로 DB 현재 값
+     * @param snapshotQuantity 옵션트리 캐시에 들어 있던 재고 (원장 슬롯 초기값으로만 쓰임, 무효화되지 않으므로 그대로 믿지 않는다)
+     */
+    int available(Long productId, int snapshotQuantity);
+
+    /** 주문 취소 등으로 재고를 되돌린다. */
+    void restock(Map<Long, Integer> restored);
+}
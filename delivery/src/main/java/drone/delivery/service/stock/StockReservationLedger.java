@@ -0,0 +1,206 @@
+package drone.delivery.service.stock;
+
+import drone.delivery.service.AfterCommit;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 상품 재고 예약 원장 (인메모리, 락 없음)
+ * - 상품별 가용 재고를 AtomicInteger로 들고 CAS로 예약/해제한다. (SELECT ... FOR UPDATE 대체)
+ * - 슬롯은 처음 접근할 때 Product.quantity 값으로 초기화된다.
+ * - 커밋된 차감분은 pending에 모아두었다가 주기적으로 product 테이블에 배치 반영(write-behind)한다.
+ * - 불변식: 가용 재고 = DB 재고 - 아직 반영되지 않은 차감분
+ * - 단일 인스턴스 기준 설계 (여러 노드가 같은 상품을 팔면 원장이 노드별로 갈라진다)
+ */
+@Slf4j
+@Component
+public class StockReservationLedger {
+
+    private static final String FLUSH_SQL = "update product set quantity = quantity - ?, version = version + 1 where id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate txTemplate;
+
+    // 상품별 가용 재고
+    private final ConcurrentHashMap<Long, AtomicInteger> available = new ConcurrentHashMap<>();
+
+    // 커밋됐지만 아직 DB에 반영되지 않은 차감량
+    private final ConcurrentHashMap<Long, AtomicInteger> pending = new ConcurrentHashMap<>();
+
+    // flush 와 슬롯 초기화(evict)가 서로 끼어들지 않도록
+    private final Object flushLock = new Object();
+
+    public StockReservationLedger(JdbcTemplate jdbcTemplate, PlatformTransactionManager txManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.txTemplate = new TransactionTemplate(txManager);
+    }
+
+    /**
+     * 요청 수량 전체를 원자적으로(all-or-nothing) 예약한다.
+     * - 상품 id 오름차순으로 CAS 차감, 하나라도 부족하면 앞에서 잡은 것을 되돌리고 예외
+     * - 현재 트랜잭션이 커밋되면 차감분이 flush 대상이 되고, 롤백되면 자동으로 해제된다.
+     *
+     * @param requested 상품 id → 요청 수량
+     * @param seed      슬롯이 없을 때 초기값으로 쓸 DB 재고 (보통 방금 읽은 Product.quantity)
+     */
+    public void reserveForCurrentTransaction(Map<Long, Integer> requested, Function<Long, Integer> seed) {
+        Map<Long, Integer> ordered = new TreeMap<>(requested);
+        Map<Long, Integer> taken = new LinkedHashMap<>();
+
+        for (Map.Entry<Long, Integer> e : ordered.entrySet()) {
+            Long productId = e.getKey();
+            int qty = e.getValue();
+            AtomicInteger slot = slot(productId, seed);
+
+            int current;
+            do {
+                current = slot.get();
+                if (current < qty) {
+                    release(taken);
+                    throw new StockShortageException(productId, current, qty);
+                }
+            } while (!slot.compareAndSet(current, current - qty));
+            taken.put(productId, qty);
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            confirm(taken);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) confirm(taken);
+                else release(taken);
+            }
+        });
+    }
+
+    /**
+     * 주문 취소 등으로 DB 재고가 직접 늘어난 뒤(같은 트랜잭션에서 update 완료) 커밋되면 가용 재고도 올려준다.
+     */
+    public void restockAfterCommit(Map<Long, Integer> restored) {
+        AfterCommit.run(() -> restored.forEach((id, qty) -> {
+            AtomicInteger slot = available.get(id);
+            if (slot != null) slot.addAndGet(qty);
+        }));
+    }
+
+    /**
+     * 점주가 재고를 절대값으로 수정/삭제한 경우: 커밋 후 슬롯을 버리고 다음 접근 때 DB 값으로 다시 초기화한다.
+     * - 아직 반영되지 않은 차감분도 함께 버린다 (점주가 입력한 값이 최종값)
+     */
+    public void evictAfterCommit(Long productId) {
+        AfterCommit.run(() -> {
+            synchronized (flushLock) {
+                available.remove(productId);
+                pending.remove(productId);
+            }
+        });
+    }
+
+    /** 현재 가용 재고 (슬롯이 없으면 dbQuantity 그대로) */
+    public int available(Long productId, int dbQuantity) {
+        AtomicInteger slot = available.get(productId);
+        return slot == null ? dbQuantity : slot.get();
+    }
+
+    /**
+     * 커밋된 차감분을 product 테이블에 배치로 반영한다.
+     * - 반영 실패 시 차감분을 pending에 되돌려 다음 주기에 재시도
+     */
+    @Scheduled(fixedDelayString = "${app.stock.flush-interval-ms:200}")
+    public void flush() {
+        synchronized (flushLock) {
+            List<Object[]> batch = new ArrayList<>();
+            for (Map.Entry<Long, AtomicInteger> e : pending.entrySet()) {
+                int delta = e.getValue().getAndSet(0);
+                if (delta != 0) batch.add(new Object[]{delta, e.getKey()});
+            }
+            if (batch.isEmpty()) return;
+
+            try {
+                txTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(FLUSH_SQL, batch));
+                log.debug("재고 차감 배치 반영: {}건", batch.size());
+            } catch (RuntimeException ex) {
+                log.warn("재고 차감 배치 반영 실패, 다음 주기에 재시도: {}", ex.getMessage());
+                for (Object[] row : batch) {
+                    pending.computeIfAbsent((Long) row[1], k -> new AtomicInteger()).addAndGet((Integer) row[0]);
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /* ---------- 내부 유틸 ---------- */
+
+    private AtomicInteger slot(Long productId, Function<Long, Integer> seed) {
+        return available.computeIfAbsent(productId, id -> {
+            Integer q = seed.apply(id);
+            return new AtomicInteger(q == null ? 0 : q);
+        });
+    }
+
+    private void confirm(Map<Long, Integer> taken) {
+        taken.forEach((id, qty) -> pending.computeIfAbsent(id, k -> new AtomicInteger()).addAndGet(qty));
+    }
+
+    private void release(Map<Long, Integer> taken) {
+        taken.forEach((id, qty) -> {
+            AtomicInteger slot = available.get(id);
+            if (slot != null) slot.addAndGet(qty);
+        });
+    }
+
+    /**
+     * 예약 실패 (가용 재고 부족)
+     * - remaining 은 모르면 UNKNOWN_REMAINING (조건부 update 처럼 남은 수량을 읽지 않은 경우)
+     */
+    @Getter
+    public static class StockShortageException extends IllegalStateException {
+        public static final int UNKNOWN_REMAINING = -1;
+
+        private final Long productId;
+        private final int remaining;
+        private final int requested;
+
+        public StockShortageException(Long productId, int remaining, int requested) {
+            super("재고 부족: 상품 id=" + productId + " (" + describe(remaining, requested) + ")");
+            this.productId = productId;
+            this.remaining = remaining;
+            this.requested = requested;
+        }
+
+        public StockShortageException(Long productId, int requested) {
+            this(productId, UNKNOWN_REMAINING, requested);
+        }
+
+        /** "남은 n개, 요청 m개" (남은 수량을 모르면 "요청 m개") */
+        public String describe() {
+            return describe(remaining, requested);
+        }
+
+        private static String describe(int remaining, int requested) {
+            return remaining == UNKNOWN_REMAINING
+                    ? "요청 " + requested + "개"
+                    : "남은 " + remaining + "개, 요청 " + requested + "개";
+        }
+    }
+}
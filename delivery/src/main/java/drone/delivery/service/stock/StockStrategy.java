@@ -0,0 +1,15 @@
+package drone.delivery.service.stock;
+
+/**
+ * 주문 시 재고 차감 동시성 전략 (app.order.stock.strategy)
+ */
+public enum StockStrategy {
+    /** 인메모리 원장에서 CAS 예약, DB 는 write-behind 배치 반영 (기본) */
+    LEDGER,
+    /** SELECT ... FOR UPDATE 로 행 락을 잡고 차감 */
+    PESSIMISTIC,
+    /** 락 없이 읽고 @Version 으로 커밋 시 충돌 검사, 충돌하면 트랜잭션째 재시도 */
+    OPTIMISTIC,
+    /** quantity = quantity - ? WHERE quantity >= ? 한 문장, 영향 행 수로 판정 */
+    CONDITIONAL
+}
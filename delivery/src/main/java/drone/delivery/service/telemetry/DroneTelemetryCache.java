@@ -0,0 +1,178 @@
+package drone.delivery.service.telemetry;
+
+import drone.delivery.service.drone.DroneServerGuard;
+import drone.delivery.service.drone.DroneServerGuard.Lane;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 드론 서버 실시간 데이터(상태 JSON, 위치 PNG) 조회 캐시
+ * - 같은 주문을 보는 여러 화면의 동시 요청은 하나의 업스트림 호출을 공유한다. (request coalescing)
+ * - 성공 응답은 짧은 TTL 동안 재사용, 실패/빈 응답은 캐시하지 않고 다음 요청 때 다시 호출
+ * - 한동안 아무도 조회하지 않은 주문의 항목은 주기적으로 정리
+ * - 업스트림 호출은 본문까지 받는 전체 시간을 app.drone.timeout-seconds 로 자른다.
+ *   (responseTimeout 은 헤더까지만 보므로, 헤더 뒤 본문이 멈추면 공유 항목/벌크헤드 자리/시험 호출이 묶인다)
+ * - 업스트림 호출은 DroneServerGuard(서킷 브레이커 + status/image 벌크헤드)를 거친다.
+ *   서킷이 열려 있으면 호출 없이 바로 실패하고, 호출하는 쪽은 lastKnown* (마지막 성공 값)으로 대신 응답할 수 있다.
+ * → 업스트림 호출 수는 열린 브라우저 탭 수가 아니라 "조회 중인 주문 수"에 비례
+ * - 지표: drone.telemetry.upstream (실제 업스트림 호출 시간, kind=status|image, outcome=success|empty|failure)
+ *   프록시 요청 수(http.server.requests)와의 차이가 합쳐진(캐시된) 요청 수
+ */
+@Slf4j
+@Component
+public class DroneTelemetryCache {
+
+    static final String DRONE_DATA_URI = "/api/v_a0_0_1/orders/get_drone_data_by_order/{orderId}";
+
+    private static final ParameterizedTypeReference<Map<String, Object>> MAP_TYPE =
+            new ParameterizedTypeReference<>() {};
+
+    private final WebClient pythonClient;
+    private final DroneServerGuard guard;
+    private final Duration idleEvict;
+    private final Duration fetchTimeout;
+    private final MeterRegistry meterRegistry;
+
+    private final CoalescingCache<Map<String, Object>> statusCache;
+    private final CoalescingCache<byte[]> imageCache;
+
+    public DroneTelemetryCache(WebClient pythonClient,
+                               DroneServerGuard guard,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.drone.telemetry.ttl-ms:1000}") long ttlMs,
+                               @Value("${app.drone.telemetry.idle-evict-ms:60000}") long idleEvictMs,
+                               @Value("${app.drone.timeout-seconds:3}") int timeoutSec) {
+        this.pythonClient = pythonClient;
+        this.guard = guard;
+        this.idleEvict = Duration.ofMillis(idleEvictMs);
+        this.fetchTimeout = Duration.ofSeconds(timeoutSec);
+        this.meterRegistry = meterRegistry;
+        Duration ttl = Duration.ofMillis(ttlMs);
+        this.statusCache = new CoalescingCache<>(ttl, this::fetchStatus);
+        this.imageCache = new CoalescingCache<>(ttl, this::fetchImage);
+    }
+
+    /** 주문의 드론 상태 (JSON) */
+    public Mono<Map<String, Object>> status(Long orderId) {
+        return statusCache.get(orderId);
+    }
+
+    /** 주문의 드론 위치 이미지 (PNG) */
+    public Mono<byte[]> image(Long orderId) {
+        return imageCache.get(orderId);
+    }
+
+    /** 마지막으로 받은 상태 (없으면 null) */
+    public Map<String, Object> lastKnownStatus(Long orderId) {
+        return statusCache.lastKnown(orderId);
+    }
+
+    /** 마지막으로 받은 이미지 (없으면 null) */
+    public byte[] lastKnownImage(Long orderId) {
+        return imageCache.lastKnown(orderId);
+    }
+
+    // 오래 조회되지 않은 주문 정리
+    @Scheduled(fixedDelayString = "${app.drone.telemetry.idle-evict-ms:60000}")
+    public void evictIdle() {
+        long cutoff = System.nanoTime() - idleEvict.toNanos();
+        int removed = statusCache.evictIdle(cutoff) + imageCache.evictIdle(cutoff);
+        if (removed > 0) log.debug("실시간 조회 캐시 정리: {}건", removed);
+    }
+
+    private Mono<Map<String, Object>> fetchStatus(Long orderId) {
+        return guard.call(Lane.STATUS, timed("status", pythonClient.get()
+                .uri(DRONE_DATA_URI, orderId)
+                .accept(MediaType.APPLICATION_JSON)
+                .retrieve()
+                .bodyToMono(MAP_TYPE)
+                .timeout(fetchTimeout)
+                .doOnSubscribe(s -> log.debug("📡 [STATUS PROXY] upstream 조회 orderId={}", orderId))));
+    }
+
+    private Mono<byte[]> fetchImage(Long orderId) {
+        return guard.call(Lane.IMAGE, timed("image", pythonClient.get()
+                .uri(DRONE_DATA_URI, orderId)
+                .retrieve()
+                .bodyToMono(byte[].class)
+                .timeout(fetchTimeout)
+                .doOnSubscribe(s -> log.debug("🖼 [IMAGE PROXY] upstream 조회 orderId={}", orderId))));
+    }
+
+    // 구독될 때마다(= 실제 업스트림 호출마다) 시간을 잰다
+    private <V> Mono<V> timed(String kind, Mono<V> call) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return call
+                    .doOnSuccess(v -> sample.stop(upstreamTimer(kind, v == null ? "empty" : "success")))
+                    .doOnError(e -> sample.stop(upstreamTimer(kind, "failure")));
+        });
+    }
+
+    private Timer upstreamTimer(String kind, String outcome) {
+        return Timer.builder("drone.telemetry.upstream")
+                .tag("kind", kind)
+                .tag("outcome", outcome)
+                .description("드론 서버 실시간 데이터 조회 시간")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 주문 id 별로 캐시된 Mono 하나를 공유한다.
+     * - Mono.cache(ttl): 구독 중(in-flight)이면 같은 결과를 기다리고, TTL이 지나면 다음 구독 때 재호출
+     * - 에러/빈 값은 TTL 0 → 캐시되지 않음
+     * - 성공 값은 TTL 과 별개로 항목이 정리될 때까지 lastKnown 으로 남긴다.
+     */
+    private static final class CoalescingCache<V> {
+        private final Duration ttl;
+        private final Function<Long, Mono<V>> loader;
+        private final ConcurrentHashMap<Long, Entry<V>> entries = new ConcurrentHashMap<>();
+
+        CoalescingCache(Duration ttl, Function<Long, Mono<V>> loader) {
+            this.ttl = ttl;
+            this.loader = loader;
+        }
+
+        Mono<V> get(Long key) {
+            Entry<V> e = entries.computeIfAbsent(key, k -> {
+                Entry<V> created = new Entry<>();
+                created.mono = loader.apply(k)
+                        .doOnNext(v -> created.last = v)
+                        .cache(v -> ttl, err -> Duration.ZERO, () -> Duration.ZERO);
+                return created;
+            });
+            e.lastAccess = System.nanoTime();
+            return e.mono;
+        }
+
+        V lastKnown(Long key) {
+            Entry<V> e = entries.get(key);
+            return e == null ? null : e.last;
+        }
+
+        int evictIdle(long cutoffNanos) {
+            int before = entries.size();
+            entries.values().removeIf(e -> e.lastAccess - cutoffNanos < 0);
+            return before - entries.size();
+        }
+    }
+
+    private static final class Entry<V> {
+        Mono<V> mono; // 맵에 넣기 전에 채움
+        volatile V last;
+        volatile long lastAccess = System.nanoTime();
+    }
+}
@@ -0,0 +1,141 @@
+package drone.delivery.service.telemetry;
+
+import drone.delivery.notification.SseEmitterRegistry;
+import drone.delivery.notification.SseSendDispatcher;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32;
+
+/**
+ * 주문별 드론 실시간 데이터 SSE 스트림
+ * - 구독 모델은 NotifyService 와 같은 SseEmitterRegistry (주문 id 별 연결 모음)
+ * - 구독자가 있는 주문마다 poller 하나가 주기적으로 DroneTelemetryCache 를 조회해서 모든 구독자에게 fan-out
+ * - 상태는 바뀐 필드만(delta), 이미지는 내용(CRC32)이 바뀐 경우에만 전송
+ * - 새 구독자에게는 마지막 스냅샷(status 전체 + 최신 이미지)을 바로 보내준다.
+ *
+ * 이벤트
+ *   status : 상태 전체 스냅샷 (JSON)
+ *   delta  : 바뀐 필드만 (삭제된 필드는 null)
+ *   image  : PNG data URL
+ *   offline: 드론 서버 조회 실패 (복구되면 다시 status 전송)
+ */
+@Slf4j
+@Component
+public class DroneTelemetryStream {
+
+    private static final long TIMEOUT_MS = Duration.ofMinutes(30).toMillis();
+
+    private final DroneTelemetryCache telemetryCache;
+    private final SseEmitterRegistry<Long> emitters;
+
+    // 주문별 마지막 전송 상태
+    private final ConcurrentHashMap<Long, OrderFeed> feeds = new ConcurrentHashMap<>();
+
+    public DroneTelemetryStream(DroneTelemetryCache telemetryCache, SseSendDispatcher dispatcher,
+                                MeterRegistry meterRegistry) {
+        this.telemetryCache = telemetryCache;
+        this.emitters = new SseEmitterRegistry<Long>(dispatcher, TIMEOUT_MS, feeds::remove)
+                .bindMetrics(meterRegistry, "telemetry");
+    }
+
+    public SseEmitter subscribe(Long orderId) {
+        SseEmitter emitter = emitters.subscribe(orderId);
+        OrderFeed feed = feeds.computeIfAbsent(orderId, k -> new OrderFeed());
+
+        Map<String, Object> status = feed.status;
+        if (status != null) emitters.sendTo(orderId, emitter, "status", status);
+        String frame = feed.imageDataUrl;
+        if (frame != null) emitters.sendTo(orderId, emitter, "image", frame);
+        return emitter;
+    }
+
+    /**
+     * 구독자가 있는 주문마다 한 번씩 업스트림 조회 (이전 조회가 아직 진행 중이면 건너뜀)
+     */
+    @Scheduled(fixedDelayString = "${app.drone.telemetry.stream-interval-ms:1500}")
+    public void poll() {
+        for (Long orderId : emitters.activeKeys()) {
+            OrderFeed feed = feeds.computeIfAbsent(orderId, k -> new OrderFeed());
+            if (!feed.inFlight.compareAndSet(false, true)) continue;
+
+            Mono<Optional<Map<String, Object>>> status = telemetryCache.status(orderId)
+                    .map(Optional::of)
+                    .onErrorResume(e -> Mono.just(Optional.empty()))
+                    .defaultIfEmpty(Optional.empty());
+            Mono<Optional<byte[]>> image = telemetryCache.image(orderId)
+                    .map(Optional::of)
+                    .onErrorResume(e -> Mono.just(Optional.empty()))
+                    .defaultIfEmpty(Optional.empty());
+
+            Mono.zip(status, image)
+                    .doFinally(s -> feed.inFlight.set(false))
+                    .subscribe(t -> {
+                        publishStatus(orderId, feed, t.getT1());
+                        publishImage(orderId, feed, t.getT2());
+                    }, e -> log.warn("실시간 스트림 조회 실패 orderId={}: {}", orderId, e.getMessage()));
+        }
+    }
+
+    private void publishStatus(Long orderId, OrderFeed feed, Optional<Map<String, Object>> fetched) {
+        if (fetched.isEmpty()) {
+            if (!feed.offline) {
+                feed.offline = true;
+                emitters.send(orderId, "offline", Map.of("orderId", orderId));
+            }
+            return;
+        }
+        Map<String, Object> current = fetched.get();
+        Map<String, Object> previous = feed.status;
+        feed.status = current;
+
+        if (previous == null || feed.offline) {
+            feed.offline = false;
+            emitters.send(orderId, "status", current);
+            return;
+        }
+        Map<String, Object> delta = diff(previous, current);
+        if (!delta.isEmpty()) emitters.send(orderId, "delta", delta);
+    }
+
+    private void publishImage(Long orderId, OrderFeed feed, Optional<byte[]> fetched) {
+        if (fetched.isEmpty()) return;
+        byte[] png = fetched.get();
+        CRC32 crc = new CRC32();
+        crc.update(png);
+        long checksum = crc.getValue();
+        if (feed.imageDataUrl != null && checksum == feed.imageCrc) return;
+
+        feed.imageCrc = checksum;
+        feed.imageDataUrl = "data:image/png;base64," + Base64.getEncoder().encodeToString(png);
+        emitters.send(orderId, "image", feed.imageDataUrl);
+    }
+
+    // 바뀌거나 새로 생긴 필드 + 사라진 필드(null)
+    private Map<String, Object> diff(Map<String, Object> before, Map<String, Object> after) {
+        Map<String, Object> delta = new LinkedHashMap<>();
+        after.forEach((k, v) -> {
+            if (!before.containsKey(k) || !Objects.equals(before.get(k), v)) delta.put(k, v);
+        });
+        before.keySet().forEach(k -> {
+            if (!after.containsKey(k)) delta.put(k, null);
+        });
+        return delta;
+    }
+
+    private static final class OrderFeed {
+        final AtomicBoolean inFlight = new AtomicBoolean();
+        volatile Map<String, Object> status;
+        volatile boolean offline;
+        volatile long imageCrc;
+        volatile String imageDataUrl;
+    }
+}
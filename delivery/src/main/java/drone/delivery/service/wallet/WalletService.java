@@ -0,0 +1,68 @@
+package drone.delivery.service.wallet;
+
+import drone.delivery.domain.WalletEntry;
+import drone.delivery.domain.WalletEntryType;
+import drone.delivery.repository.MemberRepository;
+import drone.delivery.repository.WalletEntryRepository;
+import drone.delivery.service.MemberProfileService;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 회원 지갑 (잔액 변경의 유일한 경로)
+ * - 잔액은 Member.money 를 원자적 update 한 문장으로 바꾼다. (엔티티를 읽어서 고쳐 쓰지 않으므로 lost update 없음)
+ *   - 차감: money >= 금액 조건부 update, 영향받은 행이 0이면 잔액 부족
+ * - 모든 변경은 같은 트랜잭션에서 wallet_entry 원장에 한 행씩 남긴다. (스냅샷은 WalletSnapshotJob)
+ * - 커밋 후 회원 프로필 캐시를 무효화한다.
+ * - 주문 검증 중에 부르는 메서드(tryDebit, undoDebit)는 예외로 실패를 알리지 않는다.
+ *   이 클래스는 트랜잭션 프록시라 예외가 프록시를 지나가면 그룹 커밋 트랜잭션 전체가 롤백 전용이 된다.
+ */
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class WalletService {
+
+    private final MemberRepository memberRepository;
+    private final WalletEntryRepository walletEntryRepository;
+    private final MemberProfileService memberProfileService;
+
+    /**
+     * 결제 금액 차감 (원장은 주문 id가 정해진 뒤 recordPayment 로 남긴다)
+     * - 금액 검증은 호출 측에서 끝낸 상태여야 한다. (음수 금액은 프로그래밍 오류로 보고 예외)
+     * @return 잔액이 부족하면 false (아무것도 바꾸지 않음)
+     */
+    public boolean tryDebit(Long memberId, int amount) {
+        if (amount < 0) throw new IllegalArgumentException("금액은 0 이상이어야 합니다.");
+        if (memberRepository.debit(memberId, amount) == 0) return false;
+        memberProfileService.evictAfterCommit(memberId);
+        return true;
+    }
+
+    /**
+     * 같은 트랜잭션 안에서 tryDebit 을 되돌린다. (뒤이은 검증 실패 시, 원장 기록 전이므로 원장에는 남지 않음)
+     * - 그룹 커밋에서는 실패한 주문만 빠지고 나머지는 커밋되므로 롤백에 기댈 수 없다.
+     */
+    public void undoDebit(Long memberId, int amount) {
+        memberRepository.credit(memberId, amount);
+    }
+
+    /** debit 한 결제 금액을 주문과 함께 원장에 기록 */
+    public void recordPayment(Long memberId, Long orderId, int amount) {
+        walletEntryRepository.save(WalletEntry.of(memberId, WalletEntryType.PAYMENT, -amount, orderId));
+    }
+
+    /**
+     * 잔액 증가 (충전/환불)
+     * @throws EntityNotFoundException 회원 없음
+     */
+    public void credit(Long memberId, int amount, WalletEntryType type, Long orderId) {
+        if (amount < 0) throw new IllegalArgumentException("금액은 0 이상이어야 합니다.");
+        if (memberRepository.credit(memberId, amount) == 0) {
+            throw new EntityNotFoundException("회원 없음");
+        }
+        walletEntryRepository.save(WalletEntry.of(memberId, type, amount, orderId));
+        memberProfileService.evictAfterCommit(memberId);
+    }
+}
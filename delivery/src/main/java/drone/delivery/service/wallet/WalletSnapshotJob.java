@@ -0,0 +1,152 @@
+package drone.delivery.service.wallet;
+
+import drone.delivery.domain.WalletSnapshot;
+import drone.delivery.domain.WalletSnapshotCursor;
+import drone.delivery.repository.MemberRepository;
+import drone.delivery.repository.WalletEntryRepository;
+import drone.delivery.repository.WalletSnapshotCursorRepository;
+import drone.delivery.repository.WalletSnapshotRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 지갑 잔액 스냅샷 (주기 실행)
+ * - 지난 스냅샷 이후 원장이 생긴 회원마다 "원장 id upTo 시점의 잔액"을 wallet_snapshot 에 남긴다.
+ * - upTo: settle 시간보다 오래된 원장 중 가장 큰 id (아직 커밋 안 된 트랜잭션의 원장을 건너뛰지 않도록)
+ * - 잔액 계산: 현재 money - (id > upTo 원장 합계) → 원장 도입 이전 잔액이 있는 회원도 정확하다.
+ *   money 와 원장이 같은 트랜잭션에서 바뀌므로 한 트랜잭션에서 함께 읽으면 서로 맞는 값이다.
+ * - 대사: 이전 스냅샷 + 구간 원장 합계와 다르면 원장 밖에서 잔액이 바뀐 것 → 경고 로그
+ *   구간은 회원마다 자기 최신 스냅샷의 lastEntryId 부터 (회원별 워터마크)
+ * - 어디까지 훑었는지는 WalletSnapshotCursor 에 두고, 모든 배치가 커밋된 뒤에만 upTo 로 옮긴다.
+ *   중간에 실패하면 다음 실행이 같은 구간부터 다시 훑고, 이미 기록한 회원은 자기 워터마크 뒤 구간만 본다.
+ */
+@Slf4j
+@Component
+public class WalletSnapshotJob {
+
+    private final WalletEntryRepository entryRepository;
+    private final WalletSnapshotRepository snapshotRepository;
+    private final MemberRepository memberRepository;
+    private final WalletSnapshotCursorRepository cursorRepository;
+    private final TransactionTemplate txTemplate;
+    private final long settleMs;
+    private final int batchSize;
+    private final AtomicLong mismatches = new AtomicLong();
+
+    public WalletSnapshotJob(WalletEntryRepository entryRepository,
+                             WalletSnapshotRepository snapshotRepository,
+                             MemberRepository memberRepository,
+                             WalletSnapshotCursorRepository cursorRepository,
+                             PlatformTransactionManager txManager,
+                             @Value("${app.wallet.snapshot-settle-ms:5000}") long settleMs,
+                             @Value("${app.wallet.snapshot-batch:500}") int batchSize) {
+        this.entryRepository = entryRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.memberRepository = memberRepository;
+        this.cursorRepository = cursorRepository;
+        this.txTemplate = new TransactionTemplate(txManager);
+        this.settleMs = settleMs;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${app.wallet.snapshot-interval-ms:60000}",
+               initialDelayString = "${app.wallet.snapshot-interval-ms:60000}")
+    public void run() {
+        try {
+            int members = snapshot(LocalDateTime.now().minusNanos(settleMs * 1_000_000));
+            if (members > 0) log.info("지갑 스냅샷 {}명 기록", members);
+        } catch (Exception e) {
+            log.warn("지갑 스냅샷 실패, 다음 주기에 재시도: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * before 보다 먼저 기록된 원장까지 스냅샷을 남긴다.
+     * @return 스냅샷을 남긴 회원 수
+     */
+    public int snapshot(LocalDateTime before) {
+        Long upTo = entryRepository.findMaxIdCreatedBefore(before);
+        Long after = cursorRepository.findById(WalletSnapshotCursor.SINGLETON_ID)
+                .map(WalletSnapshotCursor::getCompletedEntryId).orElse(0L);
+        if (upTo == null || upTo <= after) return 0;
+
+        int total = 0;
+        long afterMemberId = 0;
+        while (true) {
+            List<Long> memberIds = entryRepository.findMemberIdsWithEntries(
+                    after, upTo, afterMemberId, PageRequest.of(0, batchSize));
+            if (memberIds.isEmpty()) break;
+            Integer written = txTemplate.execute(s -> snapshotBatch(memberIds, after, upTo));
+            total += written == null ? 0 : written;
+            afterMemberId = memberIds.get(memberIds.size() - 1);
+            if (memberIds.size() < batchSize) break;
+        }
+        // 모든 배치가 커밋된 뒤에만 진행 위치를 옮긴다
+        txTemplate.executeWithoutResult(s -> {
+            WalletSnapshotCursor cursor = cursorRepository.findById(WalletSnapshotCursor.SINGLETON_ID)
+                    .orElseGet(() -> cursorRepository.save(WalletSnapshotCursor.initial()));
+            cursor.advance(upTo);
+        });
+        return total;
+    }
+
+    /** 지금까지 발견한 대사 불일치 수 */
+    public long mismatches() {
+        return mismatches.get();
+    }
+
+    private int snapshotBatch(List<Long> memberIds, Long after, Long upTo) {
+        Map<Long, Long> laterSums = toMap(entryRepository.sumByMember(memberIds, upTo, Long.MAX_VALUE));
+        Map<Long, WalletSnapshot> previous = new HashMap<>();
+        for (WalletSnapshot s : snapshotRepository.findLatestByMemberIdIn(memberIds)) previous.put(s.getMemberId(), s);
+
+        // 대사 구간 시작 = 회원별 최신 스냅샷 위치 (지난 실행이 중간에 멈췄으면 회원마다 다를 수 있음)
+        Map<Long, List<Long>> membersByFrom = new HashMap<>();
+        for (Long memberId : memberIds) {
+            WalletSnapshot prev = previous.get(memberId);
+            if (prev == null || prev.getLastEntryId() >= upTo) continue;
+            membersByFrom.computeIfAbsent(Math.max(after, prev.getLastEntryId()), k -> new ArrayList<>()).add(memberId);
+        }
+        Map<Long, Long> windowSums = new HashMap<>();
+        membersByFrom.forEach((from, ids) -> windowSums.putAll(toMap(entryRepository.sumByMember(ids, from, upTo))));
+
+        int written = 0;
+        for (Object[] row : memberRepository.findMoneyByIdIn(memberIds)) {
+            Long memberId = (Long) row[0];
+            int money = ((Number) row[1]).intValue();
+            int balance = (int) (money - laterSums.getOrDefault(memberId, 0L));
+
+            WalletSnapshot prev = previous.get(memberId);
+            if (prev != null && prev.getLastEntryId() >= upTo) continue; // 이미 이 위치까지 기록됨
+            if (prev != null) {
+                long expected = prev.getBalance() + windowSums.getOrDefault(memberId, 0L);
+                if (expected != balance) {
+                    mismatches.incrementAndGet();
+                    log.warn("지갑 대사 불일치: memberId={}, 원장 기준 {}원, 잔액 기준 {}원 (entry {}~{})",
+                            memberId, expected, balance, prev.getLastEntryId(), upTo);
+                }
+            }
+            snapshotRepository.save(WalletSnapshot.of(memberId, balance, upTo));
+            written++;
+        }
+        return written;
+    }
+
+    private static Map<Long, Long> toMap(List<Object[]> rows) {
+        Map<Long, Long> map = new HashMap<>();
+        for (Object[] row : rows) map.put((Long) row[0], ((Number) row[1]).longValue());
+        return map;
+    }
+}
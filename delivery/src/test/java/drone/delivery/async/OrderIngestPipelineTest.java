@@ -0,0 +1,198 @@
+package drone.delivery.async;
+
+import drone.delivery.async.OrderIngestPipeline.OrderPendingException;
+import drone.delivery.domain.CartItem;
+import drone.delivery.service.CheckoutMetrics;
+import drone.delivery.service.OrderService;
+import drone.delivery.service.OrderService.BatchResult;
+import drone.delivery.service.OrderService.OrderRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 주문 접수 그룹 커밋: 동시에 들어온 주문이 한 묶음으로 커밋되고, 호출자마다 자기 결과를 받으며,
+ * 한 건의 실패가 다른 주문을 실패시키지 않고, 시간 초과 시 주문 상태에 맞게 실패/처리 중을 알린다.
+ * - OrderService 는 묶음/건별 호출만 기록하는 가짜로 바꿔서 DB 없이 돌린다. (주문 id = 회원 id × 100)
+ */
+class OrderIngestPipelineTest {
+
+    private final FakeOrderService orderService = new FakeOrderService();
+    private OrderIngestPipeline pipeline;
+
+    @AfterEach
+    void tearDown() {
+        orderService.gate.countDown();
+        if (pipeline != null) pipeline.stop();
+    }
+
+    @Test
+    @DisplayName("linger 안에 동시에 들어온 주문은 한 트랜잭션(orderBatch)으로 묶이고, 호출자마다 자기 주문 id 를 받는다")
+    void concurrentOrdersShareOneBatch() throws Exception {
+        pipeline = pipeline(500, 10_000);
+        pipeline.startWorkers();
+
+        Map<Long, Long> results = orderConcurrently(List.of(1L, 2L, 3L, 4L, 5L));
+
+        assertThat(orderService.batchSizes).containsExactly(5);
+        assertThat(results).containsExactlyInAnyOrderEntriesOf(Map.of(1L, 100L, 2L, 200L, 3L, 300L, 4L, 400L, 5L, 500L));
+    }
+
+    @Test
+    @DisplayName("묶음 안에서 검증에 실패한 주문은 그 호출자만 예외를 받는다")
+    void failedOrderOnlyFailsItsCaller() throws Exception {
+        pipeline = pipeline(500, 10_000);
+        pipeline.startWorkers();
+        orderService.rejected.add(3L);
+
+        List<CompletableFuture<Long>> futures = new ArrayList<>();
+        for (long memberId = 1; memberId <= 4; memberId++) futures.add(pipeline.submit(memberId, cart()));
+
+        assertThat(futures.get(0).get(5, TimeUnit.SECONDS)).isEqualTo(100L);
+        assertThat(futures.get(1).get(5, TimeUnit.SECONDS)).isEqualTo(200L);
+        assertThatThrownBy(() -> futures.get(2).get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(IllegalStateException.class).hasMessageContaining("잔액 부족");
+        assertThat(futures.get(3).get(5, TimeUnit.SECONDS)).isEqualTo(400L);
+        assertThat(orderService.batchSizes).containsExactly(4);
+        assertThat(orderService.singleOrders).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("묶음 커밋 자체가 실패하면 건별로 다시 처리해서 문제 있는 주문만 실패한다")
+    void groupFailureFallsBackToSingles() throws Exception {
+        pipeline = pipeline(500, 10_000);
+        pipeline.startWorkers();
+        orderService.failGroup = true;
+        orderService.rejected.add(2L);
+
+        List<CompletableFuture<Long>> futures = new ArrayList<>();
+        for (long memberId = 1; memberId <= 3; memberId++) futures.add(pipeline.submit(memberId, cart()));
+
+        assertThat(futures.get(0).get(5, TimeUnit.SECONDS)).isEqualTo(100L);
+        assertThatThrownBy(() -> futures.get(1).get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(futures.get(2).get(5, TimeUnit.SECONDS)).isEqualTo(300L);
+        assertThat(orderService.singleOrders).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("시간 초과: 아직 큐에 있던 주문은 큐에서 빼고 확실히 실패시킨다 (나중에 커밋되지 않음)")
+    void timeoutRemovesQueuedOrder() throws Exception {
+        pipeline = pipeline(0, 100);   // 워커를 띄우지 않아 주문이 큐에 머문다
+
+        assertThatThrownBy(() -> pipeline.order(1L, cart()))
+                .isInstanceOf(IllegalStateException.class)
+                .isNotInstanceOf(OrderPendingException.class)
+                .hasMessageContaining("접수를 취소");
+        assertThat(pipeline.getQueueSize()).isZero();
+
+        // 워커가 뜬 뒤 커밋되는 건 새 주문뿐
+        pipeline.startWorkers();
+        assertThat(pipeline.submit(2L, cart()).get(5, TimeUnit.SECONDS)).isEqualTo(200L);
+        assertThat(orderService.batchSizes).containsExactly(1);
+    }
+
+    @Test
+    @DisplayName("시간 초과: 워커가 이미 커밋 중인 주문은 실패가 아니라 처리 중(OrderPendingException)이고, 결과는 나중에 받는다")
+    void timeoutWhileCommittingReportsPending() throws Exception {
+        pipeline = pipeline(0, 100);
+        pipeline.startWorkers();
+        orderService.gate = new CountDownLatch(1);   // 묶음 커밋을 붙잡아 둔다
+
+        OrderPendingException pending = null;
+        try {
+            pipeline.order(7L, cart());
+        } catch (OrderPendingException e) {
+            pending = e;
+        }
+
+        assertThat(pending).isNotNull();
+        assertThat(pending.result()).isNotDone();
+        orderService.gate.countDown();
+        assertThat(pending.result().get(5, TimeUnit.SECONDS)).isEqualTo(700L);
+    }
+
+    private OrderIngestPipeline pipeline(long lingerMs, long waitTimeoutMs) {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        return new OrderIngestPipeline(orderService, new CheckoutMetrics(registry), registry,
+                true, lingerMs, 32, 1, 100, waitTimeoutMs);
+    }
+
+    // 회원마다 스레드 하나로 동시에 order() 호출 → 회원 id 별 주문 id
+    private Map<Long, Long> orderConcurrently(List<Long> memberIds) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(memberIds.size());
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            Map<Long, Future<Long>> futures = new ConcurrentHashMap<>();
+            for (Long memberId : memberIds) {
+                futures.put(memberId, executor.submit(() -> {
+                    start.await();
+                    return pipeline.order(memberId, cart());
+                }));
+            }
+            start.countDown();
+            Map<Long, Long> results = new ConcurrentHashMap<>();
+            for (Map.Entry<Long, Future<Long>> e : futures.entrySet()) {
+                results.put(e.getKey(), e.getValue().get(5, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static List<CartItem> cart() {
+        CartItem item = new CartItem();
+        item.setProductId(1L);
+        item.setProductName("치킨");
+        item.setPrice(10_000);
+        item.setQuantity(1);
+        return List.of(item);
+    }
+
+    /** 묶음/건별 호출을 기록하는 가짜 주문 서비스 (rejected 회원은 잔액 부족으로 실패) */
+    static class FakeOrderService extends OrderService {
+        final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        final Set<Long> rejected = ConcurrentHashMap.newKeySet();
+        volatile boolean failGroup;
+        volatile CountDownLatch gate = new CountDownLatch(0);
+        final AtomicInteger singleOrders = new AtomicInteger();
+
+        FakeOrderService() {
+            super(null, null, null, null, null, null, null, null, null);
+        }
+
+        @Override
+        public List<BatchResult> orderBatch(List<OrderRequest> requests) {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            batchSizes.add(requests.size());
+            if (failGroup) throw new IllegalStateException("그룹 커밋 실패");
+            return requests.stream()
+                    .map(r -> rejected.contains(r.memberId())
+                            ? BatchResult.failure(new IllegalStateException("잔액 부족"))
+                            : BatchResult.success(r.memberId() * 100))
+                    .toList();
+        }
+
+        @Override
+        public Long order(Long memberId, List<CartItem> cart) {
+            singleOrders.incrementAndGet();
+            if (rejected.contains(memberId)) throw new IllegalStateException("잔액 부족");
+            return memberId * 100;
+        }
+    }
+}
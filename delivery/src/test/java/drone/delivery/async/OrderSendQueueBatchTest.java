@@ -0,0 +1,142 @@
+package drone.delivery.async;
+
+import drone.delivery.async.OrderSendQueue.SendOutcomes;
+import drone.delivery.domain.DispatchOutbox;
+import drone.delivery.loadtest.StubDroneServer;
+import drone.delivery.service.drone.DroneServerGuard;
+import drone.delivery.service.drone.DroneServerGuard.DroneUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 배차 배치 전송: 드론 서버 대역(StubDroneServer)에 실제로 보내서 건별 결과 반영, 배치 미지원 시 건별 전송, 보호막 거절 확인
+ * - 아웃박스/주문 저장소는 쓰지 않는다 (send 는 결과를 SendOutcomes 에만 모음)
+ */
+class OrderSendQueueBatchTest {
+
+    private StubDroneServer stub;
+
+    @AfterEach
+    void tearDown() {
+        if (stub != null) stub.stop();
+    }
+
+    @Test
+    @DisplayName("http-batch-size 씩 자르고 마지막 묶음은 남은 만큼")
+    void partitionsIntoChunks() {
+        assertThat(OrderSendQueue.partition(List.of(1, 2, 3, 4, 5), 2))
+                .containsExactly(List.of(1, 2), List.of(3, 4), List.of(5));
+        assertThat(OrderSendQueue.partition(List.of(), 20)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("배치 응답의 건별 결과를 행마다 기록하고, 결과가 빠진 주문은 실패로 본다")
+    void appliesPerOrderResults() throws IOException {
+        startStub(true);
+        stub.rejectOrder(2);
+        stub.omitOrder(3);
+        OrderSendQueue queue = queue(128);
+        List<DispatchOutbox> rows = rows(4);
+
+        SendOutcomes outcomes = send(queue, rows);
+
+        assertThat(stub.batchCallCount()).isEqualTo(1);
+        assertThat(stub.createdCount()).isEqualTo(2);
+        assertThat(outcomes.size()).isEqualTo(4);
+        assertThat(outcomes.failure(1L)).isNull();
+        assertThat(outcomes.failure(4L)).isNull();
+        assertThat(outcomes.failure(2L)).hasMessageContaining("거절").hasMessageContaining("rejected");
+        assertThat(outcomes.failure(3L)).hasMessageContaining("결과 없음");
+    }
+
+    @Test
+    @DisplayName("배치 엔드포인트가 404 면 배치를 끄고 같은 묶음을 건별로 다시 보낸다")
+    void fallsBackToSinglesWhenBatchUnsupported() throws IOException {
+        startStub(false);
+        OrderSendQueue queue = queue(128);
+
+        SendOutcomes first = send(queue, rows(3));
+        assertThat(first.size()).isEqualTo(3);
+        assertThat(List.of(1L, 2L, 3L)).allSatisfy(id -> assertThat(first.failure(id)).isNull());
+        assertThat(stub.createdCount()).isEqualTo(3);
+
+        // 재시험 시간 전까지는 배치를 시도하지 않고 처음부터 건별
+        SendOutcomes second = send(queue, rows(3));
+        assertThat(second.size()).isEqualTo(3);
+        assertThat(stub.createdCount()).isEqualTo(6);
+        assertThat(stub.batchCallCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("404/405/415/501 만 배치 미지원으로 본다")
+    void classifiesBatchUnsupported() {
+        assertThat(OrderSendQueue.isBatchUnsupported(status(404))).isTrue();
+        assertThat(OrderSendQueue.isBatchUnsupported(status(405))).isTrue();
+        assertThat(OrderSendQueue.isBatchUnsupported(status(503))).isFalse();
+        assertThat(OrderSendQueue.isBatchUnsupported(status(400))).isFalse();
+        assertThat(OrderSendQueue.isBatchUnsupported(new IllegalStateException("timeout"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("보호막이 배치 호출을 거절하면 묶음 전체가 보류(DroneUnavailableException)되고 서버로는 아무것도 안 간다")
+    void guardRejectionDefersWholeGroup() throws IOException {
+        startStub(true);
+        OrderSendQueue queue = queue(0);   // dispatch 벌크헤드 0 → 항상 거절
+
+        SendOutcomes outcomes = send(queue, rows(3));
+
+        assertThat(outcomes.size()).isEqualTo(3);
+        assertThat(List.of(1L, 2L, 3L)).allSatisfy(id ->
+                assertThat(outcomes.failure(id)).isInstanceOf(DroneUnavailableException.class));
+        assertThat(stub.batchCallCount()).isZero();
+        assertThat(stub.createdCount()).isZero();
+    }
+
+    private void startStub(boolean batchEnabled) throws IOException {
+        stub = new StubDroneServer(new StubDroneServer.Settings(0, 0, 0, 0.0, 60_000, 32, batchEnabled));
+        stub.start();
+    }
+
+    // 저장소/트랜잭션 없이 전송 경로만 쓰는 큐 (http-batch-size 20)
+    private OrderSendQueue queue(int dispatchSlots) {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        DroneServerGuard guard = new DroneServerGuard(registry, 20, 10, 50, 10_000, 3, dispatchSlots, 64, 32);
+        WebClient client = WebClient.builder().baseUrl("http://localhost:" + stub.port()).build();
+        return new OrderSendQueue(client, null, null, null, new DroneCallExecutor(1), guard, registry,
+                50, 8, 1, 10, 1000, 300_000, 20, 600_000, 3);
+    }
+
+    private static SendOutcomes send(OrderSendQueue queue, List<DispatchOutbox> rows) {
+        SendOutcomes outcomes = new SendOutcomes();
+        queue.send(rows, outcomes).block(Duration.ofSeconds(10));
+        return outcomes;
+    }
+
+    // 행 id = 주문 id = 1..n
+    private static List<DispatchOutbox> rows(int n) {
+        List<DispatchOutbox> rows = new ArrayList<>();
+        for (long id = 1; id <= n; id++) {
+            DispatchOutbox row = DispatchOutbox.create(id, "{\"orderId\":" + id + "}");
+            ReflectionTestUtils.setField(row, "id", id);
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static WebClientResponseException status(int code) {
+        return WebClientResponseException.create(code, "status " + code, HttpHeaders.EMPTY, new byte[0], null);
+    }
+}
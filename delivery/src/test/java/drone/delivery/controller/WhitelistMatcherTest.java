@@ -0,0 +1,102 @@
+package drone.delivery.controller;
+
+import drone.delivery.WebConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.method.HandlerMethod;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 컴파일된 화이트리스트가 기존 AntPathMatcher 순회와 같은 판정을 내리는지 확인한다.
+ */
+class WhitelistMatcherTest {
+
+    private static final List<String> URIS = List.of(
+            "/", "/index", "/login", "/login/", "/logout", "/register", "/join",
+            "/oauth2", "/oauth2/authorization/kakao",
+            "/drone", "/drone/1/status",
+            "/realtime", "/realtime/", "/realtime/orders/7/stream", "/realtimex",
+            "/delivery", "/delivery/3", "/delivery/3/menu/9", "/orders/5/dispatch",
+            "/account", "/owner/stores/1/products/2/options", "/reviews/12/images",
+            "/loginx", "/login/extra", "//login", ""
+    );
+
+    @Test
+    @DisplayName("라우트 표 전체에서 AntPathMatcher 와 같은 결과")
+    void sameAsAntPathMatcher() {
+        List<String> patterns = WebConfig.LOGIN_WHITELIST;
+        WhitelistMatcher matcher = new WhitelistMatcher(patterns, 100);
+        AntPathMatcher ant = new AntPathMatcher();
+
+        for (String uri : URIS) {
+            boolean expected = patterns.stream().anyMatch(p -> ant.match(p, uri));
+            assertThat(matcher.matches(uri, null)).as(uri).isEqualTo(expected);
+            assertThat(matcher.matches(uri, uri)).as(uri + " (cached)").isEqualTo(expected);
+            assertThat(matcher.matches(uri, uri)).as(uri + " (cached)").isEqualTo(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("'*' 세그먼트와 트라이로 표현 못 하는 패턴")
+    void wildcardAndFallbackPatterns() {
+        List<String> patterns = List.of("/stores/*/info", "/files/*.png", "/api/{version}/ping");
+        WhitelistMatcher matcher = new WhitelistMatcher(patterns, 100);
+        AntPathMatcher ant = new AntPathMatcher();
+
+        for (String uri : List.of("/stores/3/info", "/stores/3/menu", "/stores/info",
+                "/files/a.png", "/files/a.jpg", "/api/v1/ping", "/api/v1/pong")) {
+            boolean expected = patterns.stream().anyMatch(p -> ant.match(p, uri));
+            assertThat(matcher.matchesUncached(uri)).as(uri).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("캐시는 URI 가 아니라 라우트별: id 가 다른 URI 는 한 칸을 공유하고, 와일드카드 라우트는 캐시하지 않는다")
+    void cachesPerRoute() {
+        WhitelistMatcher matcher = new WhitelistMatcher(WebConfig.LOGIN_WHITELIST, 3);
+        for (int i = 0; i < 10; i++) {
+            assertThat(matcher.matches("/orders/" + i + "/dispatch", "/orders/{orderId}/dispatch")).isFalse();
+            assertThat(matcher.matches("/realtime/orders/" + i + "/status", "/realtime/orders/{orderId}/status")).isTrue();
+            assertThat(matcher.matches("/img/" + i + ".png", "/**")).isFalse();
+        }
+        assertThat(matcher.cachedDecisions()).isEqualTo(2);
+
+        // 상한에 닿으면 더 넣지 않지만 판정은 그대로
+        matcher.matches("/login", "/login");
+        matcher.matches("/join", "/join");
+        assertThat(matcher.cachedDecisions()).isEqualTo(3);
+        assertThat(matcher.matches("/join", "/join")).isTrue();
+    }
+
+    @Test
+    @DisplayName("정규화 전 URI 로 화이트리스트를 우회해도 그 라우트의 판정(캐시)은 라우트 패턴으로 정해진다")
+    void rawUriCannotPoisonRouteCache() {
+        WhitelistMatcher matcher = new WhitelistMatcher(WebConfig.LOGIN_WHITELIST, 100);
+
+        // Tomcat 은 '/realtime/..;/orders/5/dispatch' 를 /orders/{orderId}/dispatch 로 디스패치한다
+        assertThat(matcher.matches("/realtime/..;/orders/5/dispatch", "/orders/{orderId}/dispatch")).isFalse();
+        assertThat(matcher.matches("/orders/6/dispatch", "/orders/{orderId}/dispatch")).isFalse();
+        assertThat(matcher.matches("/orders/6/../../realtime/x", "/realtime/orders/{orderId}/status")).isTrue();
+    }
+
+    @Test
+    @DisplayName("인터셉터는 라우트를 모를 때도 정규화한 경로로 판정한다 (';' 파라미터, '..' 우회 불가)")
+    void interceptorUsesNormalizedPath() throws Exception {
+        LoginCheckInterceptor interceptor = new LoginCheckInterceptor(new WhitelistMatcher(WebConfig.LOGIN_WHITELIST, 100));
+        HandlerMethod handler = new HandlerMethod(new Object(), "toString");
+
+        MockHttpServletRequest bypass = new MockHttpServletRequest("POST", "/realtime/..;/orders/5/dispatch");
+        MockHttpServletResponse denied = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(bypass, denied, handler)).isFalse();
+        assertThat(denied.getRedirectedUrl()).startsWith("/login?redirect=");
+
+        MockHttpServletRequest realtime = new MockHttpServletRequest("GET", "/realtime;jsessionid=x/orders/5/stream");
+        assertThat(interceptor.preHandle(realtime, new MockHttpServletResponse(), handler)).isTrue();
+    }
+}
@@ -0,0 +1,34 @@
+package drone.delivery.notification;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class LocalQueueNotifyBrokerTest {
+
+    @Test
+    @DisplayName("한 노드에서 발행한 알림이 다른 노드의 리스너에도 전달된다")
+    void publishFansOutToAllNodes() throws InterruptedException {
+        LocalQueueNotifyBroker nodeA = new LocalQueueNotifyBroker();
+        LocalQueueNotifyBroker nodeB = new LocalQueueNotifyBroker();
+        try {
+            CountDownLatch latch = new CountDownLatch(2);
+            List<String> received = new CopyOnWriteArrayList<>();
+            nodeA.subscribe((memberId, e) -> { received.add("A:" + memberId); latch.countDown(); });
+            nodeB.subscribe((memberId, e) -> { received.add("B:" + memberId); latch.countDown(); });
+
+            nodeA.publish(7L, NotifyEvent.builder().type("ORDER_DELIVERED").orderId(1L).build());
+
+            Assertions.assertThat(latch.await(2, TimeUnit.SECONDS)).isTrue();
+            Assertions.assertThat(received).containsExactlyInAnyOrder("A:7", "B:7");
+        } finally {
+            nodeA.close();
+            nodeB.close();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package drone.delivery.service;
+
+import drone.delivery.domain.Address;
+import drone.delivery.domain.Member;
+import drone.delivery.domain.MemberType;
+import drone.delivery.dto.MemberProfile;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 회원 프로필 읽기 모델 캐시 테스트
+ * - 캐시 적중 시 쿼리가 나가지 않는지, 무효화 후에는 DB 최신 값을 읽는지 확인한다.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import(MemberProfileService.class)
+class MemberProfileServiceTest {
+
+    @Autowired EntityManager em;
+    @Autowired EntityManagerFactory emf;
+    @Autowired MemberProfileService memberProfileService;
+
+    private Statistics stats;
+    private Long memberId;
+
+    @BeforeEach
+    void setUp() {
+        Member m = new Member();
+        m.setName("드론");
+        m.setEmail("drone@test.com");
+        m.setPassword("pw");
+        m.setMemberType(MemberType.USER);
+        m.setMoney(10_000);
+        m.setAddress(new Address("세종대로 110", "서울", "04524", "1층"));
+        em.persist(m);
+        em.flush();
+        em.clear();
+        memberId = m.getId();
+
+        stats = emf.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+    }
+
+    @Test
+    @DisplayName("두 번째 조회부터는 쿼리 없이 캐시에서 읽는다")
+    void cachedRead() {
+        MemberProfile first = memberProfileService.get(memberId);
+        MemberProfile second = memberProfileService.get(memberId);
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.getMoney()).isEqualTo(10_000);
+        assertThat(first.getAddress().getStreet()).isEqualTo("세종대로 110");
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(stats.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("무효화 후에는 바뀐 잔액을 다시 읽는다")
+    void evictReloads() {
+        memberProfileService.get(memberId);
+
+        em.createQuery("update Member m set m.money = m.money + 5000 where m.id = :id")
+                .setParameter("id", memberId)
+                .executeUpdate();
+        assertThat(memberProfileService.get(memberId).getMoney()).isEqualTo(10_000);
+
+        memberProfileService.evict(memberId);
+        assertThat(memberProfileService.get(memberId).getMoney()).isEqualTo(15_000);
+    }
+}
@@ -0,0 +1,121 @@
+package drone.delivery.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import drone.delivery.domain.CartItem;
+import drone.delivery.domain.Member;
+import drone.delivery.domain.MemberType;
+import drone.delivery.domain.Product;
+import drone.delivery.domain.Store;
+import drone.delivery.mapper.OrderToSendInfoMapper;
+import drone.delivery.repository.DispatchOutboxRepository;
+import drone.delivery.repository.MemberRepository;
+import drone.delivery.repository.OrderRepository;
+import drone.delivery.repository.ProductRepository;
+import drone.delivery.repository.StoreRepository;
+import drone.delivery.service.OrderService.BatchResult;
+import drone.delivery.service.OrderService.OrderRequest;
+import drone.delivery.service.stock.ConditionalStockAllocator;
+import drone.delivery.service.stock.ContentionTracker;
+import drone.delivery.service.wallet.WalletService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 그룹 커밋(OrderService.orderBatch): 한 주문의 검증 실패가 같은 묶음의 다른 주문을 롤백시키지 않는다
+ * - 테스트 트랜잭션을 끄고(NOT_SUPPORTED) orderBatch 가 자기 트랜잭션을 직접 커밋하게 한다.
+ *   (테스트 트랜잭션에 합류하면 롤백 전용 표시가 커밋 시점까지 드러나지 않음)
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "app.order.stock.strategy=conditional"
+})
+@Import({OrderService.class, WalletService.class, MemberProfileService.class, DispatchOutboxService.class,
+        OrderToSendInfoMapper.class, ConditionalStockAllocator.class, CheckoutMetrics.class, ContentionTracker.class,
+        OrderBatchTest.Config.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderBatchTest {
+
+    @TestConfiguration
+    static class Config {
+        @Bean MeterRegistry meterRegistry() { return new SimpleMeterRegistry(); }
+        @Bean ObjectMapper objectMapper() { return new ObjectMapper(); }
+    }
+
+    @Autowired OrderService orderService;
+    @Autowired MemberRepository memberRepository;
+    @Autowired StoreRepository storeRepository;
+    @Autowired ProductRepository productRepository;
+    @Autowired OrderRepository orderRepository;
+    @Autowired DispatchOutboxRepository outboxRepository;
+
+    @Test
+    @DisplayName("잔액이 부족한 주문 하나는 그 주문만 실패하고, 나머지는 같은 트랜잭션으로 커밋된다")
+    void underfundedOrderDoesNotRollBackGroup() {
+        Store store = new Store();
+        store.setName("묶음가게");
+        storeRepository.save(store);
+        Product chicken = Product.createProduct("치킨", 10_000, 10);
+        chicken.setStore(store);
+        productRepository.save(chicken);
+
+        Long rich1 = member("rich1@test.com", 50_000);
+        Long poor = member("poor@test.com", 1_000);
+        Long rich2 = member("rich2@test.com", 50_000);
+
+        List<BatchResult> results = orderService.orderBatch(List.of(
+                new OrderRequest(rich1, cart(chicken)),
+                new OrderRequest(poor, cart(chicken)),
+                new OrderRequest(rich2, cart(chicken))));
+
+        assertThat(results).hasSize(3);
+        assertThat(results.get(0).orderId()).isNotNull();
+        assertThat(results.get(1).error()).isInstanceOf(IllegalStateException.class).hasMessageContaining("잔액 부족");
+        assertThat(results.get(2).orderId()).isNotNull();
+
+        // 커밋된 결과: 두 주문, 두 아웃박스 행, 재고 2개 차감, 잔액은 주문한 회원만 차감
+        assertThat(orderRepository.findAllById(List.of(results.get(0).orderId(), results.get(2).orderId()))).hasSize(2);
+        assertThat(outboxRepository.count()).isEqualTo(2);
+        assertThat(productRepository.findById(chicken.getId()).orElseThrow().getQuantity()).isEqualTo(8);
+        assertThat(money(rich1)).isEqualTo(40_000);
+        assertThat(money(poor)).isEqualTo(1_000);
+        assertThat(money(rich2)).isEqualTo(40_000);
+    }
+
+    private Long member(String email, int money) {
+        Member m = new Member();
+        m.setName(email);
+        m.setEmail(email);
+        m.setPassword("pw");
+        m.setMemberType(MemberType.USER);
+        m.setMoney(money);
+        return memberRepository.save(m).getId();
+    }
+
+    private int money(Long memberId) {
+        return memberRepository.findById(memberId).orElseThrow().getMoney();
+    }
+
+    private static List<CartItem> cart(Product product) {
+        CartItem item = new CartItem();
+        item.setProductId(product.getId());
+        item.setProductName(product.getFoodName());
+        item.setPrice(product.getFoodPrice());
+        item.setQuantity(1);
+        return List.of(item);
+    }
+}
@@ -0,0 +1,208 @@
+package drone.delivery.service;
+
+import drone.delivery.domain.*;
+import drone.delivery.dto.MemberStoreOrderDto;
+import drone.delivery.dto.MenuProductDto;
+import drone.delivery.dto.StoreCardDto;
+import drone.delivery.service.ReviewQueryService.ReviewPage;
+import drone.delivery.service.stock.StockReservationLedger;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 가게 메뉴 화면 조회 모델 회귀 테스트
+ * - 다른 회원/다른 가게 데이터가 많아도 각 조회가 읽는 쿼리 수와 행 수가 화면에 필요한 만큼으로 고정되는지 확인한다.
+ * - 행 수는 Hibernate Statistics의 쿼리별 결과 행 수 합계, 엔티티 로딩 수로 잰다.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({StoreMenuQueryService.class, ReviewQueryService.class, StockReservationLedger.class})
+class StoreMenuQueryServiceTest {
+
+    private static final int MENU_SIZE = 6;
+    private static final int OTHER_ORDERS = 120;
+    private static final int MY_ORDERS_HERE = 7;
+    private static final int MY_ORDERS_ELSEWHERE = 20;
+    private static final int REVIEWS = 25;
+    private static final int PAGE_SIZE = 10;
+
+    @Autowired EntityManager em;
+    @Autowired EntityManagerFactory emf;
+    @Autowired StoreMenuQueryService storeMenuQueryService;
+    @Autowired ReviewQueryService reviewQueryService;
+
+    private Statistics stats;
+    private Long storeId;
+    private Long myId;
+
+    @BeforeEach
+    void setUp() {
+        Member me = member("me");
+        List<Member> others = List.of(member("a"), member("b"), member("c"));
+
+        Store store = store("드론치킨");
+        List<Product> menu = new ArrayList<>();
+        for (int i = 0; i < MENU_SIZE; i++) menu.add(product(store, "메뉴" + i));
+        Store elsewhere = store("다른가게");
+        Product elsewhereProduct = product(elsewhere, "다른메뉴");
+
+        List<Order> othersOrders = new ArrayList<>();
+        for (int i = 0; i < OTHER_ORDERS; i++) {
+            othersOrders.add(order(others.get(i % others.size()), menu.get(i % MENU_SIZE)));
+        }
+        for (int i = 0; i < MY_ORDERS_HERE; i++) order(me, menu.get(i % MENU_SIZE));
+        for (int i = 0; i < MY_ORDERS_ELSEWHERE; i++) order(me, elsewhereProduct);
+
+        for (int i = 0; i < REVIEWS; i++) {
+            Order o = othersOrders.get(i);
+            review(store, o.getMember(), o, 1 + i % 5, i % 2 == 0 ? 2 : 0);
+        }
+
+        em.flush();
+        em.clear();
+        storeId = store.getId();
+        myId = me.getId();
+        stats = emf.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+    }
+
+    @Test
+    @DisplayName("헤더와 상품 목록은 프로젝션 한 번씩, 가게 상품 수만큼만 읽는다")
+    void headerAndProducts() {
+        StoreCardDto header = storeMenuQueryService.getHeader(storeId);
+        assertThat(header.getName()).isEqualTo("드론치킨");
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(rowsRead()).isEqualTo(1);
+
+        stats.clear();
+        List<MenuProductDto> products = storeMenuQueryService.getProducts(storeId);
+        assertThat(products).hasSize(MENU_SIZE);
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(rowsRead()).isEqualTo(MENU_SIZE);
+        assertThat(stats.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("내 주문은 이 가게에서 한 최근 주문만, limit 만큼만 읽는다")
+    void memberOrders() {
+        List<MemberStoreOrderDto> orders = storeMenuQueryService.getMemberOrders(myId, storeId, 5);
+
+        assertThat(orders).hasSize(5);
+        assertThat(orders).extracting(MemberStoreOrderDto::getId).isSortedAccordingTo((a, b) -> Long.compare(b, a));
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(rowsRead()).isEqualTo(5);
+        assertThat(stats.getEntityLoadCount()).isZero();
+
+        stats.clear();
+        assertThat(storeMenuQueryService.getMemberOrders(null, storeId, 5)).isEmpty();
+        assertThat(stats.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("리뷰는 요약 1회 + id 페이지 1회 + 페이지 본문 1회, 페이지 크기만큼만 읽는다")
+    void reviewPage() {
+        ReviewPage first = reviewQueryService.getStoreReviewPage(storeId, 0, PAGE_SIZE);
+
+        assertThat(first.total()).isEqualTo(REVIEWS);
+        assertThat(first.totalPages()).isEqualTo(3);
+        assertThat(first.items()).hasSize(PAGE_SIZE);
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(3);
+        // 요약 1행 + id 10행 + 본문(리뷰 x 이미지 조인) 최대 20행
+        assertThat(rowsRead()).isLessThanOrEqualTo(1 + PAGE_SIZE + PAGE_SIZE * 2);
+        // 리뷰 10건 + 작성자 3명 + 이미지 (짝수 번째 리뷰만 2장씩)
+        assertThat(stats.getEntityLoadCount()).isLessThanOrEqualTo(PAGE_SIZE + 3 + PAGE_SIZE);
+
+        // 화면에서 작성자/이미지를 읽어도 추가 쿼리 없음
+        first.items().forEach(r -> {
+            r.getMember().getName();
+            r.getReviewImages().size();
+        });
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(3);
+
+        stats.clear();
+        ReviewPage last = reviewQueryService.getStoreReviewPage(storeId, 99, PAGE_SIZE);
+        assertThat(last.page()).isEqualTo(2);
+        assertThat(last.items()).hasSize(REVIEWS - 2 * PAGE_SIZE);
+        assertThat(last.hasNext()).isFalse();
+    }
+
+    // 실행된 쿼리들이 돌려준 결과 행 수 합계
+    private long rowsRead() {
+        long rows = 0;
+        for (String query : stats.getQueries()) {
+            rows += stats.getQueryStatistics(query).getExecutionRowCount();
+        }
+        return rows;
+    }
+
+    /* ---------- 테스트 데이터 ---------- */
+
+    private Member member(String name) {
+        Member m = new Member();
+        m.setName(name);
+        m.setPassword("pw");
+        m.setEmail(name + "@test.com");
+        m.setMoney(1_000_000);
+        em.persist(m);
+        return m;
+    }
+
+    private Store store(String name) {
+        Store s = new Store();
+        s.setName(name);
+        s.setCategory("치킨");
+        s.setMinOrderPrice(0);
+        em.persist(s);
+        return s;
+    }
+
+    private Product product(Store store, String name) {
+        Product p = Product.createProduct(name, 10_000, 100);
+        p.setStore(store);
+        em.persist(p);
+        return p;
+    }
+
+    private Order order(Member member, Product product) {
+        Order o = Order.createOrder(member, List.of(OrderItem.createOrderItem(product, 1, product.getFoodPrice())));
+        em.persist(o);
+        return o;
+    }
+
+    private void review(Store store, Member member, Order order, int rating, int images) {
+        Review r = new Review();
+        r.setStore(store);
+        r.setMember(member);
+        r.setOrder(order);
+        r.setRating(rating);
+        r.setContent("맛있어요");
+        for (int i = 0; i < images; i++) {
+            ReviewImage img = new ReviewImage();
+            img.setStoredName("s" + i);
+            img.setOriginalName("o" + i);
+            img.setUrl("/uploads/" + i);
+            img.setContentType("image/png");
+            img.setSize(1);
+            img.setReview(r);
+            r.getReviewImages().add(img);
+        }
+        em.persist(r);
+    }
+}
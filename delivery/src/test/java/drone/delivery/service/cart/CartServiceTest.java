@@ -0,0 +1,122 @@
+package drone.delivery.service.cart;
+
+import drone.delivery.domain.CartItem;
+import drone.delivery.domain.CartItemOption;
+import drone.delivery.service.cart.CartService.Cart;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CartServiceTest {
+
+    private final CartService cartService = new CartService(new InMemoryCartStore(1000), 1, 50);
+
+    @Test
+    @DisplayName("여러 탭에서 동시에 담아도 모든 메뉴가 장바구니에 남는다")
+    void concurrentAddsAreNotLost() throws InterruptedException {
+        int threads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int i = 0; i < threads; i++) {
+            long productId = i + 1;
+            pool.submit(() -> {
+                start.await();
+                for (int n = 0; n < 5; n++) cartService.add(1L, 10L, item(productId, 1000, 1));
+                return null;
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+        Cart cart = cartService.get(1L, 10L);
+        assertThat(cart.items()).hasSize(threads);
+        assertThat(cart.items()).allSatisfy(ci -> assertThat(ci.getQuantity()).isEqualTo(5));
+        assertThat(cart.totalPrice()).isEqualTo(threads * 5 * 1000);
+    }
+
+    @Test
+    @DisplayName("같은 상품이라도 옵션이 다르면 다른 줄, 같으면 수량을 합친다")
+    void mergesIdenticalLinesOnly() {
+        cartService.add(1L, 10L, item(1L, 1000, 1, 7L));
+        cartService.add(1L, 10L, item(1L, 1000, 2, 7L));
+        Cart cart = cartService.add(1L, 10L, item(1L, 1500, 1, 8L));
+
+        assertThat(cart.items()).hasSize(2);
+        assertThat(cart.items().get(0).getQuantity()).isEqualTo(3);
+        assertThat(cart.items().get(0).getOptions().get(0).getName()).isEqualTo("옵션7");
+        assertThat(cart.totalPrice()).isEqualTo(3 * 1000 + 1500);
+
+        assertThat(cartService.remove(1L, 10L, 1L).isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("주문할 줄만 가져가고, 그 사이 다른 탭에서 담은 메뉴는 남긴다")
+    void claimRemovesOnlyOrderedLines() {
+        Cart ordered = cartService.add(1L, 10L, item(1L, 1000, 2));
+        cartService.add(1L, 10L, item(1L, 1000, 1)); // 다른 탭: 같은 메뉴 1개 더
+        cartService.add(1L, 10L, item(2L, 2000, 1)); // 다른 탭: 다른 메뉴
+
+        Cart left = cartService.claim(1L, 10L, ordered.items());
+
+        assertThat(left.items()).hasSize(2);
+        assertThat(left.items().get(0).getProductId()).isEqualTo(1L);
+        assertThat(left.items().get(0).getQuantity()).isEqualTo(1);
+        assertThat(left.items().get(1).getProductId()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("같은 장바구니로 두 번 주문하면 두 번째 가져가기는 실패하고, 되돌리면 다시 담긴다")
+    void secondClaimOfSameCartFails() {
+        cartService.add(1L, 10L, item(1L, 1000, 1, 7L));
+        Cart cart = cartService.get(1L, 10L);
+
+        assertThat(cartService.claim(1L, 10L, cart.items()).isEmpty()).isTrue();
+        assertThatThrownBy(() -> cartService.claim(1L, 10L, cart.items()))
+                .isInstanceOf(IllegalStateException.class);
+
+        // 주문 실패 시 되돌리기
+        cartService.restore(1L, 10L, cart.items());
+        assertThat(cartService.get(1L, 10L).items()).hasSize(1);
+        assertThat(cartService.get(1L, 10L).totalPrice()).isEqualTo(1000);
+    }
+
+    @Test
+    @DisplayName("최대 항목 수를 넘으면 만료가 가장 가까운 장바구니부터 내보낸다")
+    void evictsEarliestExpiringCartsOnOverflow() {
+        CartService small = new CartService(new InMemoryCartStore(3), 1, 50);
+        for (long member = 1; member <= 5; member++) small.add(member, 10L, item(1L, 1000, 1));
+
+        assertThat(small.get(1L, 10L).isEmpty()).isTrue();
+        assertThat(small.get(2L, 10L).isEmpty()).isTrue();
+        assertThat(small.get(5L, 10L).isEmpty()).isFalse();
+    }
+
+    private static CartItem item(long productId, int price, int qty, long... optionIds) {
+        CartItem ci = new CartItem();
+        ci.setProductId(productId);
+        ci.setProductName("메뉴" + productId);
+        ci.setPrice(price);
+        ci.setQuantity(qty);
+        List<CartItemOption> options = new ArrayList<>();
+        for (long id : optionIds) {
+            CartItemOption o = new CartItemOption();
+            o.setOptionItemId(id);
+            o.setName("옵션" + id);
+            o.setPriceDelta(500);
+            o.setQuantity(1);
+            options.add(o);
+        }
+        ci.setOptions(options);
+        return ci;
+    }
+}
@@ -0,0 +1,88 @@
+package drone.delivery.service.drone;
+
+import drone.delivery.service.drone.CircuitBreaker.State;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 서킷 브레이커: 실패율로 열림 → 대기 후 반열림 시험 호출 → 복구/재차단
+ */
+class CircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final List<State> transitions = new ArrayList<>();
+
+    // 창 10건, 최소 4건, 실패율 50%, 1초 차단, 시험 호출 2건
+    private final CircuitBreaker breaker = new CircuitBreaker(10, 4, 50, 1000, 2, transitions::add, now::get);
+
+    @Test
+    @DisplayName("최소 호출 수가 쌓이기 전에는 실패해도 열리지 않고, 실패율을 넘으면 열려서 바로 거절한다")
+    void opensOnFailureRate() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(breaker.tryAcquire()).isTrue();
+            breaker.onFailure();
+        }
+        assertThat(breaker.state()).isEqualTo(State.CLOSED);
+
+        assertThat(breaker.tryAcquire()).isTrue();
+        breaker.onFailure();
+
+        assertThat(breaker.state()).isEqualTo(State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+        assertThat(breaker.allowsCalls()).isFalse();
+        assertThat(breaker.remainingOpenMillis()).isEqualTo(1000);
+    }
+
+    @Test
+    @DisplayName("차단 시간이 지나면 시험 호출 수만큼만 통과시키고, 모두 성공하면 닫힌다")
+    void halfOpenThenClose() {
+        open();
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+        assertThat(breaker.allowsCalls()).isTrue();
+
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isFalse();
+        assertThat(breaker.state()).isEqualTo(State.HALF_OPEN);
+
+        breaker.onSuccess();
+        breaker.onSuccess();
+        assertThat(breaker.state()).isEqualTo(State.CLOSED);
+        assertThat(transitions).containsExactly(State.OPEN, State.HALF_OPEN, State.CLOSED);
+
+        // 닫히면 창이 비워져서 실패 한 번으로 다시 열리지 않는다
+        breaker.onFailure();
+        assertThat(breaker.state()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("시험 호출이 실패하면 다시 열리고, 취소된 시험 호출은 자리를 돌려준다")
+    void halfOpenFailureReopens() {
+        open();
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isTrue();
+        breaker.onIgnored();
+        assertThat(breaker.tryAcquire()).isTrue();
+
+        breaker.onFailure();
+        assertThat(breaker.state()).isEqualTo(State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+    }
+
+    private void open() {
+        for (int i = 0; i < 4; i++) {
+            breaker.tryAcquire();
+            breaker.onFailure();
+        }
+        assertThat(breaker.state()).isEqualTo(State.OPEN);
+    }
+}
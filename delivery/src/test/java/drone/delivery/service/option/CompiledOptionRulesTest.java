@@ -0,0 +1,92 @@
+package drone.delivery.service.option;
+
+import drone.delivery.domain.SelectType;
+import drone.delivery.service.option.ProductOptionTreeCache.Group;
+import drone.delivery.service.option.ProductOptionTreeCache.Item;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 컴파일된 옵션 규칙: 옵션가 합산, 필수/단일/최소·최대 선택, 없는 옵션·중복·품절 거절
+ */
+class CompiledOptionRulesTest {
+
+    // 사이즈: 필수 단일 / 토핑: 다중 1~2 (22 품절) / 소스: 다중 제한 없음
+    // 아이템 id 는 일부러 뒤섞어 둔다 (정렬 후 이진 탐색)
+    private final CompiledOptionRules rules = CompiledOptionRules.compile(List.of(
+            new Group(1L, "사이즈", SelectType.SINGLE, true, null, null, List.of(
+                    new Item(11L, 1L, "라지", 500, null),
+                    new Item(10L, 1L, "레귤러", 0, null))),
+            new Group(2L, "토핑", SelectType.MULTI, false, 1, 2, List.of(
+                    new Item(23L, 2L, "옥수수", 200, null),
+                    new Item(20L, 2L, "치즈", 300, null),
+                    new Item(21L, 2L, "베이컨", 700, 5),
+                    new Item(22L, 2L, "새우", 1000, 0))),
+            new Group(3L, "소스", SelectType.MULTI, false, null, null, List.of(
+                    new Item(30L, 3L, "갈릭", 100, null)))
+    ));
+
+    @Test
+    @DisplayName("선택한 옵션 가격을 모두 더한다 (선택 안 한 그룹은 0)")
+    void sumsSelectedPrices() {
+        assertThat(rules.validateAndSum(List.of(11L, 20L, 21L))).isEqualTo(1_500);
+        assertThat(rules.validateAndSum(List.of(10L, 23L, 30L))).isEqualTo(300);
+        assertThat(rules.itemName(rules.indexOf(21L))).isEqualTo("베이컨");
+        assertThat(rules.itemPrice(rules.indexOf(11L))).isEqualTo(500);
+        assertThat(rules.indexOf(999L)).isNegative();
+    }
+
+    @Test
+    @DisplayName("필수 그룹을 고르지 않거나 단일 그룹에서 둘을 고르면 거절한다")
+    void requiredAndSingle() {
+        assertThatThrownBy(() -> rules.validateAndSum(List.of(20L)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("필수 옵션을 선택하세요: 사이즈");
+        assertThatThrownBy(() -> rules.validateAndSum(List.of(10L, 11L, 20L)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("단일 선택 그룹입니다: 사이즈");
+    }
+
+    @Test
+    @DisplayName("다중 그룹의 최소/최대 선택 수를 지킨다")
+    void minAndMax() {
+        assertThatThrownBy(() -> rules.validateAndSum(List.of(10L)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("토핑은(는) 최소 1개");
+        assertThatThrownBy(() -> rules.validateAndSum(List.of(10L, 20L, 21L, 23L)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("토핑은(는) 최대 2개");
+    }
+
+    @Test
+    @DisplayName("상품에 없는 옵션(null 포함)과 중복 선택은 IllegalArgumentException, 품절은 IllegalStateException")
+    void rejectsUnknownDuplicateAndSoldOut() {
+        assertThatThrownBy(() -> rules.validateAndSum(List.of(10L, 999L, 20L)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("상품에 없는 옵션");
+        assertThatThrownBy(() -> rules.validateAndSum(Arrays.asList(10L, null)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("상품에 없는 옵션");
+        assertThatThrownBy(() -> rules.validateAndSum(List.of(10L, 20L, 20L)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("중복 선택되었습니다: 치즈");
+        assertThatThrownBy(() -> rules.validateAndSum(List.of(10L, 22L)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("옵션 품절: 새우");
+    }
+
+    @Test
+    @DisplayName("옵션이 없는 상품은 빈 선택만 통과한다")
+    void emptyTree() {
+        CompiledOptionRules none = CompiledOptionRules.compile(List.of());
+        assertThat(none.validateAndSum(List.of())).isZero();
+        assertThatThrownBy(() -> none.validateAndSum(List.of(1L)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
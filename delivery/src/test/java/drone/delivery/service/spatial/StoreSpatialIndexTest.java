@@ -0,0 +1,162 @@
+package drone.delivery.service.spatial;
+
+import drone.delivery.async.GeocodeQueue;
+import drone.delivery.dto.StoreLocation;
+import drone.delivery.service.spatial.StoreSpatialIndex.NearbyStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 가게 공간 인덱스: K개 최근접/반경 검색이 전체 하버사인 스캔과 같은 결과인지, 카테고리 필터,
+ * 커밋 후에만 반영되는 추가/수정/삭제 확인
+ * - 저장소 없이 인덱스만 쓴다 (load 대신 putAfterCommit 으로 적재, 트랜잭션 밖이면 바로 반영)
+ */
+class StoreSpatialIndexTest {
+
+    private static final List<String> CATEGORIES = List.of("치킨", "피자", "한식");
+
+    private final List<StoreLocation> stores = new ArrayList<>();
+    private StoreSpatialIndex index;
+
+    @BeforeEach
+    void setUp() {
+        GeocodeQueue geocodeQueue = new GeocodeQueue(null, null, null, null, null, new SimpleMeterRegistry(), 1, 10);
+        index = new StoreSpatialIndex(null, geocodeQueue, 0.01, 200);
+
+        // 서울 근방 400곳 + 멀리 떨어진 가게 몇 곳 (링 확장 상한/빈 칸 건너뛰기 확인용)
+        Random random = new Random(42);
+        for (long id = 1; id <= 400; id++) {
+            stores.add(new StoreLocation(id, 37.45 + random.nextDouble() * 0.2, 126.85 + random.nextDouble() * 0.3,
+                    CATEGORIES.get(random.nextInt(CATEGORIES.size()))));
+        }
+        stores.add(new StoreLocation(401L, 35.18, 129.07, "치킨"));   // 부산
+        stores.add(new StoreLocation(402L, 33.50, 126.53, "한식"));   // 제주
+        stores.add(new StoreLocation(403L, null, null, "피자"));      // 좌표 없음 → 색인 안 함
+        stores.forEach(index::putAfterCommit);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("K개 최근접은 전체 하버사인 스캔의 앞 K개와 같다 (카테고리 필터 포함)")
+    void nearestMatchesBruteForce() {
+        assertThat(index.size()).isEqualTo(402);
+        Random random = new Random(7);
+        for (int i = 0; i < 50; i++) {
+            double lat = 37.40 + random.nextDouble() * 0.3;
+            double lng = 126.80 + random.nextDouble() * 0.4;
+            for (String category : new String[]{null, "전체", "치킨", "한식"}) {
+                for (int k : new int[]{1, 5, 30}) {
+                    assertThat(ids(index.nearest(lat, lng, k, category)))
+                            .as("(%f, %f) k=%d category=%s", lat, lng, k, category)
+                            .containsExactlyElementsOf(ids(limit(bruteForce(lat, lng, category), k)));
+                }
+            }
+        }
+        // 가게 수보다 큰 K: 상한 안의 가게 전부를 가까운 순으로
+        // 링 확장 상한(max-rings 200칸 ≈ 2°) 밖은 찾지 않는다: 서울에서 부산/제주, 부산에서 서울 가게는 안 나옴
+        assertThat(ids(index.nearest(37.55, 127.0, 500, "치킨"))).containsExactlyElementsOf(
+                ids(bruteForce(37.55, 127.0, "치킨").stream().filter(n -> n.distanceKm() < 100).toList()));
+        assertThat(ids(index.nearest(35.10, 129.00, 500, "치킨"))).containsExactly(401L);
+        assertThat(index.nearest(37.5, 127.0, 5, "일식")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("반경 검색은 반경 안 가게 전체를 가까운 순으로, 전체 스캔과 같게 돌려준다")
+    void withinMatchesBruteForce() {
+        Random random = new Random(11);
+        for (int i = 0; i < 50; i++) {
+            double lat = 37.40 + random.nextDouble() * 0.3;
+            double lng = 126.80 + random.nextDouble() * 0.4;
+            for (String category : new String[]{null, "피자"}) {
+                for (double radiusKm : new double[]{0.3, 2.0, 8.0, 500.0}) {
+                    List<NearbyStore> expected = bruteForce(lat, lng, category).stream()
+                            .filter(n -> n.distanceKm() <= radiusKm).toList();
+                    assertThat(ids(index.within(lat, lng, radiusKm, category)))
+                            .as("(%f, %f) r=%f category=%s", lat, lng, radiusKm, category)
+                            .containsExactlyElementsOf(ids(expected));
+                }
+            }
+        }
+        assertThat(index.within(37.5, 127.0, 0, null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("추가/카테고리 수정/이동/삭제는 트랜잭션이 커밋된 뒤에만 반영되고, 롤백되면 버려진다")
+    void appliesChangesOnlyAfterCommit() {
+        double lat = 37.9, lng = 127.5;   // 다른 가게가 없는 곳
+
+        inTransaction(true, () -> index.putAfterCommit(new StoreLocation(500L, lat, lng, "피자")),
+                () -> assertThat(index.within(lat, lng, 1, null)).isEmpty());
+        assertThat(ids(index.nearest(lat, lng, 1, "피자"))).containsExactly(500L);
+
+        inTransaction(true, () -> index.updateCategoryAfterCommit(500L, "치킨"),
+                () -> assertThat(ids(index.within(lat, lng, 1, "피자"))).containsExactly(500L));
+        assertThat(index.within(lat, lng, 1, "피자")).isEmpty();
+        assertThat(ids(index.within(lat, lng, 1, "치킨"))).containsExactly(500L);
+
+        // 좌표 이동: 예전 칸에서 빠지고 새 칸에만 있음 (카테고리는 새 값)
+        inTransaction(true, () -> index.putAfterCommit(new StoreLocation(500L, lat + 0.05, lng, "치킨")), () -> {});
+        assertThat(index.within(lat, lng, 1, null)).isEmpty();
+        assertThat(ids(index.within(lat + 0.05, lng, 1, null))).containsExactly(500L);
+
+        inTransaction(false, () -> index.removeAfterCommit(500L), () -> {});
+        assertThat(ids(index.within(lat + 0.05, lng, 1, null))).containsExactly(500L);
+
+        inTransaction(true, () -> index.removeAfterCommit(500L),
+                () -> assertThat(index.size()).isEqualTo(403));
+        assertThat(index.within(lat + 0.05, lng, 1, null)).isEmpty();
+        assertThat(index.size()).isEqualTo(402);
+    }
+
+    // 트랜잭션 동기화만 흉내 낸다: change 를 등록하고, 커밋 전 상태를 확인한 뒤 커밋/롤백 콜백을 호출
+    private static void inTransaction(boolean commit, Runnable change, Runnable beforeCompletion) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            change.run();
+            beforeCompletion.run();
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            if (commit) TransactionSynchronizationUtils.invokeAfterCommit(synchronizations);
+            TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations,
+                    commit ? TransactionSynchronization.STATUS_COMMITTED : TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private List<NearbyStore> bruteForce(double lat, double lng, String category) {
+        boolean all = category == null || "전체".equals(category);
+        return stores.stream()
+                .filter(s -> s.latitude() != null)
+                .filter(s -> all || category.equals(s.category()))
+                .map(s -> new NearbyStore(s.id(), StoreSpatialIndex.haversineKm(lat, lng, s.latitude(), s.longitude())))
+                .sorted(Comparator.comparingDouble(NearbyStore::distanceKm))
+                .toList();
+    }
+
+    private static List<NearbyStore> limit(List<NearbyStore> list, int k) {
+        return list.subList(0, Math.min(k, list.size()));
+    }
+
+    private static List<Long> ids(List<NearbyStore> list) {
+        return list.stream().map(NearbyStore::storeId).toList();
+    }
+}
@@ -0,0 +1,87 @@
+package drone.delivery.service.stock;
+
+import drone.delivery.domain.Product;
+import drone.delivery.domain.Store;
+import drone.delivery.service.stock.ContentionTracker.Conflict;
+import drone.delivery.service.stock.ContentionTracker.Snapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 경합 통계: 충돌 종류 판정, 상품 → 가게 집계, 감쇠
+ */
+class ContentionTrackerTest {
+
+    private final ContentionTracker tracker = new ContentionTracker(new SimpleMeterRegistry(), 100);
+
+    @Test
+    @DisplayName("원인 체인의 SQL 오류 코드로 데드락/락 대기 초과를 구분한다")
+    void classify() {
+        SQLException deadlock = new SQLException("Deadlock found", "40001", 1213);
+        SQLException lockWait = new SQLException("Lock wait timeout exceeded", "HY000", 1205);
+
+        assertThat(ContentionTracker.classify(new CannotAcquireLockException("x", deadlock))).isEqualTo(Conflict.DEADLOCK);
+        assertThat(ContentionTracker.classify(new CannotAcquireLockException("x", lockWait))).isEqualTo(Conflict.LOCK_TIMEOUT);
+        assertThat(ContentionTracker.classify(new ObjectOptimisticLockingFailureException(Product.class, 1L)))
+                .isEqualTo(Conflict.OPTIMISTIC);
+    }
+
+    @Test
+    @DisplayName("충돌은 주문의 상품과 그 가게에 쌓이고, 충돌이 많은 상품이 먼저 나온다")
+    void aggregatesPerProductAndStore() {
+        Product hot = product(1L, 10L);
+        Product cold = product(2L, 10L);
+        tracker.recordWait(List.of(hot, cold), TimeUnit.MILLISECONDS.toNanos(4));
+        tracker.recordWait(List.of(hot), TimeUnit.MILLISECONDS.toNanos(8));
+
+        SQLException deadlock = new SQLException("Deadlock found", "40001", 1213);
+        tracker.recordConflict(Set.of(1L), new CannotAcquireLockException("x", deadlock));
+        tracker.recordOutcome(Set.of(1L), 2, true);
+
+        List<Snapshot> products = tracker.topProducts(10);
+        assertThat(products).extracting(Snapshot::id).containsExactly(1L, 2L);
+        Snapshot top = products.get(0);
+        assertThat(top.storeId()).isEqualTo(10L);
+        assertThat(top.orders()).isEqualTo(2);
+        assertThat(top.deadlocks()).isEqualTo(1);
+        assertThat(top.retries()).isEqualTo(1);
+        assertThat(top.succeededAfterRetry()).isEqualTo(1);
+        assertThat(top.waitMaxMs()).isEqualTo(8.0);
+
+        Snapshot store = tracker.topStores(10).get(0);
+        assertThat(store.id()).isEqualTo(10L);
+        assertThat(store.orders()).isEqualTo(2);
+        assertThat(store.deadlocks()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("감쇠할 때마다 절반이 되고, 0이 되면 목록에서 빠진다")
+    void decay() {
+        tracker.recordWait(List.of(product(1L, 10L)), 3);
+        tracker.decay();
+        assertThat(tracker.topProducts(10)).singleElement()
+                .satisfies(s -> assertThat(s.orders()).isZero());
+        tracker.decay();
+        assertThat(tracker.topProducts(10)).isEmpty();
+        assertThat(tracker.topStores(10)).isEmpty();
+    }
+
+    private static Product product(Long id, Long storeId) {
+        Store store = new Store();
+        store.setId(storeId);
+        Product p = Product.createProduct("메뉴" + id, 1000, 10);
+        p.setId(id);
+        p.setStore(store);
+        return p;
+    }
+}
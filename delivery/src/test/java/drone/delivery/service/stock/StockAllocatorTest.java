@@ -0,0 +1,116 @@
+package drone.delivery.service.stock;
+
+import drone.delivery.domain.Product;
+import drone.delivery.domain.Store;
+import drone.delivery.repository.ProductRepository;
+import drone.delivery.service.stock.StockReservationLedger.StockShortageException;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 재고 전략: all-or-nothing 차감과 되돌리기, 버전 증가 확인
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false"
+})
+class StockAllocatorTest {
+
+    @Autowired EntityManager em;
+    @Autowired ProductRepository productRepository;
+
+    private Long a;
+    private Long b;
+
+    @BeforeEach
+    void setUp() {
+        Store store = new Store();
+        store.setName("재고가게");
+        em.persist(store);
+        a = product(store, "A", 5);
+        b = product(store, "B", 1);
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    @DisplayName("CONDITIONAL: 뒤 상품이 부족하면 앞에서 차감한 상품을 되돌린다")
+    void conditionalUndoesPartialDecrement() {
+        StockAllocator allocator = new ConditionalStockAllocator(productRepository);
+        Map<Long, Integer> requested = Map.of(a, 2, b, 3);
+
+        assertThatThrownBy(() -> allocator.reserve(requested, load(allocator)))
+                .isInstanceOf(StockShortageException.class)
+                .satisfies(e -> {
+                    assertThat(((StockShortageException) e).getProductId()).isEqualTo(b);
+                    assertThat(((StockShortageException) e).getRemaining()).isEqualTo(StockShortageException.UNKNOWN_REMAINING);
+                });
+        assertThat(quantity(a)).isEqualTo(5);
+        assertThat(quantity(b)).isEqualTo(1);
+
+        allocator.reserve(Map.of(a, 2, b, 1), load(allocator));
+        assertThat(quantity(a)).isEqualTo(3);
+        assertThat(quantity(b)).isZero();
+        // 품절 확인은 캐시 스냅샷(5, 1)이 아니라 DB 현재 값
+        assertThat(allocator.available(a, 5)).isEqualTo(3);
+        assertThat(allocator.available(b, 1)).isZero();
+    }
+
+    @Test
+    @DisplayName("PESSIMISTIC/OPTIMISTIC: 전부 확인한 뒤에만 차감하고 버전을 올린다")
+    void entityAllocatorChecksBeforeDecrement() {
+        StockAllocator allocator = new PessimisticStockAllocator(productRepository);
+        Map<Long, Product> products = load(allocator);
+
+        assertThatThrownBy(() -> allocator.reserve(Map.of(a, 2, b, 3), products))
+                .isInstanceOf(StockShortageException.class);
+        assertThat(products.get(a).getQuantity()).isEqualTo(5);
+
+        allocator.reserve(Map.of(a, 2), products);
+        em.flush();
+        em.clear();
+        Product after = productRepository.findById(a).orElseThrow();
+        assertThat(after.getQuantity()).isEqualTo(3);
+        assertThat(after.getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("재고 복구 update 도 버전을 올린다 (낙관적 차감이 덮어쓰지 못하게)")
+    void restockBumpsVersion() {
+        new OptimisticStockAllocator(productRepository).restock(Map.of(a, 4));
+        em.clear();
+        Product after = productRepository.findById(a).orElseThrow();
+        assertThat(after.getQuantity()).isEqualTo(9);
+        assertThat(after.getVersion()).isEqualTo(1L);
+    }
+
+    private Map<Long, Product> load(StockAllocator allocator) {
+        List<Product> products = allocator.loadProducts(List.of(a, b));
+        return products.stream().collect(Collectors.toMap(Product::getId, Function.identity()));
+    }
+
+    private int quantity(Long id) {
+        em.clear();
+        return productRepository.findById(id).orElseThrow().getQuantity();
+    }
+
+    private Long product(Store store, String name, int qty) {
+        Product p = Product.createProduct(name, 1000, qty);
+        p.setStore(store);
+        em.persist(p);
+        return p.getId();
+    }
+}
@@ -0,0 +1,221 @@
+package drone.delivery.service.stock;
+
+import drone.delivery.domain.Product;
+import drone.delivery.domain.Store;
+import drone.delivery.repository.ProductRepository;
+import drone.delivery.repository.StoreRepository;
+import drone.delivery.service.stock.StockReservationLedger.StockShortageException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 재고 예약 원장: CAS all-or-nothing 예약, 롤백 시 해제, 배치 반영(flush)과 실패 시 재적재, flush 중 evict
+ * - 원장이 트랜잭션 커밋/롤백에 반응하는지 봐야 하므로 테스트 트랜잭션을 끄고(NOT_SUPPORTED) 직접 연다.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StockReservationLedgerTest {
+
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired PlatformTransactionManager txManager;
+    @Autowired StoreRepository storeRepository;
+    @Autowired ProductRepository productRepository;
+
+    private TransactionTemplate tx;
+    private StockReservationLedger ledger;
+    private Long a;
+    private Long b;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(txManager);
+        ledger = new StockReservationLedger(jdbcTemplate, txManager);
+        Store store = new Store();
+        store.setName("원장가게");
+        storeRepository.save(store);
+        a = product(store, "A", 5);
+        b = product(store, "B", 1);
+    }
+
+    @Test
+    @DisplayName("뒤 상품이 부족하면 앞에서 잡은 예약까지 되돌린다 (all-or-nothing)")
+    void reservesAllOrNothing() {
+        assertThatThrownBy(() -> ledger.reserveForCurrentTransaction(Map.of(a, 2, b, 2), this::dbQuantity))
+                .isInstanceOf(StockShortageException.class)
+                .satisfies(e -> {
+                    assertThat(((StockShortageException) e).getProductId()).isEqualTo(b);
+                    assertThat(((StockShortageException) e).getRemaining()).isEqualTo(1);
+                });
+        assertThat(ledger.available(a, -1)).isEqualTo(5);
+        assertThat(ledger.available(b, -1)).isEqualTo(1);
+
+        ledger.reserveForCurrentTransaction(Map.of(a, 2, b, 1), this::dbQuantity);
+        assertThat(ledger.available(a, -1)).isEqualTo(3);
+        assertThat(ledger.available(b, -1)).isZero();
+    }
+
+    @Test
+    @DisplayName("동시에 여러 스레드가 예약해도 CAS 로 가용 재고만큼만 성공한다")
+    void concurrentReservationsNeverOversell() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        AtomicInteger succeeded = new AtomicInteger();
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        ledger.reserveForCurrentTransaction(Map.of(a, 1), this::dbQuantity);
+                        succeeded.incrementAndGet();
+                    } catch (StockShortageException ignored) {
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> f : futures) f.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(succeeded).hasValue(5);
+        assertThat(ledger.available(a, -1)).isZero();
+    }
+
+    @Test
+    @DisplayName("트랜잭션이 롤백되면 예약이 풀리고, 커밋된 예약만 flush 로 DB 에 반영된다")
+    void releasesOnRollbackAndFlushesCommitted() {
+        tx.executeWithoutResult(s -> {
+            ledger.reserveForCurrentTransaction(Map.of(a, 3), this::dbQuantity);
+            assertThat(ledger.available(a, -1)).isEqualTo(2);
+            s.setRollbackOnly();
+        });
+        assertThat(ledger.available(a, -1)).isEqualTo(5);
+        ledger.flush();
+        assertThat(dbQuantity(a)).isEqualTo(5);
+
+        tx.executeWithoutResult(s -> ledger.reserveForCurrentTransaction(Map.of(a, 2, b, 1), this::dbQuantity));
+        assertThat(ledger.available(a, -1)).isEqualTo(3);
+        assertThat(dbQuantity(a)).isEqualTo(5);   // 커밋 직후엔 아직 pending
+
+        ledger.flush();
+        assertThat(dbQuantity(a)).isEqualTo(3);
+        assertThat(dbQuantity(b)).isZero();
+        // 불변식: 가용 재고 = DB 재고 - 미반영 차감분 (반영 후엔 같음)
+        assertThat(ledger.available(a, -1)).isEqualTo(dbQuantity(a));
+
+        ledger.flush();   // 두 번 반영하지 않음
+        assertThat(dbQuantity(a)).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("flush 가 실패하면 차감분을 pending 에 되돌리고 다음 flush 에서 한 번만 반영한다")
+    void requeuesOnFlushFailure() {
+        FlakyJdbcTemplate flaky = new FlakyJdbcTemplate(jdbcTemplate);
+        StockReservationLedger flakyLedger = new StockReservationLedger(flaky, txManager);
+        flakyLedger.reserveForCurrentTransaction(Map.of(a, 2, b, 1), this::dbQuantity);
+
+        flaky.failNext = true;
+        flakyLedger.flush();
+        assertThat(dbQuantity(a)).isEqualTo(5);
+        assertThat(dbQuantity(b)).isEqualTo(1);
+
+        flakyLedger.reserveForCurrentTransaction(Map.of(a, 1), this::dbQuantity);
+        flakyLedger.flush();
+        assertThat(dbQuantity(a)).isEqualTo(2);
+        assertThat(dbQuantity(b)).isZero();
+        assertThat(flaky.batches).hasValue(1);   // 성공한 반영은 한 번
+    }
+
+    @Test
+    @DisplayName("flush 도중 evict 는 flush 가 끝날 때까지 기다리고, 실패로 되돌린 차감분까지 함께 버린다")
+    void evictWaitsForInFlightFlush() throws Exception {
+        FlakyJdbcTemplate flaky = new FlakyJdbcTemplate(jdbcTemplate);
+        StockReservationLedger flakyLedger = new StockReservationLedger(flaky, txManager);
+        flakyLedger.reserveForCurrentTransaction(Map.of(a, 2), this::dbQuantity);
+
+        flaky.failNext = true;
+        flaky.inBatch = new CountDownLatch(1);
+        flaky.release = new CountDownLatch(1);
+        Thread flusher = new Thread(flakyLedger::flush);
+        flusher.start();
+        assertThat(flaky.inBatch.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // 점주가 재고를 직접 9개로 고침 → 커밋 후 evict (트랜잭션 밖이라 바로 실행)
+        jdbcTemplate.update("update product set quantity = 9 where id = ?", a);
+        Thread evicter = new Thread(() -> flakyLedger.evictAfterCommit(a));
+        evicter.start();
+        evicter.join(200);
+        assertThat(evicter.isAlive()).isTrue();   // flush 가 락을 쥐고 있는 동안은 대기
+
+        flaky.release.countDown();
+        flusher.join(5_000);
+        evicter.join(5_000);
+        assertThat(evicter.isAlive()).isFalse();
+
+        // 실패한 flush 가 pending 에 되돌린 2개는 evict 로 버려져 점주 값(9)을 덮지 않는다
+        flakyLedger.flush();
+        assertThat(dbQuantity(a)).isEqualTo(9);
+        assertThat(flakyLedger.available(a, 9)).isEqualTo(9);
+    }
+
+    private Long product(Store store, String name, int quantity) {
+        Product p = Product.createProduct(name, 1_000, quantity);
+        p.setStore(store);
+        return productRepository.save(p).getId();
+    }
+
+    private Integer dbQuantity(Long productId) {
+        return jdbcTemplate.queryForObject("select quantity from product where id = ?", Integer.class, productId);
+    }
+
+    /** batchUpdate 를 한 번 실패시키거나 도중에 붙잡아 둘 수 있는 JdbcTemplate */
+    static class FlakyJdbcTemplate extends JdbcTemplate {
+        final AtomicInteger batches = new AtomicInteger();
+        volatile boolean failNext;
+        volatile CountDownLatch inBatch = new CountDownLatch(0);
+        volatile CountDownLatch release = new CountDownLatch(0);
+
+        FlakyJdbcTemplate(JdbcTemplate delegate) {
+            super(delegate.getDataSource());
+        }
+
+        @Override
+        public int[] batchUpdate(String sql, List<Object[]> batchArgs) {
+            inBatch.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (failNext) {
+                failNext = false;
+                throw new DataAccessResourceFailureException("DB 연결 끊김");
+            }
+            batches.incrementAndGet();
+            return super.batchUpdate(sql, batchArgs);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package drone.delivery.service.wallet;
+
+import drone.delivery.domain.Member;
+import drone.delivery.domain.MemberType;
+import drone.delivery.domain.WalletEntry;
+import drone.delivery.domain.WalletEntryType;
+import drone.delivery.domain.WalletSnapshot;
+import drone.delivery.repository.WalletEntryRepository;
+import drone.delivery.repository.WalletSnapshotRepository;
+import drone.delivery.service.MemberProfileService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+
+/**
+ * 지갑: 조건부 차감, 원장 기록, 스냅샷(원장 도입 전 잔액 포함) 확인
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false"
+})
+@Import({WalletService.class, WalletSnapshotJob.class, MemberProfileService.class})
+class WalletServiceTest {
+
+    @Autowired EntityManager em;
+    @Autowired WalletService walletService;
+    @Autowired WalletSnapshotJob snapshotJob;
+    @Autowired WalletEntryRepository entryRepository;
+    @Autowired WalletSnapshotRepository snapshotRepository;
+
+    private Long memberId;
+
+    @BeforeEach
+    void setUp() {
+        Member m = new Member();
+        m.setName("지갑");
+        m.setEmail("wallet@test.com");
+        m.setPassword("pw");
+        m.setMemberType(MemberType.USER);
+        m.setMoney(10_000);   // 원장 도입 이전 잔액
+        em.persist(m);
+        em.flush();
+        memberId = m.getId();
+    }
+
+    @Test
+    @DisplayName("잔액보다 큰 차감은 한 문장으로 거절되고(예외 없이 false) 잔액이 그대로다")
+    void debitIsConditional() {
+        assertThat(walletService.tryDebit(memberId, 7_000)).isTrue();
+        assertThat(walletService.tryDebit(memberId, 7_000)).isFalse();
+        assertThat(money()).isEqualTo(3_000);
+    }
+
+    @Test
+    @DisplayName("엔티티를 수정해도 잔액 컬럼은 덮어쓰지 않는다")
+    void entityUpdateDoesNotOverwriteMoney() {
+        Member m = em.find(Member.class, memberId);
+        walletService.credit(memberId, 500, WalletEntryType.CHARGE, null);
+        m.setName("이름변경");   // 읽어 둔 엔티티(잔액 10,000)로 변경 감지
+        em.flush();
+        assertThat(money()).isEqualTo(10_500);
+    }
+
+    @Test
+    @DisplayName("충전/결제/환불이 원장에 남고 스냅샷 잔액이 현재 잔액과 맞는다")
+    void ledgerAndSnapshot() {
+        walletService.credit(memberId, 5_000, WalletEntryType.CHARGE, null);
+        walletService.tryDebit(memberId, 4_000);
+        walletService.recordPayment(memberId, 1L, 4_000);
+        walletService.credit(memberId, 4_000, WalletEntryType.REFUND, 1L);
+        em.flush();
+
+        List<WalletEntry> entries = entryRepository.findAll();
+        assertThat(entries).extracting(WalletEntry::getAmount).containsExactly(5_000, -4_000, 4_000);
+
+        assertThat(snapshotJob.snapshot(LocalDateTime.now().plusSeconds(1))).isEqualTo(1);
+        WalletSnapshot first = snapshotRepository.findAll().get(0);
+        assertThat(first.getBalance()).isEqualTo(15_000).isEqualTo(money());
+
+        // 새 원장이 없으면 스냅샷을 더 남기지 않음
+        assertThat(snapshotJob.snapshot(LocalDateTime.now().plusSeconds(1))).isZero();
+
+        walletService.tryDebit(memberId, 1_000);
+        walletService.recordPayment(memberId, 2L, 1_000);
+        em.flush();
+        assertThat(snapshotJob.snapshot(LocalDateTime.now().plusSeconds(1))).isEqualTo(1);
+        assertThat(snapshotRepository.findLatestByMemberIdIn(List.of(memberId)))
+                .singleElement()
+                .extracting(WalletSnapshot::getBalance).isEqualTo(14_000);
+    }
+
+    @Test
+    @DisplayName("지난 실행이 일부 회원만 기록하고 멈춰도 다음 실행이 나머지를 채우고 불일치로 보지 않는다")
+    void resumesAfterPartialRun() {
+        Member other = new Member();
+        other.setName("지갑2");
+        other.setEmail("wallet2@test.com");
+        other.setPassword("pw");
+        other.setMemberType(MemberType.USER);
+        other.setMoney(0);
+        em.persist(other);
+
+        walletService.credit(memberId, 1_000, WalletEntryType.CHARGE, null);
+        walletService.credit(other.getId(), 2_000, WalletEntryType.CHARGE, null);
+        em.flush();
+        Long upTo = entryRepository.findMaxIdCreatedBefore(LocalDateTime.now().plusSeconds(1));
+        // 첫 배치(memberId)만 커밋되고 실행이 멈춘 상태: 진행 위치는 그대로
+        snapshotRepository.save(WalletSnapshot.of(memberId, 11_000, upTo));
+
+        walletService.credit(memberId, 500, WalletEntryType.CHARGE, null);
+        em.flush();
+        long mismatchesBefore = snapshotJob.mismatches();
+        assertThat(snapshotJob.snapshot(LocalDateTime.now().plusSeconds(1))).isEqualTo(2);
+
+        assertThat(snapshotRepository.findLatestByMemberIdIn(List.of(memberId, other.getId())))
+                .extracting(WalletSnapshot::getMemberId, WalletSnapshot::getBalance)
+                .containsExactlyInAnyOrder(
+                        tuple(memberId, 11_500),
+                        tuple(other.getId(), 2_000));
+        assertThat(snapshotJob.mismatches()).isEqualTo(mismatchesBefore);
+        // 모든 배치가 끝났으니 진행 위치가 움직였고 다시 돌려도 할 일이 없다
+        assertThat(snapshotJob.snapshot(LocalDateTime.now().plusSeconds(1))).isZero();
+    }
+
+    private int money() {
+        em.clear();
+        return em.find(Member.class, memberId).getMoney();
+    }
+}